@@ -0,0 +1,103 @@
+package github.ai.qa.solutions.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import github.ai.qa.solutions.configuration.SchemaValidatorProperties;
+import github.ai.qa.solutions.tools.SchemaValidatorCache;
+import github.ai.qa.solutions.tools.SchemaVersionDetector;
+import github.ai.qa.solutions.tools.SchemaViolation;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the general validator with the compiled validator on a prepared (cached) schema.
+ *
+ * <p>The schema is the {@code flat} corpus entry without its {@code format} keywords, which are outside the
+ * compiled subset. Both variants parse the document text, so the difference is the validation walk itself.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompiledValidatorBenchmark {
+    /** Validator: {@code general} or {@code compiled}. */
+    @Param({"general", "compiled"})
+    public String validator;
+
+    /** Document size in KB. */
+    @Param({"1", "64", "1024"})
+    public int sizeKb;
+
+    /** Prepared schema under test. */
+    private SchemaValidatorCache.Prepared schema;
+
+    /** Document valid against the schema. */
+    private String json;
+
+    /** Prepares the schema and builds the document once per trial. */
+    @Setup
+    public void setUp() {
+        final boolean compiled = "compiled".equals(validator);
+        final SchemaValidatorCache cache = new SchemaValidatorCache(
+                new SchemaVersionDetector(CorpusDocuments.MAPPER), new SchemaValidatorProperties(null, compiled, 1));
+        final String schemaText = withoutFormat(CorpusDocuments.schema("flat"));
+        schema = cache.prepare(schemaText);
+        if (schema.isCompiled() != compiled) {
+            throw new IllegalStateException("Schema compiled=" + schema.isCompiled() + " for " + validator);
+        }
+        json = CorpusDocuments.validDocument("flat", sizeKb);
+        final List<SchemaViolation> errors = schema.validate(json);
+        if (!errors.isEmpty()) throw new IllegalStateException("Corpus document is not valid: " + errors);
+    }
+
+    /**
+     * Validates the document.
+     *
+     * @return violations (empty)
+     */
+    @Benchmark
+    public List<SchemaViolation> validate() {
+        return schema.validate(json);
+    }
+
+    /**
+     * Removes every {@code format} keyword from a schema.
+     *
+     * @param schemaText schema text
+     * @return schema text without {@code format}
+     */
+    private static String withoutFormat(final String schemaText) {
+        try {
+            final JsonNode schema = CorpusDocuments.MAPPER.readTree(schemaText);
+            strip(schema);
+            return CorpusDocuments.MAPPER.writeValueAsString(schema);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Removes {@code format} from a node and everything below it.
+     *
+     * @param node schema node
+     */
+    private static void strip(final JsonNode node) {
+        if (node instanceof ObjectNode object) object.remove("format");
+        for (final JsonNode child : node) strip(child);
+    }
+}
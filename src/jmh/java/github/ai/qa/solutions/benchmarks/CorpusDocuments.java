@@ -0,0 +1,146 @@
+package github.ai.qa.solutions.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Benchmark inputs: checked-in corpus schemas and synthetic documents of a requested size and nesting depth.
+ *
+ * <p>All generators are deterministic, so runs on different machines measure the same bytes.</p>
+ */
+public final class CorpusDocuments {
+    /** Shared mapper; benchmarks only read from it. */
+    public static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /** Text values that exercise every branch of normalization and placeholder analysis. */
+    private static final String[] TEXTS = {
+        "  Смирнова Алина Сергеевна ",
+        "+7 912 345–67–89",
+        "ИНН １２３４５６７８９０",
+        "Невский проспект, д. 28",
+        "test@example.com",
+        "Иванов Иван Иванович",
+        "lorem ipsum dolor",
+        "АО «Балтийская верфь»",
+        "2025–03–14",
+        "123456"
+    };
+
+    private CorpusDocuments() {}
+
+    /**
+     * Reads a corpus resource as UTF-8 text.
+     *
+     * @param name file name under {@code corpus/}
+     * @return file contents
+     */
+    public static String resource(final String name) {
+        try (InputStream in = CorpusDocuments.class.getClassLoader().getResourceAsStream("corpus/" + name)) {
+            if (in == null) throw new IllegalArgumentException("Missing corpus resource: " + name);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the schema text of a corpus entry.
+     *
+     * @param complexity corpus entry name ({@code flat}, {@code nested}, {@code complex})
+     * @return schema JSON
+     */
+    public static String schema(final String complexity) {
+        return resource(complexity + ".schema.json");
+    }
+
+    /**
+     * Builds a document valid against the corpus schema by repeating its sample item under {@code records}.
+     *
+     * @param complexity corpus entry name
+     * @param sizeKb     approximate target size in kilobytes
+     * @return serialized document of at least {@code sizeKb} KB
+     */
+    public static String validDocument(final String complexity, final int sizeKb) {
+        try {
+            final JsonNode item = MAPPER.readTree(resource(complexity + ".item.json"));
+            final int itemBytes = MAPPER.writeValueAsBytes(item).length + 1;
+            final ObjectNode root = MAPPER.createObjectNode();
+            final ArrayNode records = root.putArray("records");
+            final long target = sizeKb * 1024L;
+            for (long written = 0; written < target; written += itemBytes) {
+                records.add(item.deepCopy());
+            }
+            return MAPPER.writeValueAsString(root);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Builds a document whose payload sits under {@code depth} nested object levels.
+     *
+     * @param sizeKb approximate target size in kilobytes
+     * @param depth  number of object levels above the payload array
+     * @return serialized document
+     */
+    public static String nestedDocument(final int sizeKb, final int depth) {
+        try {
+            return MAPPER.writeValueAsString(nestedTree(sizeKb, depth));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Tree form of {@link #nestedDocument(int, int)}.
+     *
+     * @param sizeKb approximate target size in kilobytes
+     * @param depth  number of object levels above the payload array
+     * @return document tree
+     */
+    public static JsonNode nestedTree(final int sizeKb, final int depth) {
+        try {
+            return nestedTreeUnchecked(sizeKb, depth);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Builds the nested tree, measuring each row to hit the requested size.
+     *
+     * @param sizeKb approximate target size in kilobytes
+     * @param depth  number of object levels above the payload array
+     * @return document tree
+     * @throws IOException when a row cannot be serialized
+     */
+    private static JsonNode nestedTreeUnchecked(final int sizeKb, final int depth) throws IOException {
+        final ArrayNode payload = MAPPER.createArrayNode();
+        final long target = sizeKb * 1024L;
+        long written = 0;
+        for (int i = 0; written < target; i++) {
+            final ObjectNode row = payload.addObject();
+            row.put("id", i);
+            row.put("name", TEXTS[i % TEXTS.length]);
+            row.put("note", TEXTS[(i * 7 + 3) % TEXTS.length]);
+            row.put("amount", 1000 + (i * 37) % 9000);
+            row.putArray("tags").add(TEXTS[(i + 5) % TEXTS.length]).add("k" + (i % 97));
+            written += MAPPER.writeValueAsBytes(row).length + 1;
+        }
+        JsonNode node = payload;
+        for (int level = depth; level > 0; level--) {
+            final ObjectNode wrapper = MAPPER.createObjectNode();
+            wrapper.put("level", level);
+            wrapper.put("label", TEXTS[level % TEXTS.length]);
+            wrapper.set("child", node);
+            node = wrapper;
+        }
+        return node;
+    }
+}
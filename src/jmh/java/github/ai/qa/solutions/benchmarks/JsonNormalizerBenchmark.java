@@ -0,0 +1,56 @@
+package github.ai.qa.solutions.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import github.ai.qa.solutions.components.json.JsonNormalizer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Measures {@link JsonNormalizer#normalize} over generated trees of varying size and depth. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonNormalizerBenchmark {
+    /** Document size in KB. */
+    @Param({"1", "64", "1024", "10240"})
+    public int sizeKb;
+
+    /** Object levels above the payload. */
+    @Param({"2", "8", "32"})
+    public int depth;
+
+    /** Normalizer under test. */
+    private JsonNormalizer normalizer;
+
+    /** Pre-parsed input tree; normalize returns a new tree and leaves it untouched. */
+    private JsonNode tree;
+
+    /** Builds the input tree once per trial. */
+    @Setup
+    public void setUp() {
+        normalizer = new JsonNormalizer(CorpusDocuments.MAPPER);
+        tree = CorpusDocuments.nestedTree(sizeKb, depth);
+    }
+
+    /**
+     * Normalizes the whole tree.
+     *
+     * @return normalized tree (returned to defeat dead-code elimination)
+     */
+    @Benchmark
+    public JsonNode normalizeTree() {
+        return normalizer.normalize(tree);
+    }
+}
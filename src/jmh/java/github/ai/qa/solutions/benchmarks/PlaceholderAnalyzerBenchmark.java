@@ -0,0 +1,56 @@
+package github.ai.qa.solutions.benchmarks;
+
+import github.ai.qa.solutions.components.json.PlaceholderAnalyzer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Measures {@link PlaceholderAnalyzer#analyze} (parse + walk + regex checks) on generated documents. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlaceholderAnalyzerBenchmark {
+    /** Document size in KB. */
+    @Param({"1", "64", "1024", "10240"})
+    public int sizeKb;
+
+    /** Object levels above the payload; deeper documents build longer paths per warning. */
+    @Param({"2", "8", "32"})
+    public int depth;
+
+    /** Analyzer under test. */
+    private PlaceholderAnalyzer analyzer;
+
+    /** Serialized input document. */
+    private String json;
+
+    /** Builds the input document once per trial. */
+    @Setup
+    public void setUp() {
+        analyzer = new PlaceholderAnalyzer(CorpusDocuments.MAPPER);
+        json = CorpusDocuments.nestedDocument(sizeKb, depth);
+    }
+
+    /**
+     * Analyzes the document.
+     *
+     * @return collected warnings
+     */
+    @Benchmark
+    public List<String> analyze() {
+        return analyzer.analyze(json);
+    }
+}
@@ -0,0 +1,78 @@
+package github.ai.qa.solutions.benchmarks;
+
+import com.networknt.schema.JsonSchemaFactory;
+import com.networknt.schema.SpecVersion;
+import github.ai.qa.solutions.tools.SchemaVersionDetector;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures dialect detection over the corpus schemas.
+ *
+ * <p>{@code complex} has no {@code $schema}, so {@link SchemaVersionDetector#selectedVersion} falls back to
+ * trial compilation across candidate dialects.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SchemaVersionDetectorBenchmark {
+    /** Corpus entry. */
+    @Param({"flat", "nested", "complex"})
+    public String complexity;
+
+    /** Detector under test. */
+    private SchemaVersionDetector detector;
+
+    /** Schema text. */
+    private String schema;
+
+    /** Loads the schema once per trial. */
+    @Setup
+    public void setUp() {
+        detector = new SchemaVersionDetector(CorpusDocuments.MAPPER);
+        schema = CorpusDocuments.schema(complexity);
+    }
+
+    /**
+     * Keyword-evidence detection only.
+     *
+     * @return detected dialect
+     */
+    @Benchmark
+    public SpecVersion.VersionFlag detectVersion() {
+        return detector.detectVersion(schema);
+    }
+
+    /**
+     * Detection as used by the tools (trial compilation only for ambiguous evidence).
+     *
+     * @return selected dialect
+     */
+    @Benchmark
+    public SpecVersion.VersionFlag selectedVersion() {
+        return detector.selectedVersion(schema);
+    }
+
+    /**
+     * Factory selection as used by validation.
+     *
+     * @return factory
+     */
+    @Benchmark
+    public JsonSchemaFactory factoryWithFallback() {
+        return detector.factoryWithFallback(schema);
+    }
+}
@@ -0,0 +1,74 @@
+package github.ai.qa.solutions.benchmarks;
+
+import github.ai.qa.solutions.configuration.ValidationReportProperties;
+import github.ai.qa.solutions.tools.SchemaValidatorCache;
+import github.ai.qa.solutions.tools.SchemaVersionDetector;
+import github.ai.qa.solutions.tools.ValidateJsonBySchemaTool;
+import github.ai.qa.solutions.tools.ValidationReport;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the full validation tool call (cached schema lookup, validate) on valid documents.
+ *
+ * <p>Documents repeat the corpus sample item, so the cost scales with instance size while the schema
+ * complexity stays fixed per parameter.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidateJsonBySchemaBenchmark {
+    /** Corpus entry. */
+    @Param({"flat", "nested", "complex"})
+    public String complexity;
+
+    /** Document size in KB. */
+    @Param({"1", "64", "1024", "10240"})
+    public int sizeKb;
+
+    /** Tool under test. */
+    private ValidateJsonBySchemaTool tool;
+
+    /** Schema text. */
+    private String schema;
+
+    /** Document valid against {@link #schema}. */
+    private String json;
+
+    /** Loads schema and builds the document once per trial. */
+    @Setup
+    public void setUp() {
+        tool = new ValidateJsonBySchemaTool(
+                new SchemaValidatorCache(new SchemaVersionDetector(CorpusDocuments.MAPPER)),
+                new ValidationReport(ValidationReportProperties.defaults()));
+        schema = CorpusDocuments.schema(complexity);
+        json = CorpusDocuments.validDocument(complexity, sizeKb);
+        final String result = tool.validateJsonBySchema(json, schema);
+        if (!result.contains("\"ok\":true")) {
+            throw new IllegalStateException("Corpus document is not valid for " + complexity + ": " + result);
+        }
+    }
+
+    /**
+     * Validates the document.
+     *
+     * @return tool result JSON
+     */
+    @Benchmark
+    public String validate() {
+        return tool.validateJsonBySchema(json, schema);
+    }
+}
@@ -0,0 +1,58 @@
+package github.ai.qa.solutions.benchmarks;
+
+import github.ai.qa.solutions.components.json.PlaceholderAnalyzer;
+import github.ai.qa.solutions.components.json.WarningSignatureService;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Measures {@link WarningSignatureService#signature} over the warnings real documents produce. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WarningSignatureBenchmark {
+    /** Size in KB of the document the warnings are taken from. */
+    @Param({"1", "64", "1024", "10240"})
+    public int sizeKb;
+
+    /** Object levels above the payload; longer paths mean longer warning strings. */
+    @Param({"2", "32"})
+    public int depth;
+
+    /** Service under test. */
+    private WarningSignatureService service;
+
+    /** Warnings produced by the placeholder analyzer. */
+    private List<String> warnings;
+
+    /** Collects warnings once per trial. */
+    @Setup
+    public void setUp() {
+        service = new WarningSignatureService();
+        warnings = new PlaceholderAnalyzer(CorpusDocuments.MAPPER)
+                .analyze(CorpusDocuments.nestedDocument(sizeKb, depth));
+    }
+
+    /**
+     * Builds the signature.
+     *
+     * @return signature string
+     */
+    @Benchmark
+    public String signature() {
+        return service.signature(warnings);
+    }
+}
@@ -0,0 +1,245 @@
+package github.ai.qa.solutions.benchmarks.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import github.ai.qa.solutions.benchmarks.CorpusDocuments;
+import github.ai.qa.solutions.components.json.JsonNormalizer;
+import github.ai.qa.solutions.components.json.JsonOutputSanitizer;
+import github.ai.qa.solutions.components.json.LenientJsonExtractor;
+import github.ai.qa.solutions.components.json.SchemaFingerprint;
+import github.ai.qa.solutions.components.json.SchemaPromptCompactor;
+import github.ai.qa.solutions.components.json.SchemaSlicer;
+import github.ai.qa.solutions.components.json.StreamingJsonGuard;
+import github.ai.qa.solutions.components.plan.GenerationPlanLibrary;
+import github.ai.qa.solutions.configuration.AgentApplicationConfiguration;
+import github.ai.qa.solutions.configuration.AgentApplicationConfiguration.NodeId;
+import github.ai.qa.solutions.configuration.ContinuationProperties;
+import github.ai.qa.solutions.configuration.PlanLibraryProperties;
+import github.ai.qa.solutions.configuration.PromptSchemaProperties;
+import github.ai.qa.solutions.configuration.StreamingProperties;
+import github.ai.qa.solutions.configuration.ValidationReportProperties;
+import github.ai.qa.solutions.nodes.FixErrorsInJsonNode;
+import github.ai.qa.solutions.nodes.GenerateJsonNode;
+import github.ai.qa.solutions.nodes.NormalizeGeneratedJsonNode;
+import github.ai.qa.solutions.nodes.ReasonAndRouteNode;
+import github.ai.qa.solutions.nodes.ThinkHowToFixJsonNode;
+import github.ai.qa.solutions.nodes.ThinkHowToGenerateJsonNode;
+import github.ai.qa.solutions.nodes.ValidateJsonSchemaNode;
+import github.ai.qa.solutions.nodes.VerifyJsonByJsonSchemaNode;
+import github.ai.qa.solutions.observability.NodeExecutionListener;
+import github.ai.qa.solutions.observability.ToolCallTracing;
+import github.ai.qa.solutions.services.ChatClientRouter;
+import github.ai.qa.solutions.services.JsonCompletion;
+import github.ai.qa.solutions.state.AgentState;
+import github.ai.qa.solutions.tools.FixValidationErrorsInJsonTool;
+import github.ai.qa.solutions.tools.GenerateJsonBySchemaTool;
+import github.ai.qa.solutions.tools.NormalizeGeneratedJsonTool;
+import github.ai.qa.solutions.tools.SchemaValidatorCache;
+import github.ai.qa.solutions.tools.SchemaVersionDetector;
+import github.ai.qa.solutions.tools.ThinkHowToFixJsonTool;
+import github.ai.qa.solutions.tools.ThinkHowToGenerateTool;
+import github.ai.qa.solutions.tools.ValidateJsonBySchemaTool;
+import github.ai.qa.solutions.tools.ValidateJsonSchemaTool;
+import github.ai.qa.solutions.tools.ValidationReport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.bsc.langgraph4j.CompiledGraph;
+import org.bsc.langgraph4j.NodeOutput;
+import org.bsc.langgraph4j.StateGraph;
+
+/**
+ * End-to-end throughput harness for the agent graph.
+ *
+ * <p>Builds the production {@link StateGraph} through {@link AgentApplicationConfiguration#stateGraph} with real
+ * nodes and local tools, but every model call goes to a {@link StubChatModel} with simulated latency, injected
+ * failures and scripted invalid outputs. Runs N flows with bounded concurrency and prints runs/s, per-node
+ * latency percentiles, FIX/REGENERATE distributions, threads, heap and GC.</p>
+ *
+ * <p>Run: {@code mvn -Pbenchmarks -DskipTests test-compile exec:exec@load -Dload.args="--runs=500 --concurrency=64"}.
+ * Options (defaults): {@code --runs=200 --warmup=20 --concurrency=16 --virtual-threads=false --schema=flat --size-kb=1
+ * --latency=LOG_NORMAL --mean-ms=800 --jitter-ms=400 --error-rate=0.01 --few-errors-rate=0.3
+ * --many-errors-rate=0.1 --fix-success-rate=0.8 --plan-library=false --seed=42}.</p>
+ */
+public final class LoadHarness {
+
+    private LoadHarness() {}
+
+    /**
+     * Entry point.
+     *
+     * @param args {@code --key=value} options, see class docs
+     * @throws Exception when the graph cannot be built or the run is interrupted
+     */
+    public static void main(final String[] args) throws Exception {
+        final LoadScenario scenario = LoadScenario.parse(args);
+        final String schema = CorpusDocuments.schema(scenario.schema());
+        if (scenario.warmup() > 0) {
+            final LoadReport discarded = new LoadReport();
+            drive(buildGraph(scenario, discarded).compile(), schema, scenario, scenario.warmup(), discarded);
+        }
+
+        final LoadReport report = new LoadReport();
+        final CompiledGraph<AgentState> graph = buildGraph(scenario, report).compile();
+        final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(report::sampleHeap, 0, 100, TimeUnit.MILLISECONDS);
+        ManagementFactory.getThreadMXBean().resetPeakThreadCount();
+        final long[] gcBefore = LoadReport.gcTotals();
+
+        final long started = System.nanoTime();
+        drive(graph, schema, scenario, scenario.runs(), report);
+        final long wall = System.nanoTime() - started;
+        sampler.shutdownNow();
+        report.print(System.out, scenario, wall, gcBefore);
+    }
+
+    /**
+     * Runs flows with the scenario's concurrency and waits for all of them.
+     *
+     * @param graph    compiled graph
+     * @param schema   schema text
+     * @param scenario scenario settings
+     * @param runs     number of flows
+     * @param report   collector
+     * @throws InterruptedException when interrupted while waiting for a slot
+     */
+    private static void drive(
+            final CompiledGraph<AgentState> graph,
+            final String schema,
+            final LoadScenario scenario,
+            final int runs,
+            final LoadReport report)
+            throws InterruptedException {
+        try (ExecutorService pool = scenario.virtualThreads()
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(scenario.concurrency())) {
+            final Semaphore permits = new Semaphore(scenario.concurrency());
+            for (int i = 0; i < runs; i++) {
+                permits.acquire();
+                final int run = i;
+                pool.execute(() -> {
+                    try {
+                        runOnce(graph, schema, run, report);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Executes one flow and records its duration and the branches it took.
+     *
+     * @param graph  compiled graph
+     * @param schema schema text
+     * @param run    run index, used to vary the prompt
+     * @param report collector
+     */
+    private static void runOnce(
+            final CompiledGraph<AgentState> graph, final String schema, final int run, final LoadReport report) {
+        final Map<String, Object> input = Map.of(
+                AgentState.StateKey.USER_PROMPT.name(), "Load run " + (run % 8) + ": realistic Russian applicant",
+                AgentState.StateKey.JSON_SCHEMA.name(), schema);
+        final long start = System.nanoTime();
+        int validations = 0;
+        int fixes = 0;
+        int generations = 0;
+        try {
+            for (NodeOutput<AgentState> out : graph.stream(input)) {
+                if (NodeId.VALIDATE_JSON.id.equals(out.node())) validations++;
+                if (NodeId.APPLY_FIX.id.equals(out.node())) fixes++;
+                if (NodeId.GENERATE_INITIAL_JSON.id.equals(out.node())) generations++;
+            }
+            report.completed((System.nanoTime() - start) / 1_000L, validations, fixes, Math.max(0, generations - 1));
+        } catch (RuntimeException e) {
+            report.failed(e);
+        }
+    }
+
+    /**
+     * Wires the production graph with stubbed model access; node durations reach the report through a
+     * {@link NodeExecutionListener}, the same hook production metrics use.
+     *
+     * @param scenario scenario settings
+     * @param report   collector for node durations
+     * @return state graph
+     * @throws Exception when the graph definition is inconsistent or the plan directory cannot be created
+     */
+    static StateGraph<AgentState> buildGraph(final LoadScenario scenario, final LoadReport report) throws Exception {
+        final ObjectMapper mapper = new ObjectMapper();
+        final ChatClientRouter router = new StubChatClientRouter(scenario);
+        final SchemaVersionDetector detector = new SchemaVersionDetector(mapper);
+        final GenerationPlanLibrary plans = new GenerationPlanLibrary(
+                mapper,
+                new PlanLibraryProperties(
+                        scenario.planLibrary(),
+                        Files.createTempDirectory("load-plans").toString(),
+                        null,
+                        scenario.planLibrary()));
+        final NodeExecutionListener timings = new NodeExecutionListener() {
+            @Override
+            public void onNodeEnd(
+                    final String runId,
+                    final NodeId node,
+                    final AgentState state,
+                    final Map<String, Object> updates,
+                    final long nanos) {
+                report.node(node.id, nanos / 1_000L);
+            }
+
+            @Override
+            public void onNodeError(
+                    final String runId,
+                    final NodeId node,
+                    final AgentState state,
+                    final Throwable error,
+                    final long nanos) {
+                report.node(node.id, nanos / 1_000L);
+            }
+        };
+
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        final JsonCompletion completion = new JsonCompletion(
+                router,
+                StreamingProperties.defaults(),
+                ContinuationProperties.defaults(),
+                new StreamingJsonGuard(mapper),
+                registry,
+                null);
+        final LenientJsonExtractor extractor = new LenientJsonExtractor(registry);
+        final SchemaSlicer slicer = new SchemaSlicer(mapper);
+
+        return new AgentApplicationConfiguration(null)
+                .stateGraph(
+                        new ValidateJsonSchemaNode(
+                                router,
+                                new ValidateJsonSchemaTool(mapper, detector),
+                                mapper,
+                                new SchemaPromptCompactor(mapper, PromptSchemaProperties.defaults(), registry),
+                                new SchemaFingerprint(mapper),
+                                ToolCallTracing.NOOP),
+                        new ThinkHowToGenerateJsonNode(new ThinkHowToGenerateTool(router), plans),
+                        new GenerateJsonNode(new GenerateJsonBySchemaTool(completion)),
+                        new VerifyJsonByJsonSchemaNode(
+                                new ValidateJsonBySchemaTool(
+                                        new SchemaValidatorCache(detector),
+                                        new ValidationReport(ValidationReportProperties.defaults())),
+                                router,
+                                mapper,
+                                ToolCallTracing.NOOP),
+                        new ThinkHowToFixJsonNode(new ThinkHowToFixJsonTool(router, slicer)),
+                        new FixErrorsInJsonNode(new FixValidationErrorsInJsonTool(completion, slicer)),
+                        new ReasonAndRouteNode(router, mapper, extractor),
+                        new NormalizeGeneratedJsonNode(new NormalizeGeneratedJsonTool(
+                                mapper, new JsonOutputSanitizer(), new JsonNormalizer(mapper), extractor)),
+                        plans,
+                        List.of(timings));
+    }
+}
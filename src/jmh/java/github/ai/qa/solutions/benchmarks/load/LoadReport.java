@@ -0,0 +1,191 @@
+package github.ai.qa.solutions.benchmarks.load;
+
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread-safe collector for load harness measurements and the final text report.
+ */
+final class LoadReport {
+    /** Per-node durations in microseconds. */
+    private final Map<String, ConcurrentLinkedQueue<Long>> nodeMicros = new ConcurrentHashMap<>();
+    /** End-to-end run durations in microseconds. */
+    private final ConcurrentLinkedQueue<Long> runMicros = new ConcurrentLinkedQueue<>();
+    /** Validation passes per run → number of runs. */
+    private final Map<Integer, AtomicInteger> iterations = new ConcurrentHashMap<>();
+    /** FIX branches per run → number of runs. */
+    private final Map<Integer, AtomicInteger> fixes = new ConcurrentHashMap<>();
+    /** REGENERATE branches per run → number of runs. */
+    private final Map<Integer, AtomicInteger> regenerations = new ConcurrentHashMap<>();
+    /** Failure type → count. */
+    private final Map<String, AtomicInteger> failures = new ConcurrentHashMap<>();
+    /** Highest heap usage seen by the sampler. */
+    private final AtomicLong peakHeapBytes = new AtomicLong();
+    /** Runs that reached END. */
+    private final AtomicInteger completed = new AtomicInteger();
+
+    /**
+     * Records one node execution.
+     *
+     * @param node   node id
+     * @param micros duration
+     */
+    void node(final String node, final long micros) {
+        nodeMicros.computeIfAbsent(node, k -> new ConcurrentLinkedQueue<>()).add(micros);
+    }
+
+    /**
+     * Records a completed run.
+     *
+     * @param micros          end-to-end duration
+     * @param validations     validate_json executions
+     * @param fixCount        apply_fix executions
+     * @param regenerateCount plan_generation or generate_initial_json re-entries after the first pass
+     */
+    void completed(final long micros, final int validations, final int fixCount, final int regenerateCount) {
+        completed.incrementAndGet();
+        runMicros.add(micros);
+        iterations.computeIfAbsent(validations, k -> new AtomicInteger()).incrementAndGet();
+        fixes.computeIfAbsent(fixCount, k -> new AtomicInteger()).incrementAndGet();
+        regenerations.computeIfAbsent(regenerateCount, k -> new AtomicInteger()).incrementAndGet();
+    }
+
+    /**
+     * Records a failed run.
+     *
+     * @param error cause
+     */
+    void failed(final Throwable error) {
+        Throwable root = error;
+        while (root.getCause() != null && root.getCause() != root) root = root.getCause();
+        failures.computeIfAbsent(root.getClass().getSimpleName(), k -> new AtomicInteger()).incrementAndGet();
+    }
+
+    /** Samples current heap usage; called periodically while the load runs. */
+    void sampleHeap() {
+        final long used = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        peakHeapBytes.accumulateAndGet(used, Math::max);
+    }
+
+    /**
+     * Prints the report.
+     *
+     * @param out        destination
+     * @param scenario   scenario settings
+     * @param wallNanos  total wall-clock time
+     * @param gcBefore   GC count and time before the run, see {@link #gcTotals()}
+     */
+    void print(final PrintStream out, final LoadScenario scenario, final long wallNanos, final long[] gcBefore) {
+        final double seconds = wallNanos / 1e9;
+        final long[] gcAfter = gcTotals();
+        out.println();
+        out.println("=== Agent graph load report ===");
+        out.println("Scenario        : " + scenario);
+        out.printf(
+                "Runs            : %d completed, %d failed in %.2f s -> %.2f runs/s%n",
+                completed.get(),
+                failures.values().stream().mapToInt(AtomicInteger::get).sum(),
+                seconds,
+                completed.get() / seconds);
+        out.printf("Run latency ms  : %s%n", percentiles(runMicros));
+        out.println();
+        out.printf("%-24s %8s %10s %10s %10s %10s%n", "node", "count", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        new TreeMap<>(nodeMicros).forEach((node, samples) -> {
+            final long[] sorted = sorted(samples);
+            out.printf(
+                    "%-24s %8d %10.1f %10.1f %10.1f %10.1f%n",
+                    node,
+                    sorted.length,
+                    at(sorted, 0.50) / 1e3,
+                    at(sorted, 0.95) / 1e3,
+                    at(sorted, 0.99) / 1e3,
+                    at(sorted, 1.0) / 1e3);
+        });
+        out.println();
+        out.println("Validations/run : " + histogram(iterations));
+        out.println("FIX/run         : " + histogram(fixes));
+        out.println("REGENERATE/run  : " + histogram(regenerations));
+        if (!failures.isEmpty()) out.println("Failures        : " + new TreeMap<>(failures));
+        out.println();
+        final var threads = ManagementFactory.getThreadMXBean();
+        out.printf("Threads         : peak %d, live %d%n", threads.getPeakThreadCount(), threads.getThreadCount());
+        out.printf(
+                "Heap            : peak %.1f MB, max %.1f MB%n",
+                peakHeapBytes.get() / 1048576.0,
+                ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getMax() / 1048576.0);
+        out.printf("GC              : %d collections, %d ms%n", gcAfter[0] - gcBefore[0], gcAfter[1] - gcBefore[1]);
+    }
+
+    /**
+     * Sums collection counts and times across all collectors.
+     *
+     * @return {@code [count, timeMs]}
+     */
+    static long[] gcTotals() {
+        long count = 0;
+        long time = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+            time += Math.max(0, gc.getCollectionTime());
+        }
+        return new long[] {count, time};
+    }
+
+    /**
+     * Formats p50/p95/p99/max of microsecond samples as milliseconds.
+     *
+     * @param samples durations in microseconds
+     * @return formatted summary
+     */
+    private static String percentiles(final ConcurrentLinkedQueue<Long> samples) {
+        final long[] s = sorted(samples);
+        return String.format(
+                "p50 %.1f, p95 %.1f, p99 %.1f, max %.1f",
+                at(s, 0.50) / 1e3, at(s, 0.95) / 1e3, at(s, 0.99) / 1e3, at(s, 1.0) / 1e3);
+    }
+
+    /**
+     * Snapshot of samples in ascending order.
+     *
+     * @param samples samples
+     * @return sorted array
+     */
+    private static long[] sorted(final ConcurrentLinkedQueue<Long> samples) {
+        final List<Long> copy = new ArrayList<>(samples);
+        return copy.stream().mapToLong(Long::longValue).sorted().toArray();
+    }
+
+    /**
+     * Nearest-rank percentile.
+     *
+     * @param sorted ascending samples
+     * @param q      quantile in {@code (0, 1]}
+     * @return value, or 0 when empty
+     */
+    private static long at(final long[] sorted, final double q) {
+        if (sorted.length == 0) return 0L;
+        final int rank = (int) Math.ceil(q * sorted.length);
+        return sorted[Math.min(sorted.length, Math.max(1, rank)) - 1];
+    }
+
+    /**
+     * Formats a count histogram as {@code <value>x<runs>}.
+     *
+     * @param histogram value → runs
+     * @return formatted histogram
+     */
+    private static String histogram(final Map<Integer, AtomicInteger> histogram) {
+        final StringBuilder sb = new StringBuilder();
+        new TreeMap<>(histogram).forEach((k, v) -> sb.append(k).append('x').append(v.get()).append("  "));
+        return sb.toString().trim();
+    }
+}
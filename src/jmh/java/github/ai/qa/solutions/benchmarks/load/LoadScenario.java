@@ -0,0 +1,88 @@
+package github.ai.qa.solutions.benchmarks.load;
+
+import github.ai.qa.solutions.configuration.ReplayProperties;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Load harness settings, parsed from {@code --key=value} arguments.
+ *
+ * @param runs             total flow runs
+ * @param warmup           runs executed and discarded before measuring
+ * @param concurrency      concurrently executing runs
+ * @param virtualThreads   run flows on virtual threads instead of a fixed platform pool
+ * @param schema           corpus schema ({@code flat}, {@code nested}, {@code complex})
+ * @param sizeKb           approximate size of generated documents
+ * @param latency          simulated model latency
+ * @param errorRate        probability that a model call throws
+ * @param fewErrorsRate    probability that generation yields one validation error (drives FIX)
+ * @param manyErrorsRate   probability that generation yields several errors (drives REGENERATE)
+ * @param fixSuccessRate   probability that a fix call returns a valid document
+ * @param planLibrary      reuse stored generation plans across runs
+ * @param seed             seed for outcome scripting
+ */
+public record LoadScenario(
+        int runs,
+        int warmup,
+        int concurrency,
+        boolean virtualThreads,
+        String schema,
+        int sizeKb,
+        ReplayProperties.Latency latency,
+        double errorRate,
+        double fewErrorsRate,
+        double manyErrorsRate,
+        double fixSuccessRate,
+        boolean planLibrary,
+        long seed) {
+
+    /**
+     * Parses arguments; unknown keys are rejected so typos do not silently run the default scenario.
+     *
+     * @param args {@code --key=value} arguments
+     * @return scenario
+     */
+    public static LoadScenario parse(final String[] args) {
+        final Map<String, String> m = new HashMap<>();
+        for (String a : args) {
+            if (!a.startsWith("--")) throw new IllegalArgumentException("Expected --key=value, got: " + a);
+            final int eq = a.indexOf('=');
+            m.put(eq < 0 ? a.substring(2) : a.substring(2, eq), eq < 0 ? "true" : a.substring(eq + 1));
+        }
+        final long seed = Long.parseLong(take(m, "seed", "42"));
+        final LoadScenario s = new LoadScenario(
+                Integer.parseInt(take(m, "runs", "200")),
+                Integer.parseInt(take(m, "warmup", "20")),
+                Integer.parseInt(take(m, "concurrency", "16")),
+                Boolean.parseBoolean(take(m, "virtual-threads", "false")),
+                take(m, "schema", "flat"),
+                Integer.parseInt(take(m, "size-kb", "1")),
+                new ReplayProperties.Latency(
+                        ReplayProperties.Distribution.valueOf(take(m, "latency", "LOG_NORMAL")),
+                        Long.parseLong(take(m, "mean-ms", "800")),
+                        Long.parseLong(take(m, "jitter-ms", "400")),
+                        1.0,
+                        seed),
+                Double.parseDouble(take(m, "error-rate", "0.01")),
+                Double.parseDouble(take(m, "few-errors-rate", "0.3")),
+                Double.parseDouble(take(m, "many-errors-rate", "0.1")),
+                Double.parseDouble(take(m, "fix-success-rate", "0.8")),
+                Boolean.parseBoolean(take(m, "plan-library", "false")),
+                seed);
+        if (!m.isEmpty()) throw new IllegalArgumentException("Unknown options: " + m.keySet());
+        return s;
+    }
+
+    /**
+     * Removes and returns an option.
+     *
+     * @param m        remaining options
+     * @param key      option name
+     * @param fallback default value
+     * @return option value or default
+     */
+    private static String take(final Map<String, String> m, final String key, final String fallback) {
+        final String v = m.remove(key);
+        return v == null ? fallback : v;
+    }
+}
@@ -0,0 +1,29 @@
+package github.ai.qa.solutions.benchmarks.load;
+
+import github.ai.qa.solutions.services.ChatClientRouter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.ai.chat.client.ChatClient;
+
+/** Router that hands every node its own {@link StubChatModel}. */
+final class StubChatClientRouter implements ChatClientRouter {
+    /** Scenario settings. */
+    private final LoadScenario scenario;
+    /** One client per node, created on first use. */
+    private final Map<String, ChatClient> clients = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the router.
+     *
+     * @param scenario scenario settings
+     */
+    StubChatClientRouter(final LoadScenario scenario) {
+        this.scenario = scenario;
+    }
+
+    @Override
+    public ChatClient forNode(final String nodeOrToolSimpleName) {
+        return clients.computeIfAbsent(
+                nodeOrToolSimpleName, n -> ChatClient.create(new StubChatModel(n, scenario)));
+    }
+}
@@ -0,0 +1,133 @@
+package github.ai.qa.solutions.benchmarks.load;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import github.ai.qa.solutions.benchmarks.CorpusDocuments;
+import github.ai.qa.solutions.services.replay.LatencySimulator;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Random;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+
+/**
+ * Scripted {@link ChatModel} standing in for one node's provider.
+ *
+ * <p>Each call sleeps for a simulated latency, may throw an injected failure, and answers according to the
+ * node it serves: generation produces a valid, slightly invalid (one error) or badly invalid (several errors)
+ * document; fixes succeed with a configured probability; routing always asks to regenerate. Schema and JSON
+ * validation nodes get empty content, so they fall back to the local tools exactly as in production when the
+ * model skips the tool call.</p>
+ */
+final class StubChatModel implements ChatModel {
+    /** Plan text returned by planning nodes. */
+    private static final String PLAN = "1. Fill every required field.\n2. Match patterns and formats.\n";
+
+    /** Routing answer: the heuristic path handles FIX, so the model is only asked when errors are many. */
+    private static final String REGENERATE = "{\"decision\":\"REGENERATE\",\"reason\":\"stub: structure mismatch\"}";
+
+    /** Node or tool this model serves. */
+    private final String node;
+    /** Scenario settings. */
+    private final LoadScenario scenario;
+    /** Simulated latency. */
+    private final LatencySimulator latency;
+    /** Seeded outcome source. */
+    private final Random random;
+    /** Document valid against the scenario schema. */
+    private final String valid;
+    /** Document with exactly one validation error. */
+    private final String fewErrors;
+    /** Document with several validation errors. */
+    private final String manyErrors;
+
+    /**
+     * Creates the stub.
+     *
+     * @param node     node or tool simple name passed to the router
+     * @param scenario scenario settings
+     */
+    StubChatModel(final String node, final LoadScenario scenario) {
+        this.node = node;
+        this.scenario = scenario;
+        this.latency = new LatencySimulator(scenario.latency());
+        this.random = new Random(scenario.seed() ^ node.hashCode());
+        this.valid = CorpusDocuments.validDocument(scenario.schema(), scenario.sizeKb());
+        this.fewErrors = withExtraRecord(valid);
+        this.manyErrors = "{\"records\":[1,2,3,4]}";
+    }
+
+    @Override
+    public ChatResponse call(final Prompt prompt) {
+        latency.pause(0L);
+        if (chance(scenario.errorRate())) {
+            throw new IllegalStateException("Injected model failure in " + node);
+        }
+        return new ChatResponse(List.of(new Generation(new AssistantMessage(answer()))));
+    }
+
+    /**
+     * Scripted answer for the served node.
+     *
+     * @return assistant text
+     */
+    private String answer() {
+        return switch (node) {
+            case "GenerateJsonBySchemaTool" -> generated();
+            case "FixValidationErrorsInJsonTool" -> chance(scenario.fixSuccessRate()) ? valid : fewErrors;
+            case "ThinkHowToGenerateTool", "ThinkHowToFixJsonTool" -> PLAN;
+            case "ReasonAndRouteNode" -> REGENERATE;
+            default -> "";
+        };
+    }
+
+    /**
+     * Draws a generation outcome.
+     *
+     * @return valid, few-error or many-error document
+     */
+    private String generated() {
+        final double r = nextDouble();
+        if (r < scenario.manyErrorsRate()) return manyErrors;
+        if (r < scenario.manyErrorsRate() + scenario.fewErrorsRate()) return fewErrors;
+        return valid;
+    }
+
+    /**
+     * Bernoulli trial.
+     *
+     * @param p success probability
+     * @return true with probability {@code p}
+     */
+    private boolean chance(final double p) {
+        return p > 0 && nextDouble() < p;
+    }
+
+    /**
+     * Next uniform value; synchronized because one stub serves all concurrent runs.
+     *
+     * @return random double in {@code [0, 1)}
+     */
+    private synchronized double nextDouble() {
+        return random.nextDouble();
+    }
+
+    /**
+     * Appends a non-object record, which every corpus schema rejects with a single type error.
+     *
+     * @param document valid document
+     * @return document with one validation error
+     */
+    private static String withExtraRecord(final String document) {
+        try {
+            final ObjectNode root = (ObjectNode) CorpusDocuments.MAPPER.readTree(document);
+            root.withArray("records").add("not-a-record");
+            return CorpusDocuments.MAPPER.writeValueAsString(root);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
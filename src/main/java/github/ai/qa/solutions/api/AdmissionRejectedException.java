@@ -0,0 +1,16 @@
+package github.ai.qa.solutions.api;
+
+/** Thrown when the instance has no capacity for another run or job; mapped to HTTP 429. */
+public class AdmissionRejectedException extends RuntimeException {
+    /** Serialization version. */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates the exception.
+     *
+     * @param message reason
+     */
+    public AdmissionRejectedException(final String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,192 @@
+package github.ai.qa.solutions.api;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * HTTP API for service-to-service generation.
+ *
+ * <ul>
+ *   <li>{@code POST /api/v1/generations} — run and wait; returns {@link GenerationResult}.</li>
+ *   <li>{@code POST /api/v1/generations/jobs} — submit; returns 202 with the job and its {@code Location}.</li>
+ *   <li>{@code GET /api/v1/generations/jobs/{jobId}} — poll.</li>
+ *   <li>{@code DELETE /api/v1/generations/jobs/{jobId}} — cancel.</li>
+ *   <li>{@code POST /api/v1/generations/stream} — run and stream progress as Server-Sent Events
+ *       (see {@link GenerationEventSink} for event names).</li>
+ *   <li>{@code DELETE /api/v1/generations/runs/{runId}} — cancel a streamed run.</li>
+ * </ul>
+ *
+ * <p>Errors are RFC 7807 problem details: 400 for incomplete requests, 429 (with {@code Retry-After}) when the
+ * instance is at capacity, 504 when a synchronous run times out, 500 when a run fails.</p>
+ */
+@RestController
+@RequestMapping("/api/v1/generations")
+public class GenerationController {
+    /** Seconds clients should wait before retrying a rejected request. */
+    private static final String RETRY_AFTER_SECONDS = "5";
+    /** Grace period after the run timeout before the event stream itself times out. */
+    private static final long STREAM_GRACE_MILLIS = 5_000L;
+    /** Runs and jobs. */
+    private final GenerationService service;
+
+    /**
+     * Creates the controller.
+     *
+     * @param service generation service
+     */
+    public GenerationController(final GenerationService service) {
+        this.service = service;
+    }
+
+    /**
+     * Runs the graph and waits for the result.
+     *
+     * @param request prompt, schema and options
+     * @return final JSON and run metadata
+     */
+    @PostMapping
+    public GenerationResult generate(@RequestBody final GenerationRequest request) {
+        return service.generate(request);
+    }
+
+    /**
+     * Submits an asynchronous job.
+     *
+     * @param request prompt, schema and options
+     * @return 202 with the queued job
+     */
+    @PostMapping("/jobs")
+    public ResponseEntity<GenerationJob.View> submit(@RequestBody final GenerationRequest request) {
+        final GenerationJob.View job = service.submit(request);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/generations/jobs/" + job.jobId()))
+                .body(job);
+    }
+
+    /**
+     * Polls a job.
+     *
+     * @param jobId job identifier
+     * @return job snapshot, or 404
+     */
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<GenerationJob.View> job(@PathVariable final String jobId) {
+        return ResponseEntity.of(service.job(jobId));
+    }
+
+    /**
+     * Cancels a job.
+     *
+     * @param jobId job identifier
+     * @return job snapshot after cancellation, or 404
+     */
+    @DeleteMapping("/jobs/{jobId}")
+    public ResponseEntity<GenerationJob.View> cancel(@PathVariable final String jobId) {
+        return ResponseEntity.of(service.cancel(jobId));
+    }
+
+    /**
+     * Runs the graph and streams its progress. Closing the connection cancels the run.
+     *
+     * @param request prompt, schema and options
+     * @return event stream
+     */
+    @PostMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestBody final GenerationRequest request) {
+        final SseEmitter emitter =
+                new SseEmitter(service.timeout(request).toMillis() + STREAM_GRACE_MILLIS);
+        final String runId = service.stream(request, new GenerationEventSink() {
+            @Override
+            public void event(final String name, final Object data) {
+                try {
+                    emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override
+            public void complete() {
+                emitter.complete();
+            }
+        });
+        final Runnable cancel = () -> service.cancelRun(runId);
+        emitter.onTimeout(cancel);
+        emitter.onError(e -> cancel.run());
+        return emitter;
+    }
+
+    /**
+     * Cancels a streamed run.
+     *
+     * @param runId run identifier
+     * @return 204 when the run was live, otherwise 404
+     */
+    @DeleteMapping("/runs/{runId}")
+    public ResponseEntity<Void> cancelRun(@PathVariable final String runId) {
+        return service.cancelRun(runId)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Maps incomplete requests to 400.
+     *
+     * @param e failure
+     * @return problem detail
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ProblemDetail badRequest(final IllegalArgumentException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+
+    /**
+     * Maps admission rejection to 429 with {@code Retry-After}.
+     *
+     * @param e failure
+     * @return problem detail
+     */
+    @ExceptionHandler(AdmissionRejectedException.class)
+    public ResponseEntity<ProblemDetail> rejected(final AdmissionRejectedException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.TOO_MANY_REQUESTS, e.getMessage()));
+    }
+
+    /**
+     * Maps synchronous timeouts to 504.
+     *
+     * @param e failure
+     * @return problem detail
+     */
+    @ExceptionHandler(GenerationTimeoutException.class)
+    public ProblemDetail timedOut(final GenerationTimeoutException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.GATEWAY_TIMEOUT, e.getMessage());
+    }
+
+    /**
+     * Maps run failures to 500.
+     *
+     * @param e failure
+     * @return problem detail
+     */
+    @ExceptionHandler(GenerationFailedException.class)
+    public ProblemDetail failed(final GenerationFailedException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+    }
+}
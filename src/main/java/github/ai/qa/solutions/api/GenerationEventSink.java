@@ -0,0 +1,21 @@
+package github.ai.qa.solutions.api;
+
+/**
+ * Receives the events of a streamed run, in order, from the thread executing the run.
+ *
+ * <p>Event names: {@code run}, {@code node-start}, {@code node-end}, {@code validation}, {@code decision},
+ * {@code best}, {@code result}, {@code error}. A failing {@link #event} (client gone) cancels the run.</p>
+ */
+public interface GenerationEventSink {
+
+    /**
+     * Delivers one event.
+     *
+     * @param name event name
+     * @param data event payload, serialized as JSON
+     */
+    void event(String name, Object data);
+
+    /** Called once after the last event ({@code result} or {@code error}). */
+    void complete();
+}
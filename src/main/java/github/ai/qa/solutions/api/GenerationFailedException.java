@@ -0,0 +1,17 @@
+package github.ai.qa.solutions.api;
+
+/** Thrown when a run fails or is cancelled before producing a result. Mapped to HTTP 500. */
+public class GenerationFailedException extends RuntimeException {
+    /** Serialization version. */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates the exception.
+     *
+     * @param message reason
+     * @param cause   underlying failure, may be null
+     */
+    public GenerationFailedException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,175 @@
+package github.ai.qa.solutions.api;
+
+import java.time.Instant;
+import java.util.concurrent.Future;
+
+/**
+ * Asynchronous generation job; the job id is the run id. Transitions are one-way: once terminal, a job never
+ * changes again.
+ */
+public final class GenerationJob {
+    /** Job lifecycle. */
+    public enum Status {
+        /** Waiting for a run slot. */
+        QUEUED,
+        /** Graph is running. */
+        RUNNING,
+        /** Finished with a result. */
+        SUCCEEDED,
+        /** The run failed. */
+        FAILED,
+        /** Cancelled by the client. */
+        CANCELLED,
+        /** Exceeded its timeout and was cancelled. */
+        TIMED_OUT;
+
+        /**
+         * Whether the status is final.
+         *
+         * @return true for SUCCEEDED, FAILED, CANCELLED and TIMED_OUT
+         */
+        public boolean terminal() {
+            return this != QUEUED && this != RUNNING;
+        }
+    }
+
+    /**
+     * Snapshot returned by the API.
+     *
+     * @param jobId       job (run) identifier
+     * @param status      current status
+     * @param submittedAt submission time
+     * @param startedAt   run start, or null while queued
+     * @param finishedAt  completion time, or null while not terminal
+     * @param error       failure reason for FAILED / TIMED_OUT
+     * @param result      result for SUCCEEDED
+     */
+    public record View(
+            String jobId,
+            Status status,
+            Instant submittedAt,
+            Instant startedAt,
+            Instant finishedAt,
+            String error,
+            GenerationResult result) {}
+
+    /** Job (run) identifier. */
+    private final String id;
+    /** Submission time. */
+    private final Instant submittedAt = Instant.now();
+    /** Current status. */
+    private Status status = Status.QUEUED;
+    /** Run start. */
+    private Instant startedAt;
+    /** Completion time. */
+    private Instant finishedAt;
+    /** Failure reason. */
+    private String error;
+    /** Result when succeeded. */
+    private GenerationResult result;
+    /** Task executing the job. */
+    private Future<?> task;
+    /** Whether the job has left the admission queue (started, cancelled or timed out). */
+    private boolean dequeued;
+
+    /**
+     * Creates a queued job.
+     *
+     * @param id job (run) identifier
+     */
+    GenerationJob(final String id) {
+        this.id = id;
+    }
+
+    /**
+     * Job identifier.
+     *
+     * @return job id
+     */
+    public String id() {
+        return id;
+    }
+
+    /**
+     * Attaches the executing task.
+     *
+     * @param task executor task
+     */
+    synchronized void task(final Future<?> task) {
+        this.task = task;
+    }
+
+    /**
+     * Executing task.
+     *
+     * @return task, or null before submission
+     */
+    synchronized Future<?> task() {
+        return task;
+    }
+
+    /**
+     * Marks the job as no longer waiting for a run slot.
+     *
+     * @return true only for the first call, so the queue counter is decremented exactly once
+     */
+    synchronized boolean leaveQueue() {
+        if (dequeued) return false;
+        dequeued = true;
+        return true;
+    }
+
+    /**
+     * QUEUED → RUNNING.
+     *
+     * @return false when the job already reached a terminal state
+     */
+    synchronized boolean start() {
+        if (status != Status.QUEUED) return false;
+        status = Status.RUNNING;
+        startedAt = Instant.now();
+        return true;
+    }
+
+    /**
+     * Moves to SUCCEEDED.
+     *
+     * @param value run result
+     */
+    synchronized void succeed(final GenerationResult value) {
+        if (finish(Status.SUCCEEDED, null)) result = value;
+    }
+
+    /**
+     * Moves to a terminal state unless already terminal.
+     *
+     * @param terminal target status
+     * @param reason   failure reason, may be null
+     * @return true when the transition happened
+     */
+    synchronized boolean finish(final Status terminal, final String reason) {
+        if (status.terminal()) return false;
+        status = terminal;
+        error = reason;
+        finishedAt = Instant.now();
+        return true;
+    }
+
+    /**
+     * Completion time.
+     *
+     * @return finish time, or null while not terminal
+     */
+    synchronized Instant finishedAt() {
+        return finishedAt;
+    }
+
+    /**
+     * Snapshot.
+     *
+     * @return view
+     */
+    public synchronized View view() {
+        return new View(id, status, submittedAt, startedAt, finishedAt, error, result);
+    }
+}
@@ -0,0 +1,20 @@
+package github.ai.qa.solutions.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Body of a generation request.
+ *
+ * @param prompt  what to generate (becomes {@code USER_PROMPT})
+ * @param schema  JSON Schema, either inline as an object or as a string
+ * @param options per-request options; may be null
+ */
+public record GenerationRequest(String prompt, JsonNode schema, Options options) {
+
+    /**
+     * Per-request options.
+     *
+     * @param timeoutMs run timeout in milliseconds, capped by {@code ai.api.max-timeout}
+     */
+    public record Options(Long timeoutMs) {}
+}
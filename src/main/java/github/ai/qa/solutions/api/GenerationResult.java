@@ -0,0 +1,101 @@
+package github.ai.qa.solutions.api;
+
+import static github.ai.qa.solutions.state.AgentState.StateKey.FIX_COUNT;
+import static github.ai.qa.solutions.state.AgentState.StateKey.GENERATED_JSON;
+import static github.ai.qa.solutions.state.AgentState.StateKey.REGENERATE_COUNT;
+import static github.ai.qa.solutions.state.AgentState.StateKey.SCHEMA_VERSION;
+import static github.ai.qa.solutions.state.AgentState.StateKey.TOKEN_USAGE;
+import static github.ai.qa.solutions.state.AgentState.StateKey.VALIDATION_RESULT;
+import static github.ai.qa.solutions.state.AgentState.StateKey.VALIDATION_SIGNATURE;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import github.ai.qa.solutions.state.AgentState;
+
+/**
+ * Outcome of a finished run.
+ *
+ * @param runId    run identifier (also the job id for asynchronous runs)
+ * @param valid    whether the final JSON passed schema validation
+ * @param json     generated JSON; a string when the model output is not parseable
+ * @param metadata run metadata
+ */
+public record GenerationResult(String runId, boolean valid, JsonNode json, Metadata metadata) {
+
+    /**
+     * Run metadata.
+     *
+     * @param durationMillis  wall-clock run time
+     * @param validation      final validation result ({@code OK} or error messages)
+     * @param schemaVersion   detected schema draft
+     * @param fixCount        FIX decisions taken
+     * @param regenerateCount REGENERATE decisions taken
+     * @param tokenUsage      token accounting of the run, or null
+     */
+    public record Metadata(
+            long durationMillis,
+            String validation,
+            String schemaVersion,
+            int fixCount,
+            int regenerateCount,
+            JsonNode tokenUsage) {}
+
+    /**
+     * Builds the result from the final graph state.
+     *
+     * @param runId          run identifier
+     * @param state          final state
+     * @param durationMillis run time
+     * @param mapper         JSON parser
+     * @return result
+     */
+    static GenerationResult from(
+            final String runId, final AgentState state, final long durationMillis, final ObjectMapper mapper) {
+        return new GenerationResult(
+                runId,
+                "OK".equals(state.getOptional(VALIDATION_SIGNATURE).orElse("")),
+                parse(state.getOptional(GENERATED_JSON).orElse(null), mapper, true),
+                new Metadata(
+                        durationMillis,
+                        state.getOptional(VALIDATION_RESULT).orElse(null),
+                        state.getOptional(SCHEMA_VERSION).orElse(null),
+                        intValue(state, FIX_COUNT),
+                        intValue(state, REGENERATE_COUNT),
+                        parse(state.getOptional(TOKEN_USAGE).orElse(null), mapper, false)));
+    }
+
+    /**
+     * Parses JSON text.
+     *
+     * @param text         JSON text, may be null
+     * @param mapper       parser
+     * @param keepAsString whether unparseable text is returned as a string node (otherwise null)
+     * @return parsed node, string node, or null node
+     */
+    private static JsonNode parse(final String text, final ObjectMapper mapper, final boolean keepAsString) {
+        if (text == null || text.isBlank()) return NullNode.getInstance();
+        try {
+            return mapper.readTree(text);
+        } catch (JsonProcessingException e) {
+            return keepAsString ? TextNode.valueOf(text) : NullNode.getInstance();
+        }
+    }
+
+    /**
+     * Reads a numeric state counter.
+     *
+     * @param state state
+     * @param key   key holding a decimal string
+     * @return value, or 0 when absent or malformed
+     */
+    private static int intValue(final AgentState state, final AgentState.StateKey key) {
+        try {
+            return Integer.parseInt(state.getOptional(key).orElse("0"));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
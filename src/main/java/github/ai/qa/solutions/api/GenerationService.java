@@ -0,0 +1,472 @@
+package github.ai.qa.solutions.api;
+
+import static github.ai.qa.solutions.state.AgentState.StateKey.JSON_SCHEMA;
+import static github.ai.qa.solutions.state.AgentState.StateKey.RUN_ID;
+import static github.ai.qa.solutions.state.AgentState.StateKey.USER_PROMPT;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import github.ai.qa.solutions.configuration.ApiProperties;
+import github.ai.qa.solutions.observability.GraphRunner;
+import github.ai.qa.solutions.observability.LiveRuns;
+import github.ai.qa.solutions.state.AgentState;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.bsc.langgraph4j.CompiledGraph;
+import org.bsc.langgraph4j.GraphStateException;
+import org.bsc.langgraph4j.StateGraph;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Service;
+
+/**
+ * Runs the agent graph for API callers: synchronously with a timeout, or as pollable asynchronous jobs.
+ *
+ * <p>The {@link StateGraph} is compiled once at startup. At most {@code ai.api.max-concurrent-runs} runs execute
+ * at a time; synchronous callers wait up to {@code ai.api.admission-wait} for a slot, asynchronous jobs queue
+ * up to {@code ai.api.max-queued-jobs}. Anything beyond is rejected with {@link AdmissionRejectedException}.
+ * Timeouts and cancellation go through {@link LiveRuns}, so the run stops at the next node boundary and its
+ * blocked node is interrupted.</p>
+ *
+ * <p>{@link #stream} runs like {@link #generate} but reports node progress to a {@link GenerationEventSink} as
+ * it happens (via {@link RunProgressListener}), instead of blocking the caller.</p>
+ */
+@Service
+public class GenerationService implements DisposableBean {
+    /** Logs run admission and completion. */
+    private static final Logger log = LoggerFactory.getLogger(GenerationService.class);
+    /** Graph compiled once and shared by all runs. */
+    private final CompiledGraph<AgentState> graph;
+    /** Iterates runs and ends those that stop before END. */
+    private final GraphRunner runner;
+    /** API settings. */
+    private final ApiProperties props;
+    /** Cancellation of runs in flight. */
+    private final LiveRuns liveRuns;
+    /** JSON mapper for schemas and results. */
+    private final ObjectMapper objectMapper;
+    /** Node start notifications for streamed runs. */
+    private final RunProgressListener progressListener;
+    /** Executes runs. */
+    private final ExecutorService executor;
+    /** Fires asynchronous job timeouts. */
+    private final ScheduledExecutorService timer;
+    /** Run slots. */
+    private final Semaphore runSlots;
+    /** Asynchronous jobs waiting for a slot. */
+    private final AtomicInteger queuedJobs = new AtomicInteger();
+    /** Asynchronous jobs by id, kept for {@code ai.api.job-retention} after finishing. */
+    private final Map<String, GenerationJob> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the service and compiles the graph.
+     *
+     * @param stateGraph   agent graph
+     * @param runner       iterates runs and ends those that stop before END
+     * @param props        API settings
+     * @param liveRuns     live run registry used for cancellation
+     * @param objectMapper     JSON mapper
+     * @param progressListener node start notifications; must be among the graph's node listeners
+     * @throws GraphStateException when the graph cannot be compiled
+     */
+    public GenerationService(
+            final StateGraph<AgentState> stateGraph,
+            final GraphRunner runner,
+            final ApiProperties props,
+            final LiveRuns liveRuns,
+            final ObjectMapper objectMapper,
+            final RunProgressListener progressListener)
+            throws GraphStateException {
+        this.graph = stateGraph.compile();
+        this.runner = runner;
+        this.props = props;
+        this.liveRuns = liveRuns;
+        this.objectMapper = objectMapper;
+        this.progressListener = progressListener;
+        this.executor = props.virtualThreads()
+                ? Executors.newThreadPerTaskExecutor(
+                        Thread.ofVirtual().name("generation-", 0).factory())
+                : Executors.newCachedThreadPool(
+                        Thread.ofPlatform().name("generation-", 0).daemon().factory());
+        this.timer = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("generation-timeouts").daemon().factory());
+        this.runSlots = new Semaphore(props.maxConcurrentRuns(), true);
+    }
+
+    /**
+     * Runs the graph and waits for the result.
+     *
+     * @param request generation request
+     * @return final result
+     * @throws IllegalArgumentException    when the request is incomplete
+     * @throws AdmissionRejectedException  when no run slot frees up within the admission wait
+     * @throws GenerationTimeoutException  when the run exceeds its timeout (the run is cancelled)
+     * @throws GenerationFailedException   when the run fails
+     */
+    public GenerationResult generate(final GenerationRequest request) {
+        final Map<String, Object> input = input(request, newRunId());
+        final String runId = (String) input.get(RUN_ID.name());
+        final Duration timeout = timeout(request);
+        acquireSlot();
+        final Future<GenerationResult> task;
+        try {
+            task = executor.submit(() -> {
+                try {
+                    return execute(runId, input);
+                } finally {
+                    runSlots.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            runSlots.release();
+            throw new AdmissionRejectedException("Service is shutting down");
+        }
+        try {
+            return task.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            abort(runId, task);
+            throw new GenerationTimeoutException(runId, timeout);
+        } catch (InterruptedException e) {
+            abort(runId, task);
+            Thread.currentThread().interrupt();
+            throw new GenerationFailedException("Interrupted while waiting for run " + runId, e);
+        } catch (ExecutionException e) {
+            throw new GenerationFailedException("Run " + runId + " failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Submits an asynchronous job.
+     *
+     * @param request generation request
+     * @return queued job snapshot
+     * @throws IllegalArgumentException   when the request is incomplete
+     * @throws AdmissionRejectedException when the job queue is full
+     */
+    public GenerationJob.View submit(final GenerationRequest request) {
+        final Map<String, Object> input = input(request, newRunId());
+        final GenerationJob job = new GenerationJob((String) input.get(RUN_ID.name()));
+        final Duration timeout = timeout(request);
+        purgeExpiredJobs();
+        if (queuedJobs.incrementAndGet() > props.maxQueuedJobs()) {
+            queuedJobs.decrementAndGet();
+            throw new AdmissionRejectedException("Job queue is full (" + props.maxQueuedJobs() + ")");
+        }
+        jobs.put(job.id(), job);
+        try {
+            job.task(executor.submit(() -> runJob(job, input)));
+        } catch (RejectedExecutionException e) {
+            queuedJobs.decrementAndGet();
+            jobs.remove(job.id());
+            throw new AdmissionRejectedException("Service is shutting down");
+        }
+        timer.schedule(
+                () -> {
+                    if (job.finish(GenerationJob.Status.TIMED_OUT, "Timed out after " + timeout.toMillis() + " ms")) {
+                        abort(job);
+                    }
+                },
+                timeout.toMillis(),
+                TimeUnit.MILLISECONDS);
+        log.info("📥 Job {} queued (timeout {} ms)", job.id(), timeout.toMillis());
+        return job.view();
+    }
+
+    /**
+     * Starts a run that reports its progress to {@code sink} and returns immediately.
+     *
+     * <p>The sink receives {@code run} first and {@code result} or {@code error} last, then {@code complete()}.
+     * When the sink throws (the client went away) or the timeout expires, the run is cancelled; events after a
+     * sink failure are dropped.</p>
+     *
+     * @param request generation request
+     * @param sink    event destination
+     * @return run identifier
+     * @throws IllegalArgumentException   when the request is incomplete
+     * @throws AdmissionRejectedException when no run slot frees up within the admission wait
+     */
+    public String stream(final GenerationRequest request, final GenerationEventSink sink) {
+        final Map<String, Object> input = input(request, newRunId());
+        final String runId = (String) input.get(RUN_ID.name());
+        final Duration timeout = timeout(request);
+        final GenerationEventSink guarded = new CancellingSink(runId, sink);
+        acquireSlot();
+        final ScheduledFuture<?> timeoutAbort =
+                timer.schedule(() -> liveRuns.cancel(runId), timeout.toMillis(), TimeUnit.MILLISECONDS);
+        try {
+            executor.execute(() -> streamRun(runId, input, guarded, timeoutAbort));
+        } catch (RejectedExecutionException e) {
+            timeoutAbort.cancel(false);
+            runSlots.release();
+            throw new AdmissionRejectedException("Service is shutting down");
+        }
+        log.info("📡 Run {} streaming (timeout {} ms)", runId, timeout.toMillis());
+        return runId;
+    }
+
+    /**
+     * Cancels a run in flight, e.g. a streamed one.
+     *
+     * @param runId run identifier
+     * @return true when the run was live
+     */
+    public boolean cancelRun(final String runId) {
+        return liveRuns.cancel(runId);
+    }
+
+    /**
+     * Executes a streamed run and reports its outcome to the sink; releases the run slot.
+     *
+     * @param runId        run identifier
+     * @param input        initial state
+     * @param sink         event destination
+     * @param timeoutAbort pending timeout, cancelled once the run ends
+     */
+    private void streamRun(
+            final String runId,
+            final Map<String, Object> input,
+            final GenerationEventSink sink,
+            final ScheduledFuture<?> timeoutAbort) {
+        final ProgressEvents events = new ProgressEvents(runId, sink, objectMapper);
+        try (AutoCloseable ignored = progressListener.subscribe(runId, events)) {
+            sink.event("run", Map.of("runId", runId));
+            sink.event("result", execute(runId, input));
+        } catch (CancellationException e) {
+            sink.event("error", Map.of("runId", runId, "status", "CANCELLED", "detail", "Run cancelled or timed out"));
+        } catch (Exception e) {
+            log.warn("❌ Streamed run {} failed: {}", runId, e.toString());
+            sink.event("error", Map.of("runId", runId, "status", "FAILED", "detail", String.valueOf(e.getMessage())));
+        } finally {
+            timeoutAbort.cancel(false);
+            runSlots.release();
+            sink.complete();
+        }
+    }
+
+    /**
+     * Sink wrapper that cancels the run on the first delivery failure and drops later events.
+     */
+    private final class CancellingSink implements GenerationEventSink {
+        /** Run to cancel. */
+        private final String runId;
+        /** Wrapped sink. */
+        private final GenerationEventSink delegate;
+        /** Set after the first delivery failure. */
+        private volatile boolean broken;
+
+        /**
+         * Wraps a sink.
+         *
+         * @param runId    run to cancel on failure
+         * @param delegate wrapped sink
+         */
+        CancellingSink(final String runId, final GenerationEventSink delegate) {
+            this.runId = runId;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void event(final String name, final Object data) {
+            if (broken) return;
+            try {
+                delegate.event(name, data);
+            } catch (RuntimeException e) {
+                broken = true;
+                log.info("🔌 Run {} lost its stream ({}), cancelling", runId, e.toString());
+                liveRuns.cancel(runId);
+            }
+        }
+
+        @Override
+        public void complete() {
+            try {
+                delegate.complete();
+            } catch (RuntimeException e) {
+                log.debug("Stream of run {} already closed: {}", runId, e.toString());
+            }
+        }
+    }
+
+    /**
+     * Looks up a job.
+     *
+     * @param jobId job identifier
+     * @return snapshot, or empty when unknown or expired
+     */
+    public Optional<GenerationJob.View> job(final String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(GenerationJob::view);
+    }
+
+    /**
+     * Cancels a job; a no-op for finished jobs.
+     *
+     * @param jobId job identifier
+     * @return snapshot after cancellation, or empty when unknown
+     */
+    public Optional<GenerationJob.View> cancel(final String jobId) {
+        final GenerationJob job = jobs.get(jobId);
+        if (job == null) return Optional.empty();
+        if (job.finish(GenerationJob.Status.CANCELLED, null)) abort(job);
+        return Optional.of(job.view());
+    }
+
+    /**
+     * Runs the graph on the calling thread.
+     *
+     * <p>Progress of streamed runs reaches their sink through the {@link RunProgressListener}. The
+     * {@link GraphRunner} ends the run for all listeners when it stops before END, whatever the reason.</p>
+     *
+     * @param runId run identifier
+     * @param input initial state
+     * @return final result
+     * @throws IllegalStateException when the graph produced no output
+     */
+    GenerationResult execute(final String runId, final Map<String, Object> input) {
+        final long t0 = System.nanoTime();
+        final AgentState last = runner.run(graph, input, out -> {});
+        if (last == null) throw new IllegalStateException("Graph produced no output for run " + runId);
+        final long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - t0);
+        log.info("✅ Run {} finished in {} ms", runId, millis);
+        return GenerationResult.from(runId, last, millis, objectMapper);
+    }
+
+    /**
+     * Executes a queued job once a run slot is free.
+     *
+     * @param job   job
+     * @param input initial state
+     */
+    private void runJob(final GenerationJob job, final Map<String, Object> input) {
+        try {
+            runSlots.acquire();
+        } catch (InterruptedException e) {
+            if (job.leaveQueue()) queuedJobs.decrementAndGet();
+            job.finish(GenerationJob.Status.CANCELLED, null);
+            return;
+        }
+        if (job.leaveQueue()) queuedJobs.decrementAndGet();
+        try {
+            if (!job.start()) return;
+            job.succeed(execute(job.id(), input));
+        } catch (CancellationException e) {
+            job.finish(GenerationJob.Status.CANCELLED, null);
+        } catch (RuntimeException e) {
+            log.warn("❌ Job {} failed: {}", job.id(), e.toString());
+            job.finish(GenerationJob.Status.FAILED, e.getMessage());
+        } finally {
+            runSlots.release();
+        }
+    }
+
+    /**
+     * Builds the initial state.
+     *
+     * @param request request
+     * @param runId   run identifier
+     * @return initial state with prompt, schema and run id
+     * @throws IllegalArgumentException when prompt or schema is missing
+     */
+    Map<String, Object> input(final GenerationRequest request, final String runId) {
+        if (request == null || request.prompt() == null || request.prompt().isBlank()) {
+            throw new IllegalArgumentException("'prompt' is required");
+        }
+        final JsonNode schema = request.schema();
+        if (schema == null || schema.isNull() || (schema.isTextual() && schema.asText().isBlank())) {
+            throw new IllegalArgumentException("'schema' is required");
+        }
+        final String schemaText;
+        try {
+            schemaText = schema.isTextual() ? schema.asText() : objectMapper.writeValueAsString(schema);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("'schema' is not serializable: " + e.getOriginalMessage(), e);
+        }
+        return Map.of(USER_PROMPT.name(), request.prompt(), JSON_SCHEMA.name(), schemaText, RUN_ID.name(), runId);
+    }
+
+    /**
+     * Effective timeout of a request.
+     *
+     * @param request request
+     * @return requested timeout capped by {@code max-timeout}, or the default
+     */
+    Duration timeout(final GenerationRequest request) {
+        final Long ms = request.options() == null ? null : request.options().timeoutMs();
+        if (ms == null || ms <= 0) return props.defaultTimeout();
+        final Duration requested = Duration.ofMillis(ms);
+        return requested.compareTo(props.maxTimeout()) > 0 ? props.maxTimeout() : requested;
+    }
+
+    /**
+     * Waits for a run slot.
+     *
+     * @throws AdmissionRejectedException when none frees up within the admission wait
+     */
+    private void acquireSlot() {
+        try {
+            if (runSlots.tryAcquire(props.admissionWait().toMillis(), TimeUnit.MILLISECONDS)) return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        throw new AdmissionRejectedException("All " + props.maxConcurrentRuns() + " run slots are busy");
+    }
+
+    /**
+     * Stops a run: marks it cancelled (interrupting its current node) and cancels the task.
+     *
+     * @param runId run identifier
+     * @param task  executing task, may be null
+     */
+    private void abort(final String runId, final Future<?> task) {
+        liveRuns.cancel(runId);
+        if (task != null) task.cancel(true);
+    }
+
+    /**
+     * Stops a job: releases its queue place if still queued and aborts its run.
+     *
+     * @param job job
+     */
+    private void abort(final GenerationJob job) {
+        if (job.leaveQueue()) queuedJobs.decrementAndGet();
+        abort(job.id(), job.task());
+    }
+
+    /** Drops finished jobs older than the retention. */
+    private void purgeExpiredJobs() {
+        final Instant cutoff = Instant.now().minus(props.jobRetention());
+        jobs.values().removeIf(j -> j.finishedAt() != null && j.finishedAt().isBefore(cutoff));
+    }
+
+    /**
+     * New run identifier.
+     *
+     * @return random UUID string
+     */
+    private static String newRunId() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Override
+    public void destroy() {
+        timer.shutdownNow();
+        executor.shutdownNow();
+    }
+}
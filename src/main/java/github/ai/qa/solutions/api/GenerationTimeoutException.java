@@ -0,0 +1,19 @@
+package github.ai.qa.solutions.api;
+
+import java.time.Duration;
+
+/** Thrown when a synchronous run exceeds its timeout; the run is cancelled. Mapped to HTTP 504. */
+public class GenerationTimeoutException extends RuntimeException {
+    /** Serialization version. */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates the exception.
+     *
+     * @param runId   run identifier
+     * @param timeout exceeded timeout
+     */
+    public GenerationTimeoutException(final String runId, final Duration timeout) {
+        super("Run " + runId + " did not finish within " + timeout.toMillis() + " ms and was cancelled");
+    }
+}
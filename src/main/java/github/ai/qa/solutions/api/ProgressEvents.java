@@ -0,0 +1,141 @@
+package github.ai.qa.solutions.api;
+
+import static github.ai.qa.solutions.state.AgentState.StateKey.DECISION;
+import static github.ai.qa.solutions.state.AgentState.StateKey.FIX_COUNT;
+import static github.ai.qa.solutions.state.AgentState.StateKey.GENERATED_JSON;
+import static github.ai.qa.solutions.state.AgentState.StateKey.ITERATION;
+import static github.ai.qa.solutions.state.AgentState.StateKey.REGENERATE_COUNT;
+import static github.ai.qa.solutions.state.AgentState.StateKey.VALIDATION_ERROR_COUNT;
+import static github.ai.qa.solutions.state.AgentState.StateKey.VALIDATION_RESULT;
+import static github.ai.qa.solutions.state.AgentState.StateKey.VALIDATION_SIGNATURE;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+import github.ai.qa.solutions.configuration.AgentApplicationConfiguration.NodeId;
+import github.ai.qa.solutions.nodes.VerifyJsonByJsonSchemaNode;
+import github.ai.qa.solutions.state.AgentState;
+import github.ai.qa.solutions.state.AgentState.StateKey;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Turns node starts and ends of one run into stream events. Not thread-safe: used on the run's thread only.
+ *
+ * <p>{@code best} carries the generated JSON with the fewest validation errors seen so far and is sent whenever
+ * a validation improves on it, so a caller can stop early with the best candidate in hand.</p>
+ */
+final class ProgressEvents {
+    /** Run identifier. */
+    private final String runId;
+    /** Event destination. */
+    private final GenerationEventSink sink;
+    /** Parser for JSON payloads. */
+    private final ObjectMapper mapper;
+    /** Validation errors of the best candidate so far. */
+    private int bestErrors = Integer.MAX_VALUE;
+
+    /**
+     * Creates the mapper for one run.
+     *
+     * @param runId  run identifier
+     * @param sink   event destination
+     * @param mapper JSON parser
+     */
+    ProgressEvents(final String runId, final GenerationEventSink sink, final ObjectMapper mapper) {
+        this.runId = runId;
+        this.sink = sink;
+        this.mapper = mapper;
+    }
+
+    /**
+     * Emits {@code node-start}.
+     *
+     * @param node node about to run
+     */
+    void nodeStarted(final NodeId node) {
+        sink.event("node-start", Map.of("runId", runId, "node", node.id));
+    }
+
+    /**
+     * Emits {@code node-end}, then {@code validation}/{@code best} or {@code decision} for the nodes producing them.
+     *
+     * @param node    node that ran
+     * @param state   state passed to the node
+     * @param updates updates returned by the node
+     * @param nanos   execution time
+     */
+    void nodeEnded(final NodeId node, final AgentState state, final Map<String, Object> updates, final long nanos) {
+        sink.event("node-end", Map.of("runId", runId, "node", node.id, "durationMs", nanos / 1_000_000L));
+        if (node == NodeId.VALIDATE_JSON) validated(state, updates);
+        if (node == NodeId.REASON_AND_ROUTE) decided(state, updates);
+    }
+
+    /**
+     * Emits {@code validation} and, when the candidate improves on the best one, {@code best}.
+     *
+     * @param state   state passed to the validation node
+     * @param updates updates of the validation node
+     */
+    private void validated(final AgentState state, final Map<String, Object> updates) {
+        final int errors = VerifyJsonByJsonSchemaNode.errorCount(
+                value(VALIDATION_ERROR_COUNT, state, updates), value(VALIDATION_SIGNATURE, state, updates));
+        final Map<String, Object> validation = new LinkedHashMap<>();
+        validation.put("runId", runId);
+        validation.put("errors", errors);
+        validation.put("result", value(VALIDATION_RESULT, state, updates));
+        sink.event("validation", validation);
+        if (errors < bestErrors) {
+            bestErrors = errors;
+            final Map<String, Object> best = new LinkedHashMap<>();
+            best.put("runId", runId);
+            best.put("errors", errors);
+            best.put("json", json(value(GENERATED_JSON, state, updates)));
+            sink.event("best", best);
+        }
+    }
+
+    /**
+     * Emits {@code decision}.
+     *
+     * @param state   state passed to the routing node
+     * @param updates updates of the routing node
+     */
+    private void decided(final AgentState state, final Map<String, Object> updates) {
+        final Map<String, Object> decision = new LinkedHashMap<>();
+        decision.put("runId", runId);
+        decision.put("decision", value(DECISION, state, updates));
+        decision.put("iteration", value(ITERATION, state, updates));
+        decision.put("fixCount", value(FIX_COUNT, state, updates));
+        decision.put("regenerateCount", value(REGENERATE_COUNT, state, updates));
+        sink.event("decision", decision);
+    }
+
+    /**
+     * Value of a key after the node's updates are applied.
+     *
+     * @param key     state key
+     * @param state   state passed to the node
+     * @param updates updates of the node
+     * @return updated value, previous value, or empty string
+     */
+    private static String value(final StateKey key, final AgentState state, final Map<String, Object> updates) {
+        final Object updated = updates.get(key.name());
+        return updated != null ? updated.toString() : state.getOptional(key).orElse("");
+    }
+
+    /**
+     * Parses generated JSON for the payload.
+     *
+     * @param text generated text
+     * @return parsed JSON, or the text itself when unparseable
+     */
+    private JsonNode json(final String text) {
+        try {
+            return mapper.readTree(text);
+        } catch (JsonProcessingException e) {
+            return TextNode.valueOf(text);
+        }
+    }
+}
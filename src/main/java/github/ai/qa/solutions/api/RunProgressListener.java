@@ -0,0 +1,47 @@
+package github.ai.qa.solutions.api;
+
+import github.ai.qa.solutions.configuration.AgentApplicationConfiguration.NodeId;
+import github.ai.qa.solutions.observability.NodeExecutionListener;
+import github.ai.qa.solutions.state.AgentState;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+
+/**
+ * Forwards node starts and ends of subscribed runs as they happen. The graph's output stream is no substitute:
+ * it hands out a node's output only once the next node has already started.
+ */
+@Component
+public class RunProgressListener implements NodeExecutionListener {
+    /** Progress mappers by run id. */
+    private final Map<String, ProgressEvents> subscribers = new ConcurrentHashMap<>();
+
+    /**
+     * Subscribes a run's progress mapper; callbacks arrive on the run's thread.
+     *
+     * @param runId  run identifier
+     * @param events progress mapper of the run
+     * @return handle that ends the subscription
+     */
+    AutoCloseable subscribe(final String runId, final ProgressEvents events) {
+        subscribers.put(runId, events);
+        return () -> subscribers.remove(runId);
+    }
+
+    @Override
+    public void onNodeStart(final String runId, final NodeId node, final AgentState state) {
+        final ProgressEvents events = subscribers.get(runId);
+        if (events != null) events.nodeStarted(node);
+    }
+
+    @Override
+    public void onNodeEnd(
+            final String runId,
+            final NodeId node,
+            final AgentState state,
+            final Map<String, Object> updates,
+            final long nanos) {
+        final ProgressEvents events = subscribers.get(runId);
+        if (events != null) events.nodeEnded(node, state, updates, nanos);
+    }
+}
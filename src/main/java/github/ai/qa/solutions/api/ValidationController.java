@@ -0,0 +1,158 @@
+package github.ai.qa.solutions.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import github.ai.qa.solutions.tools.BulkValidator;
+import github.ai.qa.solutions.tools.SchemaCatalog;
+import github.ai.qa.solutions.tools.SchemaValidatorCache;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * HTTP API for validating existing datasets.
+ *
+ * <ul>
+ *   <li>{@code POST /api/v1/validations/bulk} — NDJSON request body ({@code application/x-ndjson}) with the schema
+ *       given inline ({@code schema} query parameter or {@code X-Json-Schema} header) or by URI ({@code schemaUri},
+ *       only URIs the {@link SchemaCatalog} serves itself, so callers cannot make the server read files or fetch
+ *       URLs); streams one NDJSON result per
+ *       document ({@code line}, {@code ok}, {@code errors}) and ends with a {@code summary} line. With
+ *       {@code invalidOnly=true} valid lines are left out.</li>
+ * </ul>
+ *
+ * <p>The request body is read from the connection as it is validated (see {@link BulkValidator}): it is neither
+ * spooled to disk nor loaded whole, and the results are written on the request thread, so no multipart or async
+ * timeout limits apply. An invalid or missing schema is a 400 problem detail, reported before streaming starts.</p>
+ */
+@RestController
+@RequestMapping("/api/v1/validations")
+public class ValidationController {
+    /** Media type of newline-delimited JSON. */
+    public static final String NDJSON = "application/x-ndjson";
+    /** Header carrying the schema text. */
+    public static final String SCHEMA_HEADER = "X-Json-Schema";
+    /** Validates datasets. */
+    private final BulkValidator validator;
+    /** Writes result lines. */
+    private final ObjectMapper objectMapper;
+    /** Documents {@code schemaUri} may name. */
+    private final SchemaCatalog catalog;
+
+    /**
+     * Creates the controller.
+     *
+     * @param validator    dataset validator
+     * @param objectMapper result writer
+     * @param catalog      local schema catalog
+     */
+    public ValidationController(
+            final BulkValidator validator, final ObjectMapper objectMapper, final SchemaCatalog catalog) {
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.catalog = catalog;
+    }
+
+    /**
+     * Validates an NDJSON dataset and streams the results.
+     *
+     * @param data        NDJSON dataset, the raw request body
+     * @param schema      JSON Schema text from the query, may be null
+     * @param header      JSON Schema text from the {@value #SCHEMA_HEADER} header, may be null
+     * @param schemaUri   URI of the JSON Schema, may be null
+     * @param invalidOnly whether to leave valid lines out of the stream
+     * @param response    response the results are written to
+     * @throws IOException when the dataset cannot be read or the results cannot be written
+     */
+    @PostMapping(path = "/bulk", consumes = NDJSON, produces = NDJSON)
+    public void bulk(
+            final InputStream data,
+            @RequestParam(name = "schema", required = false) final String schema,
+            @RequestHeader(name = SCHEMA_HEADER, required = false) final String header,
+            @RequestParam(name = "schemaUri", required = false) final String schemaUri,
+            @RequestParam(name = "invalidOnly", defaultValue = "false") final boolean invalidOnly,
+            final HttpServletResponse response)
+            throws IOException {
+        final SchemaValidatorCache.Prepared prepared = validator.prepare(schemaText(schema, header, schemaUri));
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        final Writer writer =
+                new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        try (Reader reader = new InputStreamReader(data, StandardCharsets.UTF_8)) {
+            final BulkValidator.Summary summary = validator.validate(reader, prepared, result -> {
+                if (!invalidOnly || !result.ok()) line(writer, result);
+            });
+            line(writer, Map.of("summary", summary));
+        }
+        writer.flush();
+    }
+
+    /**
+     * Schema of a bulk request, from exactly one of its sources.
+     *
+     * @param schema    inline schema from the query, may be null
+     * @param header    inline schema from the header, may be null
+     * @param schemaUri schema URI, may be null
+     * @return schema text; a URI becomes a {@code $ref} document resolved through the schema catalog
+     * @throws IllegalArgumentException when no source or more than one is given, or the catalog does not serve the
+     *                                  URI
+     */
+    private String schemaText(final String schema, final String header, final String schemaUri) {
+        final List<String> given = Stream.of(schema, header, schemaUri)
+                .filter(s -> s != null && !s.isBlank())
+                .toList();
+        if (given.size() != 1) {
+            throw new IllegalArgumentException("Give the schema in exactly one of: the schema parameter, the "
+                    + SCHEMA_HEADER + " header or the schemaUri parameter");
+        }
+        if (schemaUri == null || schemaUri.isBlank()) return given.get(0);
+        final int fragment = schemaUri.indexOf('#');
+        if (!catalog.serves(fragment < 0 ? schemaUri : schemaUri.substring(0, fragment))) {
+            throw new IllegalArgumentException("schemaUri must name a document of the schema catalog");
+        }
+        return objectMapper.createObjectNode().put("$ref", schemaUri).toString();
+    }
+
+    /**
+     * Maps invalid schemas and incomplete requests to 400.
+     *
+     * @param e failure
+     * @return problem detail
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ProblemDetail badRequest(final IllegalArgumentException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+
+    /**
+     * Writes one NDJSON line.
+     *
+     * @param writer target
+     * @param value  line value
+     */
+    private void line(final Writer writer, final Object value) {
+        try {
+            writer.write(objectMapper.writeValueAsString(value));
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package github.ai.qa.solutions.components.json;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Finds the first balanced top-level JSON object or array in raw model output and repairs common lexical
+ * defects on the way, in a single pass over the text.
+ *
+ * <p>Handled: prose before the value and commentary after it, Markdown fences, trailing commas, single-quoted
+ * strings, {@code //} and {@code /* *}{@code /} comments, unquoted object keys, Python literals
+ * ({@code True}/{@code False}/{@code None}) and raw control characters inside strings. Anything else is copied as
+ * is and left for the JSON parser to reject. Every repair is logged as a warning and counted in
+ * {@code agent.json.repairs} (tags {@code caller}, {@code repair}).</p>
+ */
+@Component
+public class LenientJsonExtractor {
+    /** Logs applied repairs. */
+    private static final Logger log = LoggerFactory.getLogger(LenientJsonExtractor.class);
+    /** Repair counters. */
+    private final MeterRegistry registry;
+
+    /**
+     * Creates the extractor.
+     *
+     * @param registry meter registry for repair counters
+     */
+    public LenientJsonExtractor(final MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /** Lexical defects the extractor repairs. */
+    public enum Repair {
+        /** Text before the JSON value (other than whitespace and a Markdown fence). */
+        PREAMBLE,
+        /** Text after the JSON value (other than whitespace and a Markdown fence). */
+        TRAILING_TEXT,
+        /** Comma before a closing bracket. */
+        TRAILING_COMMA,
+        /** Single-quoted string. */
+        SINGLE_QUOTES,
+        /** Line or block comment. */
+        COMMENT,
+        /** Object key without quotes. */
+        UNQUOTED_KEY,
+        /** {@code True}, {@code False} or {@code None}. */
+        PYTHON_LITERAL,
+        /** Raw newline, tab or other control character inside a string. */
+        CONTROL_CHARACTER
+    }
+
+    /**
+     * Extraction outcome.
+     *
+     * @param json    the balanced JSON value with repairs applied, or null when none was found
+     * @param repairs repairs applied
+     */
+    public record Result(String json, Set<Repair> repairs) {
+        /**
+         * Whether a balanced value was found.
+         *
+         * @return true when {@link #json()} is set
+         */
+        public boolean found() {
+            return json != null;
+        }
+
+        /**
+         * The extracted JSON, or a fallback.
+         *
+         * @param fallback text used when nothing was found
+         * @return extracted JSON or {@code fallback}
+         */
+        public String orElse(final String fallback) {
+            return json != null ? json : fallback;
+        }
+    }
+
+    /**
+     * Extracts and repairs the first JSON value of {@code raw}; logs and counts the repairs.
+     *
+     * @param raw    model output
+     * @param caller node/tool name, for logs and metrics
+     * @return extraction outcome
+     */
+    public Result extract(final String raw, final String caller) {
+        final Result result = scan(raw);
+        if (!result.repairs().isEmpty()) {
+            log.warn("🩹 {}: repaired model JSON output: {}", caller, result.repairs());
+            for (Repair repair : result.repairs()) {
+                Counter.builder("agent.json.repairs")
+                        .description("Lexical repairs applied to raw model JSON output")
+                        .tag("caller", caller)
+                        .tag("repair", repair.name())
+                        .register(registry)
+                        .increment();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Single-pass scan without side effects.
+     *
+     * @param raw model output; may be null
+     * @return extraction outcome
+     */
+    static Result scan(final String raw) {
+        final Set<Repair> repairs = EnumSet.noneOf(Repair.class);
+        if (raw == null) return new Result(null, repairs);
+        final int n = raw.length();
+        int i = skipNoise(raw, 0, repairs, Repair.PREAMBLE, true);
+        if (i >= n) return new Result(null, EnumSet.noneOf(Repair.class));
+
+        final StringBuilder out = new StringBuilder(n - i);
+        final Deque<Character> closers = new ArrayDeque<>();
+        boolean expectKey = false;
+        boolean pendingComma = false;
+        while (i < n) {
+            final char c = raw.charAt(i);
+            if (Character.isWhitespace(c)) {
+                out.append(c);
+                i++;
+                continue;
+            }
+            if (c == '/' && i + 1 < n && (raw.charAt(i + 1) == '/' || raw.charAt(i + 1) == '*')) {
+                i = skipComment(raw, i);
+                repairs.add(Repair.COMMENT);
+                continue;
+            }
+            if (c == ',') {
+                if (pendingComma) out.append(',');
+                pendingComma = true;
+                expectKey = !closers.isEmpty() && closers.peek() == '}';
+                i++;
+                continue;
+            }
+            if (pendingComma) {
+                if (c == '}' || c == ']') {
+                    repairs.add(Repair.TRAILING_COMMA);
+                } else {
+                    out.append(',');
+                }
+                pendingComma = false;
+            }
+            switch (c) {
+                case '{', '[' -> {
+                    closers.push(c == '{' ? '}' : ']');
+                    expectKey = c == '{';
+                    out.append(c);
+                    i++;
+                }
+                case '}', ']' -> {
+                    if (closers.isEmpty() || closers.pop() != c) return new Result(null, repairs);
+                    out.append(c);
+                    i++;
+                    if (closers.isEmpty()) {
+                        skipNoise(raw, i, repairs, Repair.TRAILING_TEXT, false);
+                        return new Result(out.toString(), repairs);
+                    }
+                    expectKey = false;
+                }
+                case '"', '\'' -> {
+                    i = copyString(raw, i, out, repairs);
+                    expectKey = false;
+                }
+                case ':' -> {
+                    out.append(c);
+                    expectKey = false;
+                    i++;
+                }
+                default -> {
+                    final int end = wordEnd(raw, i);
+                    if (end == i) {
+                        out.append(c); // stray character: left for the parser to reject
+                        i++;
+                        continue;
+                    }
+                    final String word = raw.substring(i, end);
+                    if (expectKey && isIdentifier(word)) {
+                        out.append('"').append(word).append('"');
+                        repairs.add(Repair.UNQUOTED_KEY);
+                    } else if (word.equals("True") || word.equals("False") || word.equals("None")) {
+                        out.append(word.equals("None") ? "null" : word.toLowerCase());
+                        repairs.add(Repair.PYTHON_LITERAL);
+                    } else {
+                        out.append(word);
+                    }
+                    expectKey = false;
+                    i = end;
+                }
+            }
+        }
+        return new Result(null, repairs); // unbalanced: cut off or malformed
+    }
+
+    /**
+     * Skips whitespace, Markdown fence lines and (recording {@code repair}) any other text, up to the start of a
+     * JSON object or array when {@code untilValue} is set, otherwise to the end.
+     *
+     * @param raw        text
+     * @param from       start index
+     * @param repairs    collected repairs
+     * @param repair     repair recorded when non-fence text is skipped
+     * @param untilValue whether to stop at the start of an object or array
+     * @return index of the value start, or the text length
+     */
+    private static int skipNoise(
+            final String raw,
+            final int from,
+            final Set<Repair> repairs,
+            final Repair repair,
+            final boolean untilValue) {
+        int i = from;
+        while (i < raw.length()) {
+            final char c = raw.charAt(i);
+            if (untilValue && (c == '{' || c == '[')) return i;
+            if (raw.startsWith("```", i)) {
+                final int newline = raw.indexOf('\n', i);
+                i = newline < 0 ? raw.length() : newline + 1;
+                continue;
+            }
+            if (!Character.isWhitespace(c)) repairs.add(repair);
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Skips a line or block comment.
+     *
+     * @param raw  text
+     * @param from index of the leading slash
+     * @return index after the comment
+     */
+    private static int skipComment(final String raw, final int from) {
+        if (raw.charAt(from + 1) == '/') {
+            final int newline = raw.indexOf('\n', from);
+            return newline < 0 ? raw.length() : newline;
+        }
+        final int end = raw.indexOf("*/", from + 2);
+        return end < 0 ? raw.length() : end + 2;
+    }
+
+    /**
+     * Copies a double- or single-quoted string as a double-quoted JSON string, escaping raw control characters.
+     *
+     * @param raw     text
+     * @param from    index of the opening quote
+     * @param out     output
+     * @param repairs collected repairs
+     * @return index after the closing quote, or the text length when unterminated
+     */
+    private static int copyString(
+            final String raw, final int from, final StringBuilder out, final Set<Repair> repairs) {
+        final char quote = raw.charAt(from);
+        if (quote == '\'') repairs.add(Repair.SINGLE_QUOTES);
+        out.append('"');
+        int i = from + 1;
+        while (i < raw.length()) {
+            final char c = raw.charAt(i);
+            if (c == '\\' && i + 1 < raw.length()) {
+                final char next = raw.charAt(i + 1);
+                if (next == '\'' && quote == '\'') {
+                    out.append('\'');
+                } else {
+                    out.append(c).append(next);
+                }
+                i += 2;
+                continue;
+            }
+            if (c == quote) {
+                out.append('"');
+                return i + 1;
+            }
+            if (c == '"') {
+                out.append("\\\""); // only reachable inside single quotes
+            } else if (c < 0x20) {
+                repairs.add(Repair.CONTROL_CHARACTER);
+                out.append(switch (c) {
+                    case '\n' -> "\\n";
+                    case '\r' -> "\\r";
+                    case '\t' -> "\\t";
+                    default -> String.format("\\u%04x", (int) c);
+                });
+            } else {
+                out.append(c);
+            }
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * End of a bare word (literal, number or unquoted key).
+     *
+     * @param raw  text
+     * @param from start index
+     * @return index after the word; {@code from} when no word starts there
+     */
+    private static int wordEnd(final String raw, final int from) {
+        int i = from;
+        while (i < raw.length()) {
+            final char c = raw.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_' && c != '$' && c != '-' && c != '+' && c != '.') break;
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Whether a bare word can be an unquoted key.
+     *
+     * @param word bare word
+     * @return true for identifiers
+     */
+    private static boolean isIdentifier(final String word) {
+        return Character.isLetter(word.charAt(0)) || word.charAt(0) == '_' || word.charAt(0) == '$';
+    }
+}
@@ -0,0 +1,236 @@
+package github.ai.qa.solutions.components.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.networknt.schema.SpecVersion;
+import github.ai.qa.solutions.tools.SchemaVersionDetector;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stable identity of a JSON Schema.
+ *
+ * <p>The schema is first brought to a canonical text:</p>
+ * - object keys are sorted, whitespace is dropped
+ * - numbers are written in their shortest exact decimal form, so {@code 1}, {@code 1.0} and {@code 1e0} are equal
+ * - {@code $schema} aliases of a known draft ({@code http}/{@code https}, with or without the trailing {@code #})
+ *   resolve to the draft's meta-schema id
+ *
+ * <p>The fingerprint is the 128-bit MurmurHash3 (x64) of that text in hex, so schemas that differ only in key
+ * order, formatting or meta-schema spelling share it. Text that is not JSON is hashed as is.</p>
+ */
+@Component
+public class SchemaFingerprint {
+    /** Length of the short form used as a metric tag, in hex characters. */
+    public static final int SHORT_LENGTH = 8;
+    /** First multiplication constant of MurmurHash3 x64 128. */
+    private static final long C1 = 0x87c37b91114253d5L;
+    /** Second multiplication constant of MurmurHash3 x64 128. */
+    private static final long C2 = 0x4cf5ad432745937fL;
+    /** Schema parser. */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Creates the fingerprinter.
+     *
+     * @param objectMapper schema parser
+     */
+    public SchemaFingerprint(final ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Fingerprint of a schema text.
+     *
+     * @param schemaText schema text
+     * @return 32 hex characters
+     */
+    public String of(final String schemaText) {
+        final String text = schemaText == null ? "" : schemaText;
+        String canonical;
+        try {
+            final JsonNode schema = objectMapper.readTree(text);
+            canonical = schema == null ? text.strip() : canonical(schema);
+        } catch (Exception e) {
+            canonical = text.strip();
+        }
+        return hash128(canonical.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Short form of a fingerprint, for tags that should stay readable.
+     *
+     * @param fingerprint full fingerprint, may be null
+     * @return leading hex characters, or {@code none} when there is no fingerprint
+     */
+    public static String shortForm(final String fingerprint) {
+        if (fingerprint == null || fingerprint.isBlank()) return "none";
+        return fingerprint.length() <= SHORT_LENGTH ? fingerprint : fingerprint.substring(0, SHORT_LENGTH);
+    }
+
+    /**
+     * Canonical text of a parsed schema.
+     *
+     * @param schema parsed schema
+     * @return canonical JSON text
+     */
+    public String canonical(final JsonNode schema) {
+        final StringBuilder out = new StringBuilder(256);
+        write(schema, false, out);
+        return out.toString();
+    }
+
+    /**
+     * Appends the canonical form of a node.
+     *
+     * @param node node
+     * @param meta whether the node is the value of a {@code $schema} keyword
+     * @param out  target
+     */
+    private static void write(final JsonNode node, final boolean meta, final StringBuilder out) {
+        if (node.isObject()) {
+            final List<String> keys = new ArrayList<>(node.size());
+            final Iterator<String> it = node.fieldNames();
+            while (it.hasNext()) keys.add(it.next());
+            keys.sort(null);
+            out.append('{');
+            for (int i = 0; i < keys.size(); i++) {
+                if (i > 0) out.append(',');
+                final String key = keys.get(i);
+                out.append(TextNode.valueOf(key));
+                out.append(':');
+                write(node.get(key), "$schema".equals(key), out);
+            }
+            out.append('}');
+        } else if (node.isArray()) {
+            out.append('[');
+            for (int i = 0; i < node.size(); i++) {
+                if (i > 0) out.append(',');
+                write(node.get(i), false, out);
+            }
+            out.append(']');
+        } else if (node.isNumber()) {
+            out.append(number(node));
+        } else if (meta && node.isTextual()) {
+            out.append(TextNode.valueOf(metaSchema(node.asText())));
+        } else {
+            out.append(node);
+        }
+    }
+
+    /**
+     * Shortest exact decimal form of a number.
+     *
+     * @param node numeric node
+     * @return plain decimal text without trailing zeros
+     */
+    private static String number(final JsonNode node) {
+        if (node.isIntegralNumber()) return node.bigIntegerValue().toString();
+        final BigDecimal value = node.decimalValue();
+        return value.signum() == 0 ? "0" : value.stripTrailingZeros().toPlainString();
+    }
+
+    /**
+     * Resolves a {@code $schema} alias to the id of its draft's meta-schema.
+     *
+     * @param uri {@code $schema} value
+     * @return meta-schema id of a known draft, otherwise the value without a trailing empty fragment
+     */
+    private static String metaSchema(final String uri) {
+        final SpecVersion.VersionFlag version = SchemaVersionDetector.versionFromSchemaUri(uri);
+        if (version != null) return version.getId();
+        final String trimmed = uri.strip();
+        return trimmed.endsWith("#") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+
+    /**
+     * MurmurHash3 x64 128 with seed 0.
+     *
+     * @param data bytes to hash
+     * @return 32 hex characters
+     */
+    static String hash128(final byte[] data) {
+        long h1 = 0;
+        long h2 = 0;
+        final int blocks = data.length / 16;
+        for (int i = 0; i < blocks; i++) {
+            long k1 = littleEndian(data, i * 16);
+            long k2 = littleEndian(data, i * 16 + 8);
+            k1 *= C1;
+            k1 = Long.rotateLeft(k1, 31);
+            k1 *= C2;
+            h1 ^= k1;
+            h1 = Long.rotateLeft(h1, 27);
+            h1 += h2;
+            h1 = h1 * 5 + 0x52dce729;
+            k2 *= C2;
+            k2 = Long.rotateLeft(k2, 33);
+            k2 *= C1;
+            h2 ^= k2;
+            h2 = Long.rotateLeft(h2, 31);
+            h2 += h1;
+            h2 = h2 * 5 + 0x38495ab5;
+        }
+
+        long k1 = 0;
+        long k2 = 0;
+        final int tail = blocks * 16;
+        for (int i = data.length - tail - 1; i >= 8; i--) k2 = (k2 << 8) | (data[tail + i] & 0xffL);
+        for (int i = Math.min(7, data.length - tail - 1); i >= 0; i--) k1 = (k1 << 8) | (data[tail + i] & 0xffL);
+        if (data.length - tail > 8) {
+            k2 *= C2;
+            k2 = Long.rotateLeft(k2, 33);
+            k2 *= C1;
+            h2 ^= k2;
+        }
+        if (data.length - tail > 0) {
+            k1 *= C1;
+            k1 = Long.rotateLeft(k1, 31);
+            k1 *= C2;
+            h1 ^= k1;
+        }
+
+        h1 ^= data.length;
+        h2 ^= data.length;
+        h1 += h2;
+        h2 += h1;
+        h1 = mix(h1);
+        h2 = mix(h2);
+        h1 += h2;
+        h2 += h1;
+        return String.format("%016x%016x", h1, h2);
+    }
+
+    /**
+     * Reads eight bytes as a little-endian long.
+     *
+     * @param data   bytes
+     * @param offset start offset
+     * @return value
+     */
+    private static long littleEndian(final byte[] data, final int offset) {
+        long value = 0;
+        for (int i = 7; i >= 0; i--) value = (value << 8) | (data[offset + i] & 0xffL);
+        return value;
+    }
+
+    /**
+     * Final avalanche step of MurmurHash3.
+     *
+     * @param k value
+     * @return mixed value
+     */
+    private static long mix(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
@@ -0,0 +1,466 @@
+package github.ai.qa.solutions.components.json;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import github.ai.qa.solutions.configuration.PromptSchemaProperties;
+import github.ai.qa.solutions.configuration.PromptSchemaProperties.Level;
+import github.ai.qa.solutions.observability.TokenEstimator;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Produces the form of a JSON Schema that is embedded in prompts.
+ *
+ * <p>Depending on {@link PromptSchemaProperties#level()}:</p>
+ * - {@code ANNOTATIONS}: drops keywords that never affect validation ({@code title}, {@code description},
+ *   {@code examples}, {@code $comment}, {@code default}, {@code x-*}, ...), unless listed in
+ *   {@code keep-annotations}; property <em>names</em> such as {@code "description"} are untouched
+ * - {@code DEDUPE}: hoists subschemas repeated verbatim into shared definitions ({@code $defs}, or
+ *   {@code definitions} for drafts 4–7) referenced by {@code $ref}; skipped when the schema uses {@code $id}/anchors
+ *   or refs that point below a definition, since moving subschemas would change their resolution
+ * - {@code FULL}: first drops keywords that only spell out defaults ({@code minLength: 0}, {@code required: []},
+ *   {@code pattern: ".*"}, ...) and turns single-element {@code type} arrays into strings; {@code true}/{@code {}}
+ *   for {@code additionalProperties}/{@code items} is kept when the schema uses {@code unevaluated*}
+ *
+ * <p>The result validates the same instances as the original. It is only meant for prompts: validation keeps the
+ * original schema. Size before and after is logged and recorded in {@code agent.prompt.schema.tokens}
+ * ({@code form=original|prompt}).</p>
+ */
+@Component
+public class SchemaPromptCompactor {
+    /** Logs savings per schema. */
+    private static final Logger log = LoggerFactory.getLogger(SchemaPromptCompactor.class);
+    /** Keywords without effect on validation. */
+    private static final Set<String> ANNOTATIONS = Set.of(
+            "title",
+            "description",
+            "examples",
+            "example",
+            "$comment",
+            "default",
+            "deprecated",
+            "readOnly",
+            "writeOnly");
+    /** Keywords holding a map of name → subschema. */
+    private static final Set<String> SCHEMA_MAPS =
+            Set.of("properties", "patternProperties", "$defs", "definitions", "dependentSchemas", "dependencies");
+    /** Keywords holding a single subschema. */
+    private static final Set<String> SCHEMA_VALUES = Set.of(
+            "additionalProperties",
+            "unevaluatedProperties",
+            "items",
+            "additionalItems",
+            "unevaluatedItems",
+            "contains",
+            "propertyNames",
+            "not",
+            "if",
+            "then",
+            "else");
+    /** Keywords holding an array of subschemas. */
+    private static final Set<String> SCHEMA_ARRAYS = Set.of("allOf", "anyOf", "oneOf", "prefixItems", "items");
+    /** Keywords that change how refs below them resolve. */
+    private static final Set<String> SCOPE_KEYWORDS =
+            Set.of("$id", "id", "$anchor", "$dynamicAnchor", "$recursiveAnchor");
+    /** Refs that stay valid when subschemas move: the root or a whole definition. */
+    private static final Pattern MOVABLE_REF = Pattern.compile("#|#/(\\$defs|definitions)/[^/]+");
+    /** Upper bound on hoisted definitions per schema. */
+    private static final int MAX_SHARED = 256;
+    /** Jackson mapper for parsing and serialization. */
+    private final ObjectMapper objectMapper;
+    /** Compaction settings. */
+    private final PromptSchemaProperties props;
+    /** Schema size before compaction. */
+    private final DistributionSummary originalTokens;
+    /** Schema size after compaction. */
+    private final DistributionSummary promptTokens;
+
+    /**
+     * Creates the compactor.
+     *
+     * @param objectMapper mapper for parsing and serialization
+     * @param props        compaction settings
+     * @param registry     meter registry for size reporting
+     */
+    public SchemaPromptCompactor(
+            final ObjectMapper objectMapper, final PromptSchemaProperties props, final MeterRegistry registry) {
+        this.objectMapper = objectMapper;
+        this.props = props;
+        this.originalTokens = tokens(registry, "original");
+        this.promptTokens = tokens(registry, "prompt");
+    }
+
+    /**
+     * Registers the size summary for one form.
+     *
+     * @param registry meter registry
+     * @param form     {@code original} or {@code prompt}
+     * @return summary
+     */
+    private static DistributionSummary tokens(final MeterRegistry registry, final String form) {
+        return DistributionSummary.builder("agent.prompt.schema.tokens")
+                .description("Estimated tokens of the JSON Schema embedded in prompts")
+                .tag("form", form)
+                .register(registry);
+    }
+
+    /** Writable location of a subschema inside its parent. */
+    private interface Slot {
+        /**
+         * Reads the subschema.
+         *
+         * @return subschema
+         */
+        JsonNode get();
+
+        /**
+         * Replaces the subschema.
+         *
+         * @param value replacement
+         */
+        void set(JsonNode value);
+    }
+
+    /**
+     * Compacts a schema for prompts.
+     *
+     * @param schemaText JSON Schema text
+     * @return compacted schema, or {@code schemaText} when the level is {@code OFF}, it cannot be parsed or nothing
+     *     was saved
+     */
+    public String compact(final String schemaText) {
+        if (schemaText == null || props.level() == Level.OFF) return schemaText;
+        try {
+            if (!(objectMapper.readTree(schemaText) instanceof ObjectNode root)) return schemaText;
+            final boolean tracksEvaluated =
+                    schemaText.contains("\"unevaluatedProperties\"") || schemaText.contains("\"unevaluatedItems\"");
+            rewrite(root, tracksEvaluated);
+            if (props.level().compareTo(Level.DEDUPE) >= 0) hoistShared(root);
+            final String compact = objectMapper.writeValueAsString(root);
+            if (compact.length() >= schemaText.length()) return schemaText;
+            report(schemaText, compact);
+            return compact;
+        } catch (JsonProcessingException e) {
+            return schemaText;
+        }
+    }
+
+    /**
+     * Logs and records the size of both forms.
+     *
+     * @param original original schema text
+     * @param compact  prompt schema text
+     */
+    private void report(final String original, final String compact) {
+        final int before = TokenEstimator.estimate(original);
+        final int after = TokenEstimator.estimate(compact);
+        originalTokens.record(before);
+        promptTokens.record(after);
+        log.info(
+                "🗜️ Prompt schema ({}): {} → {} chars, ~{} → ~{} tokens ({}% saved)",
+                props.level(),
+                original.length(),
+                compact.length(),
+                before,
+                after,
+                before == 0 ? 0 : Math.round(100.0 * (before - after) / before));
+    }
+
+    /**
+     * Drops annotations and, at {@code FULL}, default-valued keywords, recursively over all subschemas.
+     *
+     * @param schema          schema object, modified in place
+     * @param tracksEvaluated whether the schema uses {@code unevaluated*}, which makes {@code true} subschemas count
+     */
+    private void rewrite(final ObjectNode schema, final boolean tracksEvaluated) {
+        final List<String> keywords = new ArrayList<>();
+        schema.fieldNames().forEachRemaining(keywords::add);
+        for (String keyword : keywords) {
+            if ((ANNOTATIONS.contains(keyword) || keyword.startsWith("x-"))
+                    && !props.keepAnnotations().contains(keyword)) {
+                schema.remove(keyword);
+            }
+        }
+        for (Slot slot : slots(schema)) {
+            if (slot.get() instanceof ObjectNode child) rewrite(child, tracksEvaluated);
+        }
+        if (props.level() == Level.FULL) shorten(schema, tracksEvaluated);
+    }
+
+    /**
+     * Drops keywords that restate the default and shortens single-element {@code type} arrays.
+     *
+     * @param schema          schema object, modified in place
+     * @param tracksEvaluated whether {@code true}/{@code {}} subschemas must be kept
+     */
+    private static void shorten(final ObjectNode schema, final boolean tracksEvaluated) {
+        final JsonNode type = schema.get("type");
+        if (type != null && type.isArray() && type.size() == 1) schema.set("type", type.get(0));
+        removeIf(schema, "minLength", v -> v.isNumber() && v.asDouble() == 0);
+        removeIf(schema, "minItems", v -> v.isNumber() && v.asDouble() == 0);
+        removeIf(schema, "minProperties", v -> v.isNumber() && v.asDouble() == 0);
+        removeIf(schema, "uniqueItems", v -> v.isBoolean() && !v.asBoolean());
+        removeIf(schema, "required", v -> v.isArray() && v.isEmpty());
+        removeIf(schema, "pattern", v -> v.isTextual() && (v.asText().isEmpty() || v.asText().equals(".*")));
+        if (tracksEvaluated) return;
+        final Predicate<JsonNode> acceptsAll = v -> v.isObject() ? v.isEmpty() : v.isBoolean() && v.asBoolean();
+        removeIf(schema, "additionalProperties", acceptsAll);
+        removeIf(schema, "items", acceptsAll);
+        removeIf(schema, "properties", v -> v.isObject() && v.isEmpty());
+        removeIf(schema, "patternProperties", v -> v.isObject() && v.isEmpty());
+    }
+
+    /**
+     * Removes a keyword when its value matches.
+     *
+     * @param schema  schema object
+     * @param keyword keyword name
+     * @param test    value predicate
+     */
+    private static void removeIf(final ObjectNode schema, final String keyword, final Predicate<JsonNode> test) {
+        final JsonNode value = schema.get(keyword);
+        if (value != null && test.test(value)) schema.remove(keyword);
+    }
+
+    /**
+     * Hoists repeated subschemas into shared definitions, largest first, until nothing repeats.
+     *
+     * @param root schema root, modified in place
+     */
+    private void hoistShared(final ObjectNode root) {
+        if (!movable(root, true)) return;
+        final String defsKeyword = defsKeyword(root);
+        for (int hoisted = 0; hoisted < MAX_SHARED; hoisted++) {
+            final Map<String, Integer> counts = new LinkedHashMap<>();
+            final Map<String, JsonNode> samples = new LinkedHashMap<>();
+            visit(root, slot -> {
+                final String canonical = canonical(slot.get());
+                counts.merge(canonical, 1, Integer::sum);
+                samples.putIfAbsent(canonical, slot.get());
+                return false;
+            });
+            String shared = null;
+            for (Map.Entry<String, Integer> e : counts.entrySet()) {
+                if (e.getValue() < 2 || e.getKey().length() < props.minSharedChars()) continue;
+                if (shared == null || e.getKey().length() > shared.length()) shared = e.getKey();
+            }
+            if (shared == null) return;
+            final ObjectNode defs = root.has(defsKeyword) && root.get(defsKeyword).isObject()
+                    ? (ObjectNode) root.get(defsKeyword)
+                    : root.putObject(defsKeyword);
+            final String name = freeName(defs);
+            defs.set(name, samples.get(shared).deepCopy());
+            final String target = shared;
+            final ObjectNode ref = objectMapper.createObjectNode().put("$ref", "#/" + defsKeyword + "/" + name);
+            visit(root, slot -> {
+                if (!canonical(slot.get()).equals(target)) return false;
+                slot.set(ref.deepCopy());
+                return true;
+            });
+        }
+    }
+
+    /**
+     * Walks every subschema slot below {@code schema}, except definition bodies themselves (their content is
+     * walked). The visitor returns true after replacing a subschema, which stops descent into it.
+     *
+     * @param schema  schema object
+     * @param visitor slot visitor
+     */
+    private void visit(final ObjectNode schema, final Predicate<Slot> visitor) {
+        for (Slot slot : slots(schema)) {
+            if (!(slot.get() instanceof ObjectNode child)) continue;
+            if (slot instanceof DefinitionSlot || !visitor.test(slot)) visit(child, visitor);
+        }
+    }
+
+    /**
+     * Slot of a definition body ({@code $defs}/{@code definitions} entry), which is never replaced itself.
+     *
+     * @param map  definitions object
+     * @param name definition name
+     */
+    private record DefinitionSlot(ObjectNode map, String name) implements Slot {
+        @Override
+        public JsonNode get() {
+            return map.get(name);
+        }
+
+        @Override
+        public void set(final JsonNode value) {
+            map.set(name, value);
+        }
+    }
+
+    /**
+     * Slot of a named subschema inside an object.
+     *
+     * @param map  owning object
+     * @param name field name
+     */
+    private record FieldSlot(ObjectNode map, String name) implements Slot {
+        @Override
+        public JsonNode get() {
+            return map.get(name);
+        }
+
+        @Override
+        public void set(final JsonNode value) {
+            map.set(name, value);
+        }
+    }
+
+    /**
+     * Slot of a subschema inside an array.
+     *
+     * @param array owning array
+     * @param index element index
+     */
+    private record ElementSlot(ArrayNode array, int index) implements Slot {
+        @Override
+        public JsonNode get() {
+            return array.get(index);
+        }
+
+        @Override
+        public void set(final JsonNode value) {
+            array.set(index, value);
+        }
+    }
+
+    /**
+     * Lists the direct subschema slots of a schema object.
+     *
+     * @param schema schema object
+     * @return slots in keyword order
+     */
+    private static List<Slot> slots(final ObjectNode schema) {
+        final List<Slot> out = new ArrayList<>();
+        final Iterator<Map.Entry<String, JsonNode>> fields = schema.fields();
+        while (fields.hasNext()) {
+            final Map.Entry<String, JsonNode> field = fields.next();
+            final String keyword = field.getKey();
+            final JsonNode value = field.getValue();
+            if (SCHEMA_MAPS.contains(keyword) && value instanceof ObjectNode map) {
+                final boolean definitions = keyword.equals("$defs") || keyword.equals("definitions");
+                map.fieldNames().forEachRemaining(name -> {
+                    if (!map.get(name).isObject()) return;
+                    out.add(definitions ? new DefinitionSlot(map, name) : new FieldSlot(map, name));
+                });
+            } else if (SCHEMA_VALUES.contains(keyword) && value.isObject()) {
+                out.add(new FieldSlot(schema, keyword));
+            } else if (SCHEMA_ARRAYS.contains(keyword) && value instanceof ArrayNode array) {
+                for (int i = 0; i < array.size(); i++) {
+                    if (array.get(i).isObject()) out.add(new ElementSlot(array, i));
+                }
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Whether subschemas can move without changing ref resolution: no scope keywords below the root and only refs to
+     * the root or to whole definitions.
+     *
+     * @param schema schema object
+     * @param root   whether {@code schema} is the document root
+     * @return true when hoisting is safe
+     */
+    private static boolean movable(final ObjectNode schema, final boolean root) {
+        if (!root) {
+            for (String keyword : SCOPE_KEYWORDS) {
+                if (schema.get(keyword) != null && schema.get(keyword).isTextual()) return false;
+            }
+        }
+        final JsonNode ref = schema.get("$ref");
+        if (ref != null && ref.isTextual() && !MOVABLE_REF.matcher(ref.asText()).matches()) return false;
+        for (Slot slot : slots(schema)) {
+            if (slot.get() instanceof ObjectNode child && !movable(child, false)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Picks the definitions keyword: the one already used, otherwise by draft.
+     *
+     * @param root schema root
+     * @return {@code $defs} or {@code definitions}
+     */
+    private static String defsKeyword(final ObjectNode root) {
+        if (root.has("$defs")) return "$defs";
+        if (root.has("definitions")) return "definitions";
+        final String draft = root.path("$schema").asText("");
+        return draft.contains("draft-04") || draft.contains("draft-06") || draft.contains("draft-07")
+                ? "definitions"
+                : "$defs";
+    }
+
+    /**
+     * Returns an unused definition name.
+     *
+     * @param defs definitions object
+     * @return {@code shared1}, {@code shared2}, ...
+     */
+    private static String freeName(final ObjectNode defs) {
+        int n = 1;
+        while (defs.has("shared" + n)) n++;
+        return "shared" + n;
+    }
+
+    /**
+     * Serializes a node with object keys sorted, so equal subschemas compare equal regardless of key order.
+     *
+     * @param node JSON node
+     * @return canonical text
+     */
+    private String canonical(final JsonNode node) {
+        final StringBuilder out = new StringBuilder();
+        canonical(node, out);
+        return out.toString();
+    }
+
+    /**
+     * Appends the canonical form of a node.
+     *
+     * @param node JSON node
+     * @param out  output
+     */
+    private void canonical(final JsonNode node, final StringBuilder out) {
+        if (node.isObject()) {
+            final Map<String, JsonNode> sorted = new TreeMap<>();
+            node.fields().forEachRemaining(e -> sorted.put(e.getKey(), e.getValue()));
+            out.append('{');
+            sorted.forEach((key, value) -> {
+                if (out.charAt(out.length() - 1) != '{') out.append(',');
+                out.append(TextNode.valueOf(key)).append(':');
+                canonical(value, out);
+            });
+            out.append('}');
+        } else if (node.isArray()) {
+            out.append('[');
+            for (int i = 0; i < node.size(); i++) {
+                if (i > 0) out.append(',');
+                canonical(node.get(i), out);
+            }
+            out.append(']');
+        } else {
+            out.append(node.toString());
+        }
+    }
+}
@@ -0,0 +1,421 @@
+package github.ai.qa.solutions.components.json;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cuts a JSON Schema down to what is needed to fix the reported validation errors.
+ *
+ * <p>Instance paths are read from the error messages ({@code $.a.b[0]: ...} as produced by the validator, or
+ * {@code #/a/b/0: ...}), including every sample path of a grouped line of the validation report
+ * ({@code $.a[0].b, $.a[1].b and 98 more: ...}). The slice follows each path from the root through {@code properties},
+ * {@code patternProperties}, {@code additionalProperties}, {@code items}/{@code prefixItems} and the
+ * {@code allOf}/{@code anyOf}/{@code oneOf} branches, resolving local {@code $ref}s ({@code $defs},
+ * {@code definitions}) on the way:</p>
+ * - objects along a path keep their own constraints ({@code type}, {@code required}, boolean
+ *   {@code additionalProperties}, ...) and list every declared property; properties off the paths become {@code {}}
+ * - the schema at the end of a path is inlined in full, with local refs resolved (recursive refs become {@code {}})
+ * - a missing required property extends the path by that property, so its schema is included
+ *
+ * <p>When no path can be read, a path ends at the root, or the schema cannot be parsed, the schema is returned
+ * unchanged.</p>
+ */
+@Component
+public class SchemaSlicer {
+    /** Logs slice sizes. */
+    private static final Logger log = LoggerFactory.getLogger(SchemaSlicer.class);
+    /** Instance path in front of a message: {@code $.a['b c'][0]} or {@code #/a/b/0}. */
+    private static final Pattern ERROR_PATH = Pattern.compile(
+            "(?m)(?:^|[\\s\"'(\\[])(\\$(?:\\.[^\\s.\\[:]+|\\[\\d+]|\\['(?:[^'\\\\]|\\\\.)*'])*|#?/[^\\s:]*):");
+    /** Instance path without commas in property names, as listed in a grouped report line. */
+    private static final String SAMPLE_PATH =
+            "\\$(?:\\.[^\\s.\\[:,]+|\\[\\d+]|\\['(?:[^'\\\\]|\\\\.)*'])*|#?/[^\\s:,]*";
+    /** Grouped report line: comma-separated sample paths, an optional {@code and N more}, then the message. */
+    private static final Pattern GROUPED_PATHS = Pattern.compile(
+            "^\\s*((?:" + SAMPLE_PATH + ")(?:, (?:" + SAMPLE_PATH + "))*)( and \\d+ more)?: ");
+    /** One sample path of a grouped line. */
+    private static final Pattern SAMPLE = Pattern.compile(SAMPLE_PATH);
+    /** One segment of a JSON-path style location. */
+    private static final Pattern JSON_PATH_SEGMENT =
+            Pattern.compile("\\.([^\\s.\\[:]+)|\\[(\\d+)]|\\['((?:[^'\\\\]|\\\\.)*)']");
+    /** Missing required property, reported at the parent object. */
+    private static final Pattern MISSING_REQUIRED = Pattern.compile("required property '([^']+)' not found");
+    /** Keywords whose values are data, not subschemas. */
+    private static final Set<String> DATA_KEYWORDS = Set.of("const", "enum", "examples", "default", "required");
+    /** Upper bound on chained {@code $ref}s followed for one schema node. */
+    private static final int MAX_REF_HOPS = 32;
+    /** Jackson mapper for parsing and serialization. */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Creates the slicer.
+     *
+     * @param objectMapper mapper for schema parsing and serialization
+     */
+    public SchemaSlicer(final ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /** Trie of instance path segments; {@code full} marks the end of a reported path. */
+    private static final class PathNode {
+        /** Child segments: property names or array indexes. */
+        private final Map<String, PathNode> children = new LinkedHashMap<>();
+        /** Whether the whole subschema at this location is needed. */
+        private boolean full;
+
+        /**
+         * Returns the child for a segment, creating it when absent.
+         *
+         * @param segment property name or array index
+         * @return child node
+         */
+        private PathNode child(final String segment) {
+            return children.computeIfAbsent(segment, k -> new PathNode());
+        }
+
+        /**
+         * Merges another trie into this one.
+         *
+         * @param other trie to merge
+         */
+        private void merge(final PathNode other) {
+            full |= other.full;
+            other.children.forEach((segment, node) -> child(segment).merge(node));
+        }
+    }
+
+    /**
+     * Returns the part of {@code schemaText} relevant to the validation errors.
+     *
+     * @param schemaText       JSON Schema text
+     * @param validationErrors validator output; one message per line
+     * @return sliced schema JSON, or {@code schemaText} unchanged when slicing is not possible or would not help
+     */
+    public String slice(final String schemaText, final String validationErrors) {
+        if (schemaText == null || validationErrors == null) return schemaText;
+        final List<List<String>> paths = errorPaths(validationErrors);
+        if (paths.isEmpty()) return schemaText;
+        final PathNode trie = new PathNode();
+        for (List<String> path : paths) {
+            PathNode node = trie;
+            for (String segment : path) node = node.child(segment);
+            node.full = true;
+        }
+        if (trie.full) return schemaText;
+        try {
+            final JsonNode root = objectMapper.readTree(schemaText);
+            if (root == null || !root.isObject()) return schemaText;
+            final String sliced = objectMapper.writeValueAsString(slice(root, root, trie, new ArrayDeque<>()));
+            if (sliced.length() >= schemaText.length()) return schemaText;
+            log.info(
+                    "✂️ Schema sliced to {} error path(s): {} → {} chars",
+                    paths.size(),
+                    schemaText.length(),
+                    sliced.length());
+            return sliced;
+        } catch (JsonProcessingException e) {
+            return schemaText;
+        }
+    }
+
+    /**
+     * Reads instance paths from validator messages.
+     *
+     * @param validationErrors validator output
+     * @return paths as segment lists, in message order; a missing required property is appended to its parent path
+     *         and a grouped line yields one path per sample
+     */
+    static List<List<String>> errorPaths(final String validationErrors) {
+        final List<List<String>> paths = new ArrayList<>();
+        for (String line : validationErrors.split("\\R")) {
+            final Matcher grouped = GROUPED_PATHS.matcher(line);
+            if (grouped.find() && (grouped.group(2) != null || grouped.group(1).contains(", "))) {
+                final Matcher required = MISSING_REQUIRED.matcher(line);
+                final String property = required.find(grouped.end()) ? required.group(1) : null;
+                final Matcher sample = SAMPLE.matcher(grouped.group(1));
+                while (sample.find()) {
+                    final List<String> path = segments(sample.group());
+                    if (property != null) path.add(property);
+                    paths.add(path);
+                }
+                continue;
+            }
+            final Matcher location = ERROR_PATH.matcher(line);
+            if (!location.find()) continue;
+            final List<String> path = segments(location.group(1));
+            final Matcher required = MISSING_REQUIRED.matcher(line);
+            if (required.find(location.end())) path.add(required.group(1));
+            paths.add(path);
+        }
+        return paths;
+    }
+
+    /**
+     * Splits a JSON-path or JSON-pointer location into segments.
+     *
+     * @param location {@code $...} or {@code #/...} location
+     * @return mutable segment list
+     */
+    private static List<String> segments(final String location) {
+        final List<String> out = new ArrayList<>();
+        if (location.startsWith("$")) {
+            final Matcher m = JSON_PATH_SEGMENT.matcher(location);
+            while (m.find()) {
+                if (m.group(1) != null) out.add(m.group(1));
+                else if (m.group(2) != null) out.add(m.group(2));
+                else out.add(m.group(3).replaceAll("\\\\(.)", "$1"));
+            }
+            return out;
+        }
+        for (String segment : location.substring(location.indexOf('/') + 1).split("/")) {
+            if (!segment.isEmpty()) out.add(segment.replace("~1", "/").replace("~0", "~"));
+        }
+        return out;
+    }
+
+    /**
+     * Slices one schema node along the path trie.
+     *
+     * @param root   document root, for ref resolution
+     * @param schema schema node at this location
+     * @param path   path trie at this location
+     * @param refs   refs being expanded (cycle guard)
+     * @return sliced schema
+     */
+    private JsonNode slice(final JsonNode root, final JsonNode schema, final PathNode path, final Deque<String> refs) {
+        final JsonNode resolved = resolve(root, schema);
+        if (!resolved.isObject()) return resolved.deepCopy();
+        if (path.full) return inline(root, resolved, refs);
+        final JsonNode properties = resolved.path("properties");
+        final Map<String, PathNode> unmatched = new LinkedHashMap<>();
+        path.children.forEach((segment, node) -> {
+            if (!properties.has(segment)) unmatched.put(segment, node);
+        });
+        final ObjectNode out = objectMapper.createObjectNode();
+        final Iterator<Map.Entry<String, JsonNode>> fields = resolved.fields();
+        while (fields.hasNext()) {
+            final Map.Entry<String, JsonNode> field = fields.next();
+            final String keyword = field.getKey();
+            final JsonNode value = field.getValue();
+            switch (keyword) {
+                case "$defs", "definitions" -> {}
+                case "properties" -> {
+                    final ObjectNode props = out.putObject(keyword);
+                    value.fields().forEachRemaining(p -> {
+                        final PathNode child = path.children.get(p.getKey());
+                        props.set(
+                                p.getKey(),
+                                child == null
+                                        ? objectMapper.createObjectNode()
+                                        : slice(root, p.getValue(), child, refs));
+                    });
+                }
+                case "patternProperties" -> {
+                    final ObjectNode patterns = objectMapper.createObjectNode();
+                    value.fields().forEachRemaining(p -> {
+                        final PathNode matched = takeMatching(unmatched, p.getKey());
+                        if (matched != null) patterns.set(p.getKey(), slice(root, p.getValue(), matched, refs));
+                    });
+                    if (!patterns.isEmpty()) out.set(keyword, patterns);
+                }
+                case "items", "prefixItems", "additionalItems", "additionalProperties", "unevaluatedProperties" -> {}
+                case "allOf", "anyOf", "oneOf" -> {
+                    final ArrayNode branches = out.putArray(keyword);
+                    value.forEach(branch -> branches.add(slice(root, branch, path, refs)));
+                }
+                default -> out.set(keyword, copy(root, keyword, value, refs));
+            }
+        }
+        sliceItems(root, resolved, out, unmatched, refs);
+        sliceAdditional(root, resolved, out, "additionalProperties", unmatched, refs);
+        sliceAdditional(root, resolved, out, "unevaluatedProperties", unmatched, refs);
+        return out;
+    }
+
+    /**
+     * Slices {@code items}, {@code prefixItems} and {@code additionalItems} for the array-index children.
+     *
+     * @param root      document root
+     * @param schema    resolved schema at this location
+     * @param out       sliced schema being built
+     * @param unmatched children not matched by {@code properties}
+     * @param refs      refs being expanded
+     */
+    private void sliceItems(
+            final JsonNode root,
+            final JsonNode schema,
+            final ObjectNode out,
+            final Map<String, PathNode> unmatched,
+            final Deque<String> refs) {
+        final JsonNode tuple = schema.path("prefixItems").isArray() ? schema.get("prefixItems") : schema.get("items");
+        final boolean hasTuple = tuple != null && tuple.isArray();
+        if (hasTuple) {
+            final ArrayNode sliced = out.putArray(schema.has("prefixItems") ? "prefixItems" : "items");
+            for (int i = 0; i < tuple.size(); i++) {
+                final PathNode child = unmatched.remove(Integer.toString(i));
+                sliced.add(child == null ? objectMapper.createObjectNode() : slice(root, tuple.get(i), child, refs));
+            }
+        }
+        final String restKeyword = schema.has("prefixItems") ? "items" : hasTuple ? "additionalItems" : "items";
+        final JsonNode rest = schema.get(restKeyword);
+        if (rest == null || rest.isArray()) return;
+        if (rest.isBoolean()) {
+            out.set(restKeyword, rest);
+            return;
+        }
+        final PathNode merged = new PathNode();
+        boolean any = false;
+        for (Iterator<Map.Entry<String, PathNode>> it = unmatched.entrySet().iterator(); it.hasNext(); ) {
+            final Map.Entry<String, PathNode> child = it.next();
+            if (!child.getKey().chars().allMatch(Character::isDigit)) continue;
+            merged.merge(child.getValue());
+            it.remove();
+            any = true;
+        }
+        if (any) out.set(restKeyword, slice(root, rest, merged, refs));
+    }
+
+    /**
+     * Copies a boolean {@code additionalProperties}-like keyword, or slices its schema for the remaining children.
+     *
+     * @param root      document root
+     * @param schema    resolved schema at this location
+     * @param out       sliced schema being built
+     * @param keyword   {@code additionalProperties} or {@code unevaluatedProperties}
+     * @param unmatched children matched by neither {@code properties} nor {@code patternProperties}
+     * @param refs      refs being expanded
+     */
+    private void sliceAdditional(
+            final JsonNode root,
+            final JsonNode schema,
+            final ObjectNode out,
+            final String keyword,
+            final Map<String, PathNode> unmatched,
+            final Deque<String> refs) {
+        final JsonNode value = schema.get(keyword);
+        if (value == null) return;
+        if (value.isBoolean()) {
+            out.set(keyword, value);
+        } else if (!unmatched.isEmpty()) {
+            final PathNode merged = new PathNode();
+            unmatched.values().forEach(merged::merge);
+            out.set(keyword, slice(root, value, merged, refs));
+        }
+    }
+
+    /**
+     * Removes and merges the children whose names match a {@code patternProperties} regex.
+     *
+     * @param unmatched children not matched by {@code properties}
+     * @param regex     property name pattern
+     * @return merged trie, or null when none matched
+     */
+    private static PathNode takeMatching(final Map<String, PathNode> unmatched, final String regex) {
+        final Pattern pattern;
+        try {
+            pattern = Pattern.compile(regex);
+        } catch (PatternSyntaxException e) {
+            return null;
+        }
+        PathNode merged = null;
+        for (Iterator<Map.Entry<String, PathNode>> it = unmatched.entrySet().iterator(); it.hasNext(); ) {
+            final Map.Entry<String, PathNode> child = it.next();
+            if (!pattern.matcher(child.getKey()).find()) continue;
+            if (merged == null) merged = new PathNode();
+            merged.merge(child.getValue());
+            it.remove();
+        }
+        return merged;
+    }
+
+    /**
+     * Copies a subschema with every local {@code $ref} replaced by its target.
+     *
+     * @param root   document root
+     * @param schema subschema (or keyword value) to copy
+     * @param refs   refs being expanded; a ref already on the stack is recursive and becomes {@code {}}
+     * @return self-contained copy
+     */
+    private JsonNode inline(final JsonNode root, final JsonNode schema, final Deque<String> refs) {
+        if (schema.isArray()) {
+            final ArrayNode out = objectMapper.createArrayNode();
+            schema.forEach(item -> out.add(inline(root, item, refs)));
+            return out;
+        }
+        if (!schema.isObject()) return schema.deepCopy();
+        final String ref = schema.path("$ref").asText("");
+        if (ref.startsWith("#")) {
+            if (refs.contains(ref)) return objectMapper.createObjectNode();
+            refs.push(ref);
+            try {
+                return inline(root, resolve(root, schema), refs);
+            } finally {
+                refs.pop();
+            }
+        }
+        final ObjectNode out = objectMapper.createObjectNode();
+        schema.fields().forEachRemaining(field -> {
+            final String keyword = field.getKey();
+            if (keyword.equals("$defs") || keyword.equals("definitions")) return;
+            out.set(keyword, copy(root, keyword, field.getValue(), refs));
+        });
+        return out;
+    }
+
+    /**
+     * Copies a keyword value: data as is, subschemas inlined.
+     *
+     * @param root    document root
+     * @param keyword keyword name
+     * @param value   keyword value
+     * @param refs    refs being expanded
+     * @return copied value
+     */
+    private JsonNode copy(final JsonNode root, final String keyword, final JsonNode value, final Deque<String> refs) {
+        return DATA_KEYWORDS.contains(keyword) ? value.deepCopy() : inline(root, value, refs);
+    }
+
+    /**
+     * Follows local {@code $ref}s; keywords next to a {@code $ref} take precedence over the target's.
+     *
+     * @param root   document root
+     * @param schema schema node
+     * @return schema without a local {@code $ref} at the top, or the last resolvable node
+     */
+    private JsonNode resolve(final JsonNode root, final JsonNode schema) {
+        JsonNode current = schema;
+        for (int hop = 0; hop < MAX_REF_HOPS && current.isObject(); hop++) {
+            final String ref = current.path("$ref").asText("");
+            if (!ref.startsWith("#")) return current;
+            final JsonNode target = root.at(ref.substring(1));
+            if (target.isMissingNode()) return current;
+            if (current.size() == 1 || !target.isObject()) {
+                current = target;
+                continue;
+            }
+            final ObjectNode merged = ((ObjectNode) target).deepCopy();
+            current.fields().forEachRemaining(field -> {
+                if (!field.getKey().equals("$ref")) merged.set(field.getKey(), field.getValue());
+            });
+            current = merged;
+        }
+        return current;
+    }
+}
@@ -0,0 +1,422 @@
+package github.ai.qa.solutions.components.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Optional;
+import org.springframework.stereotype.Component;
+
+/**
+ * Inspects a model completion while it streams in, with Jackson's non-blocking parser, and reports the first
+ * structural violation of the JSON Schema as soon as it is visible:
+ *
+ * <ul>
+ *   <li>{@link Kind#PREAMBLE} — text other than whitespace or a Markdown fence before the root value;</li>
+ *   <li>{@link Kind#WRONG_TYPE} — an object where the schema wants an array, or the other way round;</li>
+ *   <li>{@link Kind#DISALLOWED_PROPERTY} — a property of an object with {@code additionalProperties: false};</li>
+ *   <li>{@link Kind#MALFORMED} — text that cannot be JSON.</li>
+ * </ul>
+ *
+ * <p>Without a schema it still tells whether a document is balanced ({@link Inspection#truncated()}), skipping
+ * any prose before it. Only plain {@code type}/{@code properties}/{@code items} are followed; subschemas using
+ * {@code $ref} or combinators are not checked. Everything the value-level validator would report later (formats,
+ * ranges, required properties) is left to it.</p>
+ */
+@Component
+public class StreamingJsonGuard {
+    /** Source of non-blocking parsers. */
+    private final JsonFactory factory;
+    /** Parses schemas. */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Creates the guard.
+     *
+     * @param objectMapper JSON mapper
+     */
+    public StreamingJsonGuard(final ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.factory = objectMapper.getFactory();
+    }
+
+    /**
+     * Starts inspecting one completion.
+     *
+     * @param jsonSchema schema text; unparseable schemas disable structural checks
+     * @return inspection fed with the completion's chunks
+     */
+    public Inspection open(final String jsonSchema) {
+        JsonNode schema;
+        try {
+            schema = jsonSchema == null ? null : objectMapper.readTree(jsonSchema);
+        } catch (JsonProcessingException e) {
+            schema = null;
+        }
+        try {
+            return new Inspection(factory.createNonBlockingByteArrayParser(), schema);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Structural violation categories. */
+    public enum Kind {
+        /** Non-JSON text before the root value. */
+        PREAMBLE,
+        /** Container of the wrong kind. */
+        WRONG_TYPE,
+        /** Property not allowed by the schema. */
+        DISALLOWED_PROPERTY,
+        /** Not JSON at all. */
+        MALFORMED
+    }
+
+    /**
+     * First structural violation of a completion.
+     *
+     * @param kind   category
+     * @param path   JSON-like path where it was detected, e.g. {@code $/address}
+     * @param detail human-readable description
+     */
+    public record Violation(Kind kind, String path, String detail) {}
+
+    /**
+     * Open container of the partial document.
+     *
+     * @param node   container being filled
+     * @param schema effective subschema, or null when unchecked
+     * @param path   JSON-like path of the container
+     * @param field  pending property name (objects only)
+     */
+    private record Frame(JsonNode node, JsonNode schema, String path, String field) {
+        /**
+         * Copy with another pending property name.
+         *
+         * @param name property name
+         * @return updated frame
+         */
+        Frame withField(final String name) {
+            return new Frame(node, schema, path, name);
+        }
+    }
+
+    /**
+     * Inspection of one completion. Not thread-safe; feed chunks in arrival order.
+     */
+    public static final class Inspection {
+        /** Incremental parser. */
+        private final JsonParser parser;
+        /** Input side of {@link #parser}. */
+        private final ByteArrayFeeder feeder;
+        /** Root schema, or null when unchecked. */
+        private final JsonNode schema;
+        /** Whole completion as received. */
+        private final StringBuilder text = new StringBuilder();
+        /** Open containers, innermost first. */
+        private final Deque<Frame> stack = new ArrayDeque<>();
+        /** Root container once started. */
+        private JsonNode root;
+        /** Whether the root value has started. */
+        private boolean started;
+        /** Whether a Markdown fence line is being skipped before the root value. */
+        private boolean inFence;
+        /** Whether the root value has been closed; later text is ignored. */
+        private boolean finished;
+        /** First violation. */
+        private Violation violation;
+
+        /**
+         * Creates an inspection.
+         *
+         * @param parser non-blocking parser
+         * @param schema root schema, or null
+         */
+        Inspection(final JsonParser parser, final JsonNode schema) {
+            this.parser = parser;
+            this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+            this.schema = schema;
+        }
+
+        /**
+         * Feeds the next chunk.
+         *
+         * @param chunk text as streamed by the model
+         * @return the first violation, once there is one
+         */
+        public Optional<Violation> accept(final String chunk) {
+            if (chunk == null || chunk.isEmpty() || violation != null) return violation();
+            text.append(chunk);
+            if (finished) return Optional.empty();
+            String json = chunk;
+            if (!started) {
+                final int at = rootStart(chunk);
+                if (at < 0) return violation();
+                json = chunk.substring(at);
+                started = true;
+            }
+            feed(json);
+            return violation();
+        }
+
+        /**
+         * First violation so far.
+         *
+         * @return violation, or empty
+         */
+        public Optional<Violation> violation() {
+            return Optional.ofNullable(violation);
+        }
+
+        /**
+         * Whether the root value started but is still open, i.e. the text so far was cut off mid-document.
+         *
+         * @return true for an unbalanced document without violations
+         */
+        public boolean truncated() {
+            return violation == null && started && !finished;
+        }
+
+        /**
+         * Whether the root value started and has been closed.
+         *
+         * @return true for a balanced document
+         */
+        public boolean closed() {
+            return started && finished;
+        }
+
+        /**
+         * Completion received so far.
+         *
+         * @return raw text
+         */
+        public String text() {
+            return text.toString();
+        }
+
+        /**
+         * Well-formed JSON of the values completed before the violation, with open containers closed and the
+         * offending part left out.
+         *
+         * @return partial document, or an empty string when the root value never started
+         */
+        public String partial() {
+            return root == null ? "" : root.toString();
+        }
+
+        /**
+         * Skips whitespace and a leading Markdown fence line until the root value starts; when the root is
+         * unchecked, any text before the first object or array is skipped as well.
+         *
+         * @param chunk current chunk
+         * @return index of the root value's first character, or -1 when it has not started in this chunk
+         */
+        private int rootStart(final String chunk) {
+            for (int i = 0; i < chunk.length(); i++) {
+                final char c = chunk.charAt(i);
+                if (inFence) {
+                    if (c == '\n') inFence = false;
+                } else if (c == '`') {
+                    inFence = true;
+                } else if (c == '{' || c == '[') {
+                    return i;
+                } else if (!Character.isWhitespace(c) && checked(schema)) {
+                    violation = new Violation(Kind.PREAMBLE, "$", "non-JSON text before the root value");
+                    return -1;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Feeds JSON text to the parser and processes every available token.
+         *
+         * @param json chunk from the root value on
+         */
+        private void feed(final String json) {
+            final byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+            try {
+                feeder.feedInput(bytes, 0, bytes.length);
+                JsonToken token;
+                while (violation == null && !finished && (token = parser.nextToken()) != JsonToken.NOT_AVAILABLE) {
+                    if (token == null) break;
+                    onToken(token);
+                }
+            } catch (JsonProcessingException e) {
+                violation = new Violation(Kind.MALFORMED, path(), e.getOriginalMessage());
+            } catch (IOException e) {
+                violation = new Violation(Kind.MALFORMED, path(), e.getMessage());
+            }
+        }
+
+        /**
+         * Applies one token to the partial document and the structural checks.
+         *
+         * @param token token just read
+         * @throws IOException when the value cannot be read
+         */
+        private void onToken(final JsonToken token) throws IOException {
+            final JsonNodeFactory nodes = JsonNodeFactory.instance;
+            switch (token) {
+                case START_OBJECT, START_ARRAY -> open(token == JsonToken.START_OBJECT);
+                case END_OBJECT, END_ARRAY -> {
+                    stack.pop();
+                    if (stack.isEmpty()) finished = true;
+                }
+                case FIELD_NAME -> field(parser.currentName());
+                case VALUE_STRING -> add(nodes.textNode(parser.getText()));
+                case VALUE_NUMBER_INT -> add(nodes.numberNode(parser.getBigIntegerValue()));
+                case VALUE_NUMBER_FLOAT -> add(nodes.numberNode(parser.getDecimalValue()));
+                case VALUE_TRUE -> add(nodes.booleanNode(true));
+                case VALUE_FALSE -> add(nodes.booleanNode(false));
+                case VALUE_NULL -> add(nodes.nullNode());
+                default -> {}
+            }
+        }
+
+        /**
+         * Opens a container after checking it against its subschema.
+         *
+         * @param object true for an object, false for an array
+         */
+        private void open(final boolean object) {
+            final JsonNode sub = stack.isEmpty() ? effective(schema) : effective(childSchema());
+            final String path = stack.isEmpty() ? "$" : childPath();
+            final String expected = containerType(sub);
+            if (expected != null && !expected.equals(object ? "object" : "array")) {
+                violation = new Violation(
+                        Kind.WRONG_TYPE, path, "expected " + expected + " but got " + (object ? "object" : "array"));
+                return;
+            }
+            final JsonNode node =
+                    object ? JsonNodeFactory.instance.objectNode() : JsonNodeFactory.instance.arrayNode();
+            if (stack.isEmpty()) {
+                root = node;
+            } else {
+                add(node);
+            }
+            stack.push(new Frame(node, sub, path, null));
+        }
+
+        /**
+         * Records a property name after checking it is allowed.
+         *
+         * @param name property name
+         */
+        private void field(final String name) {
+            final Frame frame = stack.pop();
+            stack.push(frame.withField(name));
+            final JsonNode sub = frame.schema();
+            if (sub == null || !sub.path("additionalProperties").isBoolean()) return;
+            if (sub.path("additionalProperties").asBoolean() || sub.has("patternProperties")) return;
+            if (!sub.path("properties").has(name)) {
+                violation = new Violation(
+                        Kind.DISALLOWED_PROPERTY, frame.path() + "/" + name, "property '" + name + "' is not allowed");
+            }
+        }
+
+        /**
+         * Adds a completed value to the innermost container.
+         *
+         * @param value value
+         */
+        private void add(final JsonNode value) {
+            final Frame frame = stack.peek();
+            if (frame == null) return;
+            if (frame.node() instanceof ObjectNode object) {
+                object.set(frame.field(), value);
+            } else {
+                ((ArrayNode) frame.node()).add(value);
+            }
+        }
+
+        /**
+         * Subschema of the value about to be added to the innermost container.
+         *
+         * @return subschema, or null when unchecked
+         */
+        private JsonNode childSchema() {
+            final Frame frame = stack.peek();
+            final JsonNode sub = frame.schema();
+            if (sub == null) return null;
+            if (frame.node().isObject()) {
+                final JsonNode property = sub.path("properties").get(frame.field());
+                if (property != null) return property;
+                final JsonNode additional = sub.get("additionalProperties");
+                return additional != null && additional.isObject() ? additional : null;
+            }
+            final JsonNode items = sub.get("items");
+            return items != null && items.isObject() ? items : null;
+        }
+
+        /**
+         * Path of the value about to be added to the innermost container.
+         *
+         * @return JSON-like path
+         */
+        private String childPath() {
+            final Frame frame = stack.peek();
+            return frame.node().isObject()
+                    ? frame.path() + "/" + frame.field()
+                    : frame.path() + "[" + frame.node().size() + "]";
+        }
+
+        /**
+         * Path of the innermost open container.
+         *
+         * @return JSON-like path
+         */
+        private String path() {
+            final Frame frame = stack.peek();
+            return frame == null ? "$" : frame.path();
+        }
+
+        /**
+         * Whether the root schema asks for a container, so text before it is a violation.
+         *
+         * @param schema root schema
+         * @return true when structural checks apply to the root
+         */
+        private static boolean checked(final JsonNode schema) {
+            return containerType(effective(schema)) != null;
+        }
+
+        /**
+         * Subschema usable for structural checks.
+         *
+         * @param schema subschema
+         * @return the subschema, or null when missing or using references/combinators
+         */
+        private static JsonNode effective(final JsonNode schema) {
+            if (schema == null || !schema.isObject()) return null;
+            for (String keyword : new String[] {"$ref", "$dynamicRef", "allOf", "anyOf", "oneOf", "not", "if"}) {
+                if (schema.has(keyword)) return null;
+            }
+            return schema;
+        }
+
+        /**
+         * Container type required by a subschema.
+         *
+         * @param schema effective subschema
+         * @return {@code object}, {@code array}, or null when not exactly one of them
+         */
+        private static String containerType(final JsonNode schema) {
+            if (schema == null) return null;
+            final String type = schema.path("type").asText("");
+            return "object".equals(type) || "array".equals(type) ? type : null;
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package github.ai.qa.solutions.components.plan;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import github.ai.qa.solutions.configuration.PlanLibraryProperties;
+import github.ai.qa.solutions.observability.CacheStatistics;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Persistent library of generation plans keyed by schema hash and normalized user prompt.
+ *
+ * <p>Plans produced by {@code plan_generation} are stored on disk and reused across runs and restarts,
+ * so the same schema and scenario are planned only once. Each key keeps a revision counter that grows
+ * every time the plan is replaced; entries written with another {@link #FORMAT_VERSION} are ignored on load.
+ * Capacity is bounded by LRU eviction.</p>
+ *
+ * <p>Thread-safety: all public methods are synchronized; the library file is rewritten atomically.</p>
+ */
+@Component
+public class GenerationPlanLibrary implements CacheStatistics {
+    /** Logs library hits, stores and persistence problems. */
+    private static final Logger log = LoggerFactory.getLogger(GenerationPlanLibrary.class);
+    /** On-disk format version; bump when the entry layout or key derivation changes. */
+    static final int FORMAT_VERSION = 1;
+    /** Library file name inside the configured directory. */
+    static final String FILE_NAME = "plans.json";
+
+    /** Mapper used for schema canonicalization and persistence. */
+    private final ObjectMapper objectMapper;
+    /** Library settings. */
+    private final PlanLibraryProperties properties;
+    /** Entries in access order; the eldest entry is evicted first. */
+    private final LinkedHashMap<String, PlanEntry> entries;
+    /** Lookups that returned a plan. */
+    private final AtomicLong hits = new AtomicLong();
+    /** Lookups that found nothing. */
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Creates the library and loads previously persisted plans.
+     *
+     * @param objectMapper Jackson mapper
+     * @param properties   library settings
+     */
+    public GenerationPlanLibrary(final ObjectMapper objectMapper, final PlanLibraryProperties properties) {
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        final int capacity = properties.maxEntries();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, PlanEntry> eldest) {
+                return size() > capacity;
+            }
+        };
+        if (properties.enabled()) load();
+    }
+
+    /**
+     * Stored plan with bookkeeping.
+     *
+     * @param key        library key (schema hash + prompt hash)
+     * @param revision   number of times the plan for this key was (re)written
+     * @param plan       plan text as produced by the planner
+     * @param createdAt  epoch millis of the latest revision
+     * @param lastUsedAt epoch millis of the latest lookup hit
+     */
+    public record PlanEntry(String key, int revision, String plan, long createdAt, long lastUsedAt) {}
+
+    /**
+     * Whether the library is enabled and the REGENERATE edge may reuse stored plans.
+     *
+     * @return true when re-planning on REGENERATE can be skipped for stored plans
+     */
+    public boolean reuseOnRegenerate() {
+        return properties.enabled() && properties.reuseOnRegenerate();
+    }
+
+    /**
+     * Returns the stored plan for the given schema and prompt, if any.
+     *
+     * @param jsonSchema schema text
+     * @param userPrompt user prompt
+     * @return stored plan text, or empty when absent or the library is disabled
+     */
+    public synchronized Optional<String> find(final String jsonSchema, final String userPrompt) {
+        if (!properties.enabled()) return Optional.empty();
+        final String key = key(jsonSchema, userPrompt);
+        final PlanEntry entry = entries.get(key);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+        hits.incrementAndGet();
+        entries.put(key, new PlanEntry(key, entry.revision(), entry.plan(), entry.createdAt(), now()));
+        log.info("📚 Plan library hit: key={} revision={}", shortKey(key), entry.revision());
+        return Optional.of(entry.plan());
+    }
+
+    /**
+     * Checks for a stored plan without affecting hit statistics.
+     *
+     * @param jsonSchema schema text
+     * @param userPrompt user prompt
+     * @return true when a plan is stored for the key
+     */
+    public synchronized boolean contains(final String jsonSchema, final String userPrompt) {
+        return properties.enabled() && entries.containsKey(key(jsonSchema, userPrompt));
+    }
+
+    /**
+     * Stores (or replaces) the plan for the given schema and prompt and persists the library.
+     *
+     * @param jsonSchema schema text
+     * @param userPrompt user prompt
+     * @param plan       plan text; blank plans are ignored
+     */
+    public synchronized void store(final String jsonSchema, final String userPrompt, final String plan) {
+        if (!properties.enabled() || plan == null || plan.isBlank()) return;
+        final String key = key(jsonSchema, userPrompt);
+        final PlanEntry previous = entries.get(key);
+        final int revision = previous == null ? 1 : previous.revision() + 1;
+        final long now = now();
+        entries.put(key, new PlanEntry(key, revision, plan, now, now));
+        log.info("📚 Plan library store: key={} revision={}", shortKey(key), revision);
+        persist();
+    }
+
+    @Override
+    public String cacheName() {
+        return "generation-plans";
+    }
+
+    /**
+     * Returns the number of stored plans.
+     *
+     * @return entry count
+     */
+    @Override
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the number of lookups that found a plan.
+     *
+     * @return hit count since start
+     */
+    @Override
+    public long hits() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of lookups that found nothing.
+     *
+     * @return miss count since start
+     */
+    @Override
+    public long misses() {
+        return misses.get();
+    }
+
+    /**
+     * Derives the library key: canonical schema hash and normalized prompt hash.
+     *
+     * @param jsonSchema schema text
+     * @param userPrompt user prompt
+     * @return stable key
+     */
+    String key(final String jsonSchema, final String userPrompt) {
+        return sha256(canonicalSchema(jsonSchema)) + ":" + sha256(normalizePrompt(userPrompt));
+    }
+
+    /**
+     * Produces a whitespace- and key-order-independent rendering of the schema.
+     * Falls back to the trimmed text when the schema is not parseable JSON.
+     *
+     * @param jsonSchema schema text
+     * @return canonical text
+     */
+    private String canonicalSchema(final String jsonSchema) {
+        if (jsonSchema == null) return "";
+        try {
+            final Object tree = objectMapper.readValue(jsonSchema, Object.class);
+            return objectMapper
+                    .writer()
+                    .with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+                    .writeValueAsString(tree);
+        } catch (IOException e) {
+            return jsonSchema.trim();
+        }
+    }
+
+    /**
+     * Normalizes the prompt: trims, collapses whitespace and lowercases.
+     *
+     * @param userPrompt user prompt; may be null
+     * @return normalized prompt
+     */
+    static String normalizePrompt(final String userPrompt) {
+        if (userPrompt == null) return "";
+        return userPrompt.strip().replaceAll("\\s+", " ").toLowerCase();
+    }
+
+    /**
+     * Hex SHA-256 of the given text.
+     *
+     * @param text input text
+     * @return lowercase hex digest
+     */
+    private static String sha256(final String text) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Loads persisted entries; unreadable files or foreign format versions are skipped.
+     */
+    private void load() {
+        final Path file = file();
+        if (!Files.isRegularFile(file)) return;
+        try {
+            final JsonNode root = objectMapper.readTree(file.toFile());
+            if (root.path("formatVersion").asInt(-1) != FORMAT_VERSION) {
+                log.info("📚 Plan library format changed; ignoring {}", file);
+                return;
+            }
+            final Iterator<JsonNode> it = root.path("entries").elements();
+            while (it.hasNext()) {
+                final PlanEntry e = objectMapper.treeToValue(it.next(), PlanEntry.class);
+                if (e.key() != null && e.plan() != null) entries.put(e.key(), e);
+            }
+            log.info("📚 Plan library loaded: {} plan(s) from {}", entries.size(), file);
+        } catch (IOException e) {
+            log.warn("📚 Plan library could not be loaded from {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Writes all entries (least recently used first) to a temporary file and moves it into place.
+     */
+    private void persist() {
+        final Path file = file();
+        try {
+            Files.createDirectories(file.getParent());
+            final ObjectNode root = objectMapper.createObjectNode();
+            root.put("formatVersion", FORMAT_VERSION);
+            final ArrayNode arr = root.putArray("entries");
+            entries.values().forEach(e -> arr.add(objectMapper.valueToTree(e)));
+            final Path tmp = Files.createTempFile(file.getParent(), FILE_NAME, ".tmp");
+            objectMapper.writeValue(tmp.toFile(), root);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("📚 Plan library could not be persisted to {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Resolves the library file path.
+     *
+     * @return path to the library file
+     */
+    private Path file() {
+        return Path.of(properties.directory()).resolve(FILE_NAME);
+    }
+
+    /**
+     * Shortens a key for logs.
+     *
+     * @param key full key
+     * @return first characters of the schema hash
+     */
+    private static String shortKey(final String key) {
+        return key.substring(0, Math.min(12, key.length()));
+    }
+
+    /**
+     * Current wall-clock time.
+     *
+     * @return epoch millis
+     */
+    private static long now() {
+        return System.currentTimeMillis();
+    }
+}
@@ -6,6 +6,7 @@ import static org.bsc.langgraph4j.StateGraph.END;
 import static org.bsc.langgraph4j.StateGraph.START;
 import static org.bsc.langgraph4j.action.AsyncNodeAction.node_async;
 
+import github.ai.qa.solutions.components.plan.GenerationPlanLibrary;
 import github.ai.qa.solutions.nodes.FixErrorsInJsonNode;
 import github.ai.qa.solutions.nodes.GenerateJsonNode;
 import github.ai.qa.solutions.nodes.NormalizeGeneratedJsonNode;
@@ -14,16 +15,23 @@ import github.ai.qa.solutions.nodes.ThinkHowToFixJsonNode;
 import github.ai.qa.solutions.nodes.ThinkHowToGenerateJsonNode;
 import github.ai.qa.solutions.nodes.ValidateJsonSchemaNode;
 import github.ai.qa.solutions.nodes.VerifyJsonByJsonSchemaNode;
+import github.ai.qa.solutions.observability.InstrumentedNodeAction;
+import github.ai.qa.solutions.observability.NodeExecutionListener;
 import github.ai.qa.solutions.state.AgentState;
+import java.util.List;
 import java.util.Map;
+import java.util.function.BiFunction;
 import org.bsc.langgraph4j.GraphRepresentation;
 import org.bsc.langgraph4j.StateGraph;
 import org.bsc.langgraph4j.action.AsyncEdgeAction;
+import org.bsc.langgraph4j.action.AsyncNodeAction;
 import org.bsc.langgraph4j.action.EdgeAction;
+import org.bsc.langgraph4j.action.NodeAction;
 import org.bsc.langgraph4j.studio.springboot.AbstractLangGraphStudioConfig;
 import org.bsc.langgraph4j.studio.springboot.LangGraphFlow;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -36,6 +44,8 @@ import org.springframework.context.annotation.Configuration;
  *   <li>Type-safe node identifiers via {@link NodeId} and outcomes via {@link Decision}.</li>
  *   <li>Flow is built directly in {@link StateGraph} — no extra layers.</li>
  *   <li>Mermaid diagram is generated from the same constants (see {@link #agentFlowMermaid(StateGraph)}).</li>
+ *   <li>Every node is wrapped in {@link InstrumentedNodeAction}, so {@link NodeExecutionListener}s (metrics)
+ *       observe all of them without touching node code.</li>
  *   <li>Constructor injection and explicit bean contracts; no Lombok.</li>
  * </ul>
  *
@@ -51,12 +61,25 @@ import org.springframework.context.annotation.Configuration;
  *   validate_json --> reason_and_route
  *   reason_and_route -- FIX --> plan_fix
  *   reason_and_route -- REGENERATE --> plan_generation
+ *   reason_and_route -- REGENERATE (first, stored plan) --> generate_initial_json
  *   reason_and_route -- END --> END
  *   plan_fix --> apply_fix
  *   apply_fix --> normalize_json
  * }</pre>
  */
 @Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties({
+    PlanLibraryProperties.class,
+    JfrProperties.class,
+    ApiProperties.class,
+    StreamingProperties.class,
+    ContinuationProperties.class,
+    PromptSchemaProperties.class,
+    SchemaCatalogProperties.class,
+    SchemaValidatorProperties.class,
+    BulkValidationProperties.class,
+    ValidationReportProperties.class
+})
 public class AgentApplicationConfiguration extends AbstractLangGraphStudioConfig {
     /** Framework logger for flow wiring diagnostics. */
     private static final Logger log = LoggerFactory.getLogger(AgentApplicationConfiguration.class);
@@ -158,6 +181,8 @@ public class AgentApplicationConfiguration extends AbstractLangGraphStudioConfig
      * @param fixErrorsInJsonNode        node that applies the fix to JSON
      * @param reasonAndRouteNode         node that decides the next step and emits {@link Decision}
      * @param normalizeGeneratedJsonNode node that normalizes produced JSON
+     * @param planLibrary                stored generation plans; lets REGENERATE skip re-planning
+     * @param listeners                  observers notified around every node execution
      * @return the fully wired {@link StateGraph}
      * @throws org.bsc.langgraph4j.GraphStateException if the graph definition is inconsistent
      */
@@ -170,7 +195,9 @@ public class AgentApplicationConfiguration extends AbstractLangGraphStudioConfig
             final ThinkHowToFixJsonNode thinkHowToFixJsonNode,
             final FixErrorsInJsonNode fixErrorsInJsonNode,
             final ReasonAndRouteNode reasonAndRouteNode,
-            final NormalizeGeneratedJsonNode normalizeGeneratedJsonNode)
+            final NormalizeGeneratedJsonNode normalizeGeneratedJsonNode,
+            final GenerationPlanLibrary planLibrary,
+            final List<NodeExecutionListener> listeners)
             throws org.bsc.langgraph4j.GraphStateException {
 
         // Router that maps state[DECISION] to edge labels used in conditionalEdges
@@ -180,7 +207,7 @@ public class AgentApplicationConfiguration extends AbstractLangGraphStudioConfig
             try {
                 return switch (Decision.valueOf(s)) {
                     case END -> "end"; // will map to END target below
-                    case REGENERATE -> "regenerate";
+                    case REGENERATE -> hasReusablePlan(state, planLibrary) ? "regenerate_with_plan" : "regenerate";
                     case FIX -> "fix";
                 };
             } catch (IllegalArgumentException ex) {
@@ -188,15 +215,19 @@ public class AgentApplicationConfiguration extends AbstractLangGraphStudioConfig
             }
         };
 
+        // Every node is instrumented: run bookkeeping + listener notifications (metrics)
+        final BiFunction<NodeId, NodeAction<AgentState>, AsyncNodeAction<AgentState>> node =
+                (id, action) -> instrumented(id, action, listeners);
+
         return new StateGraph<>(AgentState.SCHEMA, AgentState::new)
-                .addNode(NodeId.VALIDATE_SCHEMA.id, node_async(validateJsonSchemaNode))
-                .addNode(NodeId.PLAN_GENERATION.id, node_async(thinkHowToGenerateJsonNode))
-                .addNode(NodeId.GENERATE_INITIAL_JSON.id, node_async(generateJsonNode))
-                .addNode(NodeId.VALIDATE_JSON.id, node_async(verifyJsonByJsonSchemaNode))
-                .addNode(NodeId.REASON_AND_ROUTE.id, node_async(reasonAndRouteNode))
-                .addNode(NodeId.NORMALIZE_JSON.id, node_async(normalizeGeneratedJsonNode))
-                .addNode(NodeId.APPLY_FIX.id, node_async(fixErrorsInJsonNode))
-                .addNode(NodeId.PLAN_FIX.id, node_async(thinkHowToFixJsonNode))
+                .addNode(NodeId.VALIDATE_SCHEMA.id, node.apply(NodeId.VALIDATE_SCHEMA, validateJsonSchemaNode))
+                .addNode(NodeId.PLAN_GENERATION.id, node.apply(NodeId.PLAN_GENERATION, thinkHowToGenerateJsonNode))
+                .addNode(NodeId.GENERATE_INITIAL_JSON.id, node.apply(NodeId.GENERATE_INITIAL_JSON, generateJsonNode))
+                .addNode(NodeId.VALIDATE_JSON.id, node.apply(NodeId.VALIDATE_JSON, verifyJsonByJsonSchemaNode))
+                .addNode(NodeId.REASON_AND_ROUTE.id, node.apply(NodeId.REASON_AND_ROUTE, reasonAndRouteNode))
+                .addNode(NodeId.NORMALIZE_JSON.id, node.apply(NodeId.NORMALIZE_JSON, normalizeGeneratedJsonNode))
+                .addNode(NodeId.APPLY_FIX.id, node.apply(NodeId.APPLY_FIX, fixErrorsInJsonNode))
+                .addNode(NodeId.PLAN_FIX.id, node.apply(NodeId.PLAN_FIX, thinkHowToFixJsonNode))
 
                 // Linear edges
                 .addEdge(START, NodeId.VALIDATE_SCHEMA.id)
@@ -213,13 +244,62 @@ public class AgentApplicationConfiguration extends AbstractLangGraphStudioConfig
                         Map.of(
                                 "end", END,
                                 "fix", NodeId.PLAN_FIX.id,
-                                "regenerate", NodeId.PLAN_GENERATION.id))
+                                "regenerate", NodeId.PLAN_GENERATION.id,
+                                "regenerate_with_plan", NodeId.GENERATE_INITIAL_JSON.id))
 
                 // Fix branch
                 .addEdge(NodeId.PLAN_FIX.id, NodeId.APPLY_FIX.id)
                 .addEdge(NodeId.APPLY_FIX.id, NodeId.NORMALIZE_JSON.id);
     }
 
+    /**
+     * Wraps a node with run bookkeeping and listener notifications.
+     *
+     * @param id        node identity
+     * @param node      node implementation
+     * @param listeners observers
+     * @return async node action registered in the graph
+     */
+    static AsyncNodeAction<AgentState> instrumented(
+            final NodeId id, final NodeAction<AgentState> node, final List<NodeExecutionListener> listeners) {
+        return node_async(new InstrumentedNodeAction(id, node, listeners));
+    }
+
+    /**
+     * Whether a REGENERATE decision may go straight to generation, reusing the plan already in state.
+     *
+     * <p>Only the first REGENERATE of a run reuses the plan. A plan that leads to a second one is considered bad:
+     * the flow re-plans, and {@code plan_generation} stores the new plan as the next revision, so the bad plan is
+     * not replayed by later runs either.</p>
+     *
+     * @param state       current state; {@code REGENERATE_COUNT} already includes the current decision
+     * @param planLibrary stored generation plans
+     * @return true when reuse is enabled, the plan for the current schema and prompt is stored and this is the
+     *     run's first REGENERATE
+     */
+    static boolean hasReusablePlan(final AgentState state, final GenerationPlanLibrary planLibrary) {
+        if (!planLibrary.reuseOnRegenerate()) return false;
+        if (state.getOptional(AgentState.StateKey.PLAN_GENERATION).isEmpty()) return false;
+        if (regenerations(state) > 1) return false;
+        return planLibrary.contains(
+                state.getOptional(JSON_SCHEMA).orElse(""),
+                state.getOptional(USER_PROMPT).orElse(""));
+    }
+
+    /**
+     * REGENERATE decisions made so far in the run.
+     *
+     * @param state current state
+     * @return value of {@code REGENERATE_COUNT}, 0 when absent or malformed
+     */
+    private static int regenerations(final AgentState state) {
+        try {
+            return Integer.parseInt(state.getOptional(AgentState.StateKey.REGENERATE_COUNT).orElse("0"));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
     /**
      * Creates a {@link LangGraphFlow} wrapper for studio integration and external triggering.
      *
@@ -1,10 +1,17 @@
 package github.ai.qa.solutions.configuration;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import github.ai.qa.solutions.services.replay.ExchangeJournal;
+import github.ai.qa.solutions.services.replay.RecordingAdvisor;
+import github.ai.qa.solutions.services.replay.ReplayChatModel;
+import java.nio.file.Path;
 import java.util.Map;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.model.ChatModel;
 import org.springframework.ai.openai.OpenAiChatModel;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -21,6 +28,8 @@ import org.springframework.context.annotation.Profile;
  *   <li><b>gigachat-only</b>: both generative & thinking clients use GigaChat</li>
  *   <li><b>openrouter-only</b>: both generative & thinking clients use OpenRouter (OpenAI-compatible)</li>
  *   <li><b>gigachat-openrouter</b>: generative uses GigaChat, thinking uses OpenRouter</li>
+ *   <li><b>replay</b>: both clients answer from a recorded journal; no credentials or network needed</li>
+ *   <li><b>record</b>: combined with one of the above, journals every real exchange for later replay</li>
  * </ul>
  *
  * <p>This layout follows modern Spring Boot guidance:
@@ -39,7 +48,12 @@ import org.springframework.context.annotation.Profile;
  * </ul>
  */
 @Configuration(proxyBeanMethods = false)
-@EnableConfigurationProperties(AiClientsConfiguration.NodeModelRoutingProperties.class)
+@EnableConfigurationProperties({
+    AiClientsConfiguration.NodeModelRoutingProperties.class,
+    ReplayProperties.class,
+    OutputBudgetProperties.class,
+    StructuredOutputProperties.class
+})
 public class AiClientsConfiguration {
 
     /**
@@ -136,6 +150,66 @@ public class AiClientsConfiguration {
         }
     }
 
+    /**
+     * replay: both clients → {@link ReplayChatModel} backed by the recorded journal.
+     */
+    @Configuration
+    @Profile("replay")
+    static class ReplayConfig {
+
+        @Bean
+        public ExchangeJournal exchangeJournal(final ObjectMapper objectMapper, final ReplayProperties props) {
+            return new ExchangeJournal(objectMapper, Path.of(props.file()));
+        }
+
+        @Bean
+        @Primary
+        public ReplayChatModel replayChatModel(final ExchangeJournal journal, final ReplayProperties props) {
+            return new ReplayChatModel(journal, props);
+        }
+
+        @Bean
+        @Qualifier("generativeChatClient")
+        public ChatClient generativeChatClient(final ReplayChatModel replay) {
+            return ChatClient.create(replay);
+        }
+
+        @Bean
+        @Qualifier("thinkingChatClient")
+        public ChatClient thinkingChatClient(final ReplayChatModel replay) {
+            return ChatClient.create(replay);
+        }
+    }
+
+    /**
+     * record: every {@link ChatClient} bean journals its exchanges via {@link RecordingAdvisor}.
+     */
+    @Configuration
+    @Profile("record")
+    static class RecordConfig {
+
+        @Bean
+        public ExchangeJournal exchangeJournal(final ObjectMapper objectMapper, final ReplayProperties props) {
+            return new ExchangeJournal(objectMapper, Path.of(props.file()));
+        }
+
+        @Bean
+        public static BeanPostProcessor recordingChatClientPostProcessor(
+                final ObjectProvider<ExchangeJournal> journal) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+                    if (bean instanceof ChatClient client) {
+                        return client.mutate()
+                                .defaultAdvisors(new RecordingAdvisor(journal.getObject()))
+                                .build();
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
     // --------------------------------------------------------------
     // Strongly-typed routing properties for node -> model mapping
     // --------------------------------------------------------------
@@ -0,0 +1,56 @@
+package github.ai.qa.solutions.configuration;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the generation HTTP API: admission control, timeouts and job retention.
+ *
+ * @param maxConcurrentRuns graph runs executing at the same time; further work waits or is rejected
+ * @param maxQueuedJobs     asynchronous jobs waiting for a run slot before submissions are rejected
+ * @param admissionWait     how long a synchronous request waits for a run slot before it is rejected
+ * @param defaultTimeout    run timeout when the request does not set one
+ * @param maxTimeout        upper bound for a requested timeout
+ * @param jobRetention      how long finished jobs stay pollable
+ * @param virtualThreads    whether runs execute on virtual threads
+ */
+@ConfigurationProperties(prefix = "ai.api")
+public record ApiProperties(
+        Integer maxConcurrentRuns,
+        Integer maxQueuedJobs,
+        Duration admissionWait,
+        Duration defaultTimeout,
+        Duration maxTimeout,
+        Duration jobRetention,
+        Boolean virtualThreads) {
+
+    /**
+     * Applies defaults for omitted values.
+     *
+     * @param maxConcurrentRuns concurrent runs
+     * @param maxQueuedJobs     queued asynchronous jobs
+     * @param admissionWait     synchronous admission wait
+     * @param defaultTimeout    default run timeout
+     * @param maxTimeout        maximum run timeout
+     * @param jobRetention      finished job retention
+     * @param virtualThreads    whether to use virtual threads
+     */
+    public ApiProperties {
+        maxConcurrentRuns = maxConcurrentRuns == null || maxConcurrentRuns < 1 ? 16 : maxConcurrentRuns;
+        maxQueuedJobs = maxQueuedJobs == null || maxQueuedJobs < 0 ? 64 : maxQueuedJobs;
+        admissionWait = admissionWait == null ? Duration.ofSeconds(2) : admissionWait;
+        defaultTimeout = defaultTimeout == null ? Duration.ofMinutes(5) : defaultTimeout;
+        maxTimeout = maxTimeout == null ? Duration.ofMinutes(15) : maxTimeout;
+        jobRetention = jobRetention == null ? Duration.ofHours(1) : jobRetention;
+        virtualThreads = virtualThreads == null || virtualThreads;
+    }
+
+    /**
+     * Creates properties populated with defaults only.
+     *
+     * @return default settings
+     */
+    public static ApiProperties defaults() {
+        return new ApiProperties(null, null, null, null, null, null, null);
+    }
+}
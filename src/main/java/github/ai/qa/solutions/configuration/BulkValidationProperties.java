@@ -0,0 +1,47 @@
+package github.ai.qa.solutions.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of bulk NDJSON validation.
+ *
+ * @param parallelism worker threads validating lines; defaults to the number of cores
+ * @param batchLines  lines handed to a worker at a time
+ * @param maxPending  batches read ahead of the writer; bounds memory together with {@code batchLines}
+ * @param sampleLines invalid lines quoted in the tool's answer
+ */
+@ConfigurationProperties(prefix = "ai.bulk-validation")
+public record BulkValidationProperties(
+        Integer parallelism, Integer batchLines, Integer maxPending, Integer sampleLines) {
+
+    /** Default lines per batch. */
+    static final int DEFAULT_BATCH_LINES = 256;
+    /** Default invalid lines quoted by the tool. */
+    static final int DEFAULT_SAMPLE_LINES = 20;
+
+    /**
+     * Applies defaults for omitted values.
+     *
+     * @param parallelism worker threads
+     * @param batchLines  lines per batch
+     * @param maxPending  batches in flight
+     * @param sampleLines invalid lines quoted by the tool
+     */
+    public BulkValidationProperties {
+        parallelism = parallelism == null || parallelism < 1
+                ? Runtime.getRuntime().availableProcessors()
+                : parallelism;
+        batchLines = batchLines == null || batchLines < 1 ? DEFAULT_BATCH_LINES : batchLines;
+        maxPending = maxPending == null || maxPending < 1 ? 4 * parallelism : maxPending;
+        sampleLines = sampleLines == null || sampleLines < 0 ? DEFAULT_SAMPLE_LINES : sampleLines;
+    }
+
+    /**
+     * Creates properties populated with defaults only.
+     *
+     * @return default settings
+     */
+    public static BulkValidationProperties defaults() {
+        return new BulkValidationProperties(null, null, null, null);
+    }
+}
@@ -0,0 +1,33 @@
+package github.ai.qa.solutions.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for continuing truncated JSON answers of the generator and fixer tools.
+ *
+ * @param enabled          whether a cut-off answer is continued instead of being passed on broken
+ * @param maxContinuations continuation requests per answer before giving up (the run then regenerates)
+ */
+@ConfigurationProperties(prefix = "ai.continuation")
+public record ContinuationProperties(Boolean enabled, Integer maxContinuations) {
+
+    /**
+     * Applies defaults for omitted values.
+     *
+     * @param enabled          continuation switch
+     * @param maxContinuations continuation requests per answer
+     */
+    public ContinuationProperties {
+        enabled = enabled == null || enabled;
+        maxContinuations = maxContinuations == null || maxContinuations < 0 ? 2 : maxContinuations;
+    }
+
+    /**
+     * Creates properties populated with defaults only.
+     *
+     * @return default settings
+     */
+    public static ContinuationProperties defaults() {
+        return new ContinuationProperties(null, null);
+    }
+}
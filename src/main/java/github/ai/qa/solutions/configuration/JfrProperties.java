@@ -0,0 +1,39 @@
+package github.ai.qa.solutions.configuration;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the in-process Java Flight Recorder recording that captures the agent's custom events.
+ *
+ * @param enabled  whether the recording is started with the application
+ * @param base     built-in JFR configuration the agent settings are layered on ({@code default} or {@code profile})
+ * @param settings agent settings profile (Spring resource location)
+ * @param file     destination written when the application stops
+ * @param maxAge   how long recorded data is kept in the repository
+ */
+@ConfigurationProperties(prefix = "ai.jfr")
+public record JfrProperties(Boolean enabled, String base, String settings, String file, Duration maxAge) {
+
+    /** Settings profile shipped with the application. */
+    static final String DEFAULT_SETTINGS = "classpath:jfr/agent.jfc";
+    /** Default destination, relative to the working directory. */
+    static final String DEFAULT_FILE = ".ai-test-data-generation/jfr/agent.jfr";
+
+    /**
+     * Applies defaults for omitted values.
+     *
+     * @param enabled  whether the recording is started
+     * @param base     built-in JFR configuration name
+     * @param settings agent settings profile location
+     * @param file     destination file
+     * @param maxAge   retention
+     */
+    public JfrProperties {
+        enabled = enabled != null && enabled;
+        base = base == null || base.isBlank() ? "default" : base;
+        settings = settings == null || settings.isBlank() ? DEFAULT_SETTINGS : settings;
+        file = file == null || file.isBlank() ? DEFAULT_FILE : file;
+        maxAge = maxAge == null ? Duration.ofHours(1) : maxAge;
+    }
+}
@@ -0,0 +1,61 @@
+package github.ai.qa.solutions.configuration;
+
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the per-call output budget ({@code max-tokens}) derived from the schema and the calling node.
+ *
+ * @param enabled          whether routed calls that pass a schema get their own budget instead of the provider's
+ *                         global {@code max-tokens}
+ * @param minTokens        lower bound of any budget
+ * @param maxTokens        upper bound of any budget
+ * @param headroom         factor applied to the estimated JSON document size
+ * @param routingTokens    budget of one-line routing decisions
+ * @param planBaseTokens   fixed part of a plan budget
+ * @param planFieldTokens  plan budget per schema field
+ * @param reasoningReserve extra tokens per family for models that spend output tokens on reasoning
+ */
+@ConfigurationProperties(prefix = "ai.output-budget")
+public record OutputBudgetProperties(
+        Boolean enabled,
+        Integer minTokens,
+        Integer maxTokens,
+        Double headroom,
+        Integer routingTokens,
+        Integer planBaseTokens,
+        Integer planFieldTokens,
+        Map<String, Integer> reasoningReserve) {
+
+    /**
+     * Applies defaults for omitted values.
+     *
+     * @param enabled          budget switch
+     * @param minTokens        lower bound
+     * @param maxTokens        upper bound
+     * @param headroom         JSON size factor
+     * @param routingTokens    routing budget
+     * @param planBaseTokens   fixed plan budget
+     * @param planFieldTokens  plan budget per field
+     * @param reasoningReserve reasoning tokens per family
+     */
+    public OutputBudgetProperties {
+        enabled = enabled == null || enabled;
+        minTokens = minTokens == null || minTokens < 1 ? 128 : minTokens;
+        maxTokens = maxTokens == null || maxTokens < minTokens ? Math.max(8192, minTokens) : maxTokens;
+        headroom = headroom == null || headroom < 1.0 ? 1.5 : headroom;
+        routingTokens = routingTokens == null || routingTokens < 1 ? 128 : routingTokens;
+        planBaseTokens = planBaseTokens == null || planBaseTokens < 0 ? 300 : planBaseTokens;
+        planFieldTokens = planFieldTokens == null || planFieldTokens < 0 ? 40 : planFieldTokens;
+        reasoningReserve = reasoningReserve == null ? Map.of() : Map.copyOf(reasoningReserve);
+    }
+
+    /**
+     * Creates properties populated with defaults only (no reasoning reserve).
+     *
+     * @return default settings
+     */
+    public static OutputBudgetProperties defaults() {
+        return new OutputBudgetProperties(null, null, null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,45 @@
+package github.ai.qa.solutions.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the persistent generation-plan library.
+ *
+ * @param enabled            whether plans are looked up and stored at all
+ * @param directory          directory holding the library file; created on first write
+ * @param maxEntries         LRU capacity; least recently used plans are evicted beyond it
+ * @param reuseOnRegenerate  whether the first REGENERATE of a run may skip re-planning when a plan is stored;
+ *                           off by default
+ */
+@ConfigurationProperties(prefix = "ai.plan-library")
+public record PlanLibraryProperties(Boolean enabled, String directory, Integer maxEntries, Boolean reuseOnRegenerate) {
+
+    /** Default directory, relative to the working directory. */
+    static final String DEFAULT_DIRECTORY = ".ai-test-data-generation/plans";
+    /** Default LRU capacity. */
+    static final int DEFAULT_MAX_ENTRIES = 256;
+
+    /**
+     * Applies defaults for omitted values.
+     *
+     * @param enabled           whether plans are looked up and stored at all
+     * @param directory         directory holding the library file
+     * @param maxEntries        LRU capacity
+     * @param reuseOnRegenerate whether the first REGENERATE may skip re-planning
+     */
+    public PlanLibraryProperties {
+        enabled = enabled == null || enabled;
+        directory = directory == null || directory.isBlank() ? DEFAULT_DIRECTORY : directory;
+        maxEntries = maxEntries == null || maxEntries < 1 ? DEFAULT_MAX_ENTRIES : maxEntries;
+        reuseOnRegenerate = reuseOnRegenerate != null && reuseOnRegenerate;
+    }
+
+    /**
+     * Creates properties populated with defaults only.
+     *
+     * @return default settings
+     */
+    public static PlanLibraryProperties defaults() {
+        return new PlanLibraryProperties(null, null, null, null);
+    }
+}
@@ -0,0 +1,50 @@
+package github.ai.qa.solutions.configuration;
+
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the schema form embedded in prompts (validation always uses the original schema).
+ *
+ * @param level           how far the prompt schema is compacted
+ * @param keepAnnotations annotation keywords kept despite {@link Level#ANNOTATIONS} (e.g. {@code description} when
+ *                        descriptions carry locale hints)
+ * @param minSharedChars  smallest serialized subschema, in characters, worth hoisting into a shared definition
+ */
+@ConfigurationProperties(prefix = "ai.prompt-schema")
+public record PromptSchemaProperties(Level level, List<String> keepAnnotations, Integer minSharedChars) {
+
+    /**
+     * Applies defaults for omitted values.
+     *
+     * @param level           compaction level
+     * @param keepAnnotations annotations to keep
+     * @param minSharedChars  hoisting threshold
+     */
+    public PromptSchemaProperties {
+        level = level == null ? Level.FULL : level;
+        keepAnnotations = keepAnnotations == null ? List.of() : List.copyOf(keepAnnotations);
+        minSharedChars = minSharedChars == null || minSharedChars < 16 ? 80 : minSharedChars;
+    }
+
+    /**
+     * Creates properties populated with defaults only (full compaction).
+     *
+     * @return default settings
+     */
+    public static PromptSchemaProperties defaults() {
+        return new PromptSchemaProperties(null, null, null);
+    }
+
+    /** Compaction levels; each includes the previous ones. */
+    public enum Level {
+        /** Whitespace-free original. */
+        OFF,
+        /** Drop annotations that do not affect validation ({@code title}, {@code description}, ...). */
+        ANNOTATIONS,
+        /** Also hoist repeated subschemas into shared definitions. */
+        DEDUPE,
+        /** Also drop keywords spelling out defaults and shorten single-element {@code type} arrays. */
+        FULL
+    }
+}
@@ -0,0 +1,81 @@
+package github.ai.qa.solutions.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the record/replay chat model used for offline, deterministic runs.
+ *
+ * @param file    NDJSON journal written by the {@code record} profile and read by the {@code replay} profile
+ * @param onMiss  behavior when a prompt has no recording
+ * @param latency simulated model latency applied on replay
+ */
+@ConfigurationProperties(prefix = "ai.replay")
+public record ReplayProperties(String file, MissPolicy onMiss, Latency latency) {
+
+    /** Default journal location, relative to the working directory. */
+    static final String DEFAULT_FILE = ".ai-test-data-generation/replay/exchanges.ndjson";
+
+    /**
+     * Applies defaults for omitted values.
+     *
+     * @param file    journal path
+     * @param onMiss  miss policy
+     * @param latency latency settings
+     */
+    public ReplayProperties {
+        file = file == null || file.isBlank() ? DEFAULT_FILE : file;
+        onMiss = onMiss == null ? MissPolicy.EMPTY : onMiss;
+        latency = latency == null ? new Latency(null, null, null, null, null) : latency;
+    }
+
+    /** What the replay model returns for prompts that were never recorded. */
+    public enum MissPolicy {
+        /** Return empty content; nodes with a local fallback (validation) take it. */
+        EMPTY,
+        /** Fail the call with {@link IllegalStateException}. */
+        FAIL
+    }
+
+    /** Shape of the simulated latency distribution. */
+    public enum Distribution {
+        /** No delay. */
+        NONE,
+        /** The latency measured while recording, multiplied by {@code scale}. */
+        RECORDED,
+        /** Always {@code meanMs}. */
+        FIXED,
+        /** Uniform in {@code [meanMs - jitterMs, meanMs + jitterMs]}. */
+        UNIFORM,
+        /** Log-normal with median {@code meanMs}; {@code jitterMs} controls the spread. */
+        LOG_NORMAL
+    }
+
+    /**
+     * Latency simulation settings.
+     *
+     * @param distribution distribution shape
+     * @param meanMs       mean (or median for log-normal) latency in milliseconds
+     * @param jitterMs     spread in milliseconds
+     * @param scale        multiplier applied to recorded latencies
+     * @param seed         random seed for reproducible runs
+     */
+    public record Latency(Distribution distribution, Long meanMs, Long jitterMs, Double scale, Long seed) {
+
+        /**
+         * Applies defaults for omitted values.
+         *
+         * @param distribution distribution shape
+         * @param meanMs       mean latency
+         * @param jitterMs     spread
+         * @param scale        recorded latency multiplier
+         * @param seed         random seed
+         */
+        public Latency {
+            distribution = distribution == null ? Distribution.NONE : distribution;
+            meanMs = meanMs == null || meanMs < 0 ? 0L : meanMs;
+            jitterMs = jitterMs == null || jitterMs < 0 ? 0L : jitterMs;
+            scale = scale == null || scale < 0 ? 1.0 : scale;
+            seed = seed == null ? 42L : seed;
+        }
+    }
+}
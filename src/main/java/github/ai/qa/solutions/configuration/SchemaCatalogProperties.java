@@ -0,0 +1,47 @@
+package github.ai.qa.solutions.configuration;
+
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the local catalog that resolves {@code $ref} and meta-schema URIs without the network.
+ *
+ * @param mappings     URI prefix → location prefix ({@code classpath:schemas/}, {@code file:/etc/schemas/} or a
+ *                     plain directory path); the longest matching prefix wins
+ * @param directory    optional mirror directory searched as {@code <directory>/<host>/<path>} for URIs no mapping
+ *                     covers
+ * @param offline      whether a remote URI the catalog cannot resolve fails the compilation instead of being
+ *                     fetched over the network
+ * @param maxDocuments capacity of the in-memory cache of resolved documents; least recently used are evicted
+ */
+@ConfigurationProperties(prefix = "ai.schema-catalog")
+public record SchemaCatalogProperties(
+        Map<String, String> mappings, String directory, Boolean offline, Integer maxDocuments) {
+
+    /** Default capacity of the resolved-document cache. */
+    static final int DEFAULT_MAX_DOCUMENTS = 256;
+
+    /**
+     * Applies defaults for omitted values.
+     *
+     * @param mappings     URI prefix mappings
+     * @param directory    mirror directory
+     * @param offline      no-network switch
+     * @param maxDocuments document cache capacity
+     */
+    public SchemaCatalogProperties {
+        mappings = mappings == null ? Map.of() : Map.copyOf(mappings);
+        directory = directory == null || directory.isBlank() ? null : directory;
+        offline = offline != null && offline;
+        maxDocuments = maxDocuments == null || maxDocuments < 1 ? DEFAULT_MAX_DOCUMENTS : maxDocuments;
+    }
+
+    /**
+     * Creates properties populated with defaults only (no mappings, network allowed).
+     *
+     * @return default settings
+     */
+    public static SchemaCatalogProperties defaults() {
+        return new SchemaCatalogProperties(null, null, null, null);
+    }
+}
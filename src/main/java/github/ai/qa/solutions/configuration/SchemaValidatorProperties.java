@@ -0,0 +1,41 @@
+package github.ai.qa.solutions.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the validation tool's schema cache and compiled validators.
+ *
+ * @param maxSchemas capacity of the cache of prepared schemas; least recently used are evicted
+ * @param compiled   whether hot schemas inside the compiled subset are validated by a specialized validator
+ * @param hotAfter   validations of a schema after which it counts as hot and is compiled
+ */
+@ConfigurationProperties(prefix = "ai.schema-validator")
+public record SchemaValidatorProperties(Integer maxSchemas, Boolean compiled, Integer hotAfter) {
+
+    /** Default capacity of the schema cache. */
+    static final int DEFAULT_MAX_SCHEMAS = 64;
+    /** Default number of validations that make a schema hot. */
+    static final int DEFAULT_HOT_AFTER = 2;
+
+    /**
+     * Applies defaults for omitted values.
+     *
+     * @param maxSchemas schema cache capacity
+     * @param compiled   compiled validator switch
+     * @param hotAfter   validations before compiling
+     */
+    public SchemaValidatorProperties {
+        maxSchemas = maxSchemas == null || maxSchemas < 1 ? DEFAULT_MAX_SCHEMAS : maxSchemas;
+        compiled = compiled != null && compiled;
+        hotAfter = hotAfter == null || hotAfter < 1 ? DEFAULT_HOT_AFTER : hotAfter;
+    }
+
+    /**
+     * Creates properties populated with defaults only (cache on, compiled validators off).
+     *
+     * @return default settings
+     */
+    public static SchemaValidatorProperties defaults() {
+        return new SchemaValidatorProperties(null, null, null);
+    }
+}
@@ -0,0 +1,44 @@
+package github.ai.qa.solutions.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of streamed JSON generation (generator and fixer tools).
+ *
+ * @param enabled     whether the tools stream completions and inspect them while they arrive
+ * @param onViolation what to do when the stream breaks the schema structure
+ * @param maxRetries  immediate retries after an aborted stream before the partial structure is handed on
+ */
+@ConfigurationProperties(prefix = "ai.streaming")
+public record StreamingProperties(Boolean enabled, OnViolation onViolation, Integer maxRetries) {
+
+    /**
+     * Applies defaults for omitted values.
+     *
+     * @param enabled     streaming switch
+     * @param onViolation violation policy
+     * @param maxRetries  retries after an abort
+     */
+    public StreamingProperties {
+        enabled = enabled != null && enabled;
+        onViolation = onViolation == null ? OnViolation.RETRY : onViolation;
+        maxRetries = maxRetries == null || maxRetries < 0 ? 1 : maxRetries;
+    }
+
+    /**
+     * Creates properties populated with defaults only (streaming off).
+     *
+     * @return default settings
+     */
+    public static StreamingProperties defaults() {
+        return new StreamingProperties(null, null, null);
+    }
+
+    /** Reaction to a structural violation detected mid-stream. */
+    public enum OnViolation {
+        /** Abort and ask again, up to {@code maxRetries} times; then hand on the partial structure. */
+        RETRY,
+        /** Abort and hand the partial structure straight on, so validation and the fixer take over. */
+        FIX
+    }
+}
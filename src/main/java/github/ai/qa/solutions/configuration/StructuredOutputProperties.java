@@ -0,0 +1,43 @@
+package github.ai.qa.solutions.configuration;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of provider-side structured output for the generator and fixer tools.
+ *
+ * @param enabled    whether JSON-producing calls routed to the OpenAI-compatible client send the schema as a
+ *                   {@code json_schema} response format
+ * @param strict     whether the provider must enforce the schema exactly; strict mode accepts only a subset of
+ *                   JSON Schema, so it is off by default
+ * @param schemaName name of the response format schema ({@code [A-Za-z0-9_-]+})
+ * @param degradeFor how long a caller stays on prompt-only JSON after its provider rejected the response format;
+ *                   30 minutes by default
+ */
+@ConfigurationProperties(prefix = "ai.structured-output")
+public record StructuredOutputProperties(Boolean enabled, Boolean strict, String schemaName, Duration degradeFor) {
+
+    /**
+     * Applies defaults for omitted values.
+     *
+     * @param enabled    structured output switch
+     * @param strict     strict schema enforcement
+     * @param schemaName response format schema name
+     * @param degradeFor prompt-only period after a rejection
+     */
+    public StructuredOutputProperties {
+        enabled = enabled != null && enabled;
+        strict = strict != null && strict;
+        schemaName = schemaName == null || !schemaName.matches("[A-Za-z0-9_-]{1,64}") ? "test_data" : schemaName;
+        degradeFor = degradeFor == null || degradeFor.isNegative() ? Duration.ofMinutes(30) : degradeFor;
+    }
+
+    /**
+     * Creates properties populated with defaults only (structured output off).
+     *
+     * @return default settings
+     */
+    public static StructuredOutputProperties defaults() {
+        return new StructuredOutputProperties(null, null, null, null);
+    }
+}
@@ -0,0 +1,46 @@
+package github.ai.qa.solutions.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the validation tool's error report.
+ *
+ * @param maxErrors   errors after which validation of a document stops
+ * @param maxGroups   distinct errors listed in the report; the rest are summed up in one line
+ * @param samplePaths instance paths shown for an error repeated at many places
+ * @param failFast    whether validation stops at the first error
+ */
+@ConfigurationProperties(prefix = "ai.validation-report")
+public record ValidationReportProperties(Integer maxErrors, Integer maxGroups, Integer samplePaths, Boolean failFast) {
+
+    /** Default error limit per document. */
+    static final int DEFAULT_MAX_ERRORS = 1000;
+    /** Default number of listed errors. */
+    static final int DEFAULT_MAX_GROUPS = 50;
+    /** Default number of sample paths per repeated error. */
+    static final int DEFAULT_SAMPLE_PATHS = 3;
+
+    /**
+     * Applies defaults for omitted values.
+     *
+     * @param maxErrors   error limit per document
+     * @param maxGroups   listed errors
+     * @param samplePaths sample paths per repeated error
+     * @param failFast    fail-fast switch
+     */
+    public ValidationReportProperties {
+        maxErrors = maxErrors == null || maxErrors < 1 ? DEFAULT_MAX_ERRORS : maxErrors;
+        maxGroups = maxGroups == null || maxGroups < 1 ? DEFAULT_MAX_GROUPS : maxGroups;
+        samplePaths = samplePaths == null || samplePaths < 1 ? DEFAULT_SAMPLE_PATHS : samplePaths;
+        failFast = failFast != null && failFast;
+    }
+
+    /**
+     * Creates properties populated with defaults only (grouped report, fail-fast off).
+     *
+     * @return default settings
+     */
+    public static ValidationReportProperties defaults() {
+        return new ValidationReportProperties(null, null, null, null);
+    }
+}
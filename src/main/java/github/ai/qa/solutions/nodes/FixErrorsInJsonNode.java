@@ -34,7 +34,11 @@ public class FixErrorsInJsonNode implements NodeAction<AgentState> {
     public Map<String, Object> apply(final AgentState state) {
         log.info("▶️ Stage: FixErrorsInJsonNode — starting");
         final String fixedJson = fixValidationErrorsInJsonTool.fixJsonByErrorsAndSchema(
-                state.get(VALIDATION_RESULT), state.get(GENERATED_JSON), state.get(JSON_SCHEMA), state.get(PLAN_FIX));
+                state.get(VALIDATION_RESULT),
+                state.get(GENERATED_JSON),
+                state.get(JSON_SCHEMA),
+                state.get(PLAN_FIX),
+                state.promptSchema());
         return Map.of(GENERATED_JSON.name(), fixedJson);
     }
 }
@@ -34,7 +34,7 @@ public class GenerateJsonNode implements NodeAction<AgentState> {
     public Map<String, Object> apply(final AgentState state) {
         log.info("▶️ Stage: GenerateJsonNode — starting");
         final String generatedJson = generateJsonBySchemaTool.generateJsonBySchema(
-                state.get(USER_PROMPT), state.get(JSON_SCHEMA), state.get(PLAN_GENERATION));
+                state.get(USER_PROMPT), state.get(JSON_SCHEMA), state.get(PLAN_GENERATION), state.promptSchema());
         return Map.of(GENERATED_JSON.name(), generatedJson);
     }
 }
@@ -4,7 +4,9 @@ import static github.ai.qa.solutions.state.AgentState.StateKey.*;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import github.ai.qa.solutions.components.json.LenientJsonExtractor;
 import github.ai.qa.solutions.services.ChatClientRouter;
+import github.ai.qa.solutions.services.PromptLayout;
 import github.ai.qa.solutions.state.AgentState;
 import java.util.HashMap;
 import java.util.Map;
@@ -22,10 +24,14 @@ public class ReasonAndRouteNode implements NodeAction<AgentState> {
     private final ChatClientRouter router;
     /** JSON parser for routing responses. */
     private final ObjectMapper objectMapper;
+    /** Extracts the routing JSON from prose or fenced responses. */
+    private final LenientJsonExtractor extractor;
 
-    public ReasonAndRouteNode(final ChatClientRouter router, final ObjectMapper objectMapper) {
+    public ReasonAndRouteNode(
+            final ChatClientRouter router, final ObjectMapper objectMapper, final LenientJsonExtractor extractor) {
         this.router = router;
         this.objectMapper = objectMapper;
+        this.extractor = extractor;
     }
 
     /** Decision constant: end the flow. */
@@ -78,7 +84,7 @@ public class ReasonAndRouteNode implements NodeAction<AgentState> {
         }
 
         // Heuristic: few errors -> try FIX first
-        final int errorCount = countErrors(validation);
+        final int errorCount = countErrors(state.getOptional(VALIDATION_ERROR_COUNT).orElse(null), validation);
         if (errorCount <= 2) {
             updates.put(DECISION.name(), DECISION_FIX);
             updates.put(REASONING.name(), "Few errors (" + errorCount + ") → FIX.");
@@ -89,24 +95,24 @@ public class ReasonAndRouteNode implements NodeAction<AgentState> {
         }
 
         final String userPrompt = state.get(USER_PROMPT);
-        final String jsonSchema = state.get(JSON_SCHEMA);
+        final String jsonSchema = state.promptSchema();
         final String json = state.get(GENERATED_JSON);
 
-        final String response = router.forNode("ReasonAndRouteNode")
-                .prompt(
-                        """
+        final String response = router.forNode("ReasonAndRouteNode", jsonSchema)
+                .prompt(PromptLayout.create()
+                        .instructions(
+                                """
                         Decide next action to reach schema-valid JSON.
                         Choose only one: FIX (few local errors), REGENERATE (many/missing required/structure issues), END (already valid).
 
                         Return strictly this JSON: {"decision":"FIX|REGENERATE|END","reason":"<short>"}
-
-                        Context:\n%s\n
-                        Schema:\n%s\n
-                        JSON:\n%s\n
-                        Errors:\n%s\n
-                        ConsecutiveFixAttempts: %d
-                        """
-                                .formatted(userPrompt, jsonSchema, json, validation, fixAttempts))
+                        """)
+                        .schema("Schema", jsonSchema)
+                        .context("Context", userPrompt)
+                        .context("JSON", json)
+                        .context("Errors", validation)
+                        .context("ConsecutiveFixAttempts", fixAttempts)
+                        .render())
                 .system(
                         """
                         Output only the compact JSON object with fields decision and reason.
@@ -121,7 +127,8 @@ public class ReasonAndRouteNode implements NodeAction<AgentState> {
         String decision;
         String reasoning;
         try {
-            final JsonNode root = objectMapper.readTree(response);
+            final String routing = extractor.extract(response, "ReasonAndRouteNode").orElse(response);
+            final JsonNode root = objectMapper.readTree(routing);
             decision = root.path("decision").asText(DECISION_FIX).toUpperCase();
             reasoning = root.path("reason").asText("");
         } catch (Exception e) {
@@ -146,7 +153,14 @@ public class ReasonAndRouteNode implements NodeAction<AgentState> {
         return updates;
     }
 
-    private int countErrors(final String validation) {
+    private int countErrors(final String count, final String validation) {
+        // violations found by the validator; grouped lines and report notes are not errors
+        if (count != null && !count.isBlank()) {
+            try {
+                return Integer.parseInt(count.trim());
+            } catch (NumberFormatException ignored) {
+            }
+        }
         if (validation == null || validation.isBlank() || "OK".equalsIgnoreCase(validation)) return 0;
         // errors are joined with " \n" in our validator
         final String[] parts = validation.split(" \\n");
@@ -1,6 +1,8 @@
 package github.ai.qa.solutions.nodes;
 
+import static github.ai.qa.solutions.state.AgentState.StateKey.JSON_SCHEMA;
 import static github.ai.qa.solutions.state.AgentState.StateKey.PLAN_FIX;
+import static github.ai.qa.solutions.state.AgentState.StateKey.PROMPT_SCHEMA;
 import static github.ai.qa.solutions.state.AgentState.StateKey.USER_PROMPT;
 import static github.ai.qa.solutions.state.AgentState.StateKey.VALIDATION_RESULT;
 
@@ -45,14 +47,18 @@ public class ThinkHowToFixJsonNode implements NodeAction<AgentState> {
     /**
      * Produces a minimal-change fix plan for invalid JSON.
      *
-     * @param state graph state; must contain VALIDATION_RESULT and USER_PROMPT
+     * @param state graph state; must contain VALIDATION_RESULT and USER_PROMPT; the prompt schema is passed if present
      * @return map update with PLAN_FIX containing the plan text (may be empty but never null)
      */
     @Override
     public Map<String, Object> apply(final AgentState state) {
         log.info("▶️ Stage: ThinkHowToFixJsonNode — starting");
-        final String thought =
-                thinkHowToFixJsonTool.thinkHowToFixJson(state.get(VALIDATION_RESULT), state.get(USER_PROMPT));
+        final String thought = thinkHowToFixJsonTool.thinkHowToFixJson(
+                state.get(VALIDATION_RESULT),
+                state.get(USER_PROMPT),
+                state.getOptional(PROMPT_SCHEMA)
+                        .or(() -> state.getOptional(JSON_SCHEMA))
+                        .orElse(null));
         return Map.of(PLAN_FIX.name(), thought);
     }
 }
@@ -4,9 +4,11 @@ import static github.ai.qa.solutions.state.AgentState.StateKey.JSON_SCHEMA;
 import static github.ai.qa.solutions.state.AgentState.StateKey.PLAN_GENERATION;
 import static github.ai.qa.solutions.state.AgentState.StateKey.USER_PROMPT;
 
+import github.ai.qa.solutions.components.plan.GenerationPlanLibrary;
 import github.ai.qa.solutions.state.AgentState;
 import github.ai.qa.solutions.tools.ThinkHowToGenerateTool;
 import java.util.Map;
+import java.util.Optional;
 import org.bsc.langgraph4j.action.NodeAction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,14 +20,22 @@ public class ThinkHowToGenerateJsonNode implements NodeAction<AgentState> {
     private static final Logger log = LoggerFactory.getLogger(ThinkHowToGenerateJsonNode.class);
     /** Tool that creates a structured generation plan. */
     private final ThinkHowToGenerateTool thinkHowToGenerateTool;
+    /** Persistent plans keyed by schema and prompt. */
+    private final GenerationPlanLibrary planLibrary;
 
-    public ThinkHowToGenerateJsonNode(final ThinkHowToGenerateTool thinkHowToGenerateTool) {
+    public ThinkHowToGenerateJsonNode(
+            final ThinkHowToGenerateTool thinkHowToGenerateTool, final GenerationPlanLibrary planLibrary) {
         this.thinkHowToGenerateTool = thinkHowToGenerateTool;
+        this.planLibrary = planLibrary;
     }
 
     /**
      * Thinks through how to generate data given the schema and user prompt.
      *
+     * <p>On the first pass a stored plan for the same schema and prompt is reused. When the state already
+     * carries a plan (the flow came back via REGENERATE), a fresh plan is requested and stored as a new
+     * revision.</p>
+     *
      * @param state current flow state
      * @return state delta with PLAN_GENERATION thought text
      */
@@ -34,7 +44,13 @@ public class ThinkHowToGenerateJsonNode implements NodeAction<AgentState> {
         log.info("▶️ Stage: ThinkHowToGenerateJsonNode — starting");
         final String schema = state.get(JSON_SCHEMA);
         final String userSpecificPromt = state.get(USER_PROMPT);
-        final String thought = thinkHowToGenerateTool.thinkHowToGenerate(userSpecificPromt, schema);
+        final boolean replanning = state.getOptional(PLAN_GENERATION).isPresent();
+        if (!replanning) {
+            final Optional<String> stored = planLibrary.find(schema, userSpecificPromt);
+            if (stored.isPresent()) return Map.of(PLAN_GENERATION.name(), stored.get());
+        }
+        final String thought = thinkHowToGenerateTool.thinkHowToGenerate(userSpecificPromt, state.promptSchema());
+        planLibrary.store(schema, userSpecificPromt, thought);
         return Map.of(PLAN_GENERATION.name(), thought);
     }
 }
@@ -1,14 +1,20 @@
 package github.ai.qa.solutions.nodes;
 
 import static github.ai.qa.solutions.state.AgentState.StateKey.JSON_SCHEMA;
+import static github.ai.qa.solutions.state.AgentState.StateKey.PROMPT_SCHEMA;
+import static github.ai.qa.solutions.state.AgentState.StateKey.SCHEMA_FINGERPRINT;
 import static github.ai.qa.solutions.state.AgentState.StateKey.SCHEMA_VERSION;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import github.ai.qa.solutions.observability.ToolCallTracing;
+import github.ai.qa.solutions.components.json.SchemaFingerprint;
+import github.ai.qa.solutions.components.json.SchemaPromptCompactor;
 import github.ai.qa.solutions.services.ChatClientRouter;
 import github.ai.qa.solutions.state.AgentState;
 import github.ai.qa.solutions.tools.ValidateJsonSchemaTool;
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -22,7 +28,9 @@ import org.springframework.stereotype.Service;
  * Validates and compacts the input JSON Schema.
  *
  * <p>Flow: ask the model to call the `validateJsonSchema` tool; if output is missing/invalid,
- * fall back to a direct tool call. Produces a compacted schema string and optional detected version.
+ * fall back to a direct tool call. Produces a compacted schema string and optional detected version, plus the
+ * prompt form of the schema ({@link SchemaPromptCompactor}) that later nodes embed instead of the original and the
+ * schema fingerprint ({@link SchemaFingerprint}) that metrics and traces are tagged with.
  */
 @Service
 public class ValidateJsonSchemaNode implements NodeAction<AgentState> {
@@ -34,6 +42,12 @@ public class ValidateJsonSchemaNode implements NodeAction<AgentState> {
     private final ValidateJsonSchemaTool validateJsonSchemaTool;
     /** JSON parser for tool/model responses. */
     private final ObjectMapper objectMapper;
+    /** Builds the schema form embedded in prompts. */
+    private final SchemaPromptCompactor compactor;
+    /** Computes the canonical schema fingerprint. */
+    private final SchemaFingerprint fingerprint;
+    /** Traces the direct (fallback) tool calls. */
+    private final ToolCallTracing toolTracing;
 
     /**
      * Creates the node with required collaborators.
@@ -41,14 +55,23 @@ public class ValidateJsonSchemaNode implements NodeAction<AgentState> {
      * @param router chat client router for LLM-assisted validation
      * @param validateJsonSchemaTool local validation tool
      * @param objectMapper JSON parser
+     * @param compactor prompt schema compactor
+     * @param fingerprint schema fingerprint
+     * @param toolTracing tracing of direct tool calls
      */
     public ValidateJsonSchemaNode(
             final ChatClientRouter router,
             final ValidateJsonSchemaTool validateJsonSchemaTool,
-            final ObjectMapper objectMapper) {
+            final ObjectMapper objectMapper,
+            final SchemaPromptCompactor compactor,
+            final SchemaFingerprint fingerprint,
+            final ToolCallTracing toolTracing) {
         this.router = Objects.requireNonNull(router, "router");
         this.validateJsonSchemaTool = Objects.requireNonNull(validateJsonSchemaTool, "validateJsonSchemaTool");
         this.objectMapper = Objects.requireNonNull(objectMapper, "objectMapper");
+        this.compactor = Objects.requireNonNull(compactor, "compactor");
+        this.fingerprint = Objects.requireNonNull(fingerprint, "fingerprint");
+        this.toolTracing = Objects.requireNonNull(toolTracing, "toolTracing");
     }
 
     /** Prompt template to instruct the model to call the validator tool. */
@@ -88,7 +111,7 @@ public class ValidateJsonSchemaNode implements NodeAction<AgentState> {
 
         if (content == null || content.isBlank()) {
             log.info("🛠️ Fallback to hardcoded validation 💻");
-            content = validateJsonSchemaTool.validateAndCompactSchema(schema);
+            content = validate(schema);
         } else if (content.startsWith("```")) {
             content = stripFences(content);
         }
@@ -97,12 +120,22 @@ public class ValidateJsonSchemaNode implements NodeAction<AgentState> {
         if (parsed.isPresent()) return parsed.get();
 
         // Fallback: re-run tool locally and parse; else error
-        final String fallback = validateJsonSchemaTool.validateAndCompactSchema(schema);
+        final String fallback = validate(schema);
         final Optional<Map<String, Object>> parsedFallback = parse(fallback);
         return parsedFallback.orElseThrow(
                 () -> new IllegalStateException("Incorrect jsonSchema: cannot parse tool response"));
     }
 
+    /**
+     * Runs the schema validation tool directly, inside a tool-call span.
+     *
+     * @param schema JSON Schema
+     * @return tool JSON output
+     */
+    private String validate(final String schema) {
+        return toolTracing.call("validateJsonSchema", () -> validateJsonSchemaTool.validateAndCompactSchema(schema));
+    }
+
     /**
      * Removes Markdown code fences if present.
      *
@@ -115,8 +148,8 @@ public class ValidateJsonSchemaNode implements NodeAction<AgentState> {
     }
 
     /**
-     * Parses the validator response and returns either compact schema + optional version,
-     * or empty when the content is not in the expected shape.
+     * Parses the validator response and returns either compact schema, prompt schema, fingerprint + optional
+     * version, or empty when the content is not in the expected shape.
      *
      * @param content tool or model JSON output
      * @return parsed map when valid; otherwise empty
@@ -131,10 +164,12 @@ public class ValidateJsonSchemaNode implements NodeAction<AgentState> {
             final String compact = root.path("compactSchema").asText("");
             final String version = root.path("version").asText("");
             if (compact.isEmpty()) return Optional.empty();
-            if (version.isEmpty()) {
-                return Optional.of(Map.of(JSON_SCHEMA.name(), compact));
-            }
-            return Optional.of(Map.of(JSON_SCHEMA.name(), compact, SCHEMA_VERSION.name(), version));
+            final Map<String, Object> updates = new HashMap<>();
+            updates.put(JSON_SCHEMA.name(), compact);
+            updates.put(PROMPT_SCHEMA.name(), compactor.compact(compact));
+            updates.put(SCHEMA_FINGERPRINT.name(), fingerprint.of(compact));
+            if (!version.isEmpty()) updates.put(SCHEMA_VERSION.name(), version);
+            return Optional.of(updates);
         } catch (IOException ignored) {
             return Optional.empty();
         }
@@ -2,11 +2,13 @@ package github.ai.qa.solutions.nodes;
 
 import static github.ai.qa.solutions.state.AgentState.StateKey.GENERATED_JSON;
 import static github.ai.qa.solutions.state.AgentState.StateKey.JSON_SCHEMA;
+import static github.ai.qa.solutions.state.AgentState.StateKey.VALIDATION_ERROR_COUNT;
 import static github.ai.qa.solutions.state.AgentState.StateKey.VALIDATION_RESULT;
 import static github.ai.qa.solutions.state.AgentState.StateKey.VALIDATION_SIGNATURE;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import github.ai.qa.solutions.observability.ToolCallTracing;
 import github.ai.qa.solutions.services.ChatClientRouter;
 import github.ai.qa.solutions.state.AgentState;
 import github.ai.qa.solutions.tools.ValidateJsonBySchemaTool;
@@ -26,8 +28,9 @@ import org.springframework.stereotype.Service;
 
 /**
  * Validates generated JSON against a JSON Schema by asking the model to call the validation tool
- * and falling back to a direct tool call when needed. Produces a stable, compact validation result
- * and a sortable signature of errors for routing and deduplication.
+ * and falling back to a direct tool call when needed. Produces a stable, compact validation result,
+ * a sortable signature of errors for routing and deduplication, and the number of violations found.
+ * Notes of the report (errors left out, where validation stopped) are not errors and stay out of all three.
  */
 @Service
 public class VerifyJsonByJsonSchemaNode implements NodeAction<AgentState> {
@@ -48,21 +51,29 @@ public class VerifyJsonByJsonSchemaNode implements NodeAction<AgentState> {
      */
     private final ObjectMapper objectMapper;
 
+    /**
+     * Traces the direct (fallback) tool calls; calls made by the model are traced by the router's advisors.
+     */
+    private final ToolCallTracing toolTracing;
+
     /**
      * Creates the node with required collaborators.
      *
      * @param validateJsonBySchemaTool local validation tool
      * @param router chat client router for LLM-assisted validation
      * @param objectMapper JSON parser for responses
+     * @param toolTracing tracing of direct tool calls
      * @throws NullPointerException if any argument is null
      */
     public VerifyJsonByJsonSchemaNode(
             final ValidateJsonBySchemaTool validateJsonBySchemaTool,
             final ChatClientRouter router,
-            final ObjectMapper objectMapper) {
+            final ObjectMapper objectMapper,
+            final ToolCallTracing toolTracing) {
         this.validateJsonBySchemaTool = Objects.requireNonNull(validateJsonBySchemaTool, "validateJsonBySchemaTool");
         this.router = Objects.requireNonNull(router, "router");
         this.objectMapper = Objects.requireNonNull(objectMapper, "objectMapper");
+        this.toolTracing = Objects.requireNonNull(toolTracing, "toolTracing");
     }
 
     /**
@@ -81,7 +92,8 @@ public class VerifyJsonByJsonSchemaNode implements NodeAction<AgentState> {
     private static final String PROMPT_TEMPLATE =
             """
             Validate the JSON against the schema by calling the tool `validateJsonAgainstJsonSchema`.
-            Respond ONLY with the tool JSON: {\"ok\":true} or {\"ok\":false,\"errors\":[\"...\"]}.
+            Respond ONLY with the tool JSON, unchanged:
+            {\"ok\":true} or {\"ok\":false,\"count\":N,\"errors\":[\"...\"]}.
 
             JSON:
             %s
@@ -104,7 +116,7 @@ public class VerifyJsonByJsonSchemaNode implements NodeAction<AgentState> {
      * signature suitable for routing and deduplication.
      *
      * @param state current state; must contain GENERATED_JSON and JSON_SCHEMA
-     * @return immutable map with keys VALIDATION_RESULT and VALIDATION_SIGNATURE
+     * @return immutable map with keys VALIDATION_RESULT, VALIDATION_SIGNATURE and VALIDATION_ERROR_COUNT
      */
     @Override
     public Map<String, Object> apply(@NonNull final AgentState state) {
@@ -127,7 +139,7 @@ public class VerifyJsonByJsonSchemaNode implements NodeAction<AgentState> {
 
         if (content == null || content.isBlank()) {
             log.info("🛠️ Fallback to hardcoded validation 💻");
-            content = validateJsonBySchemaTool.validateJsonBySchema(json, schema);
+            content = validate(json, schema);
         } else if (content.startsWith("```")) {
             content = stripFences(content);
         }
@@ -136,11 +148,23 @@ public class VerifyJsonByJsonSchemaNode implements NodeAction<AgentState> {
         if (parsedPrimary.isPresent()) return parsedPrimary.get();
 
         // Fallback: re-run tool locally and parse again; otherwise UNKNOWN
-        final String fallback = validateJsonBySchemaTool.validateJsonBySchema(json, schema);
+        final String fallback = validate(json, schema);
         final Optional<Map<String, Object>> parsedFallback = parseValidation(fallback);
         return parsedFallback.orElseGet(this::unknown);
     }
 
+    /**
+     * Runs the validation tool directly, inside a tool-call span.
+     *
+     * @param json   JSON to validate
+     * @param schema JSON Schema
+     * @return tool JSON output
+     */
+    private String validate(final String json, final String schema) {
+        return toolTracing.call(
+                "validateJsonAgainstJsonSchema", () -> validateJsonBySchemaTool.validateJsonBySchema(json, schema));
+    }
+
     /**
      * Removes Markdown code fences if present, otherwise returns the input unchanged.
      *
@@ -153,8 +177,9 @@ public class VerifyJsonByJsonSchemaNode implements NodeAction<AgentState> {
     }
 
     /**
-     * Parses the tool/LLM response. Accepts either {"ok":true} or {"ok":false,"errors":[...]}
-     * and converts it into a compact display string and a stable signature.
+     * Parses the tool/LLM response. Accepts either {"ok":true} or {"ok":false,"count":N,"errors":[...]}
+     * and converts it into a compact display string, a stable signature and the violation count; a
+     * missing or smaller count falls back to the number of error lines.
      *
      * @param content raw JSON response; may be blank
      * @return Optional of result map when parsed, or empty when unparsable/invalid
@@ -180,8 +205,11 @@ public class VerifyJsonByJsonSchemaNode implements NodeAction<AgentState> {
 
             final String validationResult = String.join(" \n", parts);
             final String signature = parts.stream().sorted().collect(Collectors.joining("|"));
-            return Optional.of(
-                    Map.of(VALIDATION_RESULT.name(), validationResult, VALIDATION_SIGNATURE.name(), signature));
+            final int count = Math.max(root.path("count").asInt(0), parts.size());
+            return Optional.of(Map.of(
+                    VALIDATION_RESULT.name(), validationResult,
+                    VALIDATION_SIGNATURE.name(), signature,
+                    VALIDATION_ERROR_COUNT.name(), String.valueOf(count)));
         } catch (IOException ignored) {
             return Optional.empty();
         }
@@ -190,18 +218,53 @@ public class VerifyJsonByJsonSchemaNode implements NodeAction<AgentState> {
     /**
      * Builds the success result.
      *
-     * @return map containing OK display text and signature
+     * @return map containing OK display text, signature and a zero count
      */
     private Map<String, Object> okResult() {
-        return Map.of(VALIDATION_RESULT.name(), OK, VALIDATION_SIGNATURE.name(), OK);
+        return Map.of(
+                VALIDATION_RESULT.name(), OK,
+                VALIDATION_SIGNATURE.name(), OK,
+                VALIDATION_ERROR_COUNT.name(), "0");
     }
 
     /**
      * Builds the unknown result used when validator output is missing or not understood.
      *
-     * @return map containing unknown display text and signature
+     * @return map containing unknown display text, signature and a count of one
      */
     private Map<String, Object> unknown() {
-        return Map.of(VALIDATION_RESULT.name(), UNKNOWN_RESULT, VALIDATION_SIGNATURE.name(), UNKNOWN);
+        return Map.of(
+                VALIDATION_RESULT.name(), UNKNOWN_RESULT,
+                VALIDATION_SIGNATURE.name(), UNKNOWN,
+                VALIDATION_ERROR_COUNT.name(), "1");
+    }
+
+    /**
+     * Counts errors in a validation signature produced by this node.
+     *
+     * @param signature {@code OK}, {@code UNKNOWN} or {@code |}-joined sorted messages; may be null
+     * @return 0 for {@code OK} or a missing signature, otherwise the number of messages ({@code UNKNOWN} is 1)
+     */
+    public static int errorCount(final String signature) {
+        if (signature == null || signature.isBlank() || OK.equals(signature)) return 0;
+        return signature.split("\\|", -1).length;
+    }
+
+    /**
+     * Counts the violations of a validation produced by this node.
+     *
+     * @param count     {@code VALIDATION_ERROR_COUNT} value; may be null or blank for states without it
+     * @param signature {@code VALIDATION_SIGNATURE} value, used when the count is missing; may be null
+     * @return the recorded count, otherwise {@link #errorCount(String)} of the signature
+     */
+    public static int errorCount(final String count, final String signature) {
+        if (count != null && !count.isBlank()) {
+            try {
+                return Integer.parseInt(count.trim());
+            } catch (NumberFormatException ignored) {
+                // fall back to the signature
+            }
+        }
+        return errorCount(signature);
     }
 }
@@ -0,0 +1,98 @@
+package github.ai.qa.solutions.observability;
+
+import github.ai.qa.solutions.services.NodeModelChatClientRouter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/agent}: runs in flight, rolling per-node latencies, router family distribution and cache
+ * statistics; {@code DELETE /actuator/agent/{runId}} cancels a stuck run.
+ */
+@Component
+@Endpoint(id = "agent")
+public class AgentEndpoint {
+    /** Runs in flight and node latencies. */
+    private final LiveRuns liveRuns;
+    /** Router, absent in setups without one. */
+    private final ObjectProvider<NodeModelChatClientRouter> router;
+    /** Caches reporting their statistics. */
+    private final ObjectProvider<CacheStatistics> caches;
+
+    /**
+     * Creates the endpoint.
+     *
+     * @param liveRuns live run registry
+     * @param router   chat client router
+     * @param caches   caches reporting statistics
+     */
+    public AgentEndpoint(
+            final LiveRuns liveRuns,
+            final ObjectProvider<NodeModelChatClientRouter> router,
+            final ObjectProvider<CacheStatistics> caches) {
+        this.liveRuns = liveRuns;
+        this.router = router;
+        this.caches = caches;
+    }
+
+    /**
+     * Cache statistics as reported by the endpoint.
+     *
+     * @param hits     hit count
+     * @param misses   miss count
+     * @param hitRatio hits / lookups
+     * @param size     entry count
+     */
+    public record CacheView(long hits, long misses, double hitRatio, int size) {}
+
+    /**
+     * Full operational view.
+     *
+     * @return {@code runs}, {@code nodes}, {@code routing}, {@code caches}
+     */
+    @ReadOperation
+    public Map<String, Object> agent() {
+        final List<LiveRuns.RunView> runs = liveRuns.runs();
+        final Map<String, Object> out = new LinkedHashMap<>();
+        out.put("activeRuns", runs.size());
+        out.put("runs", runs);
+        out.put("nodes", liveRuns.latencies());
+        final NodeModelChatClientRouter r = router.getIfAvailable();
+        out.put("routing", r == null ? Map.of() : r.familyDistribution());
+        final Map<String, CacheView> cacheViews = new TreeMap<>();
+        caches.orderedStream()
+                .forEach(c -> cacheViews.put(
+                        c.cacheName(), new CacheView(c.hits(), c.misses(), c.hitRatio(), c.size())));
+        out.put("caches", cacheViews);
+        return out;
+    }
+
+    /**
+     * One run in flight.
+     *
+     * @param runId run identifier
+     * @return run snapshot, or null (404) when the run is not in flight
+     */
+    @ReadOperation
+    public LiveRuns.RunView run(@Selector final String runId) {
+        return liveRuns.run(runId).orElse(null);
+    }
+
+    /**
+     * Cancels a run: its current node is interrupted and the run fails at the next node boundary.
+     *
+     * @param runId run identifier
+     * @return {@code runId} and whether the run was in flight
+     */
+    @DeleteOperation
+    public Map<String, Object> cancel(@Selector final String runId) {
+        return Map.of("runId", runId, "cancelled", liveRuns.cancel(runId));
+    }
+}
@@ -0,0 +1,163 @@
+package github.ai.qa.solutions.observability;
+
+import static github.ai.qa.solutions.state.AgentState.StateKey.DECISION;
+import static github.ai.qa.solutions.state.AgentState.StateKey.SCHEMA_FINGERPRINT;
+
+import github.ai.qa.solutions.components.json.SchemaFingerprint;
+import github.ai.qa.solutions.configuration.AgentApplicationConfiguration.NodeId;
+import github.ai.qa.solutions.state.AgentState;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.stereotype.Component;
+
+/**
+ * Micrometer metrics for the agent graph.
+ *
+ * <ul>
+ *   <li>{@code agent.node.duration} — timer per node ({@code node} = {@link NodeId#id}, {@code outcome},
+ *   {@code schema}).</li>
+ *   <li>{@code agent.decisions} — counter of routing decisions ({@code decision}).</li>
+ *   <li>{@code agent.run.duration} — timer per finished run ({@code outcome}, {@code schema}).</li>
+ *   <li>{@code agent.run.fix.iterations} / {@code agent.run.regenerate.cycles} — per-run distributions.</li>
+ *   <li>{@code agent.runs.active} — runs started but not finished.</li>
+ * </ul>
+ *
+ * <p>{@code schema} is the short form of the run's schema fingerprint ({@link SchemaFingerprint}), {@code none}
+ * before {@code validate_schema} has computed it. Only the first {@value #MAX_SCHEMA_TAGS} distinct schemas get
+ * their own tag value; later ones share {@code other}.</p>
+ */
+@Component
+public class AgentMetrics implements NodeExecutionListener {
+    /** Distinct schema tag values before new schemas are tagged {@code other}. */
+    static final int MAX_SCHEMA_TAGS = 50;
+    /** Target registry. */
+    private final MeterRegistry registry;
+    /** Per-run FIX decisions. */
+    private final DistributionSummary fixIterations;
+    /** Per-run REGENERATE decisions. */
+    private final DistributionSummary regenerateCycles;
+    /** Runs in flight. */
+    private final AtomicInteger activeRuns = new AtomicInteger();
+    /** Schema tag of the runs in flight. */
+    private final Map<String, String> runSchemas = new ConcurrentHashMap<>();
+    /** Schema tag values handed out so far. */
+    private final Set<String> schemaTags = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Registers run-level meters.
+     *
+     * @param registry meter registry
+     */
+    public AgentMetrics(final MeterRegistry registry) {
+        this.registry = registry;
+        this.fixIterations = DistributionSummary.builder("agent.run.fix.iterations")
+                .description("FIX decisions per finished run")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.regenerateCycles = DistributionSummary.builder("agent.run.regenerate.cycles")
+                .description("REGENERATE decisions per finished run")
+                .publishPercentileHistogram()
+                .register(registry);
+        registry.gauge("agent.runs.active", activeRuns);
+    }
+
+    @Override
+    public void onRunStart(final String runId, final AgentState state) {
+        activeRuns.incrementAndGet();
+        state.getOptional(SCHEMA_FINGERPRINT).ifPresent(f -> runSchemas.put(runId, schemaTag(f)));
+    }
+
+    @Override
+    public void onNodeEnd(
+            final String runId,
+            final NodeId node,
+            final AgentState state,
+            final Map<String, Object> updates,
+            final long nanos) {
+        final Object fingerprint = updates.get(SCHEMA_FINGERPRINT.name());
+        if (fingerprint != null) runSchemas.put(runId, schemaTag(fingerprint.toString()));
+        nodeTimer(node, "success", runSchemas.getOrDefault(runId, schemaTag(state)))
+                .record(nanos, TimeUnit.NANOSECONDS);
+        if (node == NodeId.REASON_AND_ROUTE && updates.get(DECISION.name()) != null) {
+            Counter.builder("agent.decisions")
+                    .description("Routing decisions taken by reason_and_route")
+                    .tag("decision", String.valueOf(updates.get(DECISION.name())))
+                    .register(registry)
+                    .increment();
+        }
+    }
+
+    @Override
+    public void onNodeError(
+            final String runId, final NodeId node, final AgentState state, final Throwable error, final long nanos) {
+        nodeTimer(node, "error", runSchemas.getOrDefault(runId, schemaTag(state)))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void onRunEnd(final RunSummary summary) {
+        activeRuns.decrementAndGet();
+        final String schema = runSchemas.remove(summary.runId());
+        Timer.builder("agent.run.duration")
+                .description("Wall-clock duration of a graph run")
+                .tag("outcome", summary.outcome())
+                .tag("schema", schema == null ? SchemaFingerprint.shortForm(null) : schema)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(Duration.ofMillis(summary.durationMillis()));
+        fixIterations.record(summary.fixCount());
+        regenerateCycles.record(summary.regenerateCount());
+    }
+
+    /**
+     * Node timer for the given outcome.
+     *
+     * @param node    node
+     * @param outcome {@code success} or {@code error}
+     * @param schema  schema tag
+     * @return registered timer
+     */
+    private Timer nodeTimer(final NodeId node, final String outcome, final String schema) {
+        return Timer.builder("agent.node.duration")
+                .description("Execution time of a graph node")
+                .tag("node", node.id)
+                .tag("outcome", outcome)
+                .tag("schema", schema)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /**
+     * Schema tag of a state.
+     *
+     * @param state graph state
+     * @return tag of the state's fingerprint, {@code none} without one
+     */
+    private String schemaTag(final AgentState state) {
+        return state.getOptional(SCHEMA_FINGERPRINT).map(this::schemaTag).orElse(SchemaFingerprint.shortForm(null));
+    }
+
+    /**
+     * Schema tag of a fingerprint, keeping the number of distinct values bounded.
+     *
+     * @param fingerprint fingerprint, may be null
+     * @return short fingerprint, {@code none}, or {@code other} once the limit is reached
+     */
+    private String schemaTag(final String fingerprint) {
+        final String tag = SchemaFingerprint.shortForm(fingerprint);
+        if (fingerprint == null || schemaTags.contains(tag)) return tag;
+        synchronized (schemaTags) {
+            if (schemaTags.size() >= MAX_SCHEMA_TAGS && !schemaTags.contains(tag)) return "other";
+            schemaTags.add(tag);
+        }
+        return tag;
+    }
+}
@@ -0,0 +1,48 @@
+package github.ai.qa.solutions.observability;
+
+/**
+ * Hit/miss counters of an in-process cache, reported by the {@code agent} actuator endpoint.
+ *
+ * <p>Implemented by beans that own a cache; the endpoint discovers them by type.</p>
+ */
+public interface CacheStatistics {
+
+    /**
+     * Stable cache name used as the report key.
+     *
+     * @return cache name
+     */
+    String cacheName();
+
+    /**
+     * Lookups served from the cache.
+     *
+     * @return hit count since start
+     */
+    long hits();
+
+    /**
+     * Lookups that found nothing.
+     *
+     * @return miss count since start
+     */
+    long misses();
+
+    /**
+     * Current number of entries.
+     *
+     * @return entry count
+     */
+    int size();
+
+    /**
+     * Share of lookups served from the cache.
+     *
+     * @return hits / (hits + misses), or 0 before the first lookup
+     */
+    default double hitRatio() {
+        final long h = hits();
+        final long total = h + misses();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+}
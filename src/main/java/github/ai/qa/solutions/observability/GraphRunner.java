@@ -0,0 +1,91 @@
+package github.ai.qa.solutions.observability;
+
+import static github.ai.qa.solutions.state.AgentState.StateKey.RUN_ID;
+
+import github.ai.qa.solutions.state.AgentState;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
+import org.bsc.langgraph4j.CompiledGraph;
+import org.bsc.langgraph4j.NodeOutput;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Iterates graph runs and makes sure each run that started also ends for the {@link NodeExecutionListener}s.
+ *
+ * <p>The node wrapper ends a run when {@code reason_and_route} decides END or a node throws. A run can also stop
+ * without either: the graph reaches its iteration limit, a cancellation lands between nodes, or the caller stops
+ * reading. When the iteration stops and the run is still open, it is ended here with {@link RunSummary#ERROR}
+ * (graph failure) or {@link RunSummary#ABORTED} (cancellation, or the caller stopped). A run that completes without
+ * an END decision is ended as {@link RunSummary#END}. Without this, live runs, gauges, open spans and per-run
+ * totals of such runs would never be released.</p>
+ */
+@Component
+public class GraphRunner {
+    /** Logs runs ended by the runner. */
+    private static final Logger log = LoggerFactory.getLogger(GraphRunner.class);
+    /** Listeners of the graph's nodes. */
+    private final List<NodeExecutionListener> listeners;
+
+    /**
+     * Creates the runner.
+     *
+     * @param listeners listeners of the graph's nodes; the same ones the node wrappers notify
+     */
+    public GraphRunner(final List<NodeExecutionListener> listeners) {
+        this.listeners = List.copyOf(listeners);
+    }
+
+    /**
+     * Runs a graph to its end on the calling thread.
+     *
+     * @param graph compiled graph
+     * @param input initial state; {@code RUN_ID} identifies the run when present
+     * @param each  called for every node output; an exception stops the run as {@link RunSummary#ABORTED}
+     * @return final state, or null when the graph produced no output
+     */
+    public AgentState run(
+            final CompiledGraph<AgentState> graph,
+            final Map<String, Object> input,
+            final Consumer<NodeOutput<AgentState>> each) {
+        AgentState last = null;
+        String outcome = RunSummary.ABORTED;
+        boolean callerStopped = false;
+        try {
+            for (NodeOutput<AgentState> out : graph.stream(input)) {
+                last = out.state();
+                try {
+                    each.accept(out);
+                } catch (RuntimeException e) {
+                    callerStopped = true;
+                    throw e;
+                }
+            }
+            outcome = RunSummary.END;
+            return last;
+        } catch (RuntimeException | Error e) {
+            if (!callerStopped && !cancelled(e)) outcome = RunSummary.ERROR;
+            throw e;
+        } finally {
+            final String runId = last != null
+                    ? last.getOptional(RUN_ID).orElse(null)
+                    : (String) input.get(RUN_ID.name());
+            if (InstrumentedNodeAction.endIfOpen(runId, outcome, last, listeners)) {
+                log.info("🏁 Run {} ended without an END decision ({})", runId, outcome);
+            }
+        }
+    }
+
+    /**
+     * Whether a failure is a cancellation, possibly wrapped by the graph executor.
+     *
+     * @param e failure
+     * @return true when it or its cause is a {@link CancellationException}
+     */
+    private static boolean cancelled(final Throwable e) {
+        return e instanceof CancellationException || e.getCause() instanceof CancellationException;
+    }
+}
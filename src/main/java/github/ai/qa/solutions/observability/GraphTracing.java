@@ -0,0 +1,161 @@
+package github.ai.qa.solutions.observability;
+
+import static github.ai.qa.solutions.state.AgentState.StateKey.DECISION;
+import static github.ai.qa.solutions.state.AgentState.StateKey.ITERATION;
+import static github.ai.qa.solutions.state.AgentState.StateKey.SCHEMA_FINGERPRINT;
+import static github.ai.qa.solutions.state.AgentState.StateKey.VALIDATION_ERROR_COUNT;
+import static github.ai.qa.solutions.state.AgentState.StateKey.VALIDATION_SIGNATURE;
+
+import github.ai.qa.solutions.configuration.AgentApplicationConfiguration.NodeId;
+import github.ai.qa.solutions.nodes.VerifyJsonByJsonSchemaNode;
+import github.ai.qa.solutions.state.AgentState;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Emits one trace per graph run: an {@code agent.run} span with an {@code agent.node <id>} child per node
+ * execution. The node span is current while the node runs, so model calls traced by
+ * {@link ModelCallTracingAdvisor} become its children.
+ *
+ * <p>Span attributes: {@code agent.run.id}, {@code agent.node.id}, {@code agent.iteration},
+ * {@code agent.decision}, {@code agent.validation.errors}, {@code agent.schema.fingerprint} (once
+ * {@code validate_schema} has computed it), and on the run span {@code agent.run.outcome},
+ * {@code agent.run.fix.count}, {@code agent.run.regenerate.count}, {@code agent.schema.fingerprint}.</p>
+ */
+@Component
+public class GraphTracing implements NodeExecutionListener {
+    /** Runs tracked before stale run spans (runs that never reached END) are purged. */
+    private static final int MAX_TRACKED_RUNS = 1024;
+    /** Age after which an unfinished run span is abandoned. */
+    private static final long STALE_RUN_MILLIS = 3_600_000L;
+    /** Tracer; {@link Tracer#NOOP} when tracing is not configured. */
+    private final Tracer tracer;
+    /** Open run spans by run id. */
+    private final Map<String, RunSpan> runs = new ConcurrentHashMap<>();
+    /** Open node spans by run id (a run executes one node at a time). */
+    private final Map<String, NodeSpan> nodes = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the listener.
+     *
+     * @param tracer tracer provider; falls back to {@link Tracer#NOOP}
+     */
+    public GraphTracing(final ObjectProvider<Tracer> tracer) {
+        this(tracer.getIfAvailable(() -> Tracer.NOOP));
+    }
+
+    /**
+     * Creates the listener with an explicit tracer.
+     *
+     * @param tracer tracer
+     */
+    GraphTracing(final Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public void onRunStart(final String runId, final AgentState state) {
+        if (runs.size() >= MAX_TRACKED_RUNS) purgeStale();
+        final Span span = tracer.nextSpan().name("agent.run").tag("agent.run.id", runId).start();
+        runs.put(runId, new RunSpan(span, System.currentTimeMillis()));
+    }
+
+    @Override
+    public void onNodeStart(final String runId, final NodeId node, final AgentState state) {
+        final RunSpan run = runs.get(runId);
+        final Span span = (run == null ? tracer.nextSpan() : tracer.nextSpan(run.span()))
+                .name("agent.node " + node.id)
+                .tag("agent.run.id", runId)
+                .tag("agent.node.id", node.id)
+                .tag("agent.iteration", state.getOptional(ITERATION).orElse("0"));
+        state.getOptional(SCHEMA_FINGERPRINT).ifPresent(f -> span.tag("agent.schema.fingerprint", f));
+        span.start();
+        nodes.put(runId, new NodeSpan(span, tracer.withSpan(span)));
+    }
+
+    @Override
+    public void onNodeEnd(
+            final String runId,
+            final NodeId node,
+            final AgentState state,
+            final Map<String, Object> updates,
+            final long nanos) {
+        final NodeSpan open = nodes.remove(runId);
+        if (open == null) return;
+        final Object decision = updates.get(DECISION.name());
+        if (decision != null) open.span().tag("agent.decision", decision.toString());
+        final Object fingerprint = updates.get(SCHEMA_FINGERPRINT.name());
+        if (fingerprint != null) {
+            open.span().tag("agent.schema.fingerprint", fingerprint.toString());
+            final RunSpan run = runs.get(runId);
+            if (run != null) run.span().tag("agent.schema.fingerprint", fingerprint.toString());
+        }
+        final Object signature = updates.get(VALIDATION_SIGNATURE.name());
+        if (signature != null) {
+            final Object count = updates.get(VALIDATION_ERROR_COUNT.name());
+            open.span()
+                    .tag(
+                            "agent.validation.errors",
+                            VerifyJsonByJsonSchemaNode.errorCount(
+                                    count == null ? null : count.toString(), signature.toString()));
+        }
+        open.close();
+    }
+
+    @Override
+    public void onNodeError(
+            final String runId, final NodeId node, final AgentState state, final Throwable error, final long nanos) {
+        final NodeSpan open = nodes.remove(runId);
+        if (open == null) return;
+        open.span().error(error);
+        open.close();
+    }
+
+    @Override
+    public void onRunEnd(final RunSummary summary) {
+        final RunSpan run = runs.remove(summary.runId());
+        if (run == null) return;
+        final Span span = run.span()
+                .tag("agent.run.outcome", summary.outcome())
+                .tag("agent.run.fix.count", summary.fixCount())
+                .tag("agent.run.regenerate.count", summary.regenerateCount());
+        if (RunSummary.ERROR.equals(summary.outcome())) span.event("run failed");
+        span.end();
+    }
+
+    /** Abandons run spans that started long ago and never finished. */
+    private void purgeStale() {
+        final long cutoff = System.currentTimeMillis() - STALE_RUN_MILLIS;
+        runs.values().removeIf(r -> {
+            if (r.startedAt() >= cutoff) return false;
+            r.span().abandon();
+            return true;
+        });
+    }
+
+    /**
+     * Open run span.
+     *
+     * @param span      span
+     * @param startedAt start time, epoch milliseconds
+     */
+    private record RunSpan(Span span, long startedAt) {}
+
+    /**
+     * Open node span and its scope on the executing thread.
+     *
+     * @param span  span
+     * @param scope scope making the span current
+     */
+    private record NodeSpan(Span span, Tracer.SpanInScope scope) {
+        /** Leaves the scope and ends the span. */
+        void close() {
+            scope.close();
+            span.end();
+        }
+    }
+}
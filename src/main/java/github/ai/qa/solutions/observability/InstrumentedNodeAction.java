@@ -0,0 +1,318 @@
+package github.ai.qa.solutions.observability;
+
+import static github.ai.qa.solutions.state.AgentState.StateKey.DECISION;
+import static github.ai.qa.solutions.state.AgentState.StateKey.FIX_COUNT;
+import static github.ai.qa.solutions.state.AgentState.StateKey.REGENERATE_COUNT;
+import static github.ai.qa.solutions.state.AgentState.StateKey.RUN_ID;
+import static github.ai.qa.solutions.state.AgentState.StateKey.RUN_STARTED_AT;
+
+import github.ai.qa.solutions.configuration.AgentApplicationConfiguration.Decision;
+import github.ai.qa.solutions.configuration.AgentApplicationConfiguration.NodeId;
+import github.ai.qa.solutions.observability.jfr.NodeExecutionEvent;
+import github.ai.qa.solutions.state.AgentState;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import org.bsc.langgraph4j.action.NodeAction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decorates a graph node with run bookkeeping and {@link NodeExecutionListener} notifications.
+ *
+ * <p>The first node of a run stamps {@code RUN_ID} (unless supplied in the input) and {@code RUN_STARTED_AT}.
+ * After {@link NodeId#REASON_AND_ROUTE} the wrapper counts FIX/REGENERATE decisions into {@code FIX_COUNT} and
+ * {@code REGENERATE_COUNT} and, on END, reports the run as finished. A node failure finishes the run as
+ * {@link RunSummary#ERROR} and is rethrown unchanged; so does a cancellation requested by a listener, which is
+ * checked before and after the node runs.</p>
+ *
+ * <p>A run can also stop without any node seeing it: the graph hits its iteration limit, or whoever iterates
+ * the graph stops. The wrapper therefore keeps the ids of the runs it started and has not ended, and
+ * {@link GraphRunner} ends any run still open when its iteration stops, so listeners see every run end exactly
+ * once. Graphs iterated outside the runner (LangGraph Studio compiles the graph itself) have no such hook: a run
+ * that has not reached a node boundary for {@link #IDLE_RUN_MILLIS} is ended as {@link RunSummary#ABORTED} when the
+ * next run starts, which releases what every listener holds for it.</p>
+ *
+ * <p>While the node runs, its {@link RunContext} is current on the executing thread, so model calls made by
+ * the node can be attributed to the run. Each execution is also recorded as a {@link NodeExecutionEvent}.</p>
+ */
+public class InstrumentedNodeAction implements NodeAction<AgentState> {
+    /** Logs listener failures. */
+    private static final Logger log = LoggerFactory.getLogger(InstrumentedNodeAction.class);
+    /** Time without a node boundary after which an open run is considered abandoned. */
+    static final long IDLE_RUN_MILLIS = 3_600_000L;
+    /** Runs started by a wrapper and not ended yet, by run id. */
+    private static final Map<String, OpenRun> OPEN_RUNS = new ConcurrentHashMap<>();
+    /** Node identity used in notifications. */
+    private final NodeId node;
+    /** Wrapped node. */
+    private final NodeAction<AgentState> delegate;
+    /** Listeners notified in order. */
+    private final List<NodeExecutionListener> listeners;
+
+    /**
+     * Creates the wrapper.
+     *
+     * @param node      node identity
+     * @param delegate  wrapped node
+     * @param listeners listeners notified in order
+     */
+    public InstrumentedNodeAction(
+            final NodeId node, final NodeAction<AgentState> delegate, final List<NodeExecutionListener> listeners) {
+        this.node = node;
+        this.delegate = delegate;
+        this.listeners = List.copyOf(listeners);
+    }
+
+    @Override
+    public Map<String, Object> apply(final AgentState state) throws Exception {
+        final boolean firstNode = state.getOptional(RUN_STARTED_AT).isEmpty();
+        final String runId = state.getOptional(RUN_ID)
+                .filter(id -> !id.isBlank())
+                .orElseGet(() -> UUID.randomUUID().toString());
+        final long startedAt = firstNode ? System.currentTimeMillis() : parseLong(state, RUN_STARTED_AT);
+        if (firstNode) {
+            purgeIdle(System.currentTimeMillis() - IDLE_RUN_MILLIS, listeners);
+            OPEN_RUNS.put(runId, new OpenRun(state));
+            notify(l -> l.onRunStart(runId, state));
+        } else {
+            final OpenRun open = OPEN_RUNS.get(runId);
+            if (open != null) open.touch(state);
+        }
+        notify(l -> l.onNodeStart(runId, node, state));
+
+        final NodeExecutionEvent event = new NodeExecutionEvent();
+        event.begin();
+        final long t0 = System.nanoTime();
+        final Map<String, Object> result;
+        try (RunContext.Scope ignored = new RunContext(runId, node).open()) {
+            failIfCancelled(runId);
+            result = delegate.apply(state);
+            failIfCancelled(runId);
+        } catch (Exception | Error e) {
+            final long nanos = System.nanoTime() - t0;
+            cancelled(runId);
+            commit(event, runId, e.getClass().getSimpleName(), null);
+            notify(l -> l.onNodeError(runId, node, state, e, nanos));
+            final RunSummary summary = new RunSummary(
+                    runId,
+                    RunSummary.ERROR,
+                    System.currentTimeMillis() - startedAt,
+                    (int) parseLong(state, FIX_COUNT),
+                    (int) parseLong(state, REGENERATE_COUNT));
+            if (OPEN_RUNS.remove(runId) != null) notify(l -> l.onRunEnd(summary));
+            throw e;
+        }
+        final long nanos = System.nanoTime() - t0;
+        commit(event, runId, "ok", result == null ? null : result.get(DECISION.name()));
+
+        final Map<String, Object> updates = new HashMap<>(result == null ? Map.of() : result);
+        if (firstNode) {
+            updates.put(RUN_ID.name(), runId);
+            updates.put(RUN_STARTED_AT.name(), String.valueOf(startedAt));
+        }
+        RunSummary finished = null;
+        if (node == NodeId.REASON_AND_ROUTE) {
+            final String decision = String.valueOf(updates.get(DECISION.name()));
+            int fixes = (int) parseLong(state, FIX_COUNT);
+            int regenerations = (int) parseLong(state, REGENERATE_COUNT);
+            if (Decision.FIX.name().equals(decision)) fixes++;
+            if (Decision.REGENERATE.name().equals(decision)) regenerations++;
+            updates.put(FIX_COUNT.name(), String.valueOf(fixes));
+            updates.put(REGENERATE_COUNT.name(), String.valueOf(regenerations));
+            if (Decision.END.name().equals(decision)) {
+                finished = new RunSummary(
+                        runId, RunSummary.END, System.currentTimeMillis() - startedAt, fixes, regenerations);
+            }
+        }
+
+        for (NodeExecutionListener l : listeners) {
+            try {
+                updates.putAll(l.contributeState(runId, node));
+            } catch (RuntimeException e) {
+                log.warn("Node listener {} failed on {}: {}", l.getClass().getSimpleName(), node.id, e.toString());
+            }
+        }
+        final Map<String, Object> view = Map.copyOf(updates);
+        notify(l -> l.onNodeEnd(runId, node, state, view, nanos));
+        if (finished != null) {
+            final RunSummary summary = finished;
+            if (OPEN_RUNS.remove(runId) != null) notify(l -> l.onRunEnd(summary));
+        }
+        return updates;
+    }
+
+    /**
+     * Ends a run that is still open, e.g. because the graph stopped iterating before END.
+     *
+     * @param runId     run identifier
+     * @param outcome   {@link RunSummary#ERROR} or {@link RunSummary#ABORTED}
+     * @param latest    latest state of the run, may be null
+     * @param listeners listeners to notify
+     * @return true when the run was open and is now ended; false when it already ended or never started
+     */
+    static boolean endIfOpen(
+            final String runId,
+            final String outcome,
+            final AgentState latest,
+            final List<NodeExecutionListener> listeners) {
+        final OpenRun open = runId == null ? null : OPEN_RUNS.remove(runId);
+        if (open == null) return false;
+        final AgentState state = latest != null ? latest : open.state;
+        final long startedAt = state == null ? 0L : parseLong(state, RUN_STARTED_AT);
+        final RunSummary summary = new RunSummary(
+                runId,
+                outcome,
+                startedAt > 0 ? System.currentTimeMillis() - startedAt : 0L,
+                state == null ? 0 : (int) parseLong(state, FIX_COUNT),
+                state == null ? 0 : (int) parseLong(state, REGENERATE_COUNT));
+        for (NodeExecutionListener l : listeners) {
+            try {
+                l.onRunEnd(summary);
+            } catch (RuntimeException e) {
+                log.warn("Node listener {} failed on run end: {}", l.getClass().getSimpleName(), e.toString());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Ends, as {@link RunSummary#ABORTED}, every open run whose last node boundary is older than the cutoff.
+     *
+     * @param cutoff    epoch milliseconds; runs last seen before it are ended
+     * @param listeners listeners to notify
+     * @return number of runs ended
+     */
+    static int purgeIdle(final long cutoff, final List<NodeExecutionListener> listeners) {
+        int purged = 0;
+        for (Map.Entry<String, OpenRun> run : OPEN_RUNS.entrySet()) {
+            if (run.getValue().lastSeen < cutoff && endIfOpen(run.getKey(), RunSummary.ABORTED, null, listeners)) {
+                log.info("🧹 Run {} abandoned: no node boundary for over {} ms", run.getKey(), IDLE_RUN_MILLIS);
+                purged++;
+            }
+        }
+        return purged;
+    }
+
+    /**
+     * Node identity.
+     *
+     * @return node id
+     */
+    public NodeId node() {
+        return node;
+    }
+
+    /**
+     * Throws when any listener requested cancellation of the run.
+     *
+     * @param runId run identifier
+     * @throws CancellationException when the run is cancelled
+     */
+    private void failIfCancelled(final String runId) {
+        if (cancelled(runId)) {
+            throw new CancellationException("Run " + runId + " cancelled at node " + node.id);
+        }
+    }
+
+    /**
+     * Whether any listener requested cancellation; if so, clears the interrupt that may have been used to
+     * unblock the node, so it does not leak into unrelated work on this thread.
+     *
+     * @param runId run identifier
+     * @return true when the run is cancelled
+     */
+    private boolean cancelled(final String runId) {
+        for (NodeExecutionListener l : listeners) {
+            try {
+                if (l.cancelRequested(runId)) {
+                    Thread.interrupted();
+                    return true;
+                }
+            } catch (RuntimeException e) {
+                log.warn("Node listener {} failed on {}: {}", l.getClass().getSimpleName(), node.id, e.toString());
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Commits the JFR event of this execution when it is recorded.
+     *
+     * @param event    started event
+     * @param runId    run identifier
+     * @param outcome  {@code ok} or exception simple name
+     * @param decision decision written by the node, may be null
+     */
+    private void commit(
+            final NodeExecutionEvent event, final String runId, final String outcome, final Object decision) {
+        event.end();
+        if (!event.shouldCommit()) return;
+        event.runId = runId;
+        event.node = node.id;
+        event.outcome = outcome;
+        event.decision = decision == null ? null : decision.toString();
+        event.commit();
+    }
+
+    /**
+     * Invokes every listener, isolating failures.
+     *
+     * @param call listener callback
+     */
+    private void notify(final Consumer<NodeExecutionListener> call) {
+        for (NodeExecutionListener l : listeners) {
+            try {
+                call.accept(l);
+            } catch (RuntimeException e) {
+                log.warn("Node listener {} failed on {}: {}", l.getClass().getSimpleName(), node.id, e.toString());
+            }
+        }
+    }
+
+    /**
+     * Reads a numeric state value.
+     *
+     * @param state state
+     * @param key   key holding a decimal string
+     * @return parsed value, or 0 when absent or malformed
+     */
+    private static long parseLong(final AgentState state, final AgentState.StateKey key) {
+        try {
+            return Long.parseLong(state.getOptional(key).orElse("0"));
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    /** Latest known state and activity of an open run. */
+    private static final class OpenRun {
+        /** State at the last node boundary. */
+        private volatile AgentState state;
+        /** Time of the last node boundary, epoch milliseconds. */
+        private volatile long lastSeen = System.currentTimeMillis();
+
+        /**
+         * Tracks a run from its first node.
+         *
+         * @param state state the run started with
+         */
+        OpenRun(final AgentState state) {
+            this.state = state;
+        }
+
+        /**
+         * Records a node boundary.
+         *
+         * @param state state at the boundary
+         */
+        void touch(final AgentState state) {
+            this.state = state;
+            this.lastSeen = System.currentTimeMillis();
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package github.ai.qa.solutions.observability;
+
+import static github.ai.qa.solutions.state.AgentState.StateKey.FIX_COUNT;
+import static github.ai.qa.solutions.state.AgentState.StateKey.ITERATION;
+import static github.ai.qa.solutions.state.AgentState.StateKey.REGENERATE_COUNT;
+
+import github.ai.qa.solutions.configuration.AgentApplicationConfiguration.NodeId;
+import github.ai.qa.solutions.state.AgentState;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+
+/**
+ * Operational view of the graph: runs in flight with their current node, and rolling per-node latencies.
+ *
+ * <p>Also the cancellation point for stuck runs: {@link #cancel(String)} marks the run, interrupts the thread
+ * executing its current node, and the node wrapper fails the run with a {@code CancellationException} at the
+ * next node boundary.</p>
+ */
+@Component
+public class LiveRuns implements NodeExecutionListener {
+    /** Latency samples kept per node. */
+    static final int WINDOW = 512;
+    /** Runs in flight by id. */
+    private final Map<String, LiveRun> runs = new ConcurrentHashMap<>();
+    /** Rolling latency window per node id. */
+    private final Map<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+
+    /**
+     * Snapshot of a run in flight.
+     *
+     * @param runId             run identifier
+     * @param startedAt         run start
+     * @param elapsedMillis     time since start
+     * @param currentNode       node being executed, or null between nodes
+     * @param nodeElapsedMillis time spent in the current node
+     * @param iteration         consecutive FIX attempts ({@code ITERATION})
+     * @param fixCount          FIX decisions so far
+     * @param regenerateCount   REGENERATE decisions so far
+     * @param nodesExecuted     finished node executions
+     * @param cancelRequested   whether cancellation was requested
+     */
+    public record RunView(
+            String runId,
+            Instant startedAt,
+            long elapsedMillis,
+            String currentNode,
+            long nodeElapsedMillis,
+            int iteration,
+            int fixCount,
+            int regenerateCount,
+            int nodesExecuted,
+            boolean cancelRequested) {}
+
+    /**
+     * Rolling latency statistics of a node over the last {@link #WINDOW} executions.
+     *
+     * @param samples executions in the window
+     * @param total   executions since start
+     * @param p50Ms   median
+     * @param p90Ms   90th percentile
+     * @param p99Ms   99th percentile
+     * @param maxMs   maximum
+     */
+    public record LatencyView(int samples, long total, double p50Ms, double p90Ms, double p99Ms, double maxMs) {}
+
+    @Override
+    public void onRunStart(final String runId, final AgentState state) {
+        runs.put(runId, new LiveRun(runId, System.currentTimeMillis()));
+    }
+
+    @Override
+    public void onNodeStart(final String runId, final NodeId node, final AgentState state) {
+        final LiveRun run = runs.computeIfAbsent(runId, id -> new LiveRun(id, System.currentTimeMillis()));
+        synchronized (run) {
+            run.currentNode = node.id;
+            run.nodeStartedAt = System.currentTimeMillis();
+            run.thread = Thread.currentThread();
+            run.iteration = parseInt(state.getOptional(ITERATION).orElse("0"));
+            run.fixCount = parseInt(state.getOptional(FIX_COUNT).orElse("0"));
+            run.regenerateCount = parseInt(state.getOptional(REGENERATE_COUNT).orElse("0"));
+        }
+    }
+
+    @Override
+    public void onNodeEnd(
+            final String runId,
+            final NodeId node,
+            final AgentState state,
+            final Map<String, Object> updates,
+            final long nanos) {
+        latencies.computeIfAbsent(node.id, k -> new LatencyWindow()).add(nanos);
+        final LiveRun run = runs.get(runId);
+        if (run == null) return;
+        synchronized (run) {
+            run.currentNode = null;
+            run.thread = null;
+            run.nodesExecuted++;
+        }
+    }
+
+    @Override
+    public void onNodeError(
+            final String runId, final NodeId node, final AgentState state, final Throwable error, final long nanos) {
+        latencies.computeIfAbsent(node.id, k -> new LatencyWindow()).add(nanos);
+    }
+
+    @Override
+    public void onRunEnd(final RunSummary summary) {
+        runs.remove(summary.runId());
+    }
+
+    @Override
+    public boolean cancelRequested(final String runId) {
+        final LiveRun run = runs.get(runId);
+        return run != null && run.cancelled;
+    }
+
+    /**
+     * Requests cancellation of a run and interrupts its running node, if any.
+     *
+     * @param runId run identifier
+     * @return true when the run was in flight
+     */
+    public boolean cancel(final String runId) {
+        final LiveRun run = runs.get(runId);
+        if (run == null) return false;
+        synchronized (run) {
+            run.cancelled = true;
+            if (run.thread != null) run.thread.interrupt();
+        }
+        return true;
+    }
+
+    /**
+     * Runs in flight, oldest first.
+     *
+     * @return run snapshots
+     */
+    public List<RunView> runs() {
+        final long now = System.currentTimeMillis();
+        return runs.values().stream()
+                .map(r -> r.view(now))
+                .sorted(Comparator.comparing(RunView::startedAt))
+                .toList();
+    }
+
+    /**
+     * A single run in flight.
+     *
+     * @param runId run identifier
+     * @return snapshot, or empty when the run is not in flight
+     */
+    public Optional<RunView> run(final String runId) {
+        return Optional.ofNullable(runs.get(runId)).map(r -> r.view(System.currentTimeMillis()));
+    }
+
+    /**
+     * Rolling latency statistics per node id.
+     *
+     * @return node id → statistics, sorted by node id
+     */
+    public Map<String, LatencyView> latencies() {
+        final Map<String, LatencyView> out = new TreeMap<>();
+        latencies.forEach((node, window) -> out.put(node, window.view()));
+        return out;
+    }
+
+    /**
+     * Parses a decimal counter stored in the state.
+     *
+     * @param value decimal string
+     * @return parsed value, or 0 when malformed
+     */
+    private static int parseInt(final String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /** Mutable state of a run in flight; guarded by its own monitor. */
+    private static final class LiveRun {
+        /** Run identifier. */
+        private final String runId;
+        /** Start time, epoch milliseconds. */
+        private final long startedAt;
+        /** Node being executed, or null between nodes. */
+        private String currentNode;
+        /** Start of the current node, epoch milliseconds. */
+        private long nodeStartedAt;
+        /** Thread executing the current node. */
+        private Thread thread;
+        /** Consecutive FIX attempts. */
+        private int iteration;
+        /** FIX decisions so far. */
+        private int fixCount;
+        /** REGENERATE decisions so far. */
+        private int regenerateCount;
+        /** Finished node executions. */
+        private int nodesExecuted;
+        /** Whether cancellation was requested. */
+        private volatile boolean cancelled;
+
+        /**
+         * Creates the run.
+         *
+         * @param runId     run identifier
+         * @param startedAt start time, epoch milliseconds
+         */
+        LiveRun(final String runId, final long startedAt) {
+            this.runId = runId;
+            this.startedAt = startedAt;
+        }
+
+        /**
+         * Snapshot of the run.
+         *
+         * @param now current time, epoch milliseconds
+         * @return snapshot
+         */
+        synchronized RunView view(final long now) {
+            return new RunView(
+                    runId,
+                    Instant.ofEpochMilli(startedAt),
+                    now - startedAt,
+                    currentNode,
+                    currentNode == null ? 0 : now - nodeStartedAt,
+                    iteration,
+                    fixCount,
+                    regenerateCount,
+                    nodesExecuted,
+                    cancelled);
+        }
+    }
+
+    /** Ring buffer of the last {@link #WINDOW} node latencies. */
+    private static final class LatencyWindow {
+        /** Samples in nanoseconds. */
+        private final long[] samples = new long[WINDOW];
+        /** Executions recorded since start. */
+        private long total;
+
+        /**
+         * Adds a sample, overwriting the oldest one when full.
+         *
+         * @param nanos latency
+         */
+        synchronized void add(final long nanos) {
+            samples[(int) (total % WINDOW)] = nanos;
+            total++;
+        }
+
+        /**
+         * Computes statistics over the window.
+         *
+         * @return statistics
+         */
+        LatencyView view() {
+            final long[] copy;
+            final long count;
+            synchronized (this) {
+                count = total;
+                copy = Arrays.copyOf(samples, (int) Math.min(total, WINDOW));
+            }
+            Arrays.sort(copy);
+            return new LatencyView(
+                    copy.length,
+                    count,
+                    percentile(copy, 0.50),
+                    percentile(copy, 0.90),
+                    percentile(copy, 0.99),
+                    copy.length == 0 ? 0 : copy[copy.length - 1] / 1e6);
+        }
+
+        /**
+         * Nearest-rank percentile.
+         *
+         * @param sorted sorted samples in nanoseconds
+         * @param q      quantile in (0, 1]
+         * @return percentile in milliseconds, 0 when empty
+         */
+        private static double percentile(final long[] sorted, final double q) {
+            if (sorted.length == 0) return 0;
+            final int rank = (int) Math.ceil(q * sorted.length) - 1;
+            return sorted[Math.max(0, rank)] / 1e6;
+        }
+    }
+}
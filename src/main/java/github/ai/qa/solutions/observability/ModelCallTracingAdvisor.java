@@ -0,0 +1,138 @@
+package github.ai.qa.solutions.observability;
+
+import github.ai.qa.solutions.services.ModelRoute;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisor;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisorChain;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+/**
+ * Wraps every routed model call in an {@code agent.model.call} span, a child of the current node span.
+ *
+ * <p>Attributes: {@code agent.client} (node/tool that requested the client), {@code agent.model.family},
+ * {@code agent.model.label}, and {@code gen_ai.usage.input_tokens} / {@code gen_ai.usage.output_tokens}
+ * taken from {@link TokenUsageAdvisor}, which runs inside this advisor.</p>
+ *
+ * <p>Streamed calls get the same span, ended when the stream completes, fails or is cancelled; their token
+ * attributes come from the usage the provider reports in the stream and are omitted when it reports none.</p>
+ */
+@Component
+public class ModelCallTracingAdvisor implements CallAdvisor, StreamAdvisor {
+    /** Tracer; {@link Tracer#NOOP} when tracing is not configured. */
+    private final Tracer tracer;
+
+    /**
+     * Creates the advisor.
+     *
+     * @param tracer tracer provider; falls back to {@link Tracer#NOOP}
+     */
+    public ModelCallTracingAdvisor(final ObjectProvider<Tracer> tracer) {
+        this(tracer.getIfAvailable(() -> Tracer.NOOP));
+    }
+
+    /**
+     * Creates the advisor with an explicit tracer.
+     *
+     * @param tracer tracer
+     */
+    ModelCallTracingAdvisor(final Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public String getName() {
+        return "ModelCallTracingAdvisor";
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 50;
+    }
+
+    @Override
+    public ChatClientResponse adviseCall(final ChatClientRequest request, final CallAdvisorChain chain) {
+        final Span span = span(request);
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span.start())) {
+            final ChatClientResponse response = chain.nextCall(request);
+            if (response.context().get(TokenUsage.CONTEXT_KEY) instanceof TokenUsage tokens) {
+                span.tag("gen_ai.usage.input_tokens", tokens.promptTokens())
+                        .tag("gen_ai.usage.output_tokens", tokens.completionTokens())
+                        .tag("agent.tokens.estimated", tokens.estimated());
+            }
+            return response;
+        } catch (RuntimeException e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Traces a streamed call; the span is a child of the node span current when the call is made and ends with
+     * the stream.
+     *
+     * @param request request
+     * @param chain   remaining chain
+     * @return the unchanged stream
+     */
+    @Override
+    public Flux<ChatClientResponse> adviseStream(final ChatClientRequest request, final StreamAdvisorChain chain) {
+        final Span span = span(request);
+        final AtomicReference<Usage> reported = new AtomicReference<>();
+        final Flux<ChatClientResponse> stream;
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span.start())) {
+            stream = chain.nextStream(request);
+        } catch (RuntimeException e) {
+            span.error(e);
+            span.end();
+            throw e;
+        }
+        return stream.doOnNext(response -> {
+                    final ChatResponse chat = response.chatResponse();
+                    final Usage usage = chat == null ? null : chat.getMetadata().getUsage();
+                    if (usage != null && usage.getCompletionTokens() != null && usage.getCompletionTokens() > 0) {
+                        reported.set(usage);
+                    }
+                })
+                .doOnError(span::error)
+                .doFinally(signal -> {
+                    final Usage usage = reported.get();
+                    if (usage != null) {
+                        if (usage.getPromptTokens() != null) {
+                            span.tag("gen_ai.usage.input_tokens", usage.getPromptTokens());
+                        }
+                        span.tag("gen_ai.usage.output_tokens", usage.getCompletionTokens());
+                    }
+                    span.tag("agent.stream.signal", signal.toString()).end();
+                });
+    }
+
+    /**
+     * Creates the (unstarted) model-call span of a request.
+     *
+     * @param request request
+     * @return span tagged with the route and run
+     */
+    private Span span(final ChatClientRequest request) {
+        final ModelRoute route = ModelRoute.of(request);
+        final Span span = tracer.nextSpan()
+                .name("agent.model.call")
+                .tag("agent.client", route.nodeOrTool())
+                .tag("agent.model.family", route.family())
+                .tag("agent.model.label", route.modelLabel());
+        RunContext.current().ifPresent(run -> span.tag("agent.run.id", run.runId()));
+        return span;
+    }
+}
@@ -0,0 +1,88 @@
+package github.ai.qa.solutions.observability;
+
+import github.ai.qa.solutions.configuration.AgentApplicationConfiguration.NodeId;
+import github.ai.qa.solutions.state.AgentState;
+import java.util.Map;
+
+/**
+ * Callback notified around every node executed by the agent graph.
+ *
+ * <p>Listeners are invoked synchronously on the thread running the node, so the current node can be
+ * correlated with work it triggers (model calls, tool calls). Exceptions thrown by a listener are logged
+ * and never affect the flow.</p>
+ */
+public interface NodeExecutionListener {
+
+    /**
+     * Called once per run, before its first node starts.
+     *
+     * @param runId run identifier
+     * @param state input state
+     */
+    default void onRunStart(final String runId, final AgentState state) {}
+
+    /**
+     * Called before a node executes.
+     *
+     * @param runId run identifier
+     * @param node  node about to run
+     * @param state state passed to the node
+     */
+    default void onNodeStart(final String runId, final NodeId node, final AgentState state) {}
+
+    /**
+     * Whether the run should stop; checked by the node wrapper before and after every node.
+     *
+     * @param runId run identifier
+     * @return true to fail the run with a {@code CancellationException}; false by default
+     */
+    default boolean cancelRequested(final String runId) {
+        return false;
+    }
+
+    /**
+     * Extra state updates merged into the node's result after it completes, before {@link #onNodeEnd}.
+     *
+     * @param runId run identifier
+     * @param node  node that ran
+     * @return updates keyed by {@code StateKey} name; empty by default
+     */
+    default Map<String, Object> contributeState(final String runId, final NodeId node) {
+        return Map.of();
+    }
+
+    /**
+     * Called after a node completes.
+     *
+     * @param runId   run identifier
+     * @param node    node that ran
+     * @param state   state passed to the node
+     * @param updates updates returned by the node, including run bookkeeping keys
+     * @param nanos   execution time
+     */
+    default void onNodeEnd(
+            final String runId,
+            final NodeId node,
+            final AgentState state,
+            final Map<String, Object> updates,
+            final long nanos) {}
+
+    /**
+     * Called when a node throws; the run ends right after with {@link RunSummary#ERROR}.
+     *
+     * @param runId run identifier
+     * @param node  node that failed
+     * @param state state passed to the node
+     * @param error failure
+     * @param nanos time until the failure
+     */
+    default void onNodeError(
+            final String runId, final NodeId node, final AgentState state, final Throwable error, final long nanos) {}
+
+    /**
+     * Called once per run when it reaches END, fails, or stops early (see {@link GraphRunner}).
+     *
+     * @param summary run totals
+     */
+    default void onRunEnd(final RunSummary summary) {}
+}
@@ -0,0 +1,51 @@
+package github.ai.qa.solutions.observability;
+
+import github.ai.qa.solutions.configuration.AgentApplicationConfiguration.NodeId;
+import java.util.Optional;
+
+/**
+ * Run and node executing on the current thread.
+ *
+ * <p>Set by {@link InstrumentedNodeAction} for the duration of a node; graph nodes run synchronously, so model
+ * and tool calls made by a node see its context. Outside a node the context is empty.</p>
+ *
+ * @param runId run identifier
+ * @param node  executing node
+ */
+public record RunContext(String runId, NodeId node) {
+    /** Context of the node executing on this thread. */
+    private static final ThreadLocal<RunContext> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Context of the node executing on this thread.
+     *
+     * @return context, or empty outside graph nodes
+     */
+    public static Optional<RunContext> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * Makes this context current until the returned scope is closed.
+     *
+     * @return scope restoring the previous context on close
+     */
+    public Scope open() {
+        final RunContext previous = CURRENT.get();
+        CURRENT.set(this);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    /** Closeable scope of a current context. */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
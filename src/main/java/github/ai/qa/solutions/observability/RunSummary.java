@@ -0,0 +1,20 @@
+package github.ai.qa.solutions.observability;
+
+/**
+ * Totals of one finished graph run.
+ *
+ * @param runId           run identifier
+ * @param outcome         {@link #END} when the flow finished normally, {@link #ERROR} when a node or the graph
+ *                        failed, {@link #ABORTED} when the run was cancelled or its driver stopped before END
+ * @param durationMillis  wall-clock duration from the first node start
+ * @param fixCount        FIX decisions taken
+ * @param regenerateCount REGENERATE decisions taken
+ */
+public record RunSummary(String runId, String outcome, long durationMillis, int fixCount, int regenerateCount) {
+    /** Outcome of a run that reached END. */
+    public static final String END = "end";
+    /** Outcome of a run that was aborted by a node failure or a graph failure such as the iteration limit. */
+    public static final String ERROR = "error";
+    /** Outcome of a run that was cancelled between nodes or stopped by its driver before END. */
+    public static final String ABORTED = "aborted";
+}
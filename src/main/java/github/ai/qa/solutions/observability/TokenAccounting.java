@@ -0,0 +1,260 @@
+package github.ai.qa.solutions.observability;
+
+import static github.ai.qa.solutions.state.AgentState.StateKey.TOKEN_USAGE;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import github.ai.qa.solutions.configuration.AgentApplicationConfiguration.NodeId;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Aggregates model token usage per node, per family and per run.
+ *
+ * <p>Metrics: {@code agent.model.tokens} (counter; {@code node}, {@code client}, {@code family}, {@code type},
+ * {@code source}), {@code agent.model.prompt.chars} (prompt size per call), {@code agent.model.tokens.cached}
+ * (prompt tokens served from the provider's prefix cache), {@code agent.model.prompt.cached.ratio} (cached share
+ * of each provider-counted prompt) and {@code agent.run.tokens} (per-run totals by {@code type}, including
+ * {@code cached}). Calls with a per-call output budget also record {@code agent.model.output.budget.usage}
+ * (completion tokens / budget) and {@code agent.model.output.budget.exhausted} (answers that hit it), which shows
+ * how well the budget estimate fits. Running totals of the current run are written to {@code TOKEN_USAGE} in the
+ * state after every node, so the final state carries the whole run's accounting.</p>
+ */
+@Component
+public class TokenAccounting implements NodeExecutionListener {
+    /** Logs serialization problems. */
+    private static final Logger log = LoggerFactory.getLogger(TokenAccounting.class);
+    /** Runs tracked before stale entries (runs that never reached END) are purged. */
+    private static final int MAX_TRACKED_RUNS = 1024;
+    /** Age after which an unfinished run's totals are dropped. */
+    private static final long STALE_RUN_MILLIS = 3_600_000L;
+    /** Target registry. */
+    private final MeterRegistry registry;
+    /** Serializer for the state snapshot. */
+    private final ObjectMapper objectMapper;
+    /** Totals of runs in flight. */
+    private final Map<String, RunTokens> runs = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the accounting.
+     *
+     * @param registry     meter registry
+     * @param objectMapper JSON serializer for the state snapshot
+     */
+    public TokenAccounting(final MeterRegistry registry, final ObjectMapper objectMapper) {
+        this.registry = registry;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Records one model call.
+     *
+     * @param usage call usage
+     */
+    public void record(final TokenUsage usage) {
+        final String source = usage.estimated() ? "estimate" : "provider";
+        tokens(usage, "prompt", source).increment(usage.promptTokens());
+        tokens(usage, "completion", source).increment(usage.completionTokens());
+        DistributionSummary.builder("agent.model.prompt.chars")
+                .description("Prompt size per model call")
+                .baseUnit("chars")
+                .tag("node", usage.node())
+                .tag("client", usage.client())
+                .register(registry)
+                .record(usage.promptChars());
+        if (!usage.estimated() && usage.promptTokens() > 0) {
+            Counter.builder("agent.model.tokens.cached")
+                    .description("Prompt tokens served from the provider prefix cache")
+                    .tag("node", usage.node())
+                    .tag("client", usage.client())
+                    .tag("family", usage.family())
+                    .register(registry)
+                    .increment(usage.cachedPromptTokens());
+            DistributionSummary.builder("agent.model.prompt.cached.ratio")
+                    .description("Share of prompt tokens served from the provider prefix cache")
+                    .tag("client", usage.client())
+                    .tag("family", usage.family())
+                    .register(registry)
+                    .record((double) usage.cachedPromptTokens() / usage.promptTokens());
+        }
+        if (usage.outputBudget() > 0) {
+            DistributionSummary.builder("agent.model.output.budget.usage")
+                    .description("Completion tokens as a share of the per-call output budget")
+                    .tag("client", usage.client())
+                    .tag("family", usage.family())
+                    .register(registry)
+                    .record((double) usage.completionTokens() / usage.outputBudget());
+            if (usage.completionTokens() >= usage.outputBudget()) {
+                Counter.builder("agent.model.output.budget.exhausted")
+                        .description("Calls whose answer used the whole per-call output budget")
+                        .tag("client", usage.client())
+                        .tag("family", usage.family())
+                        .register(registry)
+                        .increment();
+            }
+        }
+        if (usage.runId() != null) {
+            if (runs.size() >= MAX_TRACKED_RUNS) purgeStale();
+            runs.computeIfAbsent(usage.runId(), k -> new RunTokens()).add(usage);
+        }
+    }
+
+    /**
+     * Running totals of a run.
+     *
+     * @param runId run identifier
+     * @return snapshot ({@code promptTokens}, {@code completionTokens}, {@code cachedPromptTokens},
+     *     {@code cachedRatio}, {@code calls}, {@code estimatedCalls}, {@code byNode}, {@code byFamily}),
+     *     or empty when the run made no model calls
+     */
+    public Map<String, Object> snapshot(final String runId) {
+        final RunTokens t = runs.get(runId);
+        return t == null ? Map.of() : t.snapshot();
+    }
+
+    @Override
+    public Map<String, Object> contributeState(final String runId, final NodeId node) {
+        final Map<String, Object> snapshot = snapshot(runId);
+        if (snapshot.isEmpty()) return Map.of();
+        try {
+            return Map.of(TOKEN_USAGE.name(), objectMapper.writeValueAsString(snapshot));
+        } catch (JsonProcessingException e) {
+            log.debug("Token usage snapshot not serializable: {}", e.getMessage());
+            return Map.of();
+        }
+    }
+
+    @Override
+    public void onRunEnd(final RunSummary summary) {
+        final RunTokens t = runs.remove(summary.runId());
+        if (t == null) return;
+        runTokens("prompt").record(t.prompt);
+        runTokens("completion").record(t.completion);
+        runTokens("cached").record(t.cached);
+    }
+
+    /**
+     * Token counter for a call.
+     *
+     * @param usage  call usage
+     * @param type   {@code prompt} or {@code completion}
+     * @param source {@code provider} or {@code estimate}
+     * @return registered counter
+     */
+    private Counter tokens(final TokenUsage usage, final String type, final String source) {
+        return Counter.builder("agent.model.tokens")
+                .description("Model tokens by node, client and family")
+                .tag("node", usage.node())
+                .tag("client", usage.client())
+                .tag("family", usage.family())
+                .tag("type", type)
+                .tag("source", source)
+                .register(registry);
+    }
+
+    /**
+     * Per-run token distribution.
+     *
+     * @param type {@code prompt}, {@code completion} or {@code cached}
+     * @return registered summary
+     */
+    private DistributionSummary runTokens(final String type) {
+        return DistributionSummary.builder("agent.run.tokens")
+                .description("Tokens per finished run")
+                .tag("type", type)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /** Drops totals of runs that started long ago and never finished. */
+    private void purgeStale() {
+        final long cutoff = System.currentTimeMillis() - STALE_RUN_MILLIS;
+        runs.values().removeIf(t -> t.createdAt < cutoff);
+    }
+
+    /** Mutable totals of one run; synchronized because a run may call models from tool threads. */
+    private static final class RunTokens {
+        /** Creation time, epoch milliseconds. */
+        private final long createdAt = System.currentTimeMillis();
+        /** Prompt tokens. */
+        private long prompt;
+        /** Completion tokens. */
+        private long completion;
+        /** Prompt tokens served from the provider prefix cache. */
+        private long cached;
+        /** Model calls. */
+        private int calls;
+        /** Calls with estimated counts. */
+        private int estimatedCalls;
+        /** Node id → {prompt, completion, calls}. */
+        private final Map<String, long[]> byNode = new TreeMap<>();
+        /** Family → {prompt, completion, calls}. */
+        private final Map<String, long[]> byFamily = new TreeMap<>();
+
+        /**
+         * Adds a call.
+         *
+         * @param u call usage
+         */
+        synchronized void add(final TokenUsage u) {
+            prompt += u.promptTokens();
+            completion += u.completionTokens();
+            cached += u.cachedPromptTokens();
+            calls++;
+            if (u.estimated()) estimatedCalls++;
+            accumulate(byNode.computeIfAbsent(u.node(), k -> new long[3]), u);
+            accumulate(byFamily.computeIfAbsent(u.family(), k -> new long[3]), u);
+        }
+
+        /**
+         * Snapshot as plain maps.
+         *
+         * @return snapshot
+         */
+        synchronized Map<String, Object> snapshot() {
+            final Map<String, Object> out = new LinkedHashMap<>();
+            out.put("promptTokens", prompt);
+            out.put("completionTokens", completion);
+            out.put("cachedPromptTokens", cached);
+            out.put("cachedRatio", prompt == 0 ? 0.0 : Math.round(1000.0 * cached / prompt) / 1000.0);
+            out.put("calls", calls);
+            out.put("estimatedCalls", estimatedCalls);
+            out.put("byNode", breakdown(byNode));
+            out.put("byFamily", breakdown(byFamily));
+            return out;
+        }
+
+        /**
+         * Adds a call to a breakdown slot.
+         *
+         * @param slot {prompt, completion, calls}
+         * @param u    call usage
+         */
+        private static void accumulate(final long[] slot, final TokenUsage u) {
+            slot[0] += u.promptTokens();
+            slot[1] += u.completionTokens();
+            slot[2]++;
+        }
+
+        /**
+         * Converts a breakdown to plain maps.
+         *
+         * @param source key → {prompt, completion, calls}
+         * @return key → totals map
+         */
+        private static Map<String, Object> breakdown(final Map<String, long[]> source) {
+            final Map<String, Object> out = new LinkedHashMap<>();
+            source.forEach((k, v) ->
+                    out.put(k, Map.of("promptTokens", v[0], "completionTokens", v[1], "calls", v[2])));
+            return out;
+        }
+    }
+}
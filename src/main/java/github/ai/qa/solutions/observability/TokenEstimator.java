@@ -0,0 +1,64 @@
+package github.ai.qa.solutions.observability;
+
+import java.util.List;
+import org.springframework.ai.chat.messages.Message;
+
+/**
+ * Local token estimate used when the provider does not report usage.
+ *
+ * <p>BPE tokenizers average about four characters per token for ASCII text (JSON, schema keywords) and about
+ * two for Cyrillic, which dominates our prompts and generated values. The estimate is meant for cost trends
+ * and for finding the largest prompts, not for billing.</p>
+ */
+public final class TokenEstimator {
+
+    private TokenEstimator() {}
+
+    /**
+     * Estimates tokens for a text.
+     *
+     * @param text text; may be null
+     * @return estimated tokens, 0 for empty input
+     */
+    public static int estimate(final CharSequence text) {
+        if (text == null || text.isEmpty()) return 0;
+        int ascii = 0;
+        int other = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) < 0x80) {
+                ascii++;
+            } else {
+                other++;
+            }
+        }
+        return (ascii + 3) / 4 + (other + 1) / 2;
+    }
+
+    /**
+     * Estimates tokens for a list of prompt messages.
+     *
+     * @param messages prompt messages
+     * @return estimated tokens
+     */
+    public static int estimate(final List<Message> messages) {
+        int total = 0;
+        for (Message m : messages) {
+            total += estimate(m.getText());
+        }
+        return total;
+    }
+
+    /**
+     * Total characters of the prompt messages.
+     *
+     * @param messages prompt messages
+     * @return character count
+     */
+    public static int chars(final List<Message> messages) {
+        int total = 0;
+        for (Message m : messages) {
+            total += m.getText() == null ? 0 : m.getText().length();
+        }
+        return total;
+    }
+}
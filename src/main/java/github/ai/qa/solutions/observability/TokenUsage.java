@@ -0,0 +1,54 @@
+package github.ai.qa.solutions.observability;
+
+/**
+ * Token usage of one model call.
+ *
+ * @param runId              run identifier, or null outside graph runs
+ * @param node               graph node id ({@code none} outside graph runs)
+ * @param client             node/tool that requested the client from the router
+ * @param family             model family
+ * @param promptTokens       prompt tokens
+ * @param completionTokens   completion tokens
+ * @param promptChars        prompt size in characters
+ * @param estimated          true when at least one count came from {@link TokenEstimator}
+ * @param cachedPromptTokens prompt tokens served from the provider's prefix cache (0 when not reported)
+ * @param outputBudget       per-call {@code max-tokens} set by the router (0 for the provider default)
+ */
+public record TokenUsage(
+        String runId,
+        String node,
+        String client,
+        String family,
+        int promptTokens,
+        int completionTokens,
+        int promptChars,
+        boolean estimated,
+        int cachedPromptTokens,
+        int outputBudget) {
+    /** Response context key under which {@link TokenUsageAdvisor} exposes the usage to outer advisors. */
+    public static final String CONTEXT_KEY = "aitdg.tokens";
+
+    /**
+     * Usage without cache or budget information.
+     *
+     * @param runId            run identifier, or null outside graph runs
+     * @param node             graph node id
+     * @param client           node/tool that requested the client
+     * @param family           model family
+     * @param promptTokens     prompt tokens
+     * @param completionTokens completion tokens
+     * @param promptChars      prompt size in characters
+     * @param estimated        true when at least one count was estimated
+     */
+    public TokenUsage(
+            final String runId,
+            final String node,
+            final String client,
+            final String family,
+            final int promptTokens,
+            final int completionTokens,
+            final int promptChars,
+            final boolean estimated) {
+        this(runId, node, client, family, promptTokens, completionTokens, promptChars, estimated, 0, 0);
+    }
+}
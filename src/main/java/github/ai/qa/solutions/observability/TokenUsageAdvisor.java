@@ -0,0 +1,164 @@
+package github.ai.qa.solutions.observability;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import github.ai.qa.solutions.services.ModelRoute;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisor;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisorChain;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+/**
+ * Captures token usage of every routed model call and hands it to {@link TokenAccounting}.
+ *
+ * <p>Counts come from {@link ChatResponse} usage metadata; when the provider reports none (or zero), the
+ * prompt and answer are sized with {@link TokenEstimator} and the call is marked as estimated. The usage is
+ * also put into the response context under {@link TokenUsage#CONTEXT_KEY} for advisors ordered before this one.
+ * Streamed calls are accounted when the stream ends, so an early-aborted stream counts what it actually cost.</p>
+ *
+ * <p>Prompt tokens served from the provider's prefix cache are read from the native usage object, whatever the
+ * provider: {@code prompt_tokens_details.cached_tokens} (OpenAI-compatible, OpenRouter),
+ * {@code precached_prompt_tokens} (GigaChat) or {@code cache_read_input_tokens}.</p>
+ */
+@Component
+public class TokenUsageAdvisor implements CallAdvisor, StreamAdvisor {
+    /** Native usage field names carrying cached prompt tokens, snake_case and camelCase. */
+    private static final List<String> CACHED_FIELDS = List.of(
+            "cached_tokens",
+            "cachedTokens",
+            "precached_prompt_tokens",
+            "precachedPromptTokens",
+            "cache_read_input_tokens",
+            "cacheReadInputTokens");
+    /** Converts provider usage objects to a tree; they are plain Jackson-annotated records or beans. */
+    private static final ObjectMapper NATIVE_USAGE = new ObjectMapper();
+    /** Aggregation and metrics. */
+    private final TokenAccounting accounting;
+
+    /**
+     * Creates the advisor.
+     *
+     * @param accounting token accounting
+     */
+    public TokenUsageAdvisor(final TokenAccounting accounting) {
+        this.accounting = accounting;
+    }
+
+    @Override
+    public String getName() {
+        return "TokenUsageAdvisor";
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 100;
+    }
+
+    @Override
+    public ChatClientResponse adviseCall(final ChatClientRequest request, final CallAdvisorChain chain) {
+        final ChatClientResponse response = chain.nextCall(request);
+        final ChatResponse chat = response.chatResponse();
+        final TokenUsage tokens = usage(
+                request,
+                RunContext.current().orElse(null),
+                chat == null ? null : chat.getMetadata().getUsage(),
+                chat == null || chat.getResult() == null
+                        ? null
+                        : chat.getResult().getOutput().getText());
+        accounting.record(tokens);
+        return response.mutate().context(TokenUsage.CONTEXT_KEY, tokens).build();
+    }
+
+    /**
+     * Accounts a streamed call once the stream ends, including streams cancelled early; the completion is sized
+     * from the text received until then unless the provider reported usage.
+     *
+     * @param request request
+     * @param chain   remaining chain
+     * @return the unchanged stream
+     */
+    @Override
+    public Flux<ChatClientResponse> adviseStream(final ChatClientRequest request, final StreamAdvisorChain chain) {
+        final RunContext run = RunContext.current().orElse(null);
+        final StringBuilder completion = new StringBuilder();
+        final AtomicReference<Usage> reported = new AtomicReference<>();
+        return chain.nextStream(request)
+                .doOnNext(response -> {
+                    final ChatResponse chat = response.chatResponse();
+                    if (chat == null) return;
+                    final Usage usage = chat.getMetadata().getUsage();
+                    if (usage != null && usage.getCompletionTokens() != null && usage.getCompletionTokens() > 0) {
+                        reported.set(usage);
+                    }
+                    if (chat.getResult() != null && chat.getResult().getOutput().getText() != null) {
+                        completion.append(chat.getResult().getOutput().getText());
+                    }
+                })
+                .doFinally(signal -> accounting.record(usage(request, run, reported.get(), completion)));
+    }
+
+    /**
+     * Builds the usage of one call, estimating what the provider did not report.
+     *
+     * @param request    request
+     * @param run        run and node of the call, may be null
+     * @param usage      provider usage, may be null
+     * @param completion answer text, may be null
+     * @return token usage
+     */
+    private static TokenUsage usage(
+            final ChatClientRequest request, final RunContext run, final Usage usage, final CharSequence completion) {
+        final ModelRoute route = ModelRoute.of(request);
+        final Integer reportedPrompt = usage == null ? null : usage.getPromptTokens();
+        final Integer reportedCompletion = usage == null ? null : usage.getCompletionTokens();
+        final boolean promptEstimated = reportedPrompt == null || reportedPrompt <= 0;
+        final boolean completionEstimated = reportedCompletion == null || reportedCompletion <= 0;
+
+        final int promptTokens = promptEstimated
+                ? TokenEstimator.estimate(request.prompt().getInstructions())
+                : reportedPrompt;
+        final int completionTokens = completionEstimated ? TokenEstimator.estimate(completion) : reportedCompletion;
+
+        return new TokenUsage(
+                run == null ? null : run.runId(),
+                run == null ? "none" : run.node().id,
+                route.nodeOrTool(),
+                route.family(),
+                promptTokens,
+                completionTokens,
+                TokenEstimator.chars(request.prompt().getInstructions()),
+                promptEstimated || completionEstimated,
+                promptEstimated ? 0 : Math.min(cachedPromptTokens(usage), promptTokens),
+                route.maxTokens() == null ? 0 : route.maxTokens());
+    }
+
+    /**
+     * Prompt tokens the provider reports as served from its prefix cache.
+     *
+     * @param usage provider usage, may be null
+     * @return cached prompt tokens, 0 when not reported
+     */
+    static int cachedPromptTokens(final Usage usage) {
+        final Object nativeUsage = usage == null ? null : usage.getNativeUsage();
+        if (nativeUsage == null) return 0;
+        try {
+            final JsonNode tree = NATIVE_USAGE.valueToTree(nativeUsage);
+            for (final String field : CACHED_FIELDS) {
+                final JsonNode value = tree.findValue(field);
+                if (value != null && value.canConvertToInt() && value.asInt() > 0) return value.asInt();
+            }
+        } catch (IllegalArgumentException e) {
+            // Not serializable: the provider does not expose cache counts in a readable form
+        }
+        return 0;
+    }
+}
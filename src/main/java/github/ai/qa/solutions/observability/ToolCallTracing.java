@@ -0,0 +1,183 @@
+package github.ai.qa.solutions.observability;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import java.util.function.Supplier;
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisor;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisorChain;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.metadata.ToolMetadata;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+/**
+ * Wraps every tool execution in an {@code agent.tool.call} span.
+ *
+ * <p>Tools offered to a routed model call are decorated so that each invocation the model asks for is traced as a
+ * child of the {@code agent.model.call} span; nodes that run a tool directly, without the model, go through
+ * {@link #call(String, Supplier)} and get a child of their node span. Attributes: {@code agent.tool.name},
+ * {@code agent.tool.origin} ({@code model} or {@code local}) and {@code agent.run.id}.</p>
+ */
+@Component
+public class ToolCallTracing implements CallAdvisor, StreamAdvisor {
+    /** Tracing that creates no spans; for code paths built without Spring. */
+    public static final ToolCallTracing NOOP = new ToolCallTracing(Tracer.NOOP);
+    /** Tracer; {@link Tracer#NOOP} when tracing is not configured. */
+    private final Tracer tracer;
+
+    /**
+     * Creates the tracing.
+     *
+     * @param tracer tracer provider; falls back to {@link Tracer#NOOP}
+     */
+    public ToolCallTracing(final ObjectProvider<Tracer> tracer) {
+        this(tracer.getIfAvailable(() -> Tracer.NOOP));
+    }
+
+    /**
+     * Creates the tracing with an explicit tracer.
+     *
+     * @param tracer tracer
+     */
+    ToolCallTracing(final Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public String getName() {
+        return "ToolCallTracing";
+    }
+
+    @Override
+    public int getOrder() {
+        // Inside ModelCallTracingAdvisor, so the model-call span is current when tools are wrapped
+        return Ordered.HIGHEST_PRECEDENCE + 55;
+    }
+
+    @Override
+    public ChatClientResponse adviseCall(final ChatClientRequest request, final CallAdvisorChain chain) {
+        return chain.nextCall(withTracedTools(request));
+    }
+
+    @Override
+    public Flux<ChatClientResponse> adviseStream(final ChatClientRequest request, final StreamAdvisorChain chain) {
+        return chain.nextStream(withTracedTools(request));
+    }
+
+    /**
+     * Runs a tool directly (not through the model) inside an {@code agent.tool.call} span.
+     *
+     * @param tool       tool name
+     * @param invocation tool invocation
+     * @param <T>        result type
+     * @return the invocation result
+     */
+    public <T> T call(final String tool, final Supplier<T> invocation) {
+        return trace(tracer.nextSpan(), tool, "local", invocation);
+    }
+
+    /**
+     * Traces one tool invocation.
+     *
+     * @param span       unstarted span
+     * @param tool       tool name
+     * @param origin     {@code model} or {@code local}
+     * @param invocation tool invocation
+     * @param <T>        result type
+     * @return the invocation result
+     */
+    private <T> T trace(final Span span, final String tool, final String origin, final Supplier<T> invocation) {
+        span.name("agent.tool.call").tag("agent.tool.name", tool).tag("agent.tool.origin", origin);
+        RunContext.current().ifPresent(run -> span.tag("agent.run.id", run.runId()));
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span.start())) {
+            return invocation.get();
+        } catch (RuntimeException e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Replaces tool callbacks in the request options with tracing wrappers parented to the current span.
+     *
+     * @param request original request
+     * @return request with traced tools, or the original when no tools are offered
+     */
+    private ChatClientRequest withTracedTools(final ChatClientRequest request) {
+        if (!(request.prompt().getOptions() instanceof ToolCallingChatOptions opts)
+                || opts.getToolCallbacks().isEmpty()) {
+            return request;
+        }
+        // Tools may run on another thread (streaming), so the parent is captured now
+        final Span parent = tracer.currentSpan();
+        final ToolCallingChatOptions copy = opts.copy();
+        copy.setToolCallbacks(opts.getToolCallbacks().stream()
+                .<ToolCallback>map(cb -> new TracedToolCallback(cb, parent))
+                .toList());
+        return request.mutate()
+                .prompt(new Prompt(request.prompt().getInstructions(), copy))
+                .build();
+    }
+
+    /** Delegating tool callback that traces each invocation. */
+    private final class TracedToolCallback implements ToolCallback {
+        /** Real tool callback. */
+        private final ToolCallback delegate;
+        /** Span current when the model call was made, may be null. */
+        private final Span parent;
+
+        /**
+         * Wraps a tool callback.
+         *
+         * @param delegate real tool callback
+         * @param parent   span current when the model call was made, may be null
+         */
+        TracedToolCallback(final ToolCallback delegate, final Span parent) {
+            this.delegate = delegate;
+            this.parent = parent;
+        }
+
+        @Override
+        public ToolDefinition getToolDefinition() {
+            return delegate.getToolDefinition();
+        }
+
+        @Override
+        public ToolMetadata getToolMetadata() {
+            return delegate.getToolMetadata();
+        }
+
+        @Override
+        public String call(final String toolInput) {
+            return traced(() -> delegate.call(toolInput));
+        }
+
+        @Override
+        public String call(final String toolInput, final ToolContext toolContext) {
+            return traced(() -> delegate.call(toolInput, toolContext));
+        }
+
+        /**
+         * Runs the invocation inside a span.
+         *
+         * @param invocation tool invocation
+         * @return tool output
+         */
+        private String traced(final Supplier<String> invocation) {
+            final Span span = parent == null ? tracer.nextSpan() : tracer.nextSpan(parent);
+            return trace(span, getToolDefinition().name(), "model", invocation);
+        }
+    }
+}
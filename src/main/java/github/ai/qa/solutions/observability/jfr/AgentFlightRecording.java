@@ -0,0 +1,72 @@
+package github.ai.qa.solutions.observability.jfr;
+
+import github.ai.qa.solutions.configuration.JfrProperties;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.HashMap;
+import java.util.Map;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+/**
+ * Starts a JFR recording with the built-in {@code base} configuration overlaid by the agent settings profile
+ * ({@code jfr/agent.jfc}), so GC, allocation and lock events line up with node, model and schema events.
+ * The recording is written to {@code ai.jfr.file} when the application stops.
+ *
+ * <p>Enabled with {@code ai.jfr.enabled=true}. Alternatively start the JVM with
+ * {@code -XX:StartFlightRecording:settings=default,settings=<path to agent.jfc>}.</p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "ai.jfr", name = "enabled", havingValue = "true")
+public class AgentFlightRecording implements DisposableBean {
+    /** Logs recording lifecycle. */
+    private static final Logger log = LoggerFactory.getLogger(AgentFlightRecording.class);
+    /** Running recording. */
+    private final Recording recording;
+
+    /**
+     * Creates and starts the recording.
+     *
+     * @param props          recording settings
+     * @param resourceLoader loader for the settings profile
+     * @throws IOException    when the profile cannot be read or the destination cannot be created
+     * @throws ParseException when a configuration cannot be parsed
+     */
+    public AgentFlightRecording(final JfrProperties props, final ResourceLoader resourceLoader)
+            throws IOException, ParseException {
+        final Map<String, String> settings =
+                new HashMap<>(Configuration.getConfiguration(props.base()).getSettings());
+        try (Reader reader = new InputStreamReader(
+                resourceLoader.getResource(props.settings()).getInputStream(), StandardCharsets.UTF_8)) {
+            settings.putAll(Configuration.create(reader).getSettings());
+        }
+        final Path destination = Path.of(props.file()).toAbsolutePath();
+        Files.createDirectories(destination.getParent());
+
+        this.recording = new Recording(settings);
+        recording.setName("ai-test-data-generation");
+        recording.setToDisk(true);
+        recording.setMaxAge(props.maxAge());
+        recording.setDestination(destination);
+        recording.start();
+        log.info("🎥 JFR recording started: base={} settings={} → {}", props.base(), props.settings(), destination);
+    }
+
+    @Override
+    public void destroy() {
+        recording.stop();
+        recording.close();
+        log.info("🎥 JFR recording written");
+    }
+}
@@ -0,0 +1,59 @@
+package github.ai.qa.solutions.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** JFR event spanning one routed {@code ChatClient} call; emitted by {@link ModelCallEventAdvisor}. */
+@Name("aitdg.ModelCall")
+@Label("Model Call")
+@Category({"AI Test Data Generation", "Model"})
+@Description("Routed chat client call with prompt/response size and token counts")
+@StackTrace(false)
+public class ModelCallEvent extends jdk.jfr.Event {
+    /** Run identifier; empty outside graph runs. */
+    @Label("Run Id")
+    public String runId;
+
+    /** Graph node running the call; {@code none} outside graph runs. */
+    @Label("Node")
+    public String node;
+
+    /** Node/tool that requested the client from the router. */
+    @Label("Client")
+    public String client;
+
+    /** Model family. */
+    @Label("Family")
+    public String family;
+
+    /** Configured model label. */
+    @Label("Model")
+    public String model;
+
+    /** Prompt size in characters. */
+    @Label("Prompt Chars")
+    public int promptChars;
+
+    /** Response size in characters. */
+    @Label("Response Chars")
+    public int responseChars;
+
+    /** Prompt tokens. */
+    @Label("Prompt Tokens")
+    public int promptTokens;
+
+    /** Completion tokens. */
+    @Label("Completion Tokens")
+    public int completionTokens;
+
+    /** Whether token counts were estimated locally. */
+    @Label("Tokens Estimated")
+    public boolean tokensEstimated;
+
+    /** {@code ok} or the simple name of the thrown exception. */
+    @Label("Outcome")
+    public String outcome;
+}
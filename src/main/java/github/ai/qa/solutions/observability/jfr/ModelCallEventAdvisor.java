@@ -0,0 +1,120 @@
+package github.ai.qa.solutions.observability.jfr;
+
+import github.ai.qa.solutions.observability.RunContext;
+import github.ai.qa.solutions.observability.TokenEstimator;
+import github.ai.qa.solutions.observability.TokenUsage;
+import github.ai.qa.solutions.services.ModelRoute;
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisor;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisorChain;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+/**
+ * Emits a {@link ModelCallEvent} per routed model call. Costs a single {@code isEnabled()} check when the
+ * event is not recorded. A streamed call is committed when its stream ends; a cancelled stream has outcome
+ * {@code cancelled}, and tokens the provider did not report are estimated from the text received.
+ */
+@Component
+public class ModelCallEventAdvisor implements CallAdvisor, StreamAdvisor {
+
+    @Override
+    public String getName() {
+        return "ModelCallEventAdvisor";
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 60;
+    }
+
+    @Override
+    public ChatClientResponse adviseCall(final ChatClientRequest request, final CallAdvisorChain chain) {
+        final ModelCallEvent event = new ModelCallEvent();
+        if (!event.isEnabled()) return chain.nextCall(request);
+        begin(event, request);
+        try {
+            final ChatClientResponse response = chain.nextCall(request);
+            final ChatResponse chat = response.chatResponse();
+            final String text = chat == null || chat.getResult() == null
+                    ? null
+                    : chat.getResult().getOutput().getText();
+            event.responseChars = text == null ? 0 : text.length();
+            if (response.context().get(TokenUsage.CONTEXT_KEY) instanceof TokenUsage tokens) {
+                event.promptTokens = tokens.promptTokens();
+                event.completionTokens = tokens.completionTokens();
+                event.tokensEstimated = tokens.estimated();
+            }
+            event.outcome = "ok";
+            return response;
+        } catch (RuntimeException e) {
+            event.outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            event.commit();
+        }
+    }
+
+    @Override
+    public Flux<ChatClientResponse> adviseStream(final ChatClientRequest request, final StreamAdvisorChain chain) {
+        final ModelCallEvent event = new ModelCallEvent();
+        if (!event.isEnabled()) return chain.nextStream(request);
+        begin(event, request);
+        final StringBuilder text = new StringBuilder();
+        final AtomicReference<Usage> reported = new AtomicReference<>();
+        final AtomicReference<String> outcome = new AtomicReference<>("cancelled");
+        return chain.nextStream(request)
+                .doOnNext(response -> {
+                    final ChatResponse chat = response.chatResponse();
+                    if (chat == null) return;
+                    final Usage usage = chat.getMetadata().getUsage();
+                    if (usage != null && usage.getCompletionTokens() != null && usage.getCompletionTokens() > 0) {
+                        reported.set(usage);
+                    }
+                    if (chat.getResult() != null && chat.getResult().getOutput().getText() != null) {
+                        text.append(chat.getResult().getOutput().getText());
+                    }
+                })
+                .doOnComplete(() -> outcome.set("ok"))
+                .doOnError(e -> outcome.set(e.getClass().getSimpleName()))
+                .doFinally(signal -> {
+                    final Usage usage = reported.get();
+                    final boolean promptReported = usage != null
+                            && usage.getPromptTokens() != null
+                            && usage.getPromptTokens() > 0;
+                    event.responseChars = text.length();
+                    event.promptTokens = promptReported
+                            ? usage.getPromptTokens()
+                            : TokenEstimator.estimate(request.prompt().getInstructions());
+                    event.completionTokens =
+                            usage == null ? TokenEstimator.estimate(text) : usage.getCompletionTokens();
+                    event.tokensEstimated = !promptReported || usage == null;
+                    event.outcome = outcome.get();
+                    event.commit();
+                });
+    }
+
+    /**
+     * Starts the event and fills in what the request tells about the call.
+     *
+     * @param event   event to begin
+     * @param request request
+     */
+    private static void begin(final ModelCallEvent event, final ChatClientRequest request) {
+        event.begin();
+        final ModelRoute route = ModelRoute.of(request);
+        event.client = route.nodeOrTool();
+        event.family = route.family();
+        event.model = route.modelLabel();
+        event.runId = RunContext.current().map(RunContext::runId).orElse("");
+        event.node = RunContext.current().map(c -> c.node().id).orElse("none");
+        event.promptChars = TokenEstimator.chars(request.prompt().getInstructions());
+    }
+}
@@ -0,0 +1,31 @@
+package github.ai.qa.solutions.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** JFR event spanning one graph node execution; emitted by the node wrapper. */
+@Name("aitdg.NodeExecution")
+@Label("Node Execution")
+@Category({"AI Test Data Generation", "Graph"})
+@Description("Execution of one graph node")
+@StackTrace(false)
+public class NodeExecutionEvent extends jdk.jfr.Event {
+    /** Run identifier. */
+    @Label("Run Id")
+    public String runId;
+
+    /** Node id ({@code NodeId.id}). */
+    @Label("Node")
+    public String node;
+
+    /** {@code ok} or the simple name of the thrown exception. */
+    @Label("Outcome")
+    public String outcome;
+
+    /** Decision written by the node, if any. */
+    @Label("Decision")
+    public String decision;
+}
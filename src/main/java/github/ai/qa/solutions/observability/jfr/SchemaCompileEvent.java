@@ -0,0 +1,35 @@
+package github.ai.qa.solutions.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** JFR event spanning one JSON Schema compilation (or cache lookup). */
+@Name("aitdg.SchemaCompile")
+@Label("Schema Compile")
+@Category({"AI Test Data Generation", "Schema"})
+@Description("JSON Schema compilation during version detection, schema checks or validation")
+@StackTrace(false)
+public class SchemaCompileEvent extends jdk.jfr.Event {
+    /** Why the schema was compiled: {@code detect}, {@code check} or {@code validate}. */
+    @Label("Purpose")
+    public String purpose;
+
+    /** Draft version used. */
+    @Label("Version")
+    public String version;
+
+    /** Schema size in characters. */
+    @Label("Schema Chars")
+    public int schemaChars;
+
+    /** Whether a previously compiled schema was reused. */
+    @Label("Cache Hit")
+    public boolean cacheHit;
+
+    /** Whether compilation succeeded. */
+    @Label("Success")
+    public boolean success;
+}
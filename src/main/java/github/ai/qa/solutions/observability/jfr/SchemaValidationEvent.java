@@ -0,0 +1,27 @@
+package github.ai.qa.solutions.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** JFR event spanning validation of one document against a compiled schema. */
+@Name("aitdg.SchemaValidation")
+@Label("Schema Validation")
+@Category({"AI Test Data Generation", "Schema"})
+@Description("Validation of a JSON document against a compiled JSON Schema")
+@StackTrace(false)
+public class SchemaValidationEvent extends jdk.jfr.Event {
+    /** Draft version used. */
+    @Label("Version")
+    public String version;
+
+    /** Document size in characters. */
+    @Label("Document Chars")
+    public int documentChars;
+
+    /** Number of validation errors. */
+    @Label("Error Count")
+    public int errorCount;
+}
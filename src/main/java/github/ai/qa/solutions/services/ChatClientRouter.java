@@ -4,4 +4,30 @@ import org.springframework.ai.chat.client.ChatClient;
 
 public interface ChatClientRouter {
     ChatClient forNode(String nodeOrToolSimpleName);
+
+    /**
+     * Resolves the client for a call whose answer size follows from a schema; routers that size the output budget
+     * per call override this.
+     *
+     * @param nodeOrToolSimpleName simple class name of node/tool
+     * @param jsonSchema           schema the answer relates to; may be null
+     * @return a non-null {@link ChatClient}
+     */
+    default ChatClient forNode(final String nodeOrToolSimpleName, final String jsonSchema) {
+        return forNode(nodeOrToolSimpleName);
+    }
+
+    /**
+     * Resolves the client for a call that answers with a JSON document; routers that support provider-side
+     * structured output override this.
+     *
+     * @param nodeOrToolSimpleName simple class name of node/tool
+     * @param jsonSchema           schema the answer relates to; may be null
+     * @param responseSchema       schema of the answer document, usable as a response format; may be null
+     * @return a non-null {@link ChatClient}
+     */
+    default ChatClient forNode(
+            final String nodeOrToolSimpleName, final String jsonSchema, final String responseSchema) {
+        return forNode(nodeOrToolSimpleName, jsonSchema);
+    }
 }
@@ -0,0 +1,337 @@
+package github.ai.qa.solutions.services;
+
+import github.ai.qa.solutions.components.json.StreamingJsonGuard;
+import github.ai.qa.solutions.components.json.StreamingJsonGuard.Inspection;
+import github.ai.qa.solutions.components.json.StreamingJsonGuard.Violation;
+import github.ai.qa.solutions.configuration.ContinuationProperties;
+import github.ai.qa.solutions.configuration.StreamingProperties;
+import github.ai.qa.solutions.configuration.StreamingProperties.OnViolation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Locale;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Runs JSON-producing prompts of the generator and fixer tools.
+ *
+ * <p><b>Streaming</b> ({@code ai.streaming.enabled}): the answer is streamed and inspected by
+ * {@link StreamingJsonGuard} while it arrives. A stream that breaks the schema structure (preamble, wrong
+ * container type, disallowed property) is cancelled on the spot, which also stops the provider from generating
+ * the rest. Depending on {@code ai.streaming.on-violation} the prompt is retried at once, or the well-formed part
+ * received so far is returned so that validation and the fixer take over. Models that cannot stream fall back to
+ * a blocking call. Aborts are counted in {@code agent.stream.aborts} (tags {@code caller}, {@code kind}).</p>
+ *
+ * <p><b>Continuation</b> ({@code ai.continuation.enabled}): an answer cut off by the token limit (finish reason
+ * {@code length}, or a JSON document left open) is sent back as the assistant turn with a request to continue
+ * from the exact cut point; the pieces are stitched and checked again, up to
+ * {@code ai.continuation.max-continuations} times. If that does not close the document, the answer is passed on
+ * as is and the run regenerates as before. Outcomes are counted in {@code agent.continuations} (tags
+ * {@code caller}, {@code outcome}).</p>
+ *
+ * <p><b>Structured output</b> ({@code ai.structured-output.enabled}): callers that pass a response schema get it
+ * as a provider response format where {@link StructuredOutput} supports it; a provider that rejects it is asked
+ * again without. Continuations never carry the format, since they answer with a fragment.</p>
+ */
+@Service
+public class JsonCompletion {
+    /** Logs aborted streams and continuations. */
+    private static final Logger log = LoggerFactory.getLogger(JsonCompletion.class);
+    /** Finish reasons meaning the token limit cut the answer (OpenAI, GigaChat, Anthropic spellings). */
+    private static final Set<String> LENGTH_FINISH_REASONS = Set.of("length", "max_tokens");
+    /** Request for the rest of a cut-off answer. */
+    static final String CONTINUE_INSTRUCTION =
+            """
+            Your previous answer was cut off by the output limit. Continue it from the exact character where it \
+            stopped. Output only the missing remainder: do not repeat anything already written, do not restart \
+            the document, no markdown, no explanations.""";
+    /** Chat clients per node/tool. */
+    private final ChatClientRouter router;
+    /** Streaming settings. */
+    private final StreamingProperties streaming;
+    /** Continuation settings. */
+    private final ContinuationProperties continuation;
+    /** Structural inspection of answers. */
+    private final StreamingJsonGuard guard;
+    /** Abort and continuation counters. */
+    private final MeterRegistry registry;
+    /** Provider-side structured output; null when not available. */
+    private final StructuredOutput structuredOutput;
+
+    /**
+     * Creates the completion helper with provider-side structured output.
+     *
+     * @param router           chat clients per node/tool
+     * @param streaming        streaming settings
+     * @param continuation     continuation settings
+     * @param guard            structural inspection
+     * @param registry         meter registry
+     * @param structuredOutput structured output; null keeps prompt-only JSON
+     */
+    @Autowired
+    public JsonCompletion(
+            final ChatClientRouter router,
+            final StreamingProperties streaming,
+            final ContinuationProperties continuation,
+            final StreamingJsonGuard guard,
+            final MeterRegistry registry,
+            final StructuredOutput structuredOutput) {
+        this.router = router;
+        this.streaming = streaming;
+        this.continuation = continuation;
+        this.guard = guard;
+        this.registry = registry;
+        this.structuredOutput = structuredOutput;
+    }
+
+    /**
+     * Runs a prompt that must answer with JSON matching {@code jsonSchema}.
+     *
+     * @param prompt     prompt parts
+     * @param jsonSchema schema the answer must follow
+     * @return model answer, continued when it was cut off; after a streaming abort without retries left, the
+     *     well-formed partial structure
+     */
+    public String complete(final JsonPrompt prompt, final String jsonSchema) {
+        return complete(prompt, jsonSchema, null);
+    }
+
+    /**
+     * Runs a prompt whose answer document may be constrained by a provider response format.
+     *
+     * @param prompt         prompt parts
+     * @param jsonSchema     schema the answer must follow; drives inspection and the output budget
+     * @param responseSchema schema sent as the response format where supported; null for prompt-only JSON
+     * @return model answer, continued when it was cut off
+     */
+    public String complete(final JsonPrompt prompt, final String jsonSchema, final String responseSchema) {
+        final Answer answer = streaming.enabled()
+                ? streamed(prompt, jsonSchema, responseSchema)
+                : called(prompt, jsonSchema, responseSchema);
+        if (!answer.truncated() || !continuation.enabled()) return answer.text();
+        return continued(prompt, jsonSchema, answer.text());
+    }
+
+    /**
+     * Answer of one attempt.
+     *
+     * @param text      answer text
+     * @param truncated whether it was cut off
+     */
+    private record Answer(String text, boolean truncated) {}
+
+    /**
+     * Blocking call.
+     *
+     * @param prompt         prompt parts
+     * @param jsonSchema     schema, sizes the output budget
+     * @param responseSchema response format schema, may be null
+     * @return answer with its truncation state
+     */
+    private Answer called(final JsonPrompt prompt, final String jsonSchema, final String responseSchema) {
+        final ChatResponse response;
+        try {
+            response = request(prompt, jsonSchema, responseSchema).call().chatResponse();
+        } catch (RuntimeException e) {
+            if (!degraded(prompt, responseSchema, e)) throw e;
+            return called(prompt, jsonSchema, null);
+        }
+        return answer(response, content(response));
+    }
+
+    /**
+     * Streamed call with structural early abort.
+     *
+     * @param prompt         prompt parts
+     * @param jsonSchema     schema
+     * @param responseSchema response format schema, may be null
+     * @return answer; the partial structure after an abort without retries left
+     */
+    private Answer streamed(final JsonPrompt prompt, final String jsonSchema, final String responseSchema) {
+        String format = responseSchema;
+        for (int attempt = 0; ; attempt++) {
+            final Inspection inspection = guard.open(jsonSchema);
+            try {
+                request(prompt, jsonSchema, format)
+                        .stream()
+                        .content()
+                        .takeUntil(chunk -> inspection.accept(chunk).isPresent())
+                        .blockLast();
+            } catch (UnsupportedOperationException e) {
+                log.debug("Model behind {} cannot stream, using a blocking call", prompt.caller());
+                return called(prompt, jsonSchema, format);
+            } catch (RuntimeException e) {
+                if (!degraded(prompt, format, e)) throw e;
+                format = null;
+                attempt--;
+                continue;
+            }
+            final Violation violation = inspection.violation().orElse(null);
+            if (violation == null) return answer(null, inspection.text());
+
+            Counter.builder("agent.stream.aborts")
+                    .description("Streamed completions cancelled on a structural violation")
+                    .tag("caller", prompt.caller())
+                    .tag("kind", violation.kind().name())
+                    .register(registry)
+                    .increment();
+            final boolean retry = streaming.onViolation() == OnViolation.RETRY && attempt < streaming.maxRetries();
+            log.warn(
+                    "✂️ {} stream aborted after {} chars: {} at {} ({}){}",
+                    prompt.caller(),
+                    inspection.text().length(),
+                    violation.kind(),
+                    violation.path(),
+                    violation.detail(),
+                    retry ? ", retrying" : "");
+            if (retry) continue;
+            return new Answer(inspection.partial().isEmpty() ? inspection.text() : inspection.partial(), false);
+        }
+    }
+
+    /**
+     * Requests continuations of a cut-off answer and stitches them on.
+     *
+     * @param prompt     prompt parts
+     * @param jsonSchema schema, sizes the output budget
+     * @param cut        cut-off answer
+     * @return the stitched answer when it closes the document, otherwise the longest text obtained
+     */
+    private String continued(final JsonPrompt prompt, final String jsonSchema, final String cut) {
+        String text = cut;
+        for (int i = 1; i <= continuation.maxContinuations(); i++) {
+            final ChatResponse response = router.forNode(prompt.caller(), jsonSchema)
+                    .prompt()
+                    .system(prompt.system())
+                    .messages(new UserMessage(prompt.user()), new AssistantMessage(text))
+                    .user(CONTINUE_INSTRUCTION)
+                    .call()
+                    .chatResponse();
+            final String stitched = stitch(text, content(response));
+            final Answer answer = answer(response, stitched);
+            log.info(
+                    "🧵 {} answer cut at {} chars, continuation {} added {} chars{}",
+                    prompt.caller(),
+                    text.length(),
+                    i,
+                    stitched.length() - text.length(),
+                    answer.truncated() ? ", still open" : "");
+            if (stitched.length() == text.length()) break; // no progress
+            text = stitched;
+            if (!answer.truncated()) {
+                final boolean wellFormed = guard.open(null).accept(text).isEmpty();
+                count(prompt.caller(), wellFormed ? "stitched" : "malformed");
+                return text;
+            }
+        }
+        count(prompt.caller(), "failed");
+        log.warn("🧵 {} answer still cut off after continuations, passing it on", prompt.caller());
+        return text;
+    }
+
+    /**
+     * Joins a continuation to the cut-off text. A continuation that restarts the document from scratch replaces
+     * it; a leading Markdown fence line is dropped.
+     *
+     * @param cut          cut-off text
+     * @param continuation continuation text
+     * @return stitched text
+     */
+    static String stitch(final String cut, final String continuation) {
+        if (continuation == null || continuation.isBlank()) return cut;
+        String rest = continuation;
+        if (rest.stripLeading().startsWith("```")) {
+            final int newline = rest.indexOf('\n');
+            rest = newline < 0 ? "" : rest.substring(newline + 1);
+        }
+        final String head = cut.stripLeading();
+        final String restart = rest.stripLeading();
+        if (!head.isEmpty() && !restart.isEmpty() && restart.length() >= head.length() && restart.startsWith(head)) {
+            return restart;
+        }
+        return cut + rest;
+    }
+
+    /**
+     * Builds the request of a prompt.
+     *
+     * @param prompt         prompt parts
+     * @param jsonSchema     schema, sizes the output budget
+     * @param responseSchema response format schema, may be null
+     * @return request spec for the prompt's routed client
+     */
+    private ChatClient.ChatClientRequestSpec request(
+            final JsonPrompt prompt, final String jsonSchema, final String responseSchema) {
+        return router.forNode(prompt.caller(), jsonSchema, responseSchema)
+                .prompt()
+                .system(prompt.system())
+                .user(prompt.user());
+    }
+
+    /**
+     * Whether a failed structured call should be repeated as prompt-only JSON.
+     *
+     * @param prompt         prompt parts
+     * @param responseSchema response format schema of the failed call, may be null
+     * @param error          failure
+     * @return true when the provider rejected the response format
+     */
+    private boolean degraded(final JsonPrompt prompt, final String responseSchema, final RuntimeException error) {
+        return structuredOutput != null && structuredOutput.degrade(prompt.caller(), responseSchema != null, error);
+    }
+
+    /**
+     * Truncation state of an answer: cut off when the document is left open, or when the finish reason reports
+     * the token limit and the document was not closed.
+     *
+     * @param response model response of the last piece
+     * @param text     (stitched) answer text
+     * @return answer
+     */
+    private Answer answer(final ChatResponse response, final String text) {
+        final Generation result = response == null ? null : response.getResult();
+        final String reason = result == null ? null : result.getMetadata().getFinishReason();
+        final boolean lengthLimited = reason != null && LENGTH_FINISH_REASONS.contains(reason.toLowerCase(Locale.ROOT));
+        final Inspection inspection = guard.open(null);
+        inspection.accept(text);
+        final boolean truncated = lengthLimited
+                ? !inspection.closed() && inspection.violation().isEmpty()
+                : inspection.truncated();
+        return new Answer(text, truncated);
+    }
+
+    /**
+     * Text of a response.
+     *
+     * @param response model response
+     * @return text, or an empty string
+     */
+    private static String content(final ChatResponse response) {
+        final Generation result = response == null ? null : response.getResult();
+        final String text = result == null ? null : result.getOutput().getText();
+        return text == null ? "" : text;
+    }
+
+    /**
+     * Counts a continuation outcome.
+     *
+     * @param caller  node/tool name
+     * @param outcome {@code stitched}, {@code malformed} or {@code failed}
+     */
+    private void count(final String caller, final String outcome) {
+        Counter.builder("agent.continuations")
+                .description("Continuations of truncated JSON answers, by outcome")
+                .tag("caller", caller)
+                .tag("outcome", outcome)
+                .register(registry)
+                .increment();
+    }
+}
@@ -0,0 +1,10 @@
+package github.ai.qa.solutions.services;
+
+/**
+ * A JSON-producing prompt, kept as parts so that it can be re-sent with a continuation appended.
+ *
+ * @param caller node/tool simple name, used for routing, logs and metrics
+ * @param user   user message
+ * @param system system instructions
+ */
+public record JsonPrompt(String caller, String user, String system) {}
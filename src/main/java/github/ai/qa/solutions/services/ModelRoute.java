@@ -0,0 +1,45 @@
+package github.ai.qa.solutions.services;
+
+import java.util.Optional;
+import org.springframework.ai.chat.client.ChatClientRequest;
+
+/**
+ * Routing decision attached by {@link NodeModelChatClientRouter} to every request of a routed client, so
+ * advisors can attribute a model call to the node/tool that made it.
+ *
+ * @param nodeOrTool node or tool simple name passed to {@link ChatClientRouter#forNode(String)}
+ * @param family     resolved family: {@code GigaChat} or {@code OpenRouter}
+ * @param modelLabel configured model, or {@code <default>} / {@code <heuristic>}
+ * @param maxTokens  per-call output budget set by {@link OutputBudget}, or null for the provider default
+ */
+public record ModelRoute(String nodeOrTool, String family, String modelLabel, Integer maxTokens) {
+    /** Advisor context key holding the route. */
+    public static final String CONTEXT_KEY = "aitdg.route";
+
+    /** Route used when a request was not created through the router. */
+    public static final ModelRoute UNROUTED = new ModelRoute("unrouted", "unknown", "<none>");
+
+    /**
+     * Route with the provider's default output budget.
+     *
+     * @param nodeOrTool node or tool simple name
+     * @param family     resolved family
+     * @param modelLabel model label
+     */
+    public ModelRoute(final String nodeOrTool, final String family, final String modelLabel) {
+        this(nodeOrTool, family, modelLabel, null);
+    }
+
+    /**
+     * Reads the route from an advisor request.
+     *
+     * @param request advisor request
+     * @return route, or {@link #UNROUTED}
+     */
+    public static ModelRoute of(final ChatClientRequest request) {
+        return Optional.ofNullable(request.context().get(CONTEXT_KEY))
+                .filter(ModelRoute.class::isInstance)
+                .map(ModelRoute.class::cast)
+                .orElse(UNROUTED);
+    }
+}
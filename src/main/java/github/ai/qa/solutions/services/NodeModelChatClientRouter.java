@@ -1,12 +1,22 @@
 package github.ai.qa.solutions.services;
 
 import github.ai.qa.solutions.configuration.AiClientsConfiguration;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.client.advisor.api.Advisor;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
+import org.springframework.ai.chat.prompt.ChatOptions;
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
@@ -19,6 +29,14 @@ import org.springframework.stereotype.Service;
  * - heuristic by name → OpenRouter for validate/think/reason, otherwise GigaChat
  *
  * <p>For testability, the pure decision is exposed by {@link #decideFamily(String, Map)}.</p>
+ *
+ * <p>When call advisors are registered (token accounting, tracing), the resolved client is decorated with them
+ * and with the {@link ModelRoute} in the advisor context; decorated clients are cached per node and client.</p>
+ *
+ * <p>Calls resolved with a schema ({@link #forNode(String, String)}) also get a per-call {@code max-tokens} from
+ * {@link OutputBudget} as default options, so a routing decision does not reserve the output of a document.
+ * Calls that answer with a document ({@link #forNode(String, String, String)}) may additionally carry a response
+ * format from {@link StructuredOutput}; such clients are built per call instead of being cached.</p>
  */
 @Service
 public class NodeModelChatClientRouter implements ChatClientRouter {
@@ -30,6 +48,16 @@ public class NodeModelChatClientRouter implements ChatClientRouter {
     private final ObjectProvider<ChatClient> openRouterClient;
     /** Node/tool → model mapping from external configuration. */
     private final AiClientsConfiguration.NodeModelRoutingProperties props;
+    /** Advisors applied to every routed client; empty means clients are returned as-is. */
+    private final List<Advisor> advisors;
+    /** Per-call output budget; null keeps the provider default for every call. */
+    private final OutputBudget budget;
+    /** Provider-side structured output; null keeps prompt-only JSON. */
+    private final StructuredOutput structuredOutput;
+    /** Decorated clients per node/tool and resolved client. */
+    private final Map<RoutedClientKey, ChatClient> decorated = new ConcurrentHashMap<>();
+    /** Routing decisions per resolved family. */
+    private final Map<String, LongAdder> familyRoutes = new ConcurrentHashMap<>();
 
     /** Node/tool simple names routed to OpenRouter by default. */
     static final Set<String> DEFAULT_OPENROUTER = Set.of(
@@ -49,21 +77,40 @@ public class NodeModelChatClientRouter implements ChatClientRouter {
             "GenerateJsonBySchemaTool", "FixValidationErrorsInJsonTool");
 
     /**
-     * Creates a router with two families and external routing properties.
+     * Creates a router with call advisors, per-call output budgets and provider-side structured output.
      *
      * @param gigaChatClient   provider for GigaChat chat client
      * @param openRouterClient provider for OpenRouter chat client
      * @param props            configured node→model overrides
+     * @param advisors         call advisors applied to every routed client
+     * @param budget           per-call output budget; null keeps provider defaults
+     * @param structuredOutput structured output; null keeps prompt-only JSON
      */
+    @Autowired
     public NodeModelChatClientRouter(
             @Qualifier("generativeChatClient") final ObjectProvider<ChatClient> gigaChatClient,
             @Qualifier("thinkingChatClient") final ObjectProvider<ChatClient> openRouterClient,
-            final AiClientsConfiguration.NodeModelRoutingProperties props) {
+            final AiClientsConfiguration.NodeModelRoutingProperties props,
+            final List<CallAdvisor> advisors,
+            final OutputBudget budget,
+            final StructuredOutput structuredOutput) {
         this.gigaChatClient = gigaChatClient;
         this.openRouterClient = openRouterClient;
         this.props = props;
+        this.advisors = List.copyOf(advisors);
+        this.budget = budget;
+        this.structuredOutput = structuredOutput;
     }
 
+    /**
+     * Cache key for decorated clients.
+     *
+     * @param nodeOrTool node/tool simple name
+     * @param client     undecorated client (identity)
+     * @param maxTokens  output budget, or null for the provider default
+     */
+    private record RoutedClientKey(String nodeOrTool, ChatClient client, Integer maxTokens) {}
+
     /** Minimal holder for a routing decision. */
     static final class Decision {
         /** Selected family: "GigaChat" or "OpenRouter". */
@@ -108,11 +155,59 @@ public class NodeModelChatClientRouter implements ChatClientRouter {
      */
     @Override
     public ChatClient forNode(final String nodeOrToolSimpleName) {
+        return forNode(nodeOrToolSimpleName, null);
+    }
+
+    /**
+     * Resolves the client and sizes its output budget from the schema.
+     *
+     * @param nodeOrToolSimpleName simple class name of node/tool
+     * @param jsonSchema           schema the answer relates to; null keeps the provider default budget
+     * @return a non-null {@link ChatClient}
+     * @throws IllegalStateException when neither family is available
+     */
+    @Override
+    public ChatClient forNode(final String nodeOrToolSimpleName, final String jsonSchema) {
+        return forNode(nodeOrToolSimpleName, jsonSchema, null);
+    }
+
+    /**
+     * Resolves the client of a document-producing call, with a response format when structured output applies.
+     *
+     * @param nodeOrToolSimpleName simple class name of node/tool
+     * @param jsonSchema           schema the answer relates to; null keeps the provider default budget
+     * @param responseSchema       schema of the answer document; null for prompt-only JSON
+     * @return a non-null {@link ChatClient}
+     * @throws IllegalStateException when neither family is available
+     */
+    @Override
+    public ChatClient forNode(
+            final String nodeOrToolSimpleName, final String jsonSchema, final String responseSchema) {
         final Decision d = decideFamily(nodeOrToolSimpleName, props.nodes());
+        final Schemas schemas = new Schemas(jsonSchema, responseSchema);
         if ("GigaChat".equals(d.family)) {
-            return pickAndLog(nodeOrToolSimpleName, d.family, d.modelLabel, gigaChatClient, openRouterClient);
+            return pickAndLog(nodeOrToolSimpleName, d.family, d.modelLabel, gigaChatClient, openRouterClient, schemas);
         }
-        return pickAndLog(nodeOrToolSimpleName, d.family, d.modelLabel, openRouterClient, gigaChatClient);
+        return pickAndLog(nodeOrToolSimpleName, d.family, d.modelLabel, openRouterClient, gigaChatClient, schemas);
+    }
+
+    /**
+     * Schemas of a call.
+     *
+     * @param jsonSchema     schema sizing the output budget; may be null
+     * @param responseSchema schema for a response format; may be null
+     */
+    private record Schemas(String jsonSchema, String responseSchema) {}
+
+    /**
+     * Routing decisions taken since start, per resolved family (after fallback).
+     *
+     * @return family → number of {@link #forNode(String)} calls routed to it
+     */
+    public Map<String, Long> familyDistribution() {
+        final Map<String, Long> out = new TreeMap<>();
+        familyRoutes.forEach((family, count) -> out.put(family, count.sum()));
+        return out;
     }
 
     /**
@@ -143,7 +238,8 @@ public class NodeModelChatClientRouter implements ChatClientRouter {
             final String preferredFamily,
             final String modelLabel,
             final ObjectProvider<ChatClient> preferred,
-            final ObjectProvider<ChatClient> fallback) {
+            final ObjectProvider<ChatClient> fallback,
+            final Schemas schemas) {
         ChatClient chatClient = preferred.getIfAvailable();
         String family;
         if (chatClient != null) {
@@ -156,7 +252,33 @@ public class NodeModelChatClientRouter implements ChatClientRouter {
             throw new IllegalStateException(
                     "No ChatClient beans available for routing. Ensure profiles are configured.");
         }
-        log.info("🎯 Route [{}] → family={} model={}", nodeName, family, modelLabel);
-        return chatClient;
+        final OptionalInt maxTokens =
+                budget == null ? OptionalInt.empty() : budget.maxTokens(nodeName, family, schemas.jsonSchema());
+        final Integer limit = maxTokens.isPresent() ? maxTokens.getAsInt() : null;
+        log.info(
+                "🎯 Route [{}] → family={} model={} maxTokens={}",
+                nodeName,
+                family,
+                modelLabel,
+                limit == null ? "default" : limit);
+        familyRoutes.computeIfAbsent(family, k -> new LongAdder()).increment();
+        final ChatClient resolved = chatClient;
+        final ModelRoute route = new ModelRoute(nodeName, family, modelLabel, limit);
+        final Optional<ChatOptions> structured = structuredOutput == null
+                ? Optional.empty()
+                : structuredOutput.options(nodeName, family, limit, schemas.responseSchema());
+        if (structured.isPresent()) {
+            return resolved.mutate()
+                    .defaultAdvisors(a -> a.param(ModelRoute.CONTEXT_KEY, route).advisors(advisors))
+                    .defaultOptions(structured.get())
+                    .build();
+        }
+        if (advisors.isEmpty() && limit == null) return chatClient;
+        return decorated.computeIfAbsent(new RoutedClientKey(nodeName, resolved, limit), k -> {
+            final ChatClient.Builder builder = resolved.mutate()
+                    .defaultAdvisors(a -> a.param(ModelRoute.CONTEXT_KEY, route).advisors(advisors));
+            if (limit != null) builder.defaultOptions(ChatOptions.builder().maxTokens(limit).build());
+            return builder.build();
+        });
     }
 }
@@ -0,0 +1,241 @@
+package github.ai.qa.solutions.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import github.ai.qa.solutions.configuration.OutputBudgetProperties;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Set;
+import org.springframework.stereotype.Component;
+
+/**
+ * Estimates the output a routed call needs, so that {@code max-tokens} fits the answer instead of one global value
+ * per provider.
+ *
+ * <p>The estimate depends on what the caller answers with:</p>
+ * - routing decisions ({@code *Reason*}): a fixed, small budget
+ * - plans ({@code *Think*}): a fixed part plus a share per schema field
+ * - JSON documents ({@code *Generate*}, {@code *Fix*}): the size of a document that fills every property of the
+ *   schema, times the headroom; arrays count {@code minItems} elements, strings their length bounds or format
+ *
+ * <p>The result gets the family's reasoning reserve and is clamped to the configured bounds. Callers of other
+ * kinds, and calls without a schema, keep the provider default. A budget that turns out too small still ends in a
+ * {@code length} finish reason, which {@link JsonCompletion} continues.</p>
+ */
+@Component
+public class OutputBudget {
+    /** Depth limit of the schema walk (guards against deeply recursive definitions). */
+    private static final int MAX_DEPTH = 24;
+    /** Assumed string length when the schema gives no bound, in characters. */
+    private static final int DEFAULT_STRING_CHARS = 24;
+    /** Upper bound of the assumed length of a single string, in characters. */
+    private static final int MAX_STRING_CHARS = 2000;
+    /** Granularity of budgets, in tokens. */
+    private static final int BUDGET_STEP = 64;
+    /** Upper bound of array elements counted. */
+    private static final int MAX_ITEMS = 200;
+    /** Tokens of typical string formats, quotes included. */
+    private static final Map<String, Integer> FORMAT_TOKENS = Map.of(
+            "date", 6,
+            "date-time", 12,
+            "time", 6,
+            "email", 10,
+            "uuid", 22,
+            "uri", 16,
+            "ipv4", 8,
+            "ipv6", 16,
+            "hostname", 8);
+    /** Schema parser. */
+    private final ObjectMapper objectMapper;
+    /** Budget settings. */
+    private final OutputBudgetProperties props;
+
+    /**
+     * Creates the estimator.
+     *
+     * @param objectMapper schema parser
+     * @param props        budget settings
+     */
+    public OutputBudget(final ObjectMapper objectMapper, final OutputBudgetProperties props) {
+        this.objectMapper = objectMapper;
+        this.props = props;
+    }
+
+    /**
+     * Budget of a call.
+     *
+     * @param nodeOrTool caller simple name
+     * @param family     resolved model family
+     * @param jsonSchema schema the answer relates to; may be null
+     * @return {@code max-tokens} for the call, or empty to keep the provider default
+     */
+    public OptionalInt maxTokens(final String nodeOrTool, final String family, final String jsonSchema) {
+        if (!props.enabled() || jsonSchema == null || jsonSchema.isBlank()) return OptionalInt.empty();
+        final JsonNode schema;
+        try {
+            schema = objectMapper.readTree(jsonSchema);
+        } catch (Exception e) {
+            return OptionalInt.empty();
+        }
+        if (schema == null || !schema.isObject()) return OptionalInt.empty();
+
+        final long estimate;
+        if (nodeOrTool.contains("Reason")) {
+            estimate = props.routingTokens();
+        } else if (nodeOrTool.contains("Think")) {
+            estimate = props.planBaseTokens() + (long) props.planFieldTokens() * fields(schema);
+        } else if (nodeOrTool.contains("Generate") || nodeOrTool.contains("Fix")) {
+            estimate = Math.round(documentTokens(schema) * props.headroom());
+        } else {
+            return OptionalInt.empty();
+        }
+        final long reserved = estimate + props.reasoningReserve().getOrDefault(family, 0);
+        // Rounded up so that routed clients, cached per budget, stay few
+        final long rounded = (reserved + BUDGET_STEP - 1) / BUDGET_STEP * BUDGET_STEP;
+        return OptionalInt.of((int) Math.max(props.minTokens(), Math.min(props.maxTokens(), rounded)));
+    }
+
+    /**
+     * Tokens of a JSON document filling every property of the schema.
+     *
+     * @param schema parsed schema
+     * @return estimated tokens
+     */
+    long documentTokens(final JsonNode schema) {
+        return tokens(schema, schema, 0, new HashSet<>());
+    }
+
+    /**
+     * Number of properties declared anywhere in the schema, a proxy for the length of a per-field plan.
+     *
+     * @param schema parsed schema
+     * @return property count
+     */
+    static int fields(final JsonNode schema) {
+        int count = 0;
+        final Iterator<Map.Entry<String, JsonNode>> it = schema.fields();
+        while (it.hasNext()) {
+            final Map.Entry<String, JsonNode> e = it.next();
+            if ("properties".equals(e.getKey()) && e.getValue().isObject()) count += e.getValue().size();
+            if (e.getValue().isContainerNode()) {
+                if (e.getValue().isArray()) {
+                    for (final JsonNode element : e.getValue()) count += fields(element);
+                } else {
+                    count += fields(e.getValue());
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Tokens of an instance of a subschema.
+     *
+     * @param node  subschema
+     * @param root  schema root, for local references
+     * @param depth nesting depth
+     * @param refs  references being expanded (cycle guard)
+     * @return estimated tokens
+     */
+    private long tokens(final JsonNode node, final JsonNode root, final int depth, final Set<String> refs) {
+        if (node == null || !node.isObject() || depth > MAX_DEPTH) return 2;
+        final String ref = node.path("$ref").asText(null);
+        if (ref != null && ref.startsWith("#")) {
+            if (!refs.add(ref)) return 2;
+            final JsonNode target = ref.length() == 1 ? root : root.at(ref.substring(1));
+            final long t = tokens(target.isMissingNode() ? null : target, root, depth + 1, refs);
+            refs.remove(ref);
+            return t;
+        }
+        if (node.has("const")) return textTokens(node.get("const").toString());
+        if (node.path("enum").isArray() && !node.path("enum").isEmpty()) {
+            long longest = 0;
+            for (final JsonNode v : node.get("enum")) longest = Math.max(longest, textTokens(v.toString()));
+            return longest;
+        }
+        if (node.path("allOf").isArray()) {
+            long sum = 0;
+            for (final JsonNode part : node.get("allOf")) sum += tokens(part, root, depth + 1, refs);
+            return sum;
+        }
+        for (final String keyword : new String[] {"oneOf", "anyOf"}) {
+            if (node.path(keyword).isArray()) {
+                long max = 0;
+                for (final JsonNode part : node.get(keyword)) max = Math.max(max, tokens(part, root, depth + 1, refs));
+                return max;
+            }
+        }
+        switch (type(node)) {
+            case "object" -> {
+                long sum = 2;
+                final Iterator<Map.Entry<String, JsonNode>> it = node.path("properties").fields();
+                while (it.hasNext()) {
+                    final Map.Entry<String, JsonNode> p = it.next();
+                    sum += textTokens(p.getKey()) + 3 + tokens(p.getValue(), root, depth + 1, refs);
+                }
+                return sum;
+            }
+            case "array" -> {
+                final int min = node.path("minItems").asInt(1);
+                final int count = Math.min(MAX_ITEMS, Math.max(1, min));
+                final JsonNode prefix = node.has("prefixItems") ? node.get("prefixItems") : node.get("items");
+                long sum = 2;
+                if (prefix != null && prefix.isArray()) {
+                    for (final JsonNode item : prefix) sum += tokens(item, root, depth + 1, refs) + 1;
+                    return sum;
+                }
+                return sum + count * (tokens(prefix, root, depth + 1, refs) + 1);
+            }
+            case "string" -> {
+                final Integer byFormat = FORMAT_TOKENS.get(node.path("format").asText(""));
+                if (byFormat != null) return byFormat;
+                final int maxLength = node.path("maxLength").asInt(Integer.MAX_VALUE);
+                final int minLength = node.path("minLength").asInt(0);
+                final int pattern = node.path("pattern").asText("").length();
+                final int chars = Math.min(
+                        Math.min(maxLength, MAX_STRING_CHARS),
+                        Math.max(minLength, pattern > 0 ? pattern : DEFAULT_STRING_CHARS));
+                // Values are often Cyrillic: about two characters per token
+                return 2 + (chars + 1) / 2;
+            }
+            case "integer", "number" -> {
+                return 4;
+            }
+            default -> {
+                return 2;
+            }
+        }
+    }
+
+    /**
+     * Instance type of a subschema; the first non-null entry of a type array, or {@code object} when it declares
+     * properties.
+     *
+     * @param node subschema
+     * @return type name, empty when unknown
+     */
+    private static String type(final JsonNode node) {
+        final JsonNode type = node.get("type");
+        if (type != null && type.isTextual()) return type.asText();
+        if (type != null && type.isArray()) {
+            for (final JsonNode t : type) {
+                if (!"null".equals(t.asText())) return t.asText();
+            }
+        }
+        if (node.has("properties")) return "object";
+        if (node.has("items") || node.has("prefixItems")) return "array";
+        return "";
+    }
+
+    /**
+     * Tokens of a short literal (key or enum value); keys and literals are mostly ASCII.
+     *
+     * @param text literal
+     * @return estimated tokens
+     */
+    private static long textTokens(final String text) {
+        return 1 + text.length() / 3;
+    }
+}
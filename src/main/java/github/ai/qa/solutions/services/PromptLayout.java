@@ -0,0 +1,135 @@
+package github.ai.qa.solutions.services;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assembles a user prompt from most-stable to least-stable content, whatever order the sections are added in.
+ *
+ * <p>Providers cache prompt prefixes (OpenAI-compatible models behind OpenRouter from about 1024 tokens,
+ * GigaChat per session), so anything that changes between runs must come after what does not. The order is
+ * fixed: task instructions and output rules, then the schema, then the plan, then per-run context (scenario,
+ * current JSON, errors). System instructions are constant per caller and already precede the user message.</p>
+ */
+public final class PromptLayout {
+    /** Sections by stability, rendered in declaration order. */
+    private enum Tier {
+        /** Constant task instructions and output rules. */
+        INSTRUCTIONS,
+        /** Schema text; stable across runs against one schema. */
+        SCHEMA,
+        /** Generation or fix plan; reused per schema and scenario by the plan library. */
+        PLAN,
+        /** Per-run values. */
+        CONTEXT
+    }
+
+    /** Rendered blocks per tier, in insertion order within a tier. */
+    private final Map<Tier, List<String>> blocks = new EnumMap<>(Tier.class);
+
+    /** Use {@link #create()}. */
+    private PromptLayout() {}
+
+    /**
+     * Starts an empty layout.
+     *
+     * @return layout
+     */
+    public static PromptLayout create() {
+        return new PromptLayout();
+    }
+
+    /**
+     * Adds constant instructions; they must not interpolate per-run values.
+     *
+     * @param text instruction text
+     * @return this layout
+     */
+    public PromptLayout instructions(final String text) {
+        return add(Tier.INSTRUCTIONS, text.strip());
+    }
+
+    /**
+     * Adds a schema section.
+     *
+     * @param label  section title
+     * @param schema schema text
+     * @return this layout
+     */
+    public PromptLayout schema(final String label, final String schema) {
+        return add(Tier.SCHEMA, section(label, schema));
+    }
+
+    /**
+     * Adds a plan section.
+     *
+     * @param label section title
+     * @param plan  plan text
+     * @return this layout
+     */
+    public PromptLayout plan(final String label, final String plan) {
+        return add(Tier.PLAN, section(label, plan));
+    }
+
+    /**
+     * Adds a per-run section.
+     *
+     * @param label section title
+     * @param value section value
+     * @return this layout
+     */
+    public PromptLayout context(final String label, final Object value) {
+        return add(Tier.CONTEXT, section(label, value));
+    }
+
+    /**
+     * Renders the prompt.
+     *
+     * @return sections in stability order, separated by blank lines
+     */
+    public String render() {
+        final List<String> out = new ArrayList<>();
+        blocks.values().forEach(out::addAll);
+        return String.join("\n\n", out) + "\n";
+    }
+
+    /**
+     * Length of the part shared by runs against one schema: instructions and schema sections.
+     *
+     * @return prefix length in characters of {@link #render()}
+     */
+    public int stablePrefixChars() {
+        int chars = 0;
+        for (final Tier tier : List.of(Tier.INSTRUCTIONS, Tier.SCHEMA)) {
+            for (final String block : blocks.getOrDefault(tier, List.of())) {
+                chars += block.length() + 2;
+            }
+        }
+        return chars;
+    }
+
+    /**
+     * Appends a block to a tier.
+     *
+     * @param tier  tier
+     * @param block rendered block
+     * @return this layout
+     */
+    private PromptLayout add(final Tier tier, final String block) {
+        blocks.computeIfAbsent(tier, k -> new ArrayList<>()).add(block);
+        return this;
+    }
+
+    /**
+     * Renders a titled section.
+     *
+     * @param label title
+     * @param value body; null renders as {@code null}, as {@link String#formatted} did
+     * @return block text
+     */
+    private static String section(final String label, final Object value) {
+        return label + ":\n" + value;
+    }
+}
@@ -0,0 +1,284 @@
+package github.ai.qa.solutions.services;
+
+import static github.ai.qa.solutions.state.AgentState.StateKey.VALIDATION_RESULT;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import github.ai.qa.solutions.configuration.AgentApplicationConfiguration.NodeId;
+import github.ai.qa.solutions.configuration.StructuredOutputProperties;
+import github.ai.qa.solutions.observability.NodeExecutionListener;
+import github.ai.qa.solutions.observability.RunContext;
+import github.ai.qa.solutions.observability.RunSummary;
+import github.ai.qa.solutions.state.AgentState;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.openai.OpenAiChatOptions;
+import org.springframework.ai.openai.api.ResponseFormat;
+import org.springframework.ai.retry.NonTransientAiException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+/**
+ * Provider-side structured output for JSON-producing calls.
+ *
+ * <p>When {@code ai.structured-output.enabled} is set, generator and fixer calls routed to the OpenAI-compatible
+ * client (OpenRouter) carry the prompt schema as a {@code json_schema} response format, so providers with
+ * constrained decoding cannot answer with prose or fences. A caller whose provider rejects the format (a 400 or 422
+ * answer naming {@code response_format} or {@code json_schema}) is retried at once without it and stays on
+ * prompt-only JSON for {@code degrade-for}, after which the format is tried again. Other client errors (401, 402,
+ * 413, 429, ...) are not about the format and leave the caller as it is. GigaChat calls always use prompt-only
+ * JSON.</p>
+ *
+ * <p>The mode that produced a run's latest JSON is remembered per run, and every {@code validate_json} outcome is
+ * counted in {@code agent.structured.validations} (tags {@code family}, {@code mode}, {@code outcome}); validations
+ * until the first valid document go to {@code agent.structured.iterations.to.valid}. Fallbacks are counted in
+ * {@code agent.structured.fallbacks}.</p>
+ */
+@Component
+public class StructuredOutput implements NodeExecutionListener {
+    /** Logs fallbacks. */
+    private static final Logger log = LoggerFactory.getLogger(StructuredOutput.class);
+    /** Family served by the OpenAI-compatible client. */
+    static final String FAMILY = "OpenRouter";
+    /** Mode of calls carrying a response format. */
+    static final String STRUCTURED = "structured";
+    /** Mode of calls relying on prompt instructions only. */
+    static final String PROMPT = "prompt";
+    /** Validator display text of a valid document. */
+    private static final String VALID = "OK";
+    /** Leading HTTP status of a Spring AI client error message, e.g. {@code 400 - {...}}. */
+    private static final Pattern STATUS = Pattern.compile("\\s*(\\d{3})\\b");
+    /** Settings. */
+    private final StructuredOutputProperties props;
+    /** Schema parser. */
+    private final ObjectMapper objectMapper;
+    /** Validity and fallback metrics. */
+    private final MeterRegistry registry;
+    /** Callers whose provider rejected the response format, with the {@link System#nanoTime()} it expires at. */
+    private final Map<String, Long> degraded = new ConcurrentHashMap<>();
+    /** Output of the runs in flight; released when the run ends, abandoned runs included. */
+    private final Map<String, RunOutput> runs = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the helper.
+     *
+     * @param props        settings
+     * @param objectMapper schema parser
+     * @param registry     meter registry
+     */
+    public StructuredOutput(
+            final StructuredOutputProperties props, final ObjectMapper objectMapper, final MeterRegistry registry) {
+        this.props = props;
+        this.objectMapper = objectMapper;
+        this.registry = registry;
+    }
+
+    /**
+     * Options of a JSON-producing call, and bookkeeping of the mode that produces the run's JSON.
+     *
+     * @param caller         node/tool simple name
+     * @param family         resolved family
+     * @param maxTokens      output budget, may be null
+     * @param responseSchema schema of the answer document; null for calls that do not produce a document
+     * @return options with the response format, or empty for prompt-only JSON
+     */
+    public Optional<ChatOptions> options(
+            final String caller, final String family, final Integer maxTokens, final String responseSchema) {
+        if (responseSchema == null) return Optional.empty();
+        final boolean structured =
+                props.enabled() && FAMILY.equals(family) && !degraded(caller) && !responseSchema.isBlank();
+        final String schema = structured ? responseSchema(responseSchema) : null;
+        RunContext.current()
+                .ifPresent(run -> runs.computeIfAbsent(run.runId(), k -> new RunOutput())
+                        .produced(family, schema != null ? STRUCTURED : PROMPT));
+        if (schema == null) return Optional.empty();
+
+        final ResponseFormat format = ResponseFormat.builder()
+                .type(ResponseFormat.Type.JSON_SCHEMA)
+                .jsonSchema(ResponseFormat.JsonSchema.builder()
+                        .name(props.schemaName())
+                        .schema(schema)
+                        .strict(props.strict())
+                        .build())
+                .build();
+        return Optional.of(OpenAiChatOptions.builder()
+                .responseFormat(format)
+                .maxTokens(maxTokens)
+                .build());
+    }
+
+    /**
+     * Switches a caller to prompt-only JSON when its provider rejected the response format. The decision is taken
+     * per call, so concurrent calls of the caller that fail on the same rejection are each repeated without the
+     * format; the switch is logged and counted once.
+     *
+     * @param caller    node/tool simple name
+     * @param formatted whether the failed call asked for a response format
+     * @param error     failure of the call
+     * @return true when the call should be repeated without the response format
+     */
+    public boolean degrade(final String caller, final boolean formatted, final RuntimeException error) {
+        if (!formatted || !props.enabled() || !rejected(error)) return false;
+        final boolean switched = !degraded(caller);
+        degraded.put(caller, System.nanoTime() + props.degradeFor().toNanos());
+        if (!switched) return true;
+        log.warn(
+                "🧩 {}: provider rejected the JSON Schema response format, using prompt-only JSON for {}: {}",
+                caller,
+                props.degradeFor(),
+                error.getMessage());
+        Counter.builder("agent.structured.fallbacks")
+                .description("Callers switched to prompt-only JSON after the provider rejected structured output")
+                .tag("caller", caller)
+                .register(registry)
+                .increment();
+        return true;
+    }
+
+    @Override
+    public void onNodeEnd(
+            final String runId,
+            final NodeId node,
+            final AgentState state,
+            final Map<String, Object> updates,
+            final long nanos) {
+        if (node != NodeId.VALIDATE_JSON) return;
+        final RunOutput out = runs.get(runId);
+        if (out == null || out.family == null) return;
+        final boolean valid = VALID.equals(updates.get(VALIDATION_RESULT.name()));
+        out.validations++;
+        Counter.builder("agent.structured.validations")
+                .description("Validations of generated JSON by family and output mode")
+                .tag("family", out.family)
+                .tag("mode", out.mode)
+                .tag("outcome", valid ? "valid" : "invalid")
+                .register(registry)
+                .increment();
+        if (valid && !out.reported) {
+            out.reported = true;
+            DistributionSummary.builder("agent.structured.iterations.to.valid")
+                    .description("Validations until the first valid document, by family and output mode")
+                    .tag("family", out.family)
+                    .tag("mode", out.mode)
+                    .register(registry)
+                    .record(out.validations);
+        }
+    }
+
+    @Override
+    public void onRunEnd(final RunSummary summary) {
+        runs.remove(summary.runId());
+    }
+
+    /**
+     * Schema sent as the response format: the document schema without the root identification keywords, which
+     * providers do not accept.
+     *
+     * @param schemaText schema text
+     * @return serialized schema, or null when it is not a JSON object
+     */
+    private String responseSchema(final String schemaText) {
+        try {
+            final JsonNode schema = objectMapper.readTree(schemaText);
+            if (!(schema instanceof ObjectNode object)) return null;
+            final ObjectNode copy = object.deepCopy();
+            copy.remove("$schema");
+            copy.remove("$id");
+            return objectMapper.writeValueAsString(copy);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Whether a caller is currently on prompt-only JSON; an expired degradation is dropped.
+     *
+     * @param caller node/tool simple name
+     * @return true while the degradation lasts
+     */
+    private boolean degraded(final String caller) {
+        final Long until = degraded.get(caller);
+        if (until == null) return false;
+        if (System.nanoTime() - until < 0) return true;
+        degraded.remove(caller, until);
+        return false;
+    }
+
+    /**
+     * Whether a failure is the provider refusing the response format, as opposed to any other client error
+     * (authentication, payment, payload size, rate limit), a transient or a network error.
+     *
+     * @param error failure
+     * @return true for a 400 or 422 whose message names {@code response_format} or {@code json_schema}
+     */
+    static boolean rejected(final Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            if (t instanceof WebClientResponseException w) {
+                return formatStatus(w.getStatusCode().value()) && namesFormat(w.getResponseBodyAsString());
+            }
+            if (t instanceof NonTransientAiException && t.getMessage() != null) {
+                final Matcher status = STATUS.matcher(t.getMessage());
+                return status.lookingAt()
+                        && formatStatus(Integer.parseInt(status.group(1)))
+                        && namesFormat(t.getMessage());
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether a status is one a provider answers an unsupported request parameter with.
+     *
+     * @param status HTTP status code
+     * @return true for 400 and 422
+     */
+    private static boolean formatStatus(final int status) {
+        return status == 400 || status == 422;
+    }
+
+    /**
+     * Whether an error text is about the response format.
+     *
+     * @param text error message or body, may be null
+     * @return true when it names {@code response_format} or {@code json_schema}
+     */
+    private static boolean namesFormat(final String text) {
+        if (text == null) return false;
+        final String lower = text.toLowerCase(Locale.ROOT);
+        return lower.contains("response_format") || lower.contains("json_schema");
+    }
+
+    /** Output mode and validations of one run; updated from the run's thread only. */
+    private static final class RunOutput {
+        /** Family that produced the latest JSON. */
+        private String family;
+        /** Mode that produced the latest JSON. */
+        private String mode;
+        /** Validations so far. */
+        private int validations;
+        /** Whether the first valid document was recorded. */
+        private boolean reported;
+
+        /**
+         * Records a JSON-producing call.
+         *
+         * @param family family
+         * @param mode   {@code structured} or {@code prompt}
+         */
+        void produced(final String family, final String mode) {
+            this.family = family;
+            this.mode = mode;
+        }
+    }
+}
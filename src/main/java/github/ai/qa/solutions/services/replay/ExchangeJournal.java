@@ -0,0 +1,152 @@
+package github.ai.qa.solutions.services.replay;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+import org.springframework.ai.tool.ToolCallback;
+
+/**
+ * Append-only NDJSON journal of model exchanges, one {@link RecordedExchange} per line.
+ *
+ * <p>Exchanges are keyed by a hash of the prompt messages and the names of the tools offered to the model.
+ * Several recordings for the same key are replayed in order and then cycle, so repeated prompts
+ * (e.g. REGENERATE loops) get the same sequence of answers as during recording.</p>
+ *
+ * <p>Thread-safety: lookups are lock-free; appends are synchronized.</p>
+ */
+public class ExchangeJournal {
+    /** Logs journal loading and write failures. */
+    private static final Logger log = LoggerFactory.getLogger(ExchangeJournal.class);
+    /** Mapper for NDJSON lines. */
+    private final ObjectMapper objectMapper;
+    /** Journal file. */
+    private final Path file;
+    /** Recordings grouped by key in recording order. */
+    private final Map<String, List<RecordedExchange>> byKey = new ConcurrentHashMap<>();
+    /** Per-key replay cursor. */
+    private final Map<String, AtomicInteger> cursors = new ConcurrentHashMap<>();
+
+    /**
+     * Opens the journal and loads existing recordings, if any.
+     *
+     * @param objectMapper Jackson mapper
+     * @param file         journal path
+     */
+    public ExchangeJournal(final ObjectMapper objectMapper, final Path file) {
+        this.objectMapper = objectMapper;
+        this.file = file;
+        load();
+    }
+
+    /**
+     * Computes the replay key for a prompt.
+     *
+     * @param prompt prompt as sent to the model
+     * @return hex key
+     */
+    public static String keyOf(final Prompt prompt) {
+        final StringBuilder sb = new StringBuilder();
+        for (Message m : prompt.getInstructions()) {
+            sb.append(m.getMessageType().name()).append('\n').append(m.getText()).append('\n');
+        }
+        final TreeSet<String> tools = new TreeSet<>();
+        if (prompt.getOptions() instanceof ToolCallingChatOptions opts) {
+            for (ToolCallback cb : opts.getToolCallbacks()) {
+                tools.add(cb.getToolDefinition().name());
+            }
+            tools.addAll(opts.getToolNames());
+        }
+        sb.append("tools:").append(String.join(",", tools));
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            final byte[] hash = digest.digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Returns the next recording for the key, cycling through all recordings of that key.
+     *
+     * @param key replay key
+     * @return recording, or empty when the key was never recorded
+     */
+    public Optional<RecordedExchange> next(final String key) {
+        final List<RecordedExchange> list = byKey.get(key);
+        if (list == null || list.isEmpty()) return Optional.empty();
+        final int i = cursors.computeIfAbsent(key, k -> new AtomicInteger()).getAndIncrement();
+        return Optional.of(list.get(Math.floorMod(i, list.size())));
+    }
+
+    /**
+     * Appends a recording to the file and makes it available for lookups.
+     *
+     * @param exchange recorded exchange
+     */
+    public synchronized void append(final RecordedExchange exchange) {
+        byKey.computeIfAbsent(exchange.key(), k -> new CopyOnWriteArrayList<>()).add(exchange);
+        try {
+            if (file.getParent() != null) Files.createDirectories(file.getParent());
+            try (BufferedWriter w = Files.newBufferedWriter(
+                    file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                w.write(objectMapper.writeValueAsString(exchange));
+                w.newLine();
+            }
+        } catch (IOException e) {
+            log.warn("🎞️ Replay journal write failed for {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the number of recorded exchanges.
+     *
+     * @return total recordings across all keys
+     */
+    public int size() {
+        return byKey.values().stream().mapToInt(List::size).sum();
+    }
+
+    /**
+     * Loads recordings from the file; malformed lines are skipped.
+     */
+    private void load() {
+        if (!Files.isRegularFile(file)) return;
+        int skipped = 0;
+        try (BufferedReader r = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = r.readLine()) != null) {
+                if (line.isBlank()) continue;
+                try {
+                    final RecordedExchange e = objectMapper.readValue(line, RecordedExchange.class);
+                    byKey.computeIfAbsent(e.key(), k -> new CopyOnWriteArrayList<>()).add(e);
+                } catch (IOException e) {
+                    skipped++;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("🎞️ Replay journal could not be read from {}: {}", file, e.getMessage());
+        }
+        log.info("🎞️ Replay journal loaded: {} exchange(s) from {} (skipped {})", size(), file, skipped);
+    }
+}
@@ -0,0 +1,84 @@
+package github.ai.qa.solutions.services.replay;
+
+import github.ai.qa.solutions.configuration.ReplayProperties;
+import java.util.Random;
+
+/**
+ * Samples simulated model latencies from the configured distribution and sleeps accordingly.
+ *
+ * <p>Thread-safety: sampling is synchronized on the shared seeded {@link Random}, so a single-threaded
+ * run with the same seed always sees the same latencies.</p>
+ */
+public class LatencySimulator {
+    /** Latency settings. */
+    private final ReplayProperties.Latency latency;
+    /** Seeded source of randomness. */
+    private final Random random;
+
+    /**
+     * Creates a simulator for the given settings.
+     *
+     * @param latency latency settings
+     */
+    public LatencySimulator(final ReplayProperties.Latency latency) {
+        this.latency = latency;
+        this.random = new Random(latency.seed());
+    }
+
+    /**
+     * Samples a latency in milliseconds.
+     *
+     * @param recordedMs latency measured while recording; used by {@link ReplayProperties.Distribution#RECORDED}
+     * @return non-negative latency in milliseconds
+     */
+    public long sampleMillis(final long recordedMs) {
+        final long mean = latency.meanMs();
+        final long jitter = latency.jitterMs();
+        final long sampled =
+                switch (latency.distribution()) {
+                    case NONE -> 0L;
+                    case RECORDED -> Math.round(recordedMs * latency.scale());
+                    case FIXED -> mean;
+                    case UNIFORM -> mean - jitter + Math.round(nextDouble() * 2 * jitter);
+                    case LOG_NORMAL -> {
+                        if (mean <= 0) yield 0L;
+                        final double sigma = jitter <= 0 ? 0.0 : Math.log1p((double) jitter / mean);
+                        yield Math.round(mean * Math.exp(sigma * nextGaussian()));
+                    }
+                };
+        return Math.max(0L, sampled);
+    }
+
+    /**
+     * Sleeps for a sampled latency.
+     *
+     * @param recordedMs latency measured while recording
+     */
+    public void pause(final long recordedMs) {
+        final long ms = sampleMillis(recordedMs);
+        if (ms <= 0) return;
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Next uniform value in {@code [0, 1)}.
+     *
+     * @return random double
+     */
+    private synchronized double nextDouble() {
+        return random.nextDouble();
+    }
+
+    /**
+     * Next standard normal value.
+     *
+     * @return random gaussian
+     */
+    private synchronized double nextGaussian() {
+        return random.nextGaussian();
+    }
+}
@@ -0,0 +1,48 @@
+package github.ai.qa.solutions.services.replay;
+
+import java.util.List;
+
+/**
+ * One recorded model exchange, serialized as a single NDJSON line.
+ *
+ * @param key              replay key of the prompt (see {@link ExchangeJournal#keyOf})
+ * @param content          final assistant text
+ * @param finishReason     provider finish reason, if reported
+ * @param promptTokens     prompt tokens reported by the provider, if any
+ * @param completionTokens completion tokens reported by the provider, if any
+ * @param latencyMs        wall-clock latency of the original call
+ * @param toolCalls        tools the model invoked while producing the answer, in call order
+ */
+public record RecordedExchange(
+        String key,
+        String content,
+        String finishReason,
+        Integer promptTokens,
+        Integer completionTokens,
+        long latencyMs,
+        List<ToolCall> toolCalls) {
+
+    /**
+     * Normalizes a missing tool-call list to empty.
+     *
+     * @param key              replay key
+     * @param content          assistant text
+     * @param finishReason     finish reason
+     * @param promptTokens     prompt tokens
+     * @param completionTokens completion tokens
+     * @param latencyMs        latency
+     * @param toolCalls        tool calls
+     */
+    public RecordedExchange {
+        toolCalls = toolCalls == null ? List.of() : List.copyOf(toolCalls);
+    }
+
+    /**
+     * A tool invocation observed during recording.
+     *
+     * @param name      tool name
+     * @param arguments JSON arguments passed by the model
+     * @param result    tool output returned to the model
+     */
+    public record ToolCall(String name, String arguments, String result) {}
+}
@@ -0,0 +1,202 @@
+package github.ai.qa.solutions.services.replay;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisor;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisorChain;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.metadata.ToolMetadata;
+import org.springframework.core.Ordered;
+import reactor.core.publisher.Flux;
+
+/**
+ * {@link CallAdvisor} and {@link StreamAdvisor} that records every real model exchange into an
+ * {@link ExchangeJournal}.
+ *
+ * <p>Tool callbacks offered to the model are wrapped so that tool invocations made by the model
+ * (name, arguments and result) are captured alongside the final answer. A streamed exchange is recorded as
+ * one answer, the concatenated chunks, once the stream completes; failed or cancelled streams are not
+ * journaled, so a replay never serves a truncated answer.</p>
+ */
+public class RecordingAdvisor implements CallAdvisor, StreamAdvisor {
+    /** Journal receiving recordings. */
+    private final ExchangeJournal journal;
+
+    /**
+     * Creates the advisor.
+     *
+     * @param journal journal receiving recordings
+     */
+    public RecordingAdvisor(final ExchangeJournal journal) {
+        this.journal = journal;
+    }
+
+    @Override
+    public String getName() {
+        return "RecordingAdvisor";
+    }
+
+    @Override
+    public int getOrder() {
+        // Innermost: record exactly what the model sees and returns
+        return Ordered.LOWEST_PRECEDENCE - 1;
+    }
+
+    @Override
+    public ChatClientResponse adviseCall(final ChatClientRequest request, final CallAdvisorChain chain) {
+        final String key = ExchangeJournal.keyOf(request.prompt());
+        final List<RecordedExchange.ToolCall> toolCalls = Collections.synchronizedList(new ArrayList<>());
+        final ChatClientRequest observed = withRecordingTools(request, toolCalls);
+
+        final long started = System.nanoTime();
+        final ChatClientResponse response = chain.nextCall(observed);
+        final long latencyMs = (System.nanoTime() - started) / 1_000_000L;
+
+        final ChatResponse chat = response.chatResponse();
+        final Generation result = chat == null ? null : chat.getResult();
+        final String content = result == null ? null : result.getOutput().getText();
+        final String finishReason = result == null ? null : result.getMetadata().getFinishReason();
+        final Usage usage = chat == null ? null : chat.getMetadata().getUsage();
+        record(key, content, finishReason, usage, latencyMs, toolCalls);
+        return response;
+    }
+
+    @Override
+    public Flux<ChatClientResponse> adviseStream(final ChatClientRequest request, final StreamAdvisorChain chain) {
+        final String key = ExchangeJournal.keyOf(request.prompt());
+        final List<RecordedExchange.ToolCall> toolCalls = Collections.synchronizedList(new ArrayList<>());
+        final ChatClientRequest observed = withRecordingTools(request, toolCalls);
+        final StringBuilder content = new StringBuilder();
+        final AtomicReference<String> finishReason = new AtomicReference<>();
+        final AtomicReference<Usage> usage = new AtomicReference<>();
+
+        final long started = System.nanoTime();
+        return chain.nextStream(observed)
+                .doOnNext(response -> {
+                    final ChatResponse chat = response.chatResponse();
+                    if (chat == null) return;
+                    final Usage reported = chat.getMetadata().getUsage();
+                    if (reported != null
+                            && reported.getCompletionTokens() != null
+                            && reported.getCompletionTokens() > 0) {
+                        usage.set(reported);
+                    }
+                    final Generation result = chat.getResult();
+                    if (result == null) return;
+                    if (result.getOutput().getText() != null) content.append(result.getOutput().getText());
+                    if (result.getMetadata().getFinishReason() != null) {
+                        finishReason.set(result.getMetadata().getFinishReason());
+                    }
+                })
+                .doOnComplete(() -> record(
+                        key,
+                        content.toString(),
+                        finishReason.get(),
+                        usage.get(),
+                        (System.nanoTime() - started) / 1_000_000L,
+                        toolCalls));
+    }
+
+    /**
+     * Appends one exchange to the journal.
+     *
+     * @param key          prompt key
+     * @param content      answer text, may be null
+     * @param finishReason finish reason, may be null
+     * @param usage        provider usage, may be null
+     * @param latencyMs    call latency
+     * @param toolCalls    tool calls observed during the exchange
+     */
+    private void record(
+            final String key,
+            final String content,
+            final String finishReason,
+            final Usage usage,
+            final long latencyMs,
+            final List<RecordedExchange.ToolCall> toolCalls) {
+        journal.append(new RecordedExchange(
+                key,
+                content,
+                finishReason,
+                usage == null ? null : usage.getPromptTokens(),
+                usage == null ? null : usage.getCompletionTokens(),
+                latencyMs,
+                List.copyOf(toolCalls)));
+    }
+
+    /**
+     * Replaces tool callbacks in the request options with recording wrappers.
+     *
+     * @param request   original request
+     * @param toolCalls sink for observed tool calls
+     * @return request whose tools report into {@code toolCalls}, or the original when no tools are offered
+     */
+    private static ChatClientRequest withRecordingTools(
+            final ChatClientRequest request, final List<RecordedExchange.ToolCall> toolCalls) {
+        if (!(request.prompt().getOptions() instanceof ToolCallingChatOptions opts)
+                || opts.getToolCallbacks().isEmpty()) {
+            return request;
+        }
+        final ToolCallingChatOptions copy = opts.copy();
+        copy.setToolCallbacks(opts.getToolCallbacks().stream()
+                .<ToolCallback>map(cb -> new RecordingToolCallback(cb, toolCalls))
+                .toList());
+        final Prompt prompt = new Prompt(request.prompt().getInstructions(), copy);
+        return request.mutate().prompt(prompt).build();
+    }
+
+    /**
+     * Delegating tool callback that records each invocation.
+     *
+     * @param delegate  real tool callback
+     * @param toolCalls sink for observed tool calls
+     */
+    private record RecordingToolCallback(ToolCallback delegate, List<RecordedExchange.ToolCall> toolCalls)
+            implements ToolCallback {
+
+        @Override
+        public ToolDefinition getToolDefinition() {
+            return delegate.getToolDefinition();
+        }
+
+        @Override
+        public ToolMetadata getToolMetadata() {
+            return delegate.getToolMetadata();
+        }
+
+        @Override
+        public String call(final String toolInput) {
+            return record(toolInput, delegate.call(toolInput));
+        }
+
+        @Override
+        public String call(final String toolInput, final ToolContext toolContext) {
+            return record(toolInput, delegate.call(toolInput, toolContext));
+        }
+
+        /**
+         * Stores the invocation and passes the result through.
+         *
+         * @param toolInput JSON arguments
+         * @param result    tool output
+         * @return {@code result}
+         */
+        private String record(final String toolInput, final String result) {
+            toolCalls.add(new RecordedExchange.ToolCall(getToolDefinition().name(), toolInput, result));
+            return result;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package github.ai.qa.solutions.services.replay;
+
+import github.ai.qa.solutions.configuration.ReplayProperties;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.metadata.ChatGenerationMetadata;
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.metadata.DefaultUsage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+import org.springframework.ai.tool.ToolCallback;
+import reactor.core.publisher.Flux;
+
+/**
+ * {@link ChatModel} that answers from an {@link ExchangeJournal} instead of a live provider.
+ *
+ * <p>Replayed calls sleep for a latency drawn from the configured distribution. Tool invocations captured
+ * during recording are re-executed against the tool callbacks offered in the prompt, so local tools such as
+ * {@code validateJsonAgainstJsonSchema} still run and cost what they cost in production.</p>
+ *
+ * <p>Thread-safety: safe for concurrent use.</p>
+ */
+public class ReplayChatModel implements ChatModel {
+    /** Logs misses and tool divergences. */
+    private static final Logger log = LoggerFactory.getLogger(ReplayChatModel.class);
+    /** Source of recorded exchanges. */
+    private final ExchangeJournal journal;
+    /** Behavior for unrecorded prompts. */
+    private final ReplayProperties.MissPolicy onMiss;
+    /** Simulated latency. */
+    private final LatencySimulator latency;
+
+    /**
+     * Creates the replay model.
+     *
+     * @param journal    recorded exchanges
+     * @param properties replay settings
+     */
+    public ReplayChatModel(final ExchangeJournal journal, final ReplayProperties properties) {
+        this.journal = journal;
+        this.onMiss = properties.onMiss();
+        this.latency = new LatencySimulator(properties.latency());
+    }
+
+    @Override
+    public ChatResponse call(final Prompt prompt) {
+        final String key = ExchangeJournal.keyOf(prompt);
+        final Optional<RecordedExchange> recorded = journal.next(key);
+        if (recorded.isEmpty()) {
+            if (onMiss == ReplayProperties.MissPolicy.FAIL) {
+                throw new IllegalStateException("No recorded exchange for prompt key " + key);
+            }
+            log.info("🎞️ Replay miss: key={} → empty content", key);
+            latency.pause(0L);
+            return response("", "STOP", null, null);
+        }
+        final RecordedExchange exchange = recorded.get();
+        simulateToolCalls(prompt, exchange.toolCalls());
+        latency.pause(exchange.latencyMs());
+        return response(
+                exchange.content(), exchange.finishReason(), exchange.promptTokens(), exchange.completionTokens());
+    }
+
+    @Override
+    public Flux<ChatResponse> stream(final Prompt prompt) {
+        return Flux.defer(() -> Flux.just(call(prompt)));
+    }
+
+    /**
+     * Re-executes recorded tool calls against the tools offered in this prompt.
+     *
+     * @param prompt    current prompt
+     * @param toolCalls tool calls captured during recording
+     */
+    private void simulateToolCalls(final Prompt prompt, final List<RecordedExchange.ToolCall> toolCalls) {
+        if (toolCalls.isEmpty() || !(prompt.getOptions() instanceof ToolCallingChatOptions opts)) return;
+        final Map<String, ToolCallback> byName = new HashMap<>();
+        for (ToolCallback cb : opts.getToolCallbacks()) {
+            byName.put(cb.getToolDefinition().name(), cb);
+        }
+        for (RecordedExchange.ToolCall call : toolCalls) {
+            final ToolCallback cb = byName.get(call.name());
+            if (cb == null) continue;
+            final String result = cb.call(call.arguments());
+            if (!Objects.equals(result, call.result())) {
+                log.debug("🎞️ Replayed tool {} diverged from recording", call.name());
+            }
+        }
+    }
+
+    /**
+     * Builds a chat response carrying the given text, finish reason and usage.
+     *
+     * @param content          assistant text
+     * @param finishReason     finish reason; may be null
+     * @param promptTokens     prompt tokens; may be null
+     * @param completionTokens completion tokens; may be null
+     * @return chat response
+     */
+    private static ChatResponse response(
+            final String content,
+            final String finishReason,
+            final Integer promptTokens,
+            final Integer completionTokens) {
+        final ChatGenerationMetadata generationMetadata = ChatGenerationMetadata.builder()
+                .finishReason(finishReason == null ? "STOP" : finishReason)
+                .build();
+        final ChatResponseMetadata.Builder metadata = ChatResponseMetadata.builder().model("replay");
+        if (promptTokens != null || completionTokens != null) {
+            metadata.usage(new DefaultUsage(promptTokens, completionTokens));
+        }
+        return new ChatResponse(
+                List.of(new Generation(new AssistantMessage(content == null ? "" : content), generationMetadata)),
+                metadata.build());
+    }
+}
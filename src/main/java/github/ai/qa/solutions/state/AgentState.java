@@ -20,10 +20,16 @@ public class AgentState extends org.bsc.langgraph4j.state.AgentState {
         VALIDATION_RESULT,
         /** Sorted signature of validation errors. */
         VALIDATION_SIGNATURE,
+        /** Violations found by the latest validation (0 when valid), capped at the report's error limit. */
+        VALIDATION_ERROR_COUNT,
         /** JSON Schema provided by the user. */
         JSON_SCHEMA,
         /** Detected JSON Schema version label. */
         SCHEMA_VERSION,
+        /** Canonical 128-bit fingerprint of JSON_SCHEMA (hex); equal for schemas differing only in form. */
+        SCHEMA_FINGERPRINT,
+        /** JSON Schema compacted for prompts; validation keeps using JSON_SCHEMA. */
+        PROMPT_SCHEMA,
         /** Heuristic warnings gathered during normalization. */
         HEURISTIC_SIGNATURE,
         /** Plan for generation. */
@@ -39,7 +45,17 @@ public class AgentState extends org.bsc.langgraph4j.state.AgentState {
         /** Previous validator display text. */
         PREV_VALIDATION_RESULT,
         /** Previous validation signature. */
-        PREV_VALIDATION_SIGNATURE
+        PREV_VALIDATION_SIGNATURE,
+        /** Identifier of the current graph run; generated on the first node when not supplied. */
+        RUN_ID,
+        /** Wall-clock start of the current run, epoch milliseconds. */
+        RUN_STARTED_AT,
+        /** FIX decisions taken so far in the current run. */
+        FIX_COUNT,
+        /** REGENERATE decisions taken so far in the current run. */
+        REGENERATE_COUNT,
+        /** Token accounting of the current run so far (JSON: totals, byNode, byFamily). */
+        TOKEN_USAGE
     }
 
     /** Unmodifiable schema mapping state keys to channels. */
@@ -66,4 +82,13 @@ public class AgentState extends org.bsc.langgraph4j.state.AgentState {
     public Optional<String> getOptional(final StateKey key) {
         return this.value(key.name());
     }
+
+    /**
+     * Schema form to embed in prompts.
+     *
+     * @return PROMPT_SCHEMA when present, otherwise JSON_SCHEMA
+     */
+    public String promptSchema() {
+        return getOptional(StateKey.PROMPT_SCHEMA).orElseGet(() -> get(StateKey.JSON_SCHEMA));
+    }
 }
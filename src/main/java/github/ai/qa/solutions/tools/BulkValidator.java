@@ -0,0 +1,258 @@
+package github.ai.qa.solutions.tools;
+
+import github.ai.qa.solutions.configuration.BulkValidationProperties;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Validates NDJSON datasets (one JSON document per line) against one schema.
+ *
+ * <p>The caller's thread reads lines in batches of {@code ai.bulk-validation.batch-lines} and hands them to a
+ * fork-join pool of {@code parallelism} workers. At most {@code max-pending} batches are in flight; the reader waits
+ * for the oldest one before reading further, so memory stays bounded whatever the dataset size. Results reach the
+ * sink on the caller's thread, in line order.</p>
+ *
+ * <p>The schema is prepared once through the {@link SchemaValidatorCache} and counts as hot, so it is validated by
+ * its compiled validator when compiled validators are enabled. Blank lines are skipped but counted in line numbers;
+ * a line that is not JSON is reported as a {@code parse} violation.</p>
+ */
+@Component
+public class BulkValidator implements DisposableBean {
+    /** Logs dataset summaries. */
+    private static final Logger log = LoggerFactory.getLogger(BulkValidator.class);
+    /** Keyword of lines that are not JSON. */
+    public static final String PARSE = "parse";
+    /** Reader buffer size in characters. */
+    private static final int READ_BUFFER = 1 << 16;
+    /** Prepared schemas. */
+    private final SchemaValidatorCache schemas;
+    /** Settings. */
+    private final BulkValidationProperties props;
+    /** Workers validating batches. */
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates the validator and its worker pool.
+     *
+     * @param schemas prepared schemas
+     * @param props   settings
+     */
+    @Autowired
+    public BulkValidator(final SchemaValidatorCache schemas, final BulkValidationProperties props) {
+        this.schemas = schemas;
+        this.props = props;
+        this.pool = new ForkJoinPool(props.parallelism());
+    }
+
+    /**
+     * Prepares the schema of a dataset.
+     *
+     * @param schemaText schema text
+     * @return prepared schema
+     * @throws IllegalArgumentException when the schema cannot be compiled
+     */
+    public SchemaValidatorCache.Prepared prepare(final String schemaText) {
+        if (schemaText == null || schemaText.isBlank()) throw new IllegalArgumentException("schema is required");
+        try {
+            return schemas.prepareHot(schemaText);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid JSON Schema: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Validates every line of an NDJSON stream.
+     *
+     * @param ndjson dataset; read to the end but not closed
+     * @param schema prepared schema
+     * @param sink   receives each line's result in line order, on the calling thread
+     * @return counts and violation histogram
+     * @throws IOException when the dataset cannot be read
+     */
+    public Summary validate(
+            final Reader ndjson, final SchemaValidatorCache.Prepared schema, final Consumer<LineResult> sink)
+            throws IOException {
+        final long started = System.nanoTime();
+        final BufferedReader reader =
+                ndjson instanceof BufferedReader buffered ? buffered : new BufferedReader(ndjson, READ_BUFFER);
+        final Tally tally = new Tally();
+        final ArrayDeque<Future<List<LineResult>>> pending = new ArrayDeque<>();
+        try {
+            List<Line> batch = new ArrayList<>(props.batchLines());
+            long number = 0;
+            String text;
+            while ((text = reader.readLine()) != null) {
+                number++;
+                if (text.isBlank()) continue;
+                batch.add(new Line(number, text));
+                if (batch.size() == props.batchLines()) {
+                    submit(batch, schema, pending);
+                    batch = new ArrayList<>(props.batchLines());
+                    while (pending.size() >= props.maxPending()
+                            || (!pending.isEmpty() && pending.peek().isDone())) {
+                        emit(pending.poll(), tally, sink);
+                    }
+                }
+            }
+            if (!batch.isEmpty()) submit(batch, schema, pending);
+            while (!pending.isEmpty()) emit(pending.poll(), tally, sink);
+        } finally {
+            pending.forEach(f -> f.cancel(true));
+        }
+        final Summary summary = tally.summary((System.nanoTime() - started) / 1_000_000L);
+        log.info(
+                "📦 Bulk validation: {} documents, {} invalid in {} ms",
+                summary.documents(),
+                summary.invalid(),
+                summary.millis());
+        return summary;
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Hands a batch to the workers.
+     *
+     * @param batch   lines
+     * @param schema  prepared schema
+     * @param pending batches in flight, oldest first
+     */
+    private void submit(
+            final List<Line> batch,
+            final SchemaValidatorCache.Prepared schema,
+            final ArrayDeque<Future<List<LineResult>>> pending) {
+        pending.add(pool.submit(() -> {
+            final List<LineResult> results = new ArrayList<>(batch.size());
+            for (final Line line : batch) results.add(validate(line, schema));
+            return results;
+        }));
+    }
+
+    /**
+     * Waits for a batch and passes its results on.
+     *
+     * @param batch results of the oldest batch in flight
+     * @param tally running counts
+     * @param sink  result consumer
+     */
+    private static void emit(
+            final Future<List<LineResult>> batch, final Tally tally, final Consumer<LineResult> sink) {
+        final List<LineResult> results;
+        try {
+            results = batch.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Bulk validation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Bulk validation failed: " + e.getCause().getMessage(), e.getCause());
+        }
+        for (final LineResult result : results) {
+            tally.add(result);
+            sink.accept(result);
+        }
+    }
+
+    /**
+     * Validates one line.
+     *
+     * @param line   line
+     * @param schema prepared schema
+     * @return line result
+     */
+    private static LineResult validate(final Line line, final SchemaValidatorCache.Prepared schema) {
+        List<SchemaViolation> errors;
+        try {
+            errors = schema.validate(line.text());
+        } catch (Exception e) {
+            errors = List.of(new SchemaViolation(PARSE, "#", "$", "$: " + e.getMessage()));
+        }
+        return new LineResult(line.number(), errors.isEmpty(), errors);
+    }
+
+    /**
+     * Result of one line.
+     *
+     * @param line   1-based line number in the dataset
+     * @param ok     whether the document is valid
+     * @param errors violations, empty when valid
+     */
+    public record LineResult(long line, boolean ok, List<SchemaViolation> errors) {}
+
+    /**
+     * Outcome of a dataset.
+     *
+     * @param documents  non-blank lines validated
+     * @param valid      valid documents
+     * @param invalid    invalid documents, including lines that are not JSON
+     * @param errorKinds violations by keyword, most frequent first
+     * @param millis     wall-clock duration
+     */
+    public record Summary(long documents, long valid, long invalid, Map<String, Long> errorKinds, long millis) {}
+
+    /**
+     * One dataset line.
+     *
+     * @param number 1-based line number
+     * @param text   line text
+     */
+    private record Line(long number, String text) {}
+
+    /** Running counts; updated on the reading thread only. */
+    private static final class Tally {
+        /** Valid documents. */
+        private long valid;
+        /** Invalid documents. */
+        private long invalid;
+        /** Violations by keyword. */
+        private final Map<String, Long> kinds = new HashMap<>();
+
+        /**
+         * Counts a line result.
+         *
+         * @param result line result
+         */
+        void add(final LineResult result) {
+            if (result.ok()) {
+                valid++;
+                return;
+            }
+            invalid++;
+            for (final SchemaViolation error : result.errors()) kinds.merge(error.keyword(), 1L, Long::sum);
+        }
+
+        /**
+         * Builds the summary.
+         *
+         * @param millis wall-clock duration
+         * @return summary
+         */
+        Summary summary(final long millis) {
+            final Map<String, Long> sorted = new LinkedHashMap<>();
+            kinds.entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .forEach(e -> sorted.put(e.getKey(), e.getValue()));
+            return new Summary(valid + invalid, valid, invalid, sorted, millis);
+        }
+    }
+}
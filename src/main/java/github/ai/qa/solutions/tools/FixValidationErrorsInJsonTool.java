@@ -1,6 +1,9 @@
 package github.ai.qa.solutions.tools;
 
-import github.ai.qa.solutions.services.ChatClientRouter;
+import github.ai.qa.solutions.components.json.SchemaSlicer;
+import github.ai.qa.solutions.services.JsonCompletion;
+import github.ai.qa.solutions.services.JsonPrompt;
+import github.ai.qa.solutions.services.PromptLayout;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.tool.annotation.Tool;
@@ -8,7 +11,7 @@ import org.springframework.ai.tool.annotation.ToolParam;
 import org.springframework.stereotype.Component;
 
 @Component
-public record FixValidationErrorsInJsonTool(ChatClientRouter router) {
+public record FixValidationErrorsInJsonTool(JsonCompletion completion, SchemaSlicer slicer) {
     /** Logs tool execution details. */
     private static final Logger log = LoggerFactory.getLogger(FixValidationErrorsInJsonTool.class);
 
@@ -21,26 +24,37 @@ public record FixValidationErrorsInJsonTool(ChatClientRouter router) {
             @ToolParam(description = "Original JSON data requiring validation fixes") String jsonTestData,
             @ToolParam(description = "JSON schema defining data structure and validation rules") String jsonSchema,
             @ToolParam(description = "Structured error correction recommendations") String recommendation) {
+        return fixJsonByErrorsAndSchema(validationErrors, jsonTestData, jsonSchema, recommendation, jsonSchema);
+    }
 
+    /**
+     * Fixes JSON with a slice of the compacted schema in the prompt; the original schema still drives stream
+     * inspection. Where the provider supports structured output, the whole compacted schema is sent as the response
+     * format.
+     *
+     * @param validationErrors validator messages
+     * @param jsonTestData     JSON to fix
+     * @param jsonSchema       original JSON Schema
+     * @param recommendation   fix plan
+     * @param promptSchema     schema form the prompt slice is cut from
+     * @return corrected JSON text
+     */
+    public String fixJsonByErrorsAndSchema(
+            final String validationErrors,
+            final String jsonTestData,
+            final String jsonSchema,
+            final String recommendation,
+            final String promptSchema) {
         log.info("🛠️ Agent as tool 🤖: FixValidationErrorsInJsonTool");
 
-        return router.forNode("FixValidationErrorsInJsonTool")
-                .prompt(
-                        """
+        return completion.complete(
+                new JsonPrompt(
+                        "FixValidationErrorsInJsonTool",
+                        PromptLayout.create()
+                                .instructions(
+                                        """
                         Apply the corrections to the JSON so it validates against the schema.
 
-                        Recommendations:
-                        %s
-
-                        Errors:
-                        %s
-
-                        Current JSON:
-                        %s
-
-                        JSON Schema:
-                        %s
-
                         Output Rules:
                         - Return ONLY the corrected JSON object (RFC8259). No markdown, no comments, no extra text.
                         - Modify only fields implicated by the errors or directly required to satisfy constraints.
@@ -50,9 +64,14 @@ public record FixValidationErrorsInJsonTool(ChatClientRouter router) {
                         - Prefer realistic, lifelike values; avoid placeholder values such as "Иванов Иван Иванович" or "123456789" where relevant.
                         - Anti-Placeholder Policy: do not produce monotonic sequences (123…, 321…), all-equal digits (000…, 111…), trivial grouped numbers (123-456), or dummy words (test, example). Where possible, use values consistent with locale (Санкт‑Петербург phones like +7 921/931/***, unit_code 780-***), and prefer values that satisfy known checksums (INN/OGRN/SNILS) or at least look non-trivial.
                         - Prefer simplest valid values for determinism.
-                        """
-                                .formatted(recommendation, validationErrors, jsonTestData, jsonSchema))
-                .system(
+                        """)
+                                .schema(
+                                        "JSON Schema (parts relevant to the errors)",
+                                        slicer.slice(promptSchema, validationErrors))
+                                .plan("Recommendations", recommendation)
+                                .context("Errors", validationErrors)
+                                .context("Current JSON", jsonTestData)
+                                .render(),
                         """
                         You are a precise JSON validator and fixer. Follow these rules:
                         1. Error Resolution:
@@ -72,8 +91,8 @@ public record FixValidationErrorsInJsonTool(ChatClientRouter router) {
                            - Return **only** the corrected JSON object.
                            - Never include markdown, explanations, or metadata.
                            - Ensure deterministic output for identical inputs by strictly following the schema.
-                        """)
-                .call()
-                .content();
+                        """),
+                jsonSchema,
+                promptSchema);
     }
 }
@@ -1,6 +1,8 @@
 package github.ai.qa.solutions.tools;
 
-import github.ai.qa.solutions.services.ChatClientRouter;
+import github.ai.qa.solutions.services.JsonCompletion;
+import github.ai.qa.solutions.services.JsonPrompt;
+import github.ai.qa.solutions.services.PromptLayout;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.tool.annotation.Tool;
@@ -8,7 +10,7 @@ import org.springframework.ai.tool.annotation.ToolParam;
 import org.springframework.stereotype.Component;
 
 @Component
-public record GenerateJsonBySchemaTool(ChatClientRouter router) {
+public record GenerateJsonBySchemaTool(JsonCompletion completion) {
     /** Logs tool execution details. */
     private static final Logger log = LoggerFactory.getLogger(GenerateJsonBySchemaTool.class);
 
@@ -22,23 +24,34 @@ public record GenerateJsonBySchemaTool(ChatClientRouter router) {
             @ToolParam(description = "JSON schema") final String jsonSchema,
             @ToolParam(description = "Structured generation recommendations based on the scenario")
                     final String recommendation) {
+        return generateJsonBySchema(userSpecificPromt, jsonSchema, recommendation, jsonSchema);
+    }
 
+    /**
+     * Generates JSON with a compacted schema in the prompt; the original schema still drives stream inspection.
+     * Where the provider supports structured output, the compacted schema is also sent as the response format.
+     *
+     * @param userSpecificPromt test scenario and constraints
+     * @param jsonSchema        original JSON Schema
+     * @param recommendation    generation plan
+     * @param promptSchema      schema form embedded in the prompt
+     * @return generated JSON text
+     */
+    public String generateJsonBySchema(
+            final String userSpecificPromt,
+            final String jsonSchema,
+            final String recommendation,
+            final String promptSchema) {
         log.info("🛠️ Agent as tool 🤖: GenerateJsonBySchemaTool");
 
-        return router.forNode("GenerateJsonBySchemaTool")
-                .prompt(
-                        """
+        return completion.complete(
+                new JsonPrompt(
+                        "GenerateJsonBySchemaTool",
+                        PromptLayout.create()
+                                .instructions(
+                                        """
                                 Produce ONLY a single RFC8259-compliant JSON object that strictly conforms to the JSON Schema.
 
-                                Test Scenario:
-                                %s
-
-                                Generation Plan:
-                                %s
-
-                                JSON Schema:
-                                %s
-
                                 Rules:
                                 - Output JSON only (no markdown, no comments, no explanations, no trailing text).
                                 - Include all and only the properties allowed by the schema (respect additionalProperties).
@@ -52,9 +65,11 @@ public record GenerateJsonBySchemaTool(ChatClientRouter router) {
                                 - Anti-Placeholder Policy: forbid monotonic sequences (e.g., 123456, 654321), all-equal digits (000000, 111111), trivial grouped numbers (123-456), and dummy words (test, example). Use varied digits and plausible distributions for the locale (e.g., Санкт‑Петербург → +7 921/***, unit_code 780-***).
                                 - Where applicable (e.g., INN/OGRN/SNILS), prefer values that satisfy known checksum rules; if not certain, still avoid trivial sequences and ensure non‑obvious combinations matching patterns.
                                 - Do not invent unrelated fields; keep changes minimal and deterministic.
-                                """
-                                .formatted(userSpecificPromt, recommendation, jsonSchema))
-                .system(
+                                """)
+                                .schema("JSON Schema", promptSchema)
+                                .plan("Generation Plan", recommendation)
+                                .context("Test Scenario", userSpecificPromt)
+                                .render(),
                         """
                         You are a deterministic JSON generator.
                         - Return exactly one JSON object, nothing else.
@@ -65,8 +80,8 @@ public record GenerateJsonBySchemaTool(ChatClientRouter router) {
                         - Keep values consistent with the city/region in the context (e.g., Санкт‑Петербург phone ranges, unit_code region prefix).
                         - Prefer the simplest valid values to maximize determinism.
                         - Never wrap output in markdown fences.
-                        """)
-                .call()
-                .content();
+                        """),
+                jsonSchema,
+                promptSchema);
     }
 }
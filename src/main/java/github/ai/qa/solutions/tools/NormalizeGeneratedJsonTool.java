@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import github.ai.qa.solutions.components.json.JsonNormalizer;
 import github.ai.qa.solutions.components.json.JsonOutputSanitizer;
+import github.ai.qa.solutions.components.json.LenientJsonExtractor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.tool.annotation.Tool;
@@ -31,6 +32,10 @@ public class NormalizeGeneratedJsonTool {
      * Normalization service for JSON trees.
      */
     private final JsonNormalizer normalizer;
+    /**
+     * Extracts and repairs the JSON value from raw model output.
+     */
+    private final LenientJsonExtractor extractor;
 
     /**
      * Full constructor for dependency injection.
@@ -38,12 +43,17 @@ public class NormalizeGeneratedJsonTool {
      * @param objectMapper     mapper instance
      * @param sanitizer        output sanitizer
      * @param normalizer       JSON normalizer
+     * @param extractor        lenient JSON extractor
      */
     public NormalizeGeneratedJsonTool(
-            final ObjectMapper objectMapper, final JsonOutputSanitizer sanitizer, final JsonNormalizer normalizer) {
+            final ObjectMapper objectMapper,
+            final JsonOutputSanitizer sanitizer,
+            final JsonNormalizer normalizer,
+            final LenientJsonExtractor extractor) {
         this.objectMapper = objectMapper;
         this.sanitizer = sanitizer;
         this.normalizer = normalizer;
+        this.extractor = extractor;
     }
 
     /**
@@ -57,8 +67,9 @@ public class NormalizeGeneratedJsonTool {
             @ToolParam(description = "Raw JSON text possibly wrapped in code fences") final String inputJson) {
         log.info("🛠️ coded as tool 💻: NormalizeGeneratedJson");
         try {
-            final String stripped = sanitizer.stripFences(inputJson);
-            final JsonNode root = objectMapper.readTree(stripped);
+            final LenientJsonExtractor.Result extracted = extractor.extract(inputJson, "NormalizeGeneratedJsonTool");
+            final String json = extracted.found() ? extracted.json() : sanitizer.stripFences(inputJson);
+            final JsonNode root = objectMapper.readTree(json);
             final JsonNode normalized = normalizer.normalize(root);
 
             return objectMapper.writeValueAsString(normalized);
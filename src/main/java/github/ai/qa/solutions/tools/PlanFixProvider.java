@@ -12,4 +12,16 @@ public interface PlanFixProvider {
      * @return plan text (may be empty but not null)
      */
     String thinkHowToFixJson(String errors, String userPromt);
+
+    /**
+     * Returns a fix plan that may also consult the schema; by default the schema is ignored.
+     *
+     * @param errors     raw validation errors
+     * @param userPromt  user prompt or scenario constraints
+     * @param jsonSchema JSON Schema the data must satisfy; may be null
+     * @return plan text (may be empty but not null)
+     */
+    default String thinkHowToFixJson(String errors, String userPromt, String jsonSchema) {
+        return thinkHowToFixJson(errors, userPromt);
+    }
 }
@@ -0,0 +1,347 @@
+package github.ai.qa.solutions.tools;
+
+import com.networknt.schema.AbsoluteIri;
+import com.networknt.schema.JsonSchemaFactory;
+import com.networknt.schema.SpecVersion;
+import com.networknt.schema.resource.InputStreamSource;
+import com.networknt.schema.resource.SchemaLoader;
+import github.ai.qa.solutions.configuration.SchemaCatalogProperties;
+import github.ai.qa.solutions.observability.CacheStatistics;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Local catalog of JSON Schema documents, plugged into every {@link JsonSchemaFactory} the agent creates.
+ *
+ * <p>A URI referenced by {@code $ref} or {@code $schema} is resolved, in order, from:</p>
+ * - the meta-schemas of drafts 4, 6, 7, 2019-09 and 2020-12, preloaded from the validator's resources
+ * - the configured {@code mappings} (URI prefix → {@code classpath:}/{@code file:}/directory prefix)
+ * - the mirror {@code directory}, laid out as {@code <host>/<path>}
+ *
+ * <p>Resolved documents are kept in an LRU cache. A URI the catalog cannot resolve is loaded by the validator as
+ * before, unless {@code offline} is set: then the compilation fails with the URI in the message, whatever its scheme
+ * ({@code http}, {@code file}, {@code jar}, ...). A mapped or mirrored path never leaves its directory: {@code ..}
+ * segments that would escape it make the URI unresolvable.</p>
+ */
+@Component
+public class SchemaCatalog implements SchemaLoader, CacheStatistics {
+    /** Logs resolved and refused URIs. */
+    private static final Logger log = LoggerFactory.getLogger(SchemaCatalog.class);
+    /** Prefix of classpath locations. */
+    private static final String CLASSPATH = "classpath:";
+    /** Prefix of file locations. */
+    private static final String FILE = "file:";
+    /** Resource paths of the bundled meta-schemas, relative to {@code https://json-schema.org/}. */
+    private static final List<String> META_SCHEMAS = List.of(
+            "draft-04/schema",
+            "draft-06/schema",
+            "draft-07/schema",
+            "draft/2019-09/schema",
+            "draft/2019-09/meta/applicator",
+            "draft/2019-09/meta/content",
+            "draft/2019-09/meta/core",
+            "draft/2019-09/meta/format",
+            "draft/2019-09/meta/meta-data",
+            "draft/2019-09/meta/validation",
+            "draft/2020-12/schema",
+            "draft/2020-12/meta/applicator",
+            "draft/2020-12/meta/content",
+            "draft/2020-12/meta/core",
+            "draft/2020-12/meta/format-annotation",
+            "draft/2020-12/meta/meta-data",
+            "draft/2020-12/meta/unevaluated",
+            "draft/2020-12/meta/validation");
+    /** Catalog settings. */
+    private final SchemaCatalogProperties props;
+    /** Meta-schema documents by resource path; never evicted. */
+    private final Map<String, byte[]> metaSchemas = new HashMap<>();
+    /** Mapped URI prefixes, longest first. */
+    private final List<Map.Entry<String, String>> mappings;
+    /** Resolved documents by URI in access order; the eldest entry is evicted first. */
+    private final LinkedHashMap<String, byte[]> documents;
+    /** Factories by draft, all loading through this catalog. */
+    private final Map<SpecVersion.VersionFlag, JsonSchemaFactory> factories =
+            new EnumMap<>(SpecVersion.VersionFlag.class);
+    /** Lookups served from memory. */
+    private final AtomicLong hits = new AtomicLong();
+    /** Lookups not served from memory. */
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Creates the catalog and preloads the meta-schemas.
+     *
+     * @param props catalog settings
+     */
+    public SchemaCatalog(final SchemaCatalogProperties props) {
+        this.props = props;
+        this.mappings = props.mappings().entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(Comparator.comparingInt(String::length).reversed()))
+                .toList();
+        final int capacity = props.maxDocuments();
+        this.documents = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, byte[]> eldest) {
+                return size() > capacity;
+            }
+        };
+        for (final String path : META_SCHEMAS) {
+            final byte[] content = classpath(path);
+            if (content != null) metaSchemas.put(path, content);
+        }
+    }
+
+    /**
+     * Factory for a draft that resolves documents through this catalog.
+     *
+     * @param version draft version
+     * @return shared factory of that draft
+     */
+    public synchronized JsonSchemaFactory factory(final SpecVersion.VersionFlag version) {
+        return factories.computeIfAbsent(
+                version, v -> JsonSchemaFactory.getInstance(v, b -> b.schemaLoaders(loaders -> loaders.add(this))));
+    }
+
+    @Override
+    public InputStreamSource getSchema(final AbsoluteIri absoluteIri) {
+        final String uri = absoluteIri.toString();
+        final byte[] content = lookup(uri);
+        if (content == null) {
+            if (props.offline()) {
+                log.warn("🗂️ Schema catalog: no local copy of {}, loading outside the catalog is disabled", uri);
+                throw new IllegalStateException("Schema catalog is offline and has no local copy of " + uri);
+            }
+            return null;
+        }
+        return () -> new ByteArrayInputStream(content);
+    }
+
+    /**
+     * Whether the catalog itself serves a URI, from the bundled meta-schemas, the mappings or the mirror.
+     *
+     * @param uri absolute URI
+     * @return true when the document is available without the validator's own loaders
+     */
+    public boolean serves(final String uri) {
+        return lookup(uri) != null;
+    }
+
+    /**
+     * Document of a URI from the meta-schemas, the cache, the mappings or the mirror.
+     *
+     * @param uri absolute URI
+     * @return document bytes, or null when the catalog has no copy
+     */
+    private byte[] lookup(final String uri) {
+        final byte[] meta = metaSchemas.get(metaSchemaPath(uri));
+        if (meta != null) {
+            hits.incrementAndGet();
+            return meta;
+        }
+        byte[] content;
+        synchronized (documents) {
+            content = documents.get(uri);
+        }
+        if (content != null) {
+            hits.incrementAndGet();
+            return content;
+        }
+        misses.incrementAndGet();
+        content = resolve(uri);
+        if (content != null) {
+            synchronized (documents) {
+                documents.put(uri, content);
+            }
+        }
+        return content;
+    }
+
+    @Override
+    public String cacheName() {
+        return "schema-documents";
+    }
+
+    @Override
+    public long hits() {
+        return hits.get();
+    }
+
+    @Override
+    public long misses() {
+        return misses.get();
+    }
+
+    @Override
+    public int size() {
+        synchronized (documents) {
+            return documents.size();
+        }
+    }
+
+    /**
+     * Reads a URI from the mappings or the mirror directory.
+     *
+     * @param uri absolute URI
+     * @return document bytes, or null when the catalog has no copy
+     */
+    private byte[] resolve(final String uri) {
+        for (final Map.Entry<String, String> mapping : mappings) {
+            if (uri.startsWith(mapping.getKey())) {
+                final byte[] content = read(mapping.getValue(), uri.substring(mapping.getKey().length()));
+                if (content != null) {
+                    log.debug("🗂️ Schema catalog: {} → {}", uri, mapping.getValue());
+                    return content;
+                }
+            }
+        }
+        if (props.directory() == null || !remote(uri)) return null;
+        final URI parsed;
+        try {
+            parsed = URI.create(uri);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (parsed.getHost() == null || parsed.getPath() == null || parsed.getPath().isEmpty()) return null;
+        final Path root = Path.of(props.directory());
+        final Path mirrored = Path.of(props.directory(), parsed.getHost(), parsed.getPath());
+        byte[] content = file(root, mirrored);
+        if (content == null) content = file(root, Path.of(mirrored + ".json"));
+        return content;
+    }
+
+    /**
+     * Reads a mapped location: a {@code classpath:} resource, a {@code file:} URI or a plain path.
+     *
+     * @param prefix mapped location prefix
+     * @param rest   remainder of the URI after the mapped URI prefix
+     * @return bytes, or null when it does not exist or would leave the mapped location
+     */
+    private static byte[] read(final String prefix, final String rest) {
+        if (prefix.startsWith(CLASSPATH)) {
+            return escapes(rest) ? null : classpath(prefix.substring(CLASSPATH.length()) + rest);
+        }
+        final Path base = path(prefix);
+        final Path location = path(prefix + rest);
+        // a prefix naming a directory contains its documents; any other prefix is the start of a file name
+        final boolean directory = prefix.endsWith("/") || Files.isDirectory(base);
+        final Path parent = base.toAbsolutePath().getParent();
+        return file(directory || parent == null ? base : parent, location);
+    }
+
+    /**
+     * File system path of a location: a {@code file:} URI or a plain path.
+     *
+     * @param location location
+     * @return path
+     */
+    private static Path path(final String location) {
+        if (!location.startsWith(FILE)) return Path.of(location);
+        try {
+            return Path.of(URI.create(location));
+        } catch (IllegalArgumentException e) {
+            return Path.of(location.substring(FILE.length()));
+        }
+    }
+
+    /**
+     * Whether a relative resource path climbs out of its base.
+     *
+     * @param rest relative path
+     * @return true when it contains a {@code ..} segment
+     */
+    private static boolean escapes(final String rest) {
+        for (final String segment : rest.split("[/\\\\]")) {
+            if ("..".equals(segment)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Reads a regular file that lies under a root directory.
+     *
+     * @param root directory the file must stay in
+     * @param path file path
+     * @return bytes, or null when absent or outside the root
+     */
+    private static byte[] file(final Path root, final Path path) {
+        final Path base = root.toAbsolutePath().normalize();
+        final Path target = path.toAbsolutePath().normalize();
+        if (!target.startsWith(base)) {
+            log.warn("🗂️ Schema catalog: {} is outside {}, refused", path, base);
+            return null;
+        }
+        return file(target);
+    }
+
+    /**
+     * Reads a classpath resource.
+     *
+     * @param path resource path, with or without a leading slash
+     * @return bytes, or null when absent
+     */
+    private static byte[] classpath(final String path) {
+        final String name = path.startsWith("/") ? path.substring(1) : path;
+        try (InputStream in = SchemaCatalog.class.getClassLoader().getResourceAsStream(name)) {
+            return in == null ? null : in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads a regular file.
+     *
+     * @param path file path
+     * @return bytes, or null when absent
+     */
+    private static byte[] file(final Path path) {
+        if (!Files.isRegularFile(path)) return null;
+        try {
+            return Files.readAllBytes(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Resource path of a meta-schema URI, in its {@code https}, {@code http} or {@code classpath:} spelling.
+     *
+     * @param uri absolute URI
+     * @return path relative to {@code https://json-schema.org/}, or the URI itself for other documents
+     */
+    private static String metaSchemaPath(final String uri) {
+        String path = uri;
+        for (final String prefix : new String[] {"https://json-schema.org/", "http://json-schema.org/", CLASSPATH}) {
+            if (path.startsWith(prefix)) {
+                path = path.substring(prefix.length());
+                break;
+            }
+        }
+        return path.endsWith("#") ? path.substring(0, path.length() - 1) : path;
+    }
+
+    /**
+     * Whether a URI would be fetched over the network, and so may have a copy in the mirror directory.
+     *
+     * @param uri absolute URI
+     * @return true for {@code http}, {@code https} and {@code ftp}
+     */
+    private static boolean remote(final String uri) {
+        final String scheme = AbsoluteIri.getScheme(uri);
+        return "http".equalsIgnoreCase(scheme) || "https".equalsIgnoreCase(scheme) || "ftp".equalsIgnoreCase(scheme);
+    }
+}
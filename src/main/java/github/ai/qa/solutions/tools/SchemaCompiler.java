@@ -0,0 +1,591 @@
+package github.ai.qa.solutions.tools;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.networknt.schema.SpecVersion;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Compiles the common subset of JSON Schema into a tree of specialized checks.
+ *
+ * <p>The general validator looks keywords up and walks its validator list for every node of every document. A
+ * compiled schema does that work once: each subschema becomes a fixed array of checks with their operands already
+ * prepared (patterns compiled, enum values and limits converted, property names resolved), so validation is a walk
+ * over the instance only.</p>
+ *
+ * <p>Supported keywords: {@code type}, {@code required}, {@code properties}, {@code additionalProperties},
+ * {@code enum}, {@code pattern}, {@code minLength}, {@code maxLength}, {@code minimum}, {@code maximum},
+ * {@code minItems}, {@code maxItems} and {@code items} (single schema), plus annotations such as {@code title}
+ * or {@code description}. A schema using anything else (e.g. {@code $ref}, {@code format}, combinators, a
+ * {@code false} subschema) is not compiled and stays with the general validator.</p>
+ *
+ * <p>Errors are the general validator's messages, schema locations and instance paths in its order:
+ * {@code properties} first, then the other keywords of a subschema as declared. Validation can stop after a given
+ * number of errors, so a huge invalid document is not walked to the end.</p>
+ */
+public final class SchemaCompiler {
+    /** Keywords without validation semantics, skipped when compiling. */
+    private static final Set<String> ANNOTATIONS = Set.of(
+            "$schema",
+            "$id",
+            "id",
+            "$comment",
+            "title",
+            "description",
+            "examples",
+            "default",
+            "definitions",
+            "$defs",
+            "readOnly",
+            "writeOnly",
+            "deprecated");
+    /** Type names accepted by the {@code type} keyword. */
+    private static final Set<String> TYPES =
+            Set.of("object", "array", "string", "number", "integer", "boolean", "null");
+    /** Nesting limit; deeper schemas are left to the general validator. */
+    private static final int MAX_DEPTH = 64;
+    /** Check of an empty or {@code true} subschema. */
+    private static final Check NONE = (node, at, errors) -> {};
+    /** Signals a schema outside the compiled subset. */
+    private static final Unsupported UNSUPPORTED = new Unsupported();
+    /** Signals that the error limit of a validation is reached. */
+    private static final LimitReached LIMIT_REACHED = new LimitReached();
+
+    private SchemaCompiler() {}
+
+    /**
+     * Compiles a schema.
+     *
+     * @param schema  parsed schema
+     * @param version draft the schema is validated with
+     * @return compiled schema, or empty when the schema uses keywords outside the compiled subset
+     */
+    public static Optional<CompiledSchema> compile(final JsonNode schema, final SpecVersion.VersionFlag version) {
+        if (schema == null) return Optional.empty();
+        try {
+            return Optional.of(new CompiledSchema(subschema(schema, version, 0, "#")));
+        } catch (Unsupported e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Compiles one subschema.
+     *
+     * @param schema  subschema
+     * @param version draft
+     * @param depth   nesting depth
+     * @param path    schema location of the subschema, e.g. {@code #/properties/name}
+     * @return check of the subschema
+     */
+    private static Check subschema(
+            final JsonNode schema, final SpecVersion.VersionFlag version, final int depth, final String path) {
+        if (schema.isBoolean() && schema.booleanValue()) return NONE;
+        if (!schema.isObject() || depth > MAX_DEPTH) throw UNSUPPORTED;
+        final List<Check> checks = new ArrayList<>();
+        final List<Check> declared = new ArrayList<>();
+        final Iterator<Map.Entry<String, JsonNode>> it = schema.fields();
+        while (it.hasNext()) {
+            final Map.Entry<String, JsonNode> e = it.next();
+            final JsonNode value = e.getValue();
+            final String at = path + "/" + escape(e.getKey());
+            switch (e.getKey()) {
+                case "properties" -> checks.add(properties(value, version, depth, at));
+                case "additionalProperties" -> declared.add(
+                        additionalProperties(value, schema.get("properties"), version, depth, at));
+                case "type" -> declared.add(type(value, version, at));
+                case "required" -> declared.add(required(value, at));
+                case "enum" -> declared.add(enumeration(value, at));
+                case "pattern" -> declared.add(pattern(value, at));
+                case "minLength" -> declared.add(length(value, true, at));
+                case "maxLength" -> declared.add(length(value, false, at));
+                case "minimum" -> declared.add(limit(value, true, at));
+                case "maximum" -> declared.add(limit(value, false, at));
+                case "minItems" -> declared.add(size(value, true, at));
+                case "maxItems" -> declared.add(size(value, false, at));
+                case "items" -> declared.add(items(value, version, depth, at));
+                default -> {
+                    if (!ANNOTATIONS.contains(e.getKey()) || ("$schema".equals(e.getKey()) && depth > 0)) {
+                        throw UNSUPPORTED;
+                    }
+                }
+            }
+        }
+        checks.addAll(declared);
+        checks.removeIf(c -> c == NONE);
+        if (checks.isEmpty()) return NONE;
+        if (checks.size() == 1) return checks.get(0);
+        final Check[] all = checks.toArray(Check[]::new);
+        return (node, at, errors) -> {
+            for (final Check check : all) check.check(node, at, errors);
+        };
+    }
+
+    /**
+     * Compiles {@code properties}.
+     *
+     * @param value   map of name → subschema
+     * @param version draft
+     * @param depth   nesting depth of the owning subschema
+     * @param path    schema location of the keyword
+     * @return check applying each property's subschema to the property, when present
+     */
+    private static Check properties(
+            final JsonNode value, final SpecVersion.VersionFlag version, final int depth, final String path) {
+        if (!value.isObject()) throw UNSUPPORTED;
+        final Map<String, Check> compiled = new LinkedHashMap<>();
+        final Iterator<Map.Entry<String, JsonNode>> it = value.fields();
+        while (it.hasNext()) {
+            final Map.Entry<String, JsonNode> e = it.next();
+            final Check check = subschema(e.getValue(), version, depth + 1, path + "/" + escape(e.getKey()));
+            if (check != NONE) compiled.put(e.getKey(), check);
+        }
+        if (compiled.isEmpty()) return NONE;
+        final String[] names = compiled.keySet().toArray(String[]::new);
+        final Check[] checks = compiled.values().toArray(Check[]::new);
+        return (node, at, errors) -> {
+            if (!node.isObject()) return;
+            for (int i = 0; i < names.length; i++) {
+                final JsonNode child = node.get(names[i]);
+                if (child != null) checks[i].check(child, new Location(at, names[i], -1), errors);
+            }
+        };
+    }
+
+    /**
+     * Compiles {@code additionalProperties}.
+     *
+     * @param value      {@code false} or a subschema
+     * @param properties sibling {@code properties}, may be null
+     * @param version    draft
+     * @param depth      nesting depth of the owning subschema
+     * @param path       schema location of the keyword
+     * @return check of the properties not listed in {@code properties}
+     */
+    private static Check additionalProperties(
+            final JsonNode value,
+            final JsonNode properties,
+            final SpecVersion.VersionFlag version,
+            final int depth,
+            final String path) {
+        final Set<String> known = new HashSet<>();
+        if (properties != null) properties.fieldNames().forEachRemaining(known::add);
+        if (value.isBoolean() && !value.booleanValue()) {
+            return (node, at, errors) -> {
+                if (!node.isObject()) return;
+                final Iterator<String> names = node.fieldNames();
+                while (names.hasNext()) {
+                    final String name = names.next();
+                    if (!known.contains(name)) {
+                        errors.add(
+                                "additionalProperties",
+                                path,
+                                at,
+                                ": property '" + name + "' is not defined in the schema"
+                                        + " and the schema does not allow additional properties");
+                    }
+                }
+            };
+        }
+        final Check check = subschema(value, version, depth + 1, path);
+        if (check == NONE) return NONE;
+        return (node, at, errors) -> {
+            if (!node.isObject()) return;
+            final Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                final Map.Entry<String, JsonNode> e = fields.next();
+                if (!known.contains(e.getKey())) check.check(e.getValue(), new Location(at, e.getKey(), -1), errors);
+            }
+        };
+    }
+
+    /**
+     * Compiles {@code type}.
+     *
+     * @param value   type name or array of type names
+     * @param version draft; Draft 4 does not accept integral decimals such as {@code 1.0} as integers
+     * @param path    schema location of the keyword
+     * @return type check
+     */
+    private static Check type(final JsonNode value, final SpecVersion.VersionFlag version, final String path) {
+        final List<String> names = new ArrayList<>();
+        if (value.isTextual()) {
+            names.add(value.textValue());
+        } else if (value.isArray() && !value.isEmpty()) {
+            for (final JsonNode name : value) {
+                if (!name.isTextual()) throw UNSUPPORTED;
+                names.add(name.textValue());
+            }
+        } else {
+            throw UNSUPPORTED;
+        }
+        if (!TYPES.containsAll(names)) throw UNSUPPORTED;
+        final String[] allowed = names.toArray(String[]::new);
+        final boolean integralDecimals = version != SpecVersion.VersionFlag.V4;
+        final String expected = value.isTextual() ? allowed[0] : "[" + String.join(", ", allowed) + "]";
+        return (node, at, errors) -> {
+            final String found = typeName(node);
+            for (final String type : allowed) {
+                if (type.equals(found)
+                        || ("number".equals(type) && "integer".equals(found))
+                        || ("integer".equals(type)
+                                && "number".equals(found)
+                                && integralDecimals
+                                && node.canConvertToExactIntegral())) {
+                    return;
+                }
+            }
+            errors.add("type", path, at, ": " + found + " found, " + expected + " expected");
+        };
+    }
+
+    /**
+     * Compiles {@code required}.
+     *
+     * @param value array of property names
+     * @param path  schema location of the keyword
+     * @return check reporting each missing property
+     */
+    private static Check required(final JsonNode value, final String path) {
+        if (!value.isArray()) throw UNSUPPORTED;
+        final List<String> names = new ArrayList<>();
+        for (final JsonNode name : value) {
+            if (!name.isTextual()) throw UNSUPPORTED;
+            names.add(name.textValue());
+        }
+        if (names.isEmpty()) return NONE;
+        final String[] required = names.toArray(String[]::new);
+        return (node, at, errors) -> {
+            if (!node.isObject()) return;
+            for (final String name : required) {
+                if (node.get(name) == null) {
+                    errors.add("required", path, at, ": required property '" + name + "' not found");
+                }
+            }
+        };
+    }
+
+    /**
+     * Compiles {@code enum}.
+     *
+     * <p>Numbers match by value ({@code 1.0} equals {@code 1}); other values match structurally.</p>
+     *
+     * @param value array of allowed values
+     * @param path  schema location of the keyword
+     * @return enumeration check
+     */
+    private static Check enumeration(final JsonNode value, final String path) {
+        if (!value.isArray()) throw UNSUPPORTED;
+        final Set<JsonNode> values = new HashSet<>();
+        final List<BigDecimal> numbers = new ArrayList<>();
+        for (final JsonNode element : value) {
+            values.add(element);
+            if (element.isNumber() && finite(element)) numbers.add(element.decimalValue());
+        }
+        final String listed = ": does not have a value in the enumeration ["
+                + StreamSupport.stream(value.spliterator(), false)
+                        .map(JsonNode::toString)
+                        .collect(Collectors.joining(", "))
+                + "]";
+        return (node, at, errors) -> {
+            if (values.contains(node)) return;
+            if (node.isNumber() && finite(node)) {
+                final BigDecimal actual = node.decimalValue();
+                for (final BigDecimal number : numbers) {
+                    if (number.compareTo(actual) == 0) return;
+                }
+            }
+            errors.add("enum", path, at, listed);
+        };
+    }
+
+    /**
+     * Compiles {@code pattern}.
+     *
+     * @param value regular expression
+     * @param path  schema location of the keyword
+     * @return check of string values; the expression may match anywhere in the value
+     */
+    private static Check pattern(final JsonNode value, final String path) {
+        if (!value.isTextual()) throw UNSUPPORTED;
+        final Pattern regex;
+        try {
+            regex = Pattern.compile(value.textValue());
+        } catch (PatternSyntaxException e) {
+            throw UNSUPPORTED;
+        }
+        final String message = ": does not match the regex pattern " + value.textValue();
+        return (node, at, errors) -> {
+            if (node.isTextual() && !regex.matcher(node.textValue()).find()) errors.add("pattern", path, at, message);
+        };
+    }
+
+    /**
+     * Compiles {@code minLength} or {@code maxLength}.
+     *
+     * @param value bound
+     * @param min   whether the bound is a minimum
+     * @param path  schema location of the keyword
+     * @return check of string values, measured in code points
+     */
+    private static Check length(final JsonNode value, final boolean min, final String path) {
+        final int bound = bound(value);
+        final String keyword = min ? "minLength" : "maxLength";
+        final String message = (min ? ": must be at least " : ": must be at most ") + bound + " characters long";
+        return (node, at, errors) -> {
+            if (!node.isTextual()) return;
+            final String text = node.textValue();
+            final int length = text.codePointCount(0, text.length());
+            if (min ? length < bound : length > bound) errors.add(keyword, path, at, message);
+        };
+    }
+
+    /**
+     * Compiles {@code minimum} or {@code maximum}.
+     *
+     * @param value bound
+     * @param min   whether the bound is a minimum
+     * @param path  schema location of the keyword
+     * @return inclusive check of numeric values
+     */
+    private static Check limit(final JsonNode value, final boolean min, final String path) {
+        if (!value.isNumber() || !finite(value)) throw UNSUPPORTED;
+        final BigDecimal bound = value.decimalValue();
+        final double approximate = value.doubleValue();
+        final String keyword = min ? "minimum" : "maximum";
+        final String message = (min ? ": must have a minimum value of " : ": must have a maximum value of ")
+                + value.asText();
+        return (node, at, errors) -> {
+            if (!node.isNumber()) return;
+            final int cmp = finite(node)
+                    ? node.decimalValue().compareTo(bound)
+                    : Double.compare(node.doubleValue(), approximate);
+            if (min ? cmp < 0 : cmp > 0) errors.add(keyword, path, at, message);
+        };
+    }
+
+    /**
+     * Compiles {@code minItems} or {@code maxItems}.
+     *
+     * @param value bound
+     * @param min   whether the bound is a minimum
+     * @param path  schema location of the keyword
+     * @return check of array sizes
+     */
+    private static Check size(final JsonNode value, final boolean min, final String path) {
+        final int bound = bound(value);
+        final String keyword = min ? "minItems" : "maxItems";
+        final String message = (min ? ": must have at least " : ": must have at most ") + bound + " items but found ";
+        return (node, at, errors) -> {
+            if (!node.isArray()) return;
+            final int size = node.size();
+            if (min ? size < bound : size > bound) errors.add(keyword, path, at, message + size);
+        };
+    }
+
+    /**
+     * Compiles {@code items} in its single-schema form.
+     *
+     * @param value   subschema applied to every element
+     * @param version draft
+     * @param depth   nesting depth of the owning subschema
+     * @param path    schema location of the keyword
+     * @return check of array elements
+     */
+    private static Check items(
+            final JsonNode value, final SpecVersion.VersionFlag version, final int depth, final String path) {
+        final Check check = subschema(value, version, depth + 1, path);
+        if (check == NONE) return NONE;
+        return (node, at, errors) -> {
+            if (!node.isArray()) return;
+            for (int i = 0; i < node.size(); i++) check.check(node.get(i), new Location(at, null, i), errors);
+        };
+    }
+
+    /**
+     * Escapes a name for use in a JSON pointer.
+     *
+     * @param name property or keyword name
+     * @return name with {@code ~} and {@code /} escaped
+     */
+    private static String escape(final String name) {
+        return name.replace("~", "~0").replace("/", "~1");
+    }
+
+    /**
+     * Reads a non-negative integer bound.
+     *
+     * @param value keyword value
+     * @return bound
+     */
+    private static int bound(final JsonNode value) {
+        if (!value.isIntegralNumber() || !value.canConvertToInt() || value.intValue() < 0) throw UNSUPPORTED;
+        return value.intValue();
+    }
+
+    /**
+     * Whether a numeric node has an exact decimal value.
+     *
+     * @param node numeric node
+     * @return false for infinite and NaN floating-point values
+     */
+    private static boolean finite(final JsonNode node) {
+        return !(node.isDouble() || node.isFloat()) || Double.isFinite(node.doubleValue());
+    }
+
+    /**
+     * JSON type of an instance, as named in messages.
+     *
+     * @param node instance
+     * @return type name; numbers without a fraction part in the source are {@code integer}
+     */
+    private static String typeName(final JsonNode node) {
+        return switch (node.getNodeType()) {
+            case OBJECT -> "object";
+            case ARRAY -> "array";
+            case STRING -> "string";
+            case BOOLEAN -> "boolean";
+            case NULL -> "null";
+            case NUMBER -> node.isIntegralNumber() ? "integer" : "number";
+            default -> "unknown";
+        };
+    }
+
+    /** A compiled schema; immutable and safe to share between threads. */
+    public static final class CompiledSchema {
+        /** Check of the root schema. */
+        private final Check root;
+
+        /**
+         * Wraps the root check.
+         *
+         * @param root check of the root schema
+         */
+        private CompiledSchema(final Check root) {
+            this.root = root;
+        }
+
+        /**
+         * Validates a document.
+         *
+         * @param document parsed document
+         * @return violations in the general validator's order, empty when the document is valid
+         */
+        public List<SchemaViolation> validate(final JsonNode document) {
+            return validate(document, Integer.MAX_VALUE);
+        }
+
+        /**
+         * Validates a document, stopping at an error limit.
+         *
+         * @param document parsed document
+         * @param limit    errors after which the walk stops
+         * @return at most {@code limit} violations in the general validator's order, empty when the document is valid
+         */
+        public List<SchemaViolation> validate(final JsonNode document, final int limit) {
+            final Errors errors = new Errors(Math.max(1, limit));
+            try {
+                root.check(document, Location.ROOT, errors);
+            } catch (LimitReached e) {
+                // the first errors are all the caller asked for
+            }
+            return errors.found;
+        }
+    }
+
+    /** Compiled keyword or subschema. */
+    @FunctionalInterface
+    private interface Check {
+        /**
+         * Checks an instance.
+         *
+         * @param node   instance
+         * @param at     instance location
+         * @param errors sink for violations
+         */
+        void check(JsonNode node, Location at, Errors errors);
+    }
+
+    /** Violations of one validation, up to a limit. */
+    private static final class Errors {
+        /** Violations so far. */
+        private final List<SchemaViolation> found = new ArrayList<>(0);
+        /** Errors after which the walk stops. */
+        private final int limit;
+
+        /**
+         * Creates the sink.
+         *
+         * @param limit errors after which the walk stops
+         */
+        Errors(final int limit) {
+            this.limit = limit;
+        }
+
+        /**
+         * Records a violation.
+         *
+         * @param keyword        failed keyword
+         * @param schemaLocation schema location of the keyword
+         * @param at             instance location
+         * @param text           message after the instance path, starting with {@code ": "}
+         * @throws LimitReached when the limit is reached
+         */
+        void add(final String keyword, final String schemaLocation, final Location at, final String text) {
+            final String path = at.toString();
+            found.add(new SchemaViolation(keyword, schemaLocation, path, path + text));
+            if (found.size() >= limit) throw LIMIT_REACHED;
+        }
+    }
+
+    /**
+     * Instance location, rendered only when an error is reported.
+     *
+     * @param parent parent location; null for the root
+     * @param name   property name; null for array elements and the root
+     * @param index  array index; used when {@code name} is null
+     */
+    private record Location(Location parent, String name, int index) {
+        /** The document root. */
+        private static final Location ROOT = new Location(null, null, -1);
+
+        @Override
+        public String toString() {
+            if (parent == null) return "$";
+            return name != null ? parent + "." + name : parent + "[" + index + "]";
+        }
+    }
+
+    /** Thrown while validating once the error limit is reached; carries no stack trace. */
+    private static final class LimitReached extends RuntimeException {
+        /** Serialization version. */
+        private static final long serialVersionUID = 1L;
+
+        /** Creates the shared instance. */
+        private LimitReached() {
+            super("error limit reached", null, false, false);
+        }
+    }
+
+    /** Thrown while compiling a schema outside the compiled subset; carries no stack trace. */
+    private static final class Unsupported extends RuntimeException {
+        /** Serialization version. */
+        private static final long serialVersionUID = 1L;
+
+        /** Creates the shared instance. */
+        private Unsupported() {
+            super("unsupported keyword", null, false, false);
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package github.ai.qa.solutions.tools;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.networknt.schema.ExecutionContext;
+import com.networknt.schema.InputFormat;
+import com.networknt.schema.JsonSchema;
+import com.networknt.schema.SpecVersion;
+import com.networknt.schema.ValidationMessage;
+import com.networknt.schema.serialization.JsonMapperFactory;
+import github.ai.qa.solutions.configuration.SchemaValidatorProperties;
+import github.ai.qa.solutions.observability.CacheStatistics;
+import github.ai.qa.solutions.observability.jfr.SchemaCompileEvent;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Prepared schemas of the validation tool, keyed by schema text.
+ *
+ * <p>A schema is detected and compiled by the general validator once and reused until evicted (LRU). When
+ * {@code ai.schema-validator.compiled} is set, a schema validated {@code hot-after} times is also handed to the
+ * {@link SchemaCompiler}; if it lies inside the compiled subset, later documents are validated by the specialized
+ * validator, with the same messages. Documents the specialized validator cannot read go to the general validator,
+ * so parse errors are reported as before.</p>
+ */
+@Component
+public class SchemaValidatorCache implements CacheStatistics {
+    /** Logs schemas switching to a compiled validator. */
+    private static final Logger log = LoggerFactory.getLogger(SchemaValidatorCache.class);
+    /** Version detection and factories. */
+    private final SchemaVersionDetector versionDetector;
+    /** Cache and compiler settings. */
+    private final SchemaValidatorProperties props;
+    /** Prepared schemas by schema text in access order; the eldest entry is evicted first. */
+    private final LinkedHashMap<String, Prepared> schemas;
+    /** Lookups served from memory. */
+    private final AtomicLong hits = new AtomicLong();
+    /** Lookups that compiled the schema. */
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Creates the cache.
+     *
+     * @param versionDetector version detection and factories
+     * @param props           cache and compiler settings
+     */
+    @Autowired
+    public SchemaValidatorCache(final SchemaVersionDetector versionDetector, final SchemaValidatorProperties props) {
+        this.versionDetector = versionDetector;
+        this.props = props;
+        final int capacity = props.maxSchemas();
+        this.schemas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Prepared> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Creates a cache with default settings (compiled validators off).
+     *
+     * @param versionDetector version detection and factories
+     */
+    public SchemaValidatorCache(final SchemaVersionDetector versionDetector) {
+        this(versionDetector, SchemaValidatorProperties.defaults());
+    }
+
+    /**
+     * Returns the prepared schema of a schema text, compiling it on first use.
+     *
+     * <p>Every call emits a {@link SchemaCompileEvent} with purpose {@code validate}; reuse is marked as a cache
+     * hit.</p>
+     *
+     * @param schemaText schema text
+     * @return prepared schema
+     */
+    public Prepared prepare(final String schemaText) {
+        return prepare(schemaText, props.hotAfter());
+    }
+
+    /**
+     * Returns the prepared schema of a schema text that is about to validate many documents, such as a dataset.
+     *
+     * <p>The schema counts as hot at once, so it is compiled before the first document when compiled validators
+     * are enabled.</p>
+     *
+     * @param schemaText schema text
+     * @return prepared schema
+     */
+    public Prepared prepareHot(final String schemaText) {
+        return prepare(schemaText, 1);
+    }
+
+    /**
+     * Looks up or compiles a schema and counts the use.
+     *
+     * @param schemaText schema text
+     * @param hotAfter   uses that make the schema hot
+     * @return prepared schema
+     */
+    private Prepared prepare(final String schemaText, final int hotAfter) {
+        Prepared prepared;
+        synchronized (schemas) {
+            prepared = schemas.get(schemaText);
+        }
+        final SchemaCompileEvent compile = new SchemaCompileEvent();
+        compile.begin();
+        try {
+            if (prepared != null) {
+                hits.incrementAndGet();
+                compile.cacheHit = true;
+            } else {
+                misses.incrementAndGet();
+                final SpecVersion.VersionFlag version = versionDetector.selectedVersion(schemaText);
+                final JsonSchema schema = versionDetector.factory(version).getSchema(schemaText);
+                schema.initializeValidators();
+                prepared = new Prepared(version, schema);
+                synchronized (schemas) {
+                    schemas.put(schemaText, prepared);
+                }
+            }
+            compile.version = prepared.version().name();
+            compile.success = true;
+        } finally {
+            compile.purpose = "validate";
+            compile.schemaChars = schemaText == null ? 0 : schemaText.length();
+            compile.commit();
+        }
+        if (props.compiled()) prepared.used(hotAfter, schemaText.length());
+        return prepared;
+    }
+
+    @Override
+    public String cacheName() {
+        return "validation-schemas";
+    }
+
+    @Override
+    public long hits() {
+        return hits.get();
+    }
+
+    @Override
+    public long misses() {
+        return misses.get();
+    }
+
+    @Override
+    public int size() {
+        synchronized (schemas) {
+            return schemas.size();
+        }
+    }
+
+    /** A schema compiled by the general validator and, once hot, possibly by the {@link SchemaCompiler}. */
+    public static final class Prepared {
+        /** Draft the schema is validated with. */
+        private final SpecVersion.VersionFlag version;
+        /** General validator. */
+        private final JsonSchema schema;
+        /** Validations so far, counted while compiled validators are enabled. */
+        private final AtomicInteger uses = new AtomicInteger();
+        /** Specialized validator; empty when the schema is outside the compiled subset, null until hot. */
+        private volatile Optional<SchemaCompiler.CompiledSchema> compiled;
+
+        /**
+         * Creates the entry.
+         *
+         * @param version draft
+         * @param schema  general validator
+         */
+        Prepared(final SpecVersion.VersionFlag version, final JsonSchema schema) {
+            this.version = version;
+            this.schema = schema;
+        }
+
+        /**
+         * Draft the schema is validated with.
+         *
+         * @return draft version
+         */
+        public SpecVersion.VersionFlag version() {
+            return version;
+        }
+
+        /**
+         * Whether documents are validated by a specialized validator.
+         *
+         * @return true once the schema is hot and inside the compiled subset
+         */
+        public boolean isCompiled() {
+            final Optional<SchemaCompiler.CompiledSchema> c = compiled;
+            return c != null && c.isPresent();
+        }
+
+        /**
+         * Validates a document.
+         *
+         * @param document document text
+         * @return violations in the general validator's format and order, empty when the document is valid
+         */
+        public List<SchemaViolation> validate(final String document) {
+            return validate(document, Integer.MAX_VALUE);
+        }
+
+        /**
+         * Validates a document, stopping at an error limit.
+         *
+         * <p>The compiled validator stops walking the document at the limit; the general validator stops at the first
+         * error when the limit is 1 (its fail-fast mode) and is otherwise truncated to the limit.</p>
+         *
+         * @param document document text
+         * @param limit    maximum number of violations to return
+         * @return the first violations in the general validator's format and order, empty when the document is valid
+         */
+        public List<SchemaViolation> validate(final String document, final int limit) {
+            final Optional<SchemaCompiler.CompiledSchema> c = compiled;
+            if (c != null && c.isPresent() && document != null) {
+                final JsonNode node = read(document);
+                if (node != null) return c.get().validate(node, limit);
+            }
+            final Set<ValidationMessage> messages = limit <= 1
+                    ? schema.validate(document, InputFormat.JSON, (Consumer<ExecutionContext>)
+                            context -> context.getExecutionConfig().setFailFast(true))
+                    : schema.validate(document, InputFormat.JSON);
+            return messages.stream()
+                    .limit(Math.max(1, limit))
+                    .map(SchemaViolation::of)
+                    .toList();
+        }
+
+        /**
+         * Counts a use and compiles the schema when it becomes hot.
+         *
+         * @param hotAfter    uses that make the schema hot
+         * @param schemaChars schema size, for the log line
+         */
+        private void used(final int hotAfter, final int schemaChars) {
+            if (compiled != null || uses.incrementAndGet() < hotAfter) return;
+            synchronized (this) {
+                if (compiled != null) return;
+                compiled = SchemaCompiler.compile(schema.getSchemaNode(), version);
+            }
+            if (compiled.isPresent()) {
+                log.info("⚡ Schema of {} chars ({}) is hot, switching to a compiled validator", schemaChars, version);
+            } else {
+                log.debug("⚡ Schema of {} chars ({}) is hot but outside the compiled subset", schemaChars, version);
+            }
+        }
+
+        /**
+         * Parses a document the way the general validator does.
+         *
+         * @param document document text
+         * @return parsed document, or null when it is not a single JSON value
+         */
+        private static JsonNode read(final String document) {
+            try {
+                final JsonNode node = JsonMapperFactory.getInstance().readTree(document);
+                return node == null || node.isMissingNode() ? null : node;
+            } catch (Exception e) {
+                return null;
+            }
+        }
+    }
+}
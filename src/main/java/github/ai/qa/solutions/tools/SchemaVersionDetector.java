@@ -4,60 +4,132 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.networknt.schema.JsonSchemaFactory;
 import com.networknt.schema.SpecVersion;
+import github.ai.qa.solutions.configuration.SchemaCatalogProperties;
+import github.ai.qa.solutions.observability.jfr.SchemaCompileEvent;
 import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.Iterator;
 import java.util.List;
-import org.apache.commons.lang3.StringUtils;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 /**
  * Detects JSON Schema draft versions and provides factory fallbacks.
  *
+ * <p>Every factory comes from the {@link SchemaCatalog}, so external references resolve locally.</p>
+ *
  * @param objectMapper Jackson mapper used for lightweight schema parsing
+ * @param catalog      local schema catalog the factories load documents from
  */
 @Component
-public record SchemaVersionDetector(ObjectMapper objectMapper) {
+public record SchemaVersionDetector(ObjectMapper objectMapper, SchemaCatalog catalog) {
+    /** Drafts from oldest to newest; evidence bounds are indexes into this list. */
+    private static final List<SpecVersion.VersionFlag> VERSIONS = List.of(
+            SpecVersion.VersionFlag.V4,
+            SpecVersion.VersionFlag.V6,
+            SpecVersion.VersionFlag.V7,
+            SpecVersion.VersionFlag.V201909,
+            SpecVersion.VersionFlag.V202012);
+    /** Keywords by the index of the draft that introduced them. */
+    private static final Map<String, Integer> SINCE = Map.ofEntries(
+            Map.entry("const", 1),
+            Map.entry("contains", 1),
+            Map.entry("propertyNames", 1),
+            Map.entry("$id", 1),
+            Map.entry("if", 2),
+            Map.entry("then", 2),
+            Map.entry("else", 2),
+            Map.entry("contentMediaType", 2),
+            Map.entry("contentEncoding", 2),
+            Map.entry("$defs", 3),
+            Map.entry("$anchor", 3),
+            Map.entry("unevaluatedProperties", 3),
+            Map.entry("unevaluatedItems", 3),
+            Map.entry("dependentRequired", 3),
+            Map.entry("dependentSchemas", 3),
+            Map.entry("minContains", 3),
+            Map.entry("maxContains", 3),
+            Map.entry("$recursiveRef", 3),
+            Map.entry("$recursiveAnchor", 3),
+            Map.entry("prefixItems", 4),
+            Map.entry("$dynamicRef", 4),
+            Map.entry("$dynamicAnchor", 4));
+    /** Keywords by the index of the last draft that knows them. */
+    private static final Map<String, Integer> UNTIL = Map.of(
+            "additionalItems", 3,
+            "$recursiveRef", 3,
+            "$recursiveAnchor", 3,
+            "dependencies", 2);
+    /** Keywords holding a map of name → subschema. */
+    private static final Set<String> SCHEMA_MAPS =
+            Set.of("properties", "patternProperties", "$defs", "definitions", "dependentSchemas");
+    /** Keywords whose values are instance data, never subschemas. */
+    private static final Set<String> DATA = Set.of("enum", "const", "default", "examples");
+    /** Depth limit of the evidence walk. */
+    private static final int MAX_DEPTH = 64;
+
+    /**
+     * Creates the detector.
+     *
+     * @param objectMapper Jackson mapper used for lightweight schema parsing
+     * @param catalog      local schema catalog the factories load documents from
+     */
+    @Autowired
+    public SchemaVersionDetector {}
+
+    /**
+     * Creates a detector with a default catalog (bundled meta-schemas only, network allowed).
+     *
+     * @param objectMapper Jackson mapper used for lightweight schema parsing
+     */
+    public SchemaVersionDetector(final ObjectMapper objectMapper) {
+        this(objectMapper, new SchemaCatalog(SchemaCatalogProperties.defaults()));
+    }
 
     /**
      * Detects the most likely JSON Schema draft version.
      *
+     * @param schemaText raw JSON Schema string
+     * @return detected version flag (never null)
+     * @see #detect(String)
+     */
+    public SpecVersion.VersionFlag detectVersion(final String schemaText) {
+        return detect(schemaText).version();
+    }
+
+    /**
+     * Detects the draft version and how certain the detection is.
+     *
      * <p>Strategy:
      * - Respect explicit $schema meta if present and recognizable.
-     * - Otherwise use lightweight heuristics based on known keywords.
-     * - Fall back to Draft 4 conservatively.
+     * - Otherwise walk the parsed schema once, collecting keywords that exist only since, or only up to, a draft;
+     *   the oldest draft that supports every keyword found wins.
+     * - Evidence that no single draft supports (e.g. {@code prefixItems} next to {@code additionalItems}) is
+     *   ambiguous; without any evidence, fall back to Draft 4 conservatively.
      *
      * @param schemaText raw JSON Schema string
-     * @return detected version flag (never null)
+     * @return detected version and confidence
      */
-    public SpecVersion.VersionFlag detectVersion(final String schemaText) {
+    public Detection detect(final String schemaText) {
+        final JsonNode root;
         try {
-            final JsonNode root = objectMapper.readTree(schemaText);
-            final String schemaUrl = root.path("$schema").asText("");
-            if (!schemaUrl.isEmpty()) {
-                final SpecVersion.VersionFlag byMeta = versionFromSchemaUri(schemaUrl);
-                if (byMeta != null) {
-                    return byMeta;
-                }
-            }
-            // Heuristics when $schema is absent or unrecognized
-            final String text = root.toString();
-            if (StringUtils.contains(text, "\"prefixItems\"")) {
-                // Introduced in 2020-12
-                return SpecVersion.VersionFlag.V202012;
-            }
-            if (StringUtils.contains(text, "\"$defs\"")
-                    || StringUtils.contains(text, "\"unevaluatedProperties\"")
-                    || StringUtils.contains(text, "\"unevaluatedItems\"")
-                    || StringUtils.contains(text, "\"dependentRequired\"")
-                    || StringUtils.contains(text, "\"dependentSchemas\"")) {
-                // Keywords standardized since 2019-09
-                return SpecVersion.VersionFlag.V201909;
-            }
-        } catch (Exception ignored) {
-            // If schema cannot be parsed, choose safe default below.
+            root = objectMapper.readTree(schemaText);
+        } catch (Exception e) {
+            return new Detection(SpecVersion.VersionFlag.V4, Confidence.DEFAULT);
         }
-        // Conservative default that most validators accept
-        return SpecVersion.VersionFlag.V4;
+        if (root == null) return new Detection(SpecVersion.VersionFlag.V4, Confidence.DEFAULT);
+        final String schemaUrl = root.path("$schema").asText("");
+        if (!schemaUrl.isEmpty()) {
+            final SpecVersion.VersionFlag byMeta = versionFromSchemaUri(schemaUrl);
+            if (byMeta != null) return new Detection(byMeta, Confidence.DECLARED);
+        }
+        final Evidence evidence = new Evidence();
+        evidence.collect(root, 0);
+        if (!evidence.found) return new Detection(SpecVersion.VersionFlag.V4, Confidence.DEFAULT);
+        final SpecVersion.VersionFlag lowest = VERSIONS.get(evidence.min);
+        return new Detection(lowest, evidence.min <= evidence.max ? Confidence.INFERRED : Confidence.AMBIGUOUS);
     }
 
     /**
@@ -68,7 +140,16 @@ public record SchemaVersionDetector(ObjectMapper objectMapper) {
      * @return ordered unique list of candidate versions
      */
     public List<SpecVersion.VersionFlag> detectCandidates(final String schemaText) {
-        final SpecVersion.VersionFlag primary = detectVersion(schemaText);
+        return candidates(detectVersion(schemaText));
+    }
+
+    /**
+     * Candidate versions starting from the primary guess, then newer to older.
+     *
+     * @param primary primary guess
+     * @return ordered unique list of candidate versions
+     */
+    private static List<SpecVersion.VersionFlag> candidates(final SpecVersion.VersionFlag primary) {
         final List<SpecVersion.VersionFlag> order = new ArrayList<>();
         order.add(primary);
         // Add remaining versions by recency preference
@@ -100,26 +181,46 @@ public record SchemaVersionDetector(ObjectMapper objectMapper) {
      * @return JsonSchemaFactory bound to a compatible draft
      */
     public JsonSchemaFactory factoryWithFallback(final String schemaText) {
-        final SpecVersion.VersionFlag selected = selectedVersion(schemaText);
-        return JsonSchemaFactory.getInstance(selected);
+        return factory(selectedVersion(schemaText));
+    }
+
+    /**
+     * Returns the factory of a draft version, resolving references through the catalog.
+     *
+     * @param version draft version
+     * @return JsonSchemaFactory bound to that draft
+     */
+    public JsonSchemaFactory factory(final SpecVersion.VersionFlag version) {
+        return catalog.factory(version);
     }
 
     /**
-     * Picks the first draft version that successfully compiles the schema using the
-     * candidate order from {@link #detectCandidates(String)}.
+     * Picks the draft version to compile the schema with.
+     *
+     * <p>A declared or unambiguously inferred version is returned as is. Only ambiguous evidence leads to trial
+     * compilation: the first version from {@link #detectCandidates(String)} that compiles the schema wins.</p>
      *
      * @param schemaText raw JSON Schema string
-     * @return the first compatible version flag found, falling back to V4
+     * @return the detected or first compatible version flag, falling back to V4
      */
     public SpecVersion.VersionFlag selectedVersion(final String schemaText) {
-        final List<SpecVersion.VersionFlag> candidates = detectCandidates(schemaText);
-        for (SpecVersion.VersionFlag v : candidates) {
+        final Detection detection = detect(schemaText);
+        if (detection.confidence() != Confidence.AMBIGUOUS) return detection.version();
+        for (SpecVersion.VersionFlag v : candidates(detection.version())) {
+            final SchemaCompileEvent compile = new SchemaCompileEvent();
+            compile.begin();
             try {
-                final JsonSchemaFactory f = JsonSchemaFactory.getInstance(v);
+                final JsonSchemaFactory f = factory(v);
                 f.getSchema(schemaText);
+                compile.success = true;
                 return v;
             } catch (Exception ignored) {
                 // Try the next candidate
+            } finally {
+                compile.purpose = "detect";
+                compile.version = v.name();
+                compile.schemaChars = schemaText == null ? 0 : schemaText.length();
+                compile.commit();
             }
         }
         return SpecVersion.VersionFlag.V4;
@@ -131,7 +232,7 @@ public record SchemaVersionDetector(ObjectMapper objectMapper) {
      * @param schemaUrl value of the $schema meta
      * @return version flag if recognized, otherwise null
      */
-    private static SpecVersion.VersionFlag versionFromSchemaUri(final String schemaUrl) {
+    public static SpecVersion.VersionFlag versionFromSchemaUri(final String schemaUrl) {
         final String s = schemaUrl.toLowerCase();
         if (s.contains("2020-12")) {
             return SpecVersion.VersionFlag.V202012;
@@ -150,4 +251,85 @@ public record SchemaVersionDetector(ObjectMapper objectMapper) {
         }
         return null;
     }
+
+    /** How certain a detection is. */
+    public enum Confidence {
+        /** The {@code $schema} meta names the draft. */
+        DECLARED,
+        /** Keywords found in the schema are supported by the detected draft and no older one. */
+        INFERRED,
+        /** No draft-specific keyword was found; Draft 4 is assumed. */
+        DEFAULT,
+        /** The keywords found are not all supported by any single draft. */
+        AMBIGUOUS
+    }
+
+    /**
+     * Detected draft version.
+     *
+     * @param version    most likely draft
+     * @param confidence how the version was determined
+     */
+    public record Detection(SpecVersion.VersionFlag version, Confidence confidence) {}
+
+    /** Draft bounds implied by the keywords of one schema; filled by a single walk. */
+    private static final class Evidence {
+        /** Oldest draft (index) that supports every keyword seen. */
+        private int min;
+        /** Newest draft (index) that supports every keyword seen. */
+        private int max = VERSIONS.size() - 1;
+        /** Whether any draft-specific keyword was seen. */
+        private boolean found;
+
+        /**
+         * Collects the evidence of a subschema and everything below it.
+         *
+         * @param node  subschema
+         * @param depth nesting depth
+         */
+        void collect(final JsonNode node, final int depth) {
+            if (node == null || !node.isObject() || depth > MAX_DEPTH) return;
+            final Iterator<Map.Entry<String, JsonNode>> it = node.fields();
+            while (it.hasNext()) {
+                final Map.Entry<String, JsonNode> e = it.next();
+                final String key = e.getKey();
+                final JsonNode value = e.getValue();
+                final Integer since = SINCE.get(key);
+                if (since != null) since(since);
+                final Integer until = UNTIL.get(key);
+                if (until != null) until(until);
+                if ("exclusiveMinimum".equals(key) || "exclusiveMaximum".equals(key)) {
+                    if (value.isBoolean()) until(0);
+                    if (value.isNumber()) since(1);
+                }
+                if ("items".equals(key) && value.isArray()) until(3);
+                if (DATA.contains(key)) continue;
+                if (SCHEMA_MAPS.contains(key) || "dependencies".equals(key) || value.isArray()) {
+                    for (final JsonNode child : value) collect(child, depth + 1);
+                } else {
+                    collect(value, depth + 1);
+                }
+            }
+        }
+
+        /**
+         * Records a keyword introduced in a draft.
+         *
+         * @param index draft index
+         */
+        private void since(final int index) {
+            found = true;
+            min = Math.max(min, index);
+        }
+
+        /**
+         * Records a keyword dropped after a draft.
+         *
+         * @param index draft index
+         */
+        private void until(final int index) {
+            found = true;
+            max = Math.min(max, index);
+        }
+    }
 }
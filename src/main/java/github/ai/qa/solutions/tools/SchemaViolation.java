@@ -0,0 +1,38 @@
+package github.ai.qa.solutions.tools;
+
+import com.networknt.schema.ValidationMessage;
+
+/**
+ * One validation error of a document.
+ *
+ * @param keyword        schema keyword that failed ({@code type}, {@code required}, {@code pattern}, ...)
+ * @param schemaLocation JSON pointer of the failed keyword in the schema, e.g. {@code #/properties/code/pattern}
+ * @param instancePath   location of the failing value in the document, e.g. {@code $.items[3].code}
+ * @param message        message in the validator's format, {@code <instance path>: <text>}
+ */
+public record SchemaViolation(String keyword, String schemaLocation, String instancePath, String message) {
+
+    /**
+     * Converts a message of the general validator.
+     *
+     * @param message validator message
+     * @return violation
+     */
+    public static SchemaViolation of(final ValidationMessage message) {
+        return new SchemaViolation(
+                message.getType(),
+                String.valueOf(message.getSchemaLocation()),
+                String.valueOf(message.getInstanceLocation()),
+                message.getMessage());
+    }
+
+    /**
+     * Message without its instance path prefix; the same for every value that breaks the keyword the same way.
+     *
+     * @return message text
+     */
+    public String text() {
+        final String prefix = instancePath + ": ";
+        return message.startsWith(prefix) ? message.substring(prefix.length()) : message;
+    }
+}
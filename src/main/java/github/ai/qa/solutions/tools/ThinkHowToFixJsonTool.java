@@ -1,6 +1,8 @@
 package github.ai.qa.solutions.tools;
 
+import github.ai.qa.solutions.components.json.SchemaSlicer;
 import github.ai.qa.solutions.services.ChatClientRouter;
+import github.ai.qa.solutions.services.PromptLayout;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.tool.annotation.Tool;
@@ -8,7 +10,7 @@ import org.springframework.ai.tool.annotation.ToolParam;
 import org.springframework.stereotype.Component;
 
 @Component
-public record ThinkHowToFixJsonTool(ChatClientRouter router) implements PlanFixProvider {
+public record ThinkHowToFixJsonTool(ChatClientRouter router, SchemaSlicer slicer) implements PlanFixProvider {
     /** Logs tool execution details. */
     private static final Logger log = LoggerFactory.getLogger(ThinkHowToFixJsonTool.class);
 
@@ -19,28 +21,37 @@ public record ThinkHowToFixJsonTool(ChatClientRouter router) implements PlanFixP
     public String thinkHowToFixJson(
             @ToolParam(description = "Raw validation errors output from schema validation process") final String errors,
             @ToolParam(description = "Test-specific scenario and data generation constraints") final String userPromt) {
+        return thinkHowToFixJson(errors, userPromt, null);
+    }
 
+    /**
+     * Plans the fix with the part of the schema the errors point at.
+     *
+     * @param errors     raw validation errors
+     * @param userPromt  test scenario and constraints
+     * @param jsonSchema full JSON Schema; may be null
+     * @return plan text
+     */
+    @Override
+    public String thinkHowToFixJson(final String errors, final String userPromt, final String jsonSchema) {
         log.info("🛠️ Agent as tool 🤖: ThinkHowToFixJsonTool");
-
-        return router.forNode("ThinkHowToFixJsonTool")
-                .prompt(
+        final PromptLayout layout = PromptLayout.create()
+                .instructions(
                         """
                         Analyze the validation errors and propose a minimal-change fix plan consistent with the test context.
 
-                        Errors:
-                        %s
-
-                        Context:
-                        %s
-
                         Output strictly as text (no JSON). For each error include:
                         - Path: (e.g., #/passport_rf/unit_code)
                         - Issue: concise description (regex mismatch, missing required, type, range)
                         - Constraint: show decoded regex/format or min/max (e.g., ^\\d{3}-\\d{3}$ → ddd-ddd)
                         - Fix: exact change to make (only this field), provide 1 valid example value (realistic and lifelike; avoid placeholders like "Иванов Иван Иванович" or "123456789"). Avoid monotonic sequences (123…, 321…), all-equal digits (000…, 111…), trivial groups (123-456), and dummy words (test, example).
                         - Notes: avoid changing unrelated fields; consider normalization (+7 phones, '-' vs unicode dashes, strip leading '+')
-                        """
-                                .formatted(errors, userPromt))
+                        """);
+        if (jsonSchema != null) layout.schema("Relevant JSON Schema", slicer.slice(jsonSchema, errors));
+        layout.context("Errors", errors).context("Context", userPromt);
+
+        return router.forNode("ThinkHowToFixJsonTool", jsonSchema)
+                .prompt(layout.render())
                 .system(
                         """
                         You are a precise fixer.
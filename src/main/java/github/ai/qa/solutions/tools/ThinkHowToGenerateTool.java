@@ -1,6 +1,7 @@
 package github.ai.qa.solutions.tools;
 
 import github.ai.qa.solutions.services.ChatClientRouter;
+import github.ai.qa.solutions.services.PromptLayout;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.tool.annotation.Tool;
@@ -26,17 +27,12 @@ public record ThinkHowToGenerateTool(ChatClientRouter router) {
 
         log.info("🛠️ Agent as tool 🤖: ThinkHowToGenerateTool");
 
-        return router.forNode("ThinkHowToGenerateTool")
-                .prompt(
-                        """
+        return router.forNode("ThinkHowToGenerateTool", jsonSchema)
+                .prompt(PromptLayout.create()
+                        .instructions(
+                                """
                         Analyze the test context and the JSON Schema and produce a concise, actionable plan for generating valid test data.
 
-                        Test Context:
-                        %s
-
-                        JSON Schema:
-                        %s
-
                         Output strictly in the following sections (plain text, no JSON, no code):
                         1) Required Fields: bullet list name: purpose
                         2) Regex/Format Hints: for each field with pattern/format
@@ -49,8 +45,10 @@ public record ThinkHowToGenerateTool(ChatClientRouter router) {
                         7) Anti-Placeholder Checklist: avoid sequences like 123456 / 654321, repeated digits (000000, 111111), trivial groups (123-456), dummy words (test, example), and overused samples (+79211234567). Prefer varied digits and plausible distributions (e.g., Санкт‑Петербург → +7 921/931/999 ranges; unit_code like 780‑xxx).
 
                         Do not provide JSON examples. Keep it focused and directly tied to the schema constraints and the context.
-                        """
-                                .formatted(userPromt, jsonSchema))
+                        """)
+                        .schema("JSON Schema", jsonSchema)
+                        .context("Test Context", userPromt)
+                        .render())
                 .system(
                         """
                         You are a precise test data analyst.
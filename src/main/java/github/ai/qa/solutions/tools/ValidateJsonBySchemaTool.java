@@ -1,9 +1,7 @@
 package github.ai.qa.solutions.tools;
 
-import com.networknt.schema.InputFormat;
-import com.networknt.schema.JsonSchemaFactory;
-import com.networknt.schema.ValidationMessage;
-import java.util.Set;
+import github.ai.qa.solutions.observability.jfr.SchemaValidationEvent;
+import java.util.List;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,8 +9,19 @@ import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
 import org.springframework.stereotype.Component;
 
+/**
+ * Validates generated JSON against the schema.
+ *
+ * <p>Errors are reported through the {@link ValidationReport}: repeated errors are collapsed and the list is
+ * capped, so a large invalid document yields a short answer. An invalid document is answered as
+ * {@code {"ok":false,"count":N,"errors":[...],"notes":[...]}}, where {@code count} is the number of violations found
+ * and {@code notes} (omitted when empty) tells which errors were left out.</p>
+ *
+ * @param schemas prepared schemas, reused across calls
+ * @param report  error grouping and limits
+ */
 @Component
-public record ValidateJsonBySchemaTool(SchemaVersionDetector versionDetector) {
+public record ValidateJsonBySchemaTool(SchemaValidatorCache schemas, ValidationReport report) {
     /** Logs tool execution details. */
     private static final Logger log = LoggerFactory.getLogger(ValidateJsonBySchemaTool.class);
 
@@ -27,22 +36,30 @@ public record ValidateJsonBySchemaTool(SchemaVersionDetector versionDetector) {
         log.info("🛠️ coded as tool 💻: ValidateJsonBySchemaTool");
 
         try {
-            final JsonSchemaFactory factory = versionDetector.factoryWithFallback(jsonSchema);
-            final Set<ValidationMessage> errors =
-                    factory.getSchema(jsonSchema).validate(jsonTestData, InputFormat.JSON);
+            final SchemaValidatorCache.Prepared schema = schemas.prepare(jsonSchema);
+            final SchemaValidationEvent validation = new SchemaValidationEvent();
+            validation.begin();
+            final List<SchemaViolation> errors = schema.validate(jsonTestData, report.limit());
+            validation.version = schema.version().name();
+            validation.documentChars = jsonTestData == null ? 0 : jsonTestData.length();
+            validation.errorCount = errors.size();
+            validation.commit();
             if (errors.isEmpty()) {
                 return "{\"ok\":true}";
             }
-            final String joined = errors.stream()
-                    .map(ValidationMessage::getMessage)
-                    .map(ValidateJsonBySchemaTool::quote)
-                    .collect(Collectors.joining(","));
-            return "{" + "\"ok\":false," + "\"errors\":[" + joined + "]" + "}";
+            final ValidationReport.Lines lines = report.lines(errors);
+            final String notes = lines.notes().isEmpty() ? "" : ",\"notes\":[" + joined(lines.notes()) + "]";
+            return "{" + "\"ok\":false," + "\"count\":" + lines.count() + "," + "\"errors\":["
+                    + joined(lines.errors()) + "]" + notes + "}";
         } catch (Exception e) {
-            return "{" + "\"ok\":false," + "\"errors\":[" + quote(e.getMessage()) + "]" + "}";
+            return "{" + "\"ok\":false," + "\"count\":1," + "\"errors\":[" + quote(e.getMessage()) + "]" + "}";
         }
     }
 
+    private static String joined(final List<String> lines) {
+        return lines.stream().map(ValidateJsonBySchemaTool::quote).collect(Collectors.joining(","));
+    }
+
     private static String quote(final String s) {
         return s == null ? "\"\"" : ("\"" + s.replace("\\", "\\\\").replace("\"", "\\\"") + "\"");
     }
@@ -3,6 +3,8 @@ package github.ai.qa.solutions.tools;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.networknt.schema.JsonSchemaFactory;
+import com.networknt.schema.SpecVersion;
+import github.ai.qa.solutions.observability.jfr.SchemaCompileEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.tool.annotation.Tool;
@@ -21,10 +23,21 @@ public record ValidateJsonSchemaTool(ObjectMapper objectMapper, SchemaVersionDet
             @ToolParam(description = "JSON Schema to validate and compact") final String jsonSchema) {
         log.info("🛠️ coded as tool 💻: ValidateAndCompactSchema");
         try {
-            // Auto-detect draft version and validate
-            final JsonSchemaFactory factory = versionDetector.factoryWithFallback(jsonSchema);
-            final String version = versionDetector.selectedVersion(jsonSchema).name();
-            factory.getSchema(jsonSchema);
+            // Auto-detect draft version once and validate
+            final SpecVersion.VersionFlag selected = versionDetector.selectedVersion(jsonSchema);
+            final JsonSchemaFactory factory = versionDetector.factory(selected);
+            final String version = selected.name();
+            final SchemaCompileEvent compile = new SchemaCompileEvent();
+            compile.begin();
+            try {
+                factory.getSchema(jsonSchema);
+                compile.success = true;
+            } finally {
+                compile.purpose = "check";
+                compile.version = version;
+                compile.schemaChars = jsonSchema.length();
+                compile.commit();
+            }
             // Compact representation
             final JsonNode jsonNode = objectMapper.readTree(jsonSchema);
             final String compact =
@@ -0,0 +1,63 @@
+package github.ai.qa.solutions.tools;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import github.ai.qa.solutions.configuration.BulkValidationProperties;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.ai.tool.annotation.ToolParam;
+import org.springframework.stereotype.Component;
+
+/**
+ * Validates an NDJSON file against a schema and answers with a summary and a few invalid lines.
+ *
+ * @param validator    dataset validator
+ * @param props        bulk validation settings
+ * @param objectMapper answer writer
+ */
+@Component
+public record ValidateNdjsonBySchemaTool(
+        BulkValidator validator, BulkValidationProperties props, ObjectMapper objectMapper) {
+    /** Logs tool execution details. */
+    private static final Logger log = LoggerFactory.getLogger(ValidateNdjsonBySchemaTool.class);
+
+    @Tool(
+            name = "validateNdjsonFileAgainstJsonSchema",
+            description = "Validates every line of an NDJSON file against the JSON schema. Returns counts, "
+                    + "violations by keyword and the errors of the first invalid lines.")
+    public String validateNdjsonBySchema(
+            @ToolParam(description = "Path of the NDJSON file, one JSON document per line") String path,
+            @ToolParam(description = "JSON schema defining validation rules") String jsonSchema) {
+
+        log.info("🛠️ coded as tool 💻: ValidateNdjsonBySchemaTool");
+
+        final ObjectNode answer = objectMapper.createObjectNode();
+        try (Reader reader = Files.newBufferedReader(Path.of(path), StandardCharsets.UTF_8)) {
+            final ArrayNode samples = objectMapper.createArrayNode();
+            final BulkValidator.Summary summary = validator.validate(reader, validator.prepare(jsonSchema), r -> {
+                if (!r.ok() && samples.size() < props.sampleLines()) {
+                    final ObjectNode sample = samples.addObject().put("line", r.line());
+                    final ArrayNode errors = sample.putArray("errors");
+                    r.errors().forEach(e -> errors.add(e.message()));
+                }
+            });
+            answer.put("ok", summary.invalid() == 0);
+            answer.put("documents", summary.documents());
+            answer.put("valid", summary.valid());
+            answer.put("invalid", summary.invalid());
+            answer.set("errorKinds", objectMapper.valueToTree(summary.errorKinds()));
+            answer.set("samples", samples);
+        } catch (Exception e) {
+            answer.removeAll();
+            answer.put("ok", false);
+            answer.putArray("errors").add(String.valueOf(e.getMessage()));
+        }
+        return answer.toString();
+    }
+}
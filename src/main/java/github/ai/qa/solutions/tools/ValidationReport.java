@@ -0,0 +1,145 @@
+package github.ai.qa.solutions.tools;
+
+import github.ai.qa.solutions.configuration.ValidationReportProperties;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.stereotype.Component;
+
+/**
+ * Turns the violations of a document into a short list of error lines.
+ *
+ * <p>A document with one broken rule repeated across a large array fails the same keyword at the same schema
+ * location thousands of times. Such violations are grouped by schema location, keyword and message text (so two
+ * missing properties stay separate) and reported once with their count and a few sample paths:</p>
+ * - {@code $.items[0].code, $.items[1].code, $.items[2].code and 4997 more: does not match the regex pattern ^A}
+ *
+ * <p>A group of one keeps the validator's message as is. At most {@code max-groups} groups are listed, in order of
+ * first occurrence, and validation stops after {@code max-errors} errors (or the first one in fail-fast mode), so
+ * the report, the model prompts built from it and the graph state stay bounded whatever the document size. Both cuts
+ * are stated in notes kept apart from the error lines, and the number of violations found is reported as is, so
+ * routing and metrics count violations rather than lines.</p>
+ */
+@Component
+public class ValidationReport {
+    /** Report settings. */
+    private final ValidationReportProperties props;
+
+    /**
+     * Creates the report builder.
+     *
+     * @param props report settings
+     */
+    public ValidationReport(final ValidationReportProperties props) {
+        this.props = props;
+    }
+
+    /**
+     * Errors after which validation of a document should stop.
+     *
+     * @return 1 in fail-fast mode, otherwise {@code max-errors}
+     */
+    public int limit() {
+        return props.failFast() ? 1 : props.maxErrors();
+    }
+
+    /**
+     * Builds the report of a document.
+     *
+     * @param violations violations in validation order, at most {@link #limit()}
+     * @return grouped error lines and notes, both empty when there are no violations
+     */
+    public Lines lines(final List<SchemaViolation> violations) {
+        final Map<Key, Group> groups = new LinkedHashMap<>();
+        for (final SchemaViolation violation : violations) {
+            groups.computeIfAbsent(
+                            new Key(violation.schemaLocation(), violation.keyword(), violation.text()),
+                            k -> new Group(violation.message()))
+                    .add(violation.instancePath(), props.samplePaths());
+        }
+        final List<String> lines = new ArrayList<>(Math.min(groups.size(), props.maxGroups()));
+        final List<String> notes = new ArrayList<>(2);
+        int listed = 0;
+        long unlisted = 0;
+        for (final Map.Entry<Key, Group> e : groups.entrySet()) {
+            if (listed < props.maxGroups()) {
+                lines.add(e.getValue().line(e.getKey().text()));
+                listed++;
+            } else {
+                unlisted += e.getValue().count;
+            }
+        }
+        if (groups.size() > listed) {
+            notes.add("... and " + (groups.size() - listed) + " more kinds of errors (" + unlisted + " errors)");
+        }
+        final int limit = limit();
+        if (violations.size() >= limit) {
+            notes.add(
+                    limit == 1
+                            ? "validation stopped at the first error (fail-fast)"
+                            : "validation stopped after the first " + limit + " errors");
+        }
+        return new Lines(violations.size(), lines, notes);
+    }
+
+    /**
+     * Report of a document.
+     *
+     * @param count  violations found; validation stops at {@link #limit()}
+     * @param errors grouped error lines
+     * @param notes  lines on groups left out and on where validation stopped; not errors themselves
+     */
+    public record Lines(int count, List<String> errors, List<String> notes) {}
+
+    /**
+     * Identity of a repeated error.
+     *
+     * @param schemaLocation schema location of the failed keyword
+     * @param keyword        failed keyword
+     * @param text           message without the instance path
+     */
+    private record Key(String schemaLocation, String keyword, String text) {}
+
+    /** Occurrences of one error. */
+    private static final class Group {
+        /** Message of the first occurrence. */
+        private final String first;
+        /** Sample instance paths. */
+        private final List<String> paths = new ArrayList<>();
+        /** Occurrences. */
+        private long count;
+
+        /**
+         * Starts a group.
+         *
+         * @param first message of the first occurrence
+         */
+        Group(final String first) {
+            this.first = first;
+        }
+
+        /**
+         * Counts an occurrence.
+         *
+         * @param path    instance path
+         * @param samples sample paths to keep
+         */
+        void add(final String path, final int samples) {
+            count++;
+            if (paths.size() < samples) paths.add(path);
+        }
+
+        /**
+         * Renders the group.
+         *
+         * @param text message without the instance path
+         * @return the first message for a single occurrence, otherwise sample paths, count and text
+         */
+        String line(final String text) {
+            if (count == 1) return first;
+            final String more = count > paths.size() ? " and " + (count - paths.size()) + " more" : "";
+            return String.join(", ", paths) + more + ": " + text;
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package github.ai.qa.solutions.api;
+
+import static org.bsc.langgraph4j.StateGraph.END;
+import static org.bsc.langgraph4j.StateGraph.START;
+import static org.bsc.langgraph4j.action.AsyncNodeAction.node_async;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+import github.ai.qa.solutions.configuration.AgentApplicationConfiguration.NodeId;
+import github.ai.qa.solutions.configuration.ApiProperties;
+import github.ai.qa.solutions.observability.AgentMetrics;
+import github.ai.qa.solutions.observability.GraphRunner;
+import github.ai.qa.solutions.observability.InstrumentedNodeAction;
+import github.ai.qa.solutions.observability.LiveRuns;
+import github.ai.qa.solutions.state.AgentState;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Owner;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import io.qameta.allure.Story;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.bsc.langgraph4j.StateGraph;
+import org.bsc.langgraph4j.action.AsyncEdgeAction;
+import org.bsc.langgraph4j.action.NodeAction;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Epic("AI Test Data Generation")
+@Feature("Generation API")
+@Owner("repo-maintainers")
+@Tag("unit")
+class GenerationServiceTest {
+    private static final GenerationRequest REQUEST =
+            new GenerationRequest("person", TextNode.valueOf("{\"type\":\"object\"}"), null);
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final LiveRuns liveRuns = new LiveRuns();
+    private final RunProgressListener progress = new RunProgressListener();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AgentMetrics metrics = new AgentMetrics(registry);
+
+    private GenerationService service(final ApiProperties props, final NodeAction<AgentState> node)
+            throws Exception {
+        final StateGraph<AgentState> graph = new StateGraph<>(AgentState.SCHEMA, AgentState::new)
+                .addNode(
+                        NodeId.REASON_AND_ROUTE.id,
+                        node_async(new InstrumentedNodeAction(NodeId.REASON_AND_ROUTE, node, List.of(liveRuns))))
+                .addEdge(START, NodeId.REASON_AND_ROUTE.id)
+                .addEdge(NodeId.REASON_AND_ROUTE.id, END);
+        return new GenerationService(graph, runner(), props, liveRuns, mapper, progress);
+    }
+
+    private GraphRunner runner() {
+        return new GraphRunner(List.of(liveRuns, progress, metrics));
+    }
+
+    private NodeAction<AgentState> instrumented(final NodeId id, final NodeAction<AgentState> node) {
+        return new InstrumentedNodeAction(id, node, List.of(liveRuns, progress, metrics));
+    }
+
+    private static final class RecordingSink implements GenerationEventSink {
+        final List<String> names = new CopyOnWriteArrayList<>();
+        final List<Object> data = new CopyOnWriteArrayList<>();
+        final CountDownLatch completed = new CountDownLatch(1);
+        volatile int failAfter = Integer.MAX_VALUE;
+
+        @Override
+        public void event(final String name, final Object payload) {
+            if (names.size() >= failAfter) throw new IllegalStateException("client gone");
+            names.add(name);
+            data.add(payload);
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+    }
+
+    private static NodeAction<AgentState> blockingNode(final CountDownLatch entered) {
+        return s -> {
+            entered.countDown();
+            Thread.sleep(30_000);
+            return Map.of();
+        };
+    }
+
+    private static ApiProperties props(final int slots, final int queue, final long admissionMs) {
+        return new ApiProperties(
+                slots, queue, Duration.ofMillis(admissionMs), Duration.ofSeconds(10), null, null, true);
+    }
+
+    @Test
+    @Story("Synchronous generation")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("Synchronous run returns parsed JSON and run metadata")
+    @Description("Final GENERATED_JSON is parsed; validation, counters and run id come from the final state")
+    void synchronousRunReturnsResult() throws Exception {
+        final GenerationService service = service(ApiProperties.defaults(), s -> Map.of(
+                "GENERATED_JSON", "{\"name\":\"Anna\"}",
+                "VALIDATION_RESULT", "OK",
+                "VALIDATION_SIGNATURE", "OK",
+                "DECISION", "END"));
+
+        final GenerationResult result = service.generate(REQUEST);
+
+        assertTrue(result.valid());
+        assertEquals("Anna", result.json().path("name").asText());
+        assertEquals("OK", result.metadata().validation());
+        assertTrue(liveRuns.runs().isEmpty());
+    }
+
+    @Test
+    @Story("Admission control")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("Requests beyond the run slots are rejected; timed out runs are cancelled")
+    @Description("With one slot busy, a second request is rejected; the busy run times out and frees its slot")
+    void admissionAndTimeout() throws Exception {
+        final CountDownLatch entered = new CountDownLatch(1);
+        final GenerationService service = service(props(1, 0, 50), blockingNode(entered));
+        final GenerationRequest shortTimeout = new GenerationRequest(
+                REQUEST.prompt(), REQUEST.schema(), new GenerationRequest.Options(300L));
+
+        final CompletableFuture<GenerationResult> first =
+                CompletableFuture.supplyAsync(() -> service.generate(shortTimeout));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        assertThrows(AdmissionRejectedException.class, () -> service.generate(REQUEST));
+        assertThrows(AdmissionRejectedException.class, () -> service.submit(REQUEST));
+
+        final ExecutionException timedOut =
+                assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        assertTrue(timedOut.getCause() instanceof GenerationTimeoutException, String.valueOf(timedOut.getCause()));
+        final long deadline = System.currentTimeMillis() + 5_000;
+        while (!liveRuns.runs().isEmpty() && System.currentTimeMillis() < deadline) Thread.sleep(10);
+        assertTrue(liveRuns.runs().isEmpty(), "timed out run should be cancelled");
+    }
+
+    @Test
+    @Story("Asynchronous jobs")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("Jobs can be polled to completion and cancelled")
+    @Description("A submitted job reaches SUCCEEDED; a blocked job is CANCELLED on request")
+    void jobsCompleteAndCancel() throws Exception {
+        final CountDownLatch entered = new CountDownLatch(1);
+        final GenerationService blocking = service(props(2, 4, 50), blockingNode(entered));
+
+        final GenerationJob.View job = blocking.submit(REQUEST);
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        assertEquals(GenerationJob.Status.RUNNING, blocking.job(job.jobId()).orElseThrow().status());
+
+        assertEquals(GenerationJob.Status.CANCELLED, blocking.cancel(job.jobId()).orElseThrow().status());
+
+        final GenerationService quick = service(ApiProperties.defaults(), s -> Map.of("GENERATED_JSON", "{}"));
+        final GenerationJob.View done = quick.submit(REQUEST);
+        final long deadline = System.currentTimeMillis() + 5_000;
+        while (!quick.job(done.jobId()).orElseThrow().status().terminal() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        final GenerationJob.View finished = quick.job(done.jobId()).orElseThrow();
+        assertEquals(GenerationJob.Status.SUCCEEDED, finished.status());
+        assertEquals(done.jobId(), finished.result().runId());
+    }
+
+    @Test
+    @Story("Validation")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("Incomplete requests and oversized timeouts are handled")
+    @Description("Missing prompt/schema is rejected; a requested timeout is capped by max-timeout")
+    void requestValidation() throws Exception {
+        final GenerationService service = service(ApiProperties.defaults(), s -> Map.of());
+
+        assertThrows(IllegalArgumentException.class, () -> service.generate(new GenerationRequest(" ", null, null)));
+        assertThrows(IllegalArgumentException.class, () -> service.submit(new GenerationRequest("p", null, null)));
+        assertEquals(
+                Duration.ofMinutes(15),
+                service.timeout(new GenerationRequest("p", null, new GenerationRequest.Options(3_600_000L))));
+        assertEquals(
+                "{\"type\":\"object\"}",
+                service.input(new GenerationRequest("p", mapper.readTree("{\"type\":\"object\"}"), null), "r")
+                        .get("JSON_SCHEMA"));
+    }
+
+    @Test
+    @Story("Streaming")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("Streamed run reports node starts and ends, validation, best JSON, decision and result")
+    @Description("Events arrive in graph order; 'best' carries the parsed JSON; 'result' is the last event")
+    void streamReportsProgress() throws Exception {
+        final StateGraph<AgentState> graph = new StateGraph<>(AgentState.SCHEMA, AgentState::new)
+                .addNode(
+                        NodeId.VALIDATE_JSON.id,
+                        node_async(instrumented(NodeId.VALIDATE_JSON, s -> Map.of(
+                                "GENERATED_JSON", "{\"name\":\"Anna\"}",
+                                "VALIDATION_RESULT", "bad",
+                                "VALIDATION_SIGNATURE", "a|b"))))
+                .addNode(
+                        NodeId.REASON_AND_ROUTE.id,
+                        node_async(instrumented(NodeId.REASON_AND_ROUTE, s -> Map.of("DECISION", "END"))))
+                .addEdge(START, NodeId.VALIDATE_JSON.id)
+                .addEdge(NodeId.VALIDATE_JSON.id, NodeId.REASON_AND_ROUTE.id)
+                .addEdge(NodeId.REASON_AND_ROUTE.id, END);
+        final GenerationService service =
+                new GenerationService(graph, runner(), ApiProperties.defaults(), liveRuns, mapper, progress);
+        final RecordingSink sink = new RecordingSink();
+
+        final String runId = service.stream(REQUEST, sink);
+
+        assertTrue(sink.completed.await(10, TimeUnit.SECONDS));
+        assertEquals(
+                List.of(
+                        "run",
+                        "node-start",
+                        "node-end",
+                        "validation",
+                        "best",
+                        "node-start",
+                        "node-end",
+                        "decision",
+                        "result"),
+                sink.names);
+        assertEquals(2, ((Map<?, ?>) sink.data.get(3)).get("errors"));
+        assertEquals(
+                "Anna",
+                ((JsonNode) ((Map<?, ?>) sink.data.get(4)).get("json")).path("name").asText());
+        assertEquals("END", ((Map<?, ?>) sink.data.get(7)).get("decision"));
+        assertEquals(runId, ((GenerationResult) sink.data.get(8)).runId());
+    }
+
+    @Test
+    @Story("Streaming")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("A failing sink cancels the streamed run")
+    @Description("When the client goes away, the run is cancelled at its blocked node and its slot is freed")
+    void streamCancelsWhenClientGoesAway() throws Exception {
+        final StateGraph<AgentState> graph = new StateGraph<>(AgentState.SCHEMA, AgentState::new)
+                .addNode(NodeId.REASON_AND_ROUTE.id, node_async(instrumented(NodeId.REASON_AND_ROUTE, s -> {
+                    Thread.sleep(30_000);
+                    return Map.of();
+                })))
+                .addEdge(START, NodeId.REASON_AND_ROUTE.id)
+                .addEdge(NodeId.REASON_AND_ROUTE.id, END);
+        final GenerationService service =
+                new GenerationService(graph, runner(), props(1, 0, 2_000), liveRuns, mapper, progress);
+        final RecordingSink sink = new RecordingSink();
+        sink.failAfter = 1; // "run" is delivered, "node-start" fails
+
+        service.stream(REQUEST, sink);
+
+        assertTrue(sink.completed.await(10, TimeUnit.SECONDS));
+        assertEquals(List.of("run"), sink.names);
+        assertTrue(liveRuns.runs().isEmpty());
+        service.destroy();
+    }
+
+    @Test
+    @Story("Run lifecycle")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("A run that hits the graph's iteration limit is ended as error")
+    @Description("reason_and_route loops on FIX until the iteration limit; the run leaves the live runs and the"
+            + " active gauge, and its duration is recorded with outcome=error")
+    void iterationLimitEndsRun() throws Exception {
+        final StateGraph<AgentState> graph = new StateGraph<>(AgentState.SCHEMA, AgentState::new)
+                .addNode(
+                        NodeId.REASON_AND_ROUTE.id,
+                        node_async(instrumented(NodeId.REASON_AND_ROUTE, s -> Map.of("DECISION", "FIX"))))
+                .addEdge(START, NodeId.REASON_AND_ROUTE.id)
+                .addConditionalEdges(
+                        NodeId.REASON_AND_ROUTE.id,
+                        AsyncEdgeAction.edge_async(s -> "fix"),
+                        Map.of("fix", NodeId.REASON_AND_ROUTE.id, "end", END));
+        final GenerationService service =
+                new GenerationService(graph, runner(), ApiProperties.defaults(), liveRuns, mapper, progress);
+
+        assertThrows(GenerationFailedException.class, () -> service.generate(REQUEST));
+
+        assertTrue(liveRuns.runs().isEmpty());
+        assertEquals(0.0, registry.get("agent.runs.active").gauge().value());
+        assertEquals(1L, registry.get("agent.run.duration").tag("outcome", "error").timer().count());
+        service.destroy();
+    }
+}
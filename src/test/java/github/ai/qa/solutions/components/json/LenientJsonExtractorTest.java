@@ -0,0 +1,126 @@
+package github.ai.qa.solutions.components.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import github.ai.qa.solutions.components.json.LenientJsonExtractor.Repair;
+import github.ai.qa.solutions.components.json.LenientJsonExtractor.Result;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Owner;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import io.qameta.allure.Story;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Epic("AI Test Data Generation")
+@Feature("Lenient JSON extraction")
+@Owner("repo-maintainers")
+@Tag("unit")
+class LenientJsonExtractorTest {
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    @Story("Extraction")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("Clean fenced JSON is extracted without repairs")
+    @Description("Fence lines and surrounding whitespace are not counted as repairs")
+    void cleanFencedJson() {
+        final Result result = LenientJsonExtractor.scan("```json\n{\"a\":[1,2,{\"b\":\"}\"}]}\n```\n");
+
+        assertEquals("{\"a\":[1,2,{\"b\":\"}\"}]}", result.json());
+        assertTrue(result.repairs().isEmpty());
+    }
+
+    @Test
+    @Story("Extraction")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("First balanced value is cut out of prose")
+    @Description("Prose before and commentary after the value are dropped and reported")
+    void valueInProse() {
+        final Result result =
+                LenientJsonExtractor.scan("Sure! Here is the decision: {\"decision\":\"FIX\"} Hope this helps {x}");
+
+        assertEquals("{\"decision\":\"FIX\"}", result.json());
+        assertEquals(Set.of(Repair.PREAMBLE, Repair.TRAILING_TEXT), result.repairs());
+    }
+
+    @Test
+    @Story("Repair")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("Lexical defects are repaired into parseable JSON")
+    @Description("Trailing commas, single quotes, comments, bare keys, Python literals and raw newlines")
+    void lexicalDefectsRepaired() throws Exception {
+        final String raw = """
+                {
+                  // routing decision
+                  decision: 'FIX', /* inline */ "ok": False,
+                  "note": 'it\\'s "quoted"', "empty": None,
+                  "reason": "line one
+                line two",
+                  "items": [1, 2, True,],
+                }""";
+
+        final Result result = LenientJsonExtractor.scan(raw);
+
+        assertEquals(
+                Set.of(
+                        Repair.TRAILING_COMMA,
+                        Repair.SINGLE_QUOTES,
+                        Repair.COMMENT,
+                        Repair.UNQUOTED_KEY,
+                        Repair.PYTHON_LITERAL,
+                        Repair.CONTROL_CHARACTER),
+                result.repairs());
+        assertEquals(
+                mapper.readTree("{\"decision\":\"FIX\",\"ok\":false,\"note\":\"it's \\\"quoted\\\"\",\"empty\":null,"
+                        + "\"reason\":\"line one\\nline two\",\"items\":[1,2,true]}"),
+                mapper.readTree(result.json()));
+    }
+
+    @Test
+    @Story("Extraction")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("Unbalanced or missing values yield no JSON")
+    @Description("Cut-off output and mismatched closers are left for the caller's fallback")
+    void unbalancedYieldsNothing() {
+        assertNull(LenientJsonExtractor.scan("{\"a\":[1,2").json());
+        assertNull(LenientJsonExtractor.scan("{\"a\":[1,2}").json());
+        assertFalse(LenientJsonExtractor.scan("no json here").found());
+        assertEquals("raw", LenientJsonExtractor.scan(null).orElse("raw"));
+    }
+
+    @Test
+    @Story("Observability")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("Repairs are counted per caller and kind")
+    @Description("agent.json.repairs is incremented once per applied repair kind")
+    void repairsCounted() {
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        final LenientJsonExtractor extractor = new LenientJsonExtractor(registry);
+
+        extractor.extract("{'a': 1,}", "ReasonAndRouteNode");
+        extractor.extract("{\"a\": 1}", "ReasonAndRouteNode");
+
+        assertEquals(
+                1.0,
+                registry.get("agent.json.repairs")
+                        .tags("caller", "ReasonAndRouteNode", "repair", "SINGLE_QUOTES")
+                        .counter()
+                        .count());
+        assertEquals(
+                1.0,
+                registry.get("agent.json.repairs")
+                        .tags("caller", "ReasonAndRouteNode", "repair", "TRAILING_COMMA")
+                        .counter()
+                        .count());
+    }
+}
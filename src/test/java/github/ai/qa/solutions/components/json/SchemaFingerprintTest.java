@@ -0,0 +1,62 @@
+package github.ai.qa.solutions.components.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Owner;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import io.qameta.allure.Story;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Epic("AI Test Data Generation")
+@Feature("Schema fingerprint")
+@Owner("repo-maintainers")
+@Tag("unit")
+class SchemaFingerprintTest {
+    private final SchemaFingerprint fingerprint = new SchemaFingerprint(new ObjectMapper());
+
+    @Test
+    @Story("Canonical form")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("Schemas differing only in key order, whitespace, numbers and $schema spelling share a fingerprint")
+    @Description("Keys are sorted, 1.0 equals 1, http and https meta-schema URIs with or without # are aliases")
+    void equivalentSchemasShareFingerprint() {
+        final String a = "{\"$schema\":\"http://json-schema.org/draft-07/schema#\",\"type\":\"object\","
+                + "\"properties\":{\"age\":{\"type\":\"integer\",\"minimum\":1.0,\"maximum\":1.2e2}}}";
+        final String b = """
+                {
+                  "properties": { "age": { "maximum": 120, "minimum": 1, "type": "integer" } },
+                  "type": "object",
+                  "$schema": "https://json-schema.org/draft-07/schema"
+                }
+                """;
+        final String c = a.replace("\"minimum\":1.0", "\"minimum\":2");
+
+        assertEquals(fingerprint.of(a), fingerprint.of(b));
+        assertNotEquals(fingerprint.of(a), fingerprint.of(c));
+        assertEquals(32, fingerprint.of(a).length());
+        assertEquals(fingerprint.of("not json "), fingerprint.of("not json"));
+    }
+
+    @Test
+    @Story("Hash")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("The hash is MurmurHash3 x64 128 and the short form is its prefix")
+    @Description("Reference values of the empty input and 'hello'; shortForm keeps 8 hex chars or returns none")
+    void hashMatchesReference() {
+        assertEquals("00000000000000000000000000000000", SchemaFingerprint.hash128(new byte[0]));
+        assertEquals(
+                "cbd8a7b341bd9b025b1e906a48ae1d19",
+                SchemaFingerprint.hash128("hello".getBytes(StandardCharsets.UTF_8)));
+        assertEquals("cbd8a7b3", SchemaFingerprint.shortForm("cbd8a7b341bd9b025b1e906a48ae1d19"));
+        assertEquals("none", SchemaFingerprint.shortForm(null));
+    }
+}
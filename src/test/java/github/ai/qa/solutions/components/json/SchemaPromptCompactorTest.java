@@ -0,0 +1,129 @@
+package github.ai.qa.solutions.components.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import github.ai.qa.solutions.configuration.PromptSchemaProperties;
+import github.ai.qa.solutions.configuration.PromptSchemaProperties.Level;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Owner;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import io.qameta.allure.Story;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Epic("AI Test Data Generation")
+@Feature("Prompt schema compaction")
+@Owner("repo-maintainers")
+@Tag("unit")
+class SchemaPromptCompactorTest {
+    private static final String ADDRESS = """
+            {"type":"object","title":"Address","required":["city","street"],
+             "properties":{"city":{"type":"string","minLength":2,"description":"City name"},
+                           "street":{"type":"string","minLength":2},
+                           "zip":{"type":"string","pattern":"^\\\\d{6}$"}}}""";
+
+    private static final String SCHEMA = """
+            {"$schema":"https://json-schema.org/draft/2020-12/schema","type":"object","title":"Customer",
+             "$comment":"internal","x-owner":"crm","required":["description","home","work"],
+             "properties":{
+               "description":{"type":["string"],"description":"Free text","examples":["VIP"],"minLength":0},
+               "tags":{"type":"array","items":{},"uniqueItems":false,"default":[]},
+               "home":%s,
+               "work":%s}}
+            """.formatted(ADDRESS, ADDRESS);
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private SchemaPromptCompactor compactor(final Level level, final List<String> keep) {
+        return new SchemaPromptCompactor(mapper, new PromptSchemaProperties(level, keep, 40), registry);
+    }
+
+    @Test
+    @Story("Annotations")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("Annotations are dropped at schema positions only")
+    @Description("title/description/examples/$comment/default/x-* go; a property named 'description' stays")
+    void dropsAnnotations() throws Exception {
+        final JsonNode root = mapper.readTree(compactor(Level.ANNOTATIONS, List.of()).compact(SCHEMA));
+
+        assertFalse(root.has("title") || root.has("$comment") || root.has("x-owner"));
+        assertTrue(root.at("/properties/description").isObject());
+        assertFalse(root.at("/properties/description").has("description"));
+        assertFalse(root.at("/properties/description").has("examples"));
+        assertFalse(root.at("/properties/tags").has("default"));
+        assertEquals(0, root.at("/properties/description/minLength").asInt(-1));
+    }
+
+    @Test
+    @Story("Annotations")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("Configured annotations are kept")
+    @Description("keep-annotations retains descriptions, e.g. when they carry locale hints")
+    void keepsConfiguredAnnotations() throws Exception {
+        final JsonNode root = mapper.readTree(compactor(Level.ANNOTATIONS, List.of("description")).compact(SCHEMA));
+
+        assertEquals("Free text", root.at("/properties/description/description").asText());
+        assertFalse(root.has("title"));
+    }
+
+    @Test
+    @Story("Deduplication")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("Repeated subschemas are hoisted into $defs")
+    @Description("Both address properties become refs to one shared definition with the same constraints")
+    void hoistsRepeatedSubschemas() throws Exception {
+        final JsonNode root = mapper.readTree(compactor(Level.DEDUPE, List.of()).compact(SCHEMA));
+
+        assertEquals("#/$defs/shared1", root.at("/properties/home/$ref").asText());
+        assertEquals("#/$defs/shared1", root.at("/properties/work/$ref").asText());
+        assertEquals("^\\d{6}$", root.at("/$defs/shared1/properties/zip/pattern").asText());
+        assertEquals(2, root.at("/$defs/shared1/required").size());
+        assertFalse(root.at("/$defs").has("shared2"));
+    }
+
+    @Test
+    @Story("Shortening")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("Default-valued keywords are dropped and type arrays shortened")
+    @Description("minLength 0, uniqueItems false and items {} say nothing; ['string'] becomes 'string'")
+    void shortensDefaults() throws Exception {
+        final String compact = compactor(Level.FULL, List.of()).compact(SCHEMA);
+        final JsonNode root = mapper.readTree(compact);
+
+        assertEquals("string", root.at("/properties/description/type").asText());
+        assertFalse(root.at("/properties/description").has("minLength"));
+        assertEquals("{\"type\":\"array\"}", root.at("/properties/tags").toString());
+        assertTrue(compact.length() < mapper.readTree(SCHEMA).toString().length() * 2 / 3);
+        assertEquals(1, registry.get("agent.prompt.schema.tokens").tag("form", "prompt").summary().count());
+    }
+
+    @Test
+    @Story("Safety")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("Schemas with nested ids or deep refs are not deduplicated; OFF returns the input")
+    @Description("Moving subschemas would change ref resolution, so hoisting is skipped")
+    void skipsUnsafeDedupe() throws Exception {
+        final String deepRef = """
+                {"type":"object","properties":{"home":%s,"work":%s,
+                 "copy":{"$ref":"#/properties/home/properties/zip"}}}""".formatted(ADDRESS, ADDRESS);
+
+        final JsonNode root = mapper.readTree(compactor(Level.FULL, List.of()).compact(deepRef));
+
+        assertFalse(root.has("$defs"));
+        assertEquals("object", root.at("/properties/work/type").asText());
+        assertSame(SCHEMA, compactor(Level.OFF, List.of()).compact(SCHEMA));
+        assertSame("not json", compactor(Level.FULL, List.of()).compact("not json"));
+    }
+}
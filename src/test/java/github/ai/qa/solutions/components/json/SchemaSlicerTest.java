@@ -0,0 +1,155 @@
+package github.ai.qa.solutions.components.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import github.ai.qa.solutions.configuration.ValidationReportProperties;
+import github.ai.qa.solutions.tools.SchemaViolation;
+import github.ai.qa.solutions.tools.ValidationReport;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Owner;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import io.qameta.allure.Story;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Epic("AI Test Data Generation")
+@Feature("Fix prompt schema slicing")
+@Owner("repo-maintainers")
+@Tag("unit")
+class SchemaSlicerTest {
+    private static final String SCHEMA = """
+            {"$schema":"https://json-schema.org/draft/2020-12/schema","type":"object","additionalProperties":false,
+             "required":["person","passport_rf","contacts"],
+             "properties":{
+               "person":{"$ref":"#/$defs/person"},
+               "passport_rf":{"type":"object","required":["series","unit_code"],
+                 "properties":{"series":{"type":"string","pattern":"^\\\\d{4}$"},
+                               "unit_code":{"$ref":"#/$defs/unitCode"},
+                               "issued_by":{"type":"string","minLength":5,"description":"Issuing authority"}}},
+               "contacts":{"type":"array","items":{"$ref":"#/$defs/contact"}},
+               "notes":{"type":"string","maxLength":500,"description":"Free text that is irrelevant to the errors"}},
+             "$defs":{
+               "unitCode":{"type":"string","pattern":"^\\\\d{3}-\\\\d{3}$"},
+               "person":{"type":"object","required":["name"],"properties":{"name":{"type":"string"},
+                         "friend":{"$ref":"#/$defs/person"}}},
+               "contact":{"type":"object","required":["phone"],
+                          "properties":{"phone":{"type":"string","pattern":"^\\\\+7\\\\d{10}$"},
+                                        "email":{"type":"string","format":"email"}}}}}
+            """;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final SchemaSlicer slicer = new SchemaSlicer(mapper);
+
+    @Test
+    @Story("Slicing")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("Slice keeps the failing field with its resolved ref and the sibling required constraints")
+    @Description("A pattern error under passport_rf yields only that branch; other properties are stubs")
+    void slicesToFailingPath() throws Exception {
+        final String errors = "$.passport_rf.unit_code: does not match the regex pattern ^\\d{3}-\\d{3}$";
+
+        final String sliced = slicer.slice(SCHEMA, errors);
+        final JsonNode root = mapper.readTree(sliced);
+
+        assertTrue(sliced.length() < SCHEMA.length());
+        assertFalse(root.has("$defs"));
+        assertEquals("^\\d{3}-\\d{3}$", root.at("/properties/passport_rf/properties/unit_code/pattern").asText());
+        assertEquals("[\"series\",\"unit_code\"]", root.at("/properties/passport_rf/required").toString());
+        assertEquals(3, root.at("/required").size());
+        assertFalse(root.at("/additionalProperties").asBoolean(true));
+        assertEquals(0, root.at("/properties/notes").size());
+        assertEquals(0, root.at("/properties/passport_rf/properties/issued_by").size());
+    }
+
+    @Test
+    @Story("Slicing")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("Array items and missing required properties are followed")
+    @Description("contacts[1] resolves through items/$ref; a missing property pulls in its own schema")
+    void followsItemsAndMissingRequired() throws Exception {
+        final String errors = "$.passport_rf: required property 'unit_code' not found \n"
+                + "$.contacts[1].phone: does not match the regex pattern ^\\+7\\d{10}$";
+
+        final JsonNode root = mapper.readTree(slicer.slice(SCHEMA, errors));
+
+        assertEquals("^\\d{3}-\\d{3}$", root.at("/properties/passport_rf/properties/unit_code/pattern").asText());
+        assertEquals("^\\+7\\d{10}$", root.at("/properties/contacts/items/properties/phone/pattern").asText());
+        assertEquals(0, root.at("/properties/contacts/items/properties/email").size());
+        assertEquals(0, root.at("/properties/person").size());
+    }
+
+    @Test
+    @Story("Slicing")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("Recursive refs are cut when inlining a full subschema")
+    @Description("person.friend refers back to person; the recursion is replaced by an empty schema")
+    void recursiveRefsAreCut() throws Exception {
+        final JsonNode root = mapper.readTree(slicer.slice(SCHEMA, "#/person: required property 'name' not found"));
+
+        assertEquals("string", root.at("/properties/person/properties/name/type").asText());
+        assertEquals(0, root.at("/properties/person/properties/friend/properties/friend").size());
+    }
+
+    @Test
+    @Story("Fallback")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("Unreadable or root-level errors keep the full schema")
+    @Description("Without a path below the root the slice cannot be smaller, so the schema is returned as is")
+    void fallsBackToFullSchema() {
+        assertSame(SCHEMA, slicer.slice(SCHEMA, "$: property 'extra' is not defined in the schema"));
+        assertSame(SCHEMA, slicer.slice(SCHEMA, "Validation error: unknown"));
+        assertSame("not json", slicer.slice("not json", "$.a: bad"));
+        assertEquals(
+                List.of(List.of("a b", "0", "c")),
+                SchemaSlicer.errorPaths("$['a b'][0].c: does not match the regex pattern ^x$"));
+    }
+
+    @Test
+    @Story("Slicing")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("Grouped lines of the validation report keep every sample path in the slice")
+    @Description("5000 phone pattern errors collapsed into one report line still slice to the contact phone schema,"
+            + " alongside a missing name reported in a separate line")
+    void slicesGroupedReportLines() throws Exception {
+        final List<SchemaViolation> violations = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            violations.add(new SchemaViolation(
+                    "pattern",
+                    "#/$defs/contact/properties/phone/pattern",
+                    "$.contacts[" + i + "].phone",
+                    "$.contacts[" + i + "].phone: does not match the regex pattern ^\\+7\\d{10}$"));
+        }
+        violations.add(new SchemaViolation(
+                "required", "#/$defs/person/required", "$.person", "$.person: required property 'name' not found"));
+        final String errors = String.join(
+                " \n",
+                new ValidationReport(new ValidationReportProperties(10_000, null, null, null))
+                        .lines(violations)
+                        .errors());
+
+        assertEquals(
+                List.of(
+                        List.of("contacts", "0", "phone"),
+                        List.of("contacts", "1", "phone"),
+                        List.of("contacts", "2", "phone"),
+                        List.of("person", "name")),
+                SchemaSlicer.errorPaths(errors));
+        final JsonNode root = mapper.readTree(slicer.slice(SCHEMA, errors));
+        assertEquals(
+                "^\\+7\\d{10}$",
+                root.at("/properties/contacts/items/properties/phone/pattern").asText());
+        assertEquals("string", root.at("/properties/person/properties/name/type").asText());
+        assertEquals(0, root.at("/properties/notes").size());
+    }
+}
@@ -0,0 +1,99 @@
+package github.ai.qa.solutions.components.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import github.ai.qa.solutions.components.json.StreamingJsonGuard.Inspection;
+import github.ai.qa.solutions.components.json.StreamingJsonGuard.Kind;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Owner;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import io.qameta.allure.Story;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Epic("AI Test Data Generation")
+@Feature("Streaming generation")
+@Owner("repo-maintainers")
+@Tag("unit")
+class StreamingJsonGuardTest {
+    private static final String SCHEMA = """
+            {"type":"object","additionalProperties":false,
+             "properties":{"name":{"type":"string"},
+                           "tags":{"type":"array","items":{"type":"string"}},
+                           "address":{"type":"object","properties":{"city":{"type":"string"}}}}}
+            """;
+
+    private final StreamingJsonGuard guard = new StreamingJsonGuard(new ObjectMapper());
+
+    private static Inspection feed(final Inspection inspection, final String... chunks) {
+        for (String chunk : chunks) {
+            if (inspection.accept(chunk).isPresent()) break;
+        }
+        return inspection;
+    }
+
+    @Test
+    @Story("Structural inspection")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("Valid output split across chunks passes, fences included")
+    @Description("Chunks may split tokens and multi-byte text; a leading fence and trailing text are ignored")
+    void validOutputPasses() {
+        final Inspection inspection = feed(
+                guard.open(SCHEMA), "```json\n{\"na", "me\":\"Ан", "на\",\"tags\":[\"a\"", ",\"b\"]}", "\n```");
+
+        assertTrue(inspection.violation().isEmpty());
+        assertTrue(inspection.text().endsWith("```"));
+        assertEquals("{\"name\":\"Анна\",\"tags\":[\"a\",\"b\"]}", inspection.partial());
+    }
+
+    @Test
+    @Story("Structural inspection")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("Disallowed property aborts with the completed part as partial structure")
+    @Description("The violation is reported at the property name, before its value streams in")
+    void disallowedPropertyDetectedMidStream() {
+        final Inspection inspection = feed(
+                guard.open(SCHEMA), "{\"name\":\"Anna\",\"address\":{\"city\":\"Kazan\"},", "\"age\":", "42}");
+
+        assertEquals(Kind.DISALLOWED_PROPERTY, inspection.violation().orElseThrow().kind());
+        assertEquals("$/age", inspection.violation().orElseThrow().path());
+        assertEquals("{\"name\":\"Anna\",\"address\":{\"city\":\"Kazan\"}}", inspection.partial());
+        assertTrue(inspection.text().endsWith("\"age\":"));
+    }
+
+    @Test
+    @Story("Structural inspection")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("Preamble, wrong container type and malformed text are violations")
+    @Description("Root and nested container types are checked; prose before the root value is rejected")
+    void preambleWrongTypeAndMalformed() {
+        assertEquals(
+                Kind.PREAMBLE,
+                feed(guard.open(SCHEMA), "Here is the JSON: {}").violation().orElseThrow().kind());
+        assertEquals(Kind.WRONG_TYPE, feed(guard.open(SCHEMA), "[").violation().orElseThrow().kind());
+
+        final Inspection nested = feed(guard.open(SCHEMA), "{\"tags\":{");
+        assertEquals(Kind.WRONG_TYPE, nested.violation().orElseThrow().kind());
+        assertEquals("$/tags", nested.violation().orElseThrow().path());
+
+        assertEquals(Kind.MALFORMED, feed(guard.open(SCHEMA), "{\"name\" 1").violation().orElseThrow().kind());
+    }
+
+    @Test
+    @Story("Structural inspection")
+    @Severity(SeverityLevel.MINOR)
+    @DisplayName("Unchecked schemas never abort")
+    @Description("Combinators and unparseable schemas disable structural checks")
+    void uncheckedSchemasPass() {
+        assertTrue(feed(guard.open("{\"anyOf\":[{\"type\":\"array\"}]}"), "Sure! {\"x\":1}")
+                .violation()
+                .isEmpty());
+        assertTrue(feed(guard.open("not json"), "[1,2]").violation().isEmpty());
+    }
+}
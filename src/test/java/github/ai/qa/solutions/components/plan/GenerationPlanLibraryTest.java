@@ -0,0 +1,98 @@
+package github.ai.qa.solutions.components.plan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import github.ai.qa.solutions.configuration.PlanLibraryProperties;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Owner;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import io.qameta.allure.Story;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Epic("AI Test Data Generation")
+@Feature("Plan Library")
+@Owner("repo-maintainers")
+@Tag("unit")
+class GenerationPlanLibraryTest {
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private GenerationPlanLibrary library(final Path dir, final int maxEntries) {
+        return new GenerationPlanLibrary(mapper, new PlanLibraryProperties(true, dir.toString(), maxEntries, true));
+    }
+
+    @Test
+    @Story("Key ignores formatting")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("Reuses plan for reordered schema and reformatted prompt")
+    @Description("Schema key order/whitespace and prompt case/whitespace do not change the library key")
+    void reusesPlanAcrossFormatting() throws Exception {
+        GenerationPlanLibrary lib = library(Files.createTempDirectory("plans"), 8);
+        lib.store("{\"type\":\"object\",\"required\":[\"a\"]}", "Saint  Petersburg resident", "PLAN");
+
+        Optional<String> found =
+                lib.find("{ \"required\": [\"a\"],\n \"type\": \"object\" }", "saint petersburg resident ");
+
+        assertEquals(Optional.of("PLAN"), found);
+        assertEquals(1, lib.hits());
+    }
+
+    @Test
+    @Story("Persistence across restarts")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("Plans survive a new library instance and revisions grow")
+    @Description("Stored plans are reloaded from disk; re-storing bumps the revision")
+    void persistsAcrossInstances() throws Exception {
+        Path dir = Files.createTempDirectory("plans");
+        GenerationPlanLibrary first = library(dir, 8);
+        first.store("{\"type\":\"string\"}", "p", "v1");
+        first.store("{\"type\":\"string\"}", "p", "v2");
+
+        GenerationPlanLibrary second = library(dir, 8);
+
+        assertEquals(Optional.of("v2"), second.find("{\"type\":\"string\"}", "p"));
+        assertTrue(Files.readString(dir.resolve(GenerationPlanLibrary.FILE_NAME)).contains("\"revision\":2"));
+    }
+
+    @Test
+    @Story("LRU eviction")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("Evicts least recently used plan beyond capacity")
+    @Description("With capacity 2, touching the first plan keeps it while the untouched one is evicted")
+    void evictsLeastRecentlyUsed() throws Exception {
+        GenerationPlanLibrary lib = library(Files.createTempDirectory("plans"), 2);
+        lib.store("{}", "a", "A");
+        lib.store("{}", "b", "B");
+        lib.find("{}", "a");
+        lib.store("{}", "c", "C");
+
+        assertEquals(2, lib.size());
+        assertTrue(lib.contains("{}", "a"));
+        assertFalse(lib.contains("{}", "b"));
+    }
+
+    @Test
+    @Story("Disabled library")
+    @Severity(SeverityLevel.MINOR)
+    @DisplayName("Disabled library neither stores nor finds")
+    @Description("enabled=false turns the library into a no-op")
+    void disabledIsNoop() throws Exception {
+        GenerationPlanLibrary lib = new GenerationPlanLibrary(
+                mapper,
+                new PlanLibraryProperties(false, Files.createTempDirectory("plans").toString(), 8, true));
+        lib.store("{}", "a", "A");
+
+        assertEquals(Optional.empty(), lib.find("{}", "a"));
+        assertFalse(lib.reuseOnRegenerate());
+    }
+}
@@ -0,0 +1,74 @@
+package github.ai.qa.solutions.configuration;
+
+import static github.ai.qa.solutions.state.AgentState.StateKey.JSON_SCHEMA;
+import static github.ai.qa.solutions.state.AgentState.StateKey.PLAN_GENERATION;
+import static github.ai.qa.solutions.state.AgentState.StateKey.REGENERATE_COUNT;
+import static github.ai.qa.solutions.state.AgentState.StateKey.USER_PROMPT;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import github.ai.qa.solutions.components.plan.GenerationPlanLibrary;
+import github.ai.qa.solutions.state.AgentState;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Owner;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import io.qameta.allure.Story;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Epic("AI Test Data Generation")
+@Feature("Plan Library")
+@Owner("repo-maintainers")
+@Tag("unit")
+class PlanReuseRoutingTest {
+    private static final String SCHEMA = "{\"type\":\"object\"}";
+    private static final String PROMPT = "person";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private GenerationPlanLibrary library(final Boolean reuseOnRegenerate) throws Exception {
+        final GenerationPlanLibrary library = new GenerationPlanLibrary(
+                mapper,
+                new PlanLibraryProperties(
+                        true, Files.createTempDirectory("plans").toString(), null, reuseOnRegenerate));
+        library.store(SCHEMA, PROMPT, "PLAN");
+        return library;
+    }
+
+    private static AgentState afterRegenerate(final int regenerations) {
+        return new AgentState(new HashMap<>(Map.of(
+                JSON_SCHEMA.name(), SCHEMA,
+                USER_PROMPT.name(), PROMPT,
+                PLAN_GENERATION.name(), "PLAN",
+                REGENERATE_COUNT.name(), String.valueOf(regenerations))));
+    }
+
+    @Test
+    @Story("REGENERATE path")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("REGENERATE re-plans by default")
+    @Description("reuse-on-regenerate is off unless configured, so a stored plan is not replayed on REGENERATE")
+    void regenerateReplansByDefault() throws Exception {
+        assertFalse(AgentApplicationConfiguration.hasReusablePlan(afterRegenerate(1), library(null)));
+    }
+
+    @Test
+    @Story("REGENERATE path")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("Only the first REGENERATE of a run reuses the stored plan")
+    @Description("With reuse on, the first REGENERATE skips planning; the second one re-plans")
+    void secondRegenerateReplans() throws Exception {
+        final GenerationPlanLibrary library = library(true);
+
+        assertTrue(AgentApplicationConfiguration.hasReusablePlan(afterRegenerate(1), library));
+        assertFalse(AgentApplicationConfiguration.hasReusablePlan(afterRegenerate(2), library));
+    }
+}
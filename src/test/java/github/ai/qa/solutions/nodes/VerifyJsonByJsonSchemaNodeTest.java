@@ -2,16 +2,21 @@ package github.ai.qa.solutions.nodes;
 
 import static github.ai.qa.solutions.state.AgentState.StateKey.GENERATED_JSON;
 import static github.ai.qa.solutions.state.AgentState.StateKey.JSON_SCHEMA;
+import static github.ai.qa.solutions.state.AgentState.StateKey.VALIDATION_ERROR_COUNT;
 import static github.ai.qa.solutions.state.AgentState.StateKey.VALIDATION_RESULT;
 import static github.ai.qa.solutions.state.AgentState.StateKey.VALIDATION_SIGNATURE;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import github.ai.qa.solutions.configuration.ValidationReportProperties;
+import github.ai.qa.solutions.observability.ToolCallTracing;
 import github.ai.qa.solutions.services.ChatClientRouter;
 import github.ai.qa.solutions.state.AgentState;
+import github.ai.qa.solutions.tools.SchemaValidatorCache;
 import github.ai.qa.solutions.tools.SchemaVersionDetector;
 import github.ai.qa.solutions.tools.ValidateJsonBySchemaTool;
+import github.ai.qa.solutions.tools.ValidationReport;
 import io.qameta.allure.Description;
 import io.qameta.allure.Epic;
 import io.qameta.allure.Feature;
@@ -32,7 +37,9 @@ import org.junit.jupiter.api.Test;
 class VerifyJsonByJsonSchemaNodeTest {
 
     private final ObjectMapper mapper = new ObjectMapper();
-    private final ValidateJsonBySchemaTool tool = new ValidateJsonBySchemaTool(new SchemaVersionDetector(mapper));
+    private final ValidateJsonBySchemaTool tool = new ValidateJsonBySchemaTool(
+            new SchemaValidatorCache(new SchemaVersionDetector(mapper)),
+            new ValidationReport(ValidationReportProperties.defaults()));
     private final ChatClientRouter router = node -> {
         throw new RuntimeException("no LLM in unit tests");
     };
@@ -51,7 +58,7 @@ class VerifyJsonByJsonSchemaNodeTest {
                 JSON_SCHEMA.name(), schema,
                 GENERATED_JSON.name(), json)));
 
-        VerifyJsonByJsonSchemaNode node = new VerifyJsonByJsonSchemaNode(tool, router, mapper);
+        VerifyJsonByJsonSchemaNode node = new VerifyJsonByJsonSchemaNode(tool, router, mapper, ToolCallTracing.NOOP);
         Map<String, Object> out = node.apply(state);
 
         assertEquals("OK", out.get(VALIDATION_RESULT.name()));
@@ -72,7 +79,7 @@ class VerifyJsonByJsonSchemaNodeTest {
                 JSON_SCHEMA.name(), schema,
                 GENERATED_JSON.name(), json)));
 
-        VerifyJsonByJsonSchemaNode node = new VerifyJsonByJsonSchemaNode(tool, router, mapper);
+        VerifyJsonByJsonSchemaNode node = new VerifyJsonByJsonSchemaNode(tool, router, mapper, ToolCallTracing.NOOP);
         Map<String, Object> out = node.apply(state);
 
         String result = (String) out.get(VALIDATION_RESULT.name());
@@ -82,4 +89,32 @@ class VerifyJsonByJsonSchemaNodeTest {
         assertFalse(result == null || result.isBlank());
         assertFalse(signature == null || signature.isBlank());
     }
+
+    @Test
+    @Story("Count violations, not report lines")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("Grouped errors keep the real violation count and leave notes out")
+    @Description("3 pattern violations grouped into one line under a cap of 2 give a count of 2, one error in the"
+            + " signature and no 'validation stopped' note in the result")
+    void countsViolationsNotLines() {
+        String schema = "{\"type\":\"array\",\"items\":{\"type\":\"string\",\"pattern\":\"^A\"}}";
+        String json = "[\"B\",\"C\",\"D\"]";
+        ValidateJsonBySchemaTool capped = new ValidateJsonBySchemaTool(
+                new SchemaValidatorCache(new SchemaVersionDetector(mapper)),
+                new ValidationReport(new ValidationReportProperties(2, null, null, null)));
+
+        Map<String, Object> out = new VerifyJsonByJsonSchemaNode(capped, router, mapper, ToolCallTracing.NOOP)
+                .apply(new AgentState(new HashMap<>(Map.of(JSON_SCHEMA.name(), schema, GENERATED_JSON.name(), json))));
+
+        assertEquals("2", out.get(VALIDATION_ERROR_COUNT.name()));
+        assertEquals(
+                Integer.valueOf(1),
+                Integer.valueOf(((String) out.get(VALIDATION_SIGNATURE.name())).split("\\|").length));
+        assertFalse(((String) out.get(VALIDATION_RESULT.name())).contains("validation stopped"));
+        assertEquals(
+                Integer.valueOf(2),
+                Integer.valueOf(VerifyJsonByJsonSchemaNode.errorCount(
+                        (String) out.get(VALIDATION_ERROR_COUNT.name()),
+                        (String) out.get(VALIDATION_SIGNATURE.name()))));
+    }
 }
@@ -0,0 +1,296 @@
+package github.ai.qa.solutions.observability;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import github.ai.qa.solutions.configuration.AgentApplicationConfiguration.NodeId;
+import github.ai.qa.solutions.configuration.AiClientsConfiguration;
+import github.ai.qa.solutions.nodes.VerifyJsonByJsonSchemaNode;
+import github.ai.qa.solutions.services.NodeModelChatClientRouter;
+import github.ai.qa.solutions.state.AgentState;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
+import io.micrometer.tracing.otel.bridge.OtelTracer;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Owner;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import io.qameta.allure.Story;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.bsc.langgraph4j.action.NodeAction;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.metadata.DefaultUsage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.beans.factory.ObjectProvider;
+import reactor.core.publisher.Flux;
+
+@Epic("AI Test Data Generation")
+@Feature("Observability")
+@Owner("repo-maintainers")
+@Tag("unit")
+class GraphTracingTest {
+    private final List<SpanData> finished = new CopyOnWriteArrayList<>();
+    private final OtelTracer tracer = new OtelTracer(
+            SdkTracerProvider.builder()
+                    .addSpanProcessor(SimpleSpanProcessor.create(new CollectingExporter(finished)))
+                    .build()
+                    .get("test"),
+            new OtelCurrentTraceContext(),
+            event -> {});
+    private final GraphTracing tracing = new GraphTracing(tracer);
+
+    private ChatClient client() {
+        final ChatModel model = new ChatModel() {
+            @Override
+            public ChatResponse call(final Prompt prompt) {
+                // Plays the model asking for each offered tool once
+                if (prompt.getOptions() instanceof ToolCallingChatOptions options) {
+                    options.getToolCallbacks().forEach(tool -> tool.call("{}"));
+                }
+                return new ChatResponse(
+                        List.of(new Generation(new AssistantMessage("{}"))),
+                        ChatResponseMetadata.builder()
+                                .usage(new DefaultUsage(70, 5))
+                                .build());
+            }
+
+            @Override
+            public ChatOptions getDefaultOptions() {
+                return ToolCallingChatOptions.builder().build();
+            }
+
+            @Override
+            public Flux<ChatResponse> stream(final Prompt prompt) {
+                return Flux.just(
+                        new ChatResponse(List.of(new Generation(new AssistantMessage("{")))),
+                        new ChatResponse(
+                                List.of(new Generation(new AssistantMessage("}"))),
+                                ChatResponseMetadata.builder()
+                                        .usage(new DefaultUsage(70, 5))
+                                        .build()));
+            }
+        };
+        final ChatClient c = ChatClient.create(model);
+        final ObjectProvider<ChatClient> provider = new ObjectProvider<>() {
+            @Override
+            public ChatClient getObject(final Object... args) {
+                return c;
+            }
+
+            @Override
+            public ChatClient getIfAvailable() {
+                return c;
+            }
+
+            @Override
+            public ChatClient getIfUnique() {
+                return c;
+            }
+
+            @Override
+            public ChatClient getObject() {
+                return c;
+            }
+        };
+        final TokenAccounting accounting = 
+                new TokenAccounting(new SimpleMeterRegistry(), new ObjectMapper());
+        return new NodeModelChatClientRouter(
+                        provider,
+                        provider,
+                        new AiClientsConfiguration.NodeModelRoutingProperties(new HashMap<>()),
+                        List.of(
+                                new ModelCallTracingAdvisor(tracer),
+                                new ToolCallTracing(tracer),
+                                new TokenUsageAdvisor(accounting)),
+                        null,
+                        null)
+                .forNode("GenerateJsonBySchemaTool");
+    }
+
+    private void run(final NodeId node, final Map<String, Object> state, final NodeAction<AgentState> action)
+            throws Exception {
+        state.putAll(new InstrumentedNodeAction(node, action, List.of(tracing)).apply(new AgentState(state)));
+    }
+
+    private SpanData span(final String name) {
+        return finished.stream()
+                .filter(s -> s.getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("no span " + name + " in " + finished));
+    }
+
+    @Test
+    @Story("Tracing")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("A run produces one trace with node and model-call child spans")
+    @Description("agent.run → agent.node <id> → agent.model.call, tagged with family, tokens and decision")
+    void runProducesNestedSpans() throws Exception {
+        final ChatClient client = client();
+        final Map<String, Object> state = new HashMap<>();
+        run(NodeId.GENERATE_INITIAL_JSON, state, s -> {
+            client.prompt("generate").call().content();
+            return Map.of();
+        });
+        run(NodeId.REASON_AND_ROUTE, state, s -> Map.of("DECISION", "END"));
+
+        final SpanData root = span("agent.run");
+        final SpanData generate = span("agent.node " + NodeId.GENERATE_INITIAL_JSON.id);
+        final SpanData route = span("agent.node " + NodeId.REASON_AND_ROUTE.id);
+        final SpanData call = span("agent.model.call");
+
+        assertEquals(root.getSpanId(), generate.getParentSpanId());
+        assertEquals(root.getSpanId(), route.getParentSpanId());
+        assertEquals(generate.getSpanId(), call.getParentSpanId());
+        assertEquals(root.getTraceId(), call.getTraceId());
+        assertEquals("GigaChat", call.getAttributes().get(AttributeKey.stringKey("agent.model.family")));
+        assertEquals(
+                Long.valueOf(70), call.getAttributes().get(AttributeKey.longKey("gen_ai.usage.input_tokens")));
+        assertEquals("END", route.getAttributes().get(AttributeKey.stringKey("agent.decision")));
+        assertEquals("end", root.getAttributes().get(AttributeKey.stringKey("agent.run.outcome")));
+    }
+
+    @Test
+    @Story("Tracing")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("A streamed model call gets its span when the stream ends")
+    @Description("agent.model.call is a child of the node span and carries the usage reported in the stream")
+    void streamedCallIsTraced() throws Exception {
+        final ChatClient client = client();
+        final Map<String, Object> state = new HashMap<>();
+        run(NodeId.GENERATE_INITIAL_JSON, state, s -> {
+            assertEquals("{}", String.join("", client.prompt("generate").stream().content().collectList().block()));
+            return Map.of();
+        });
+
+        final SpanData generate = span("agent.node " + NodeId.GENERATE_INITIAL_JSON.id);
+        final SpanData call = span("agent.model.call");
+
+        assertEquals(generate.getSpanId(), call.getParentSpanId());
+        assertEquals(
+                Long.valueOf(5), call.getAttributes().get(AttributeKey.longKey("gen_ai.usage.output_tokens")));
+        assertEquals("onComplete", call.getAttributes().get(AttributeKey.stringKey("agent.stream.signal")));
+    }
+
+    @Test
+    @Story("Tracing")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("Tool calls get spans whether the model or the node runs them")
+    @Description("agent.tool.call is a child of the model call for model-invoked tools and of the node span otherwise")
+    void toolCallsAreTraced() throws Exception {
+        final ChatClient client = client();
+        final ToolCallback tool = new ToolCallback() {
+            @Override
+            public ToolDefinition getToolDefinition() {
+                return ToolDefinition.builder()
+                        .name("validateJsonAgainstJsonSchema")
+                        .description("d")
+                        .inputSchema("{}")
+                        .build();
+            }
+
+            @Override
+            public String call(final String toolInput) {
+                return "{\"ok\":true}";
+            }
+        };
+        final Map<String, Object> state = new HashMap<>();
+        run(NodeId.VALIDATE_JSON, state, s -> {
+            client.prompt("validate").toolCallbacks(tool).call().content();
+            new ToolCallTracing(tracer).call("validateJsonAgainstJsonSchema", () -> tool.call("{}"));
+            return Map.of();
+        });
+
+        final SpanData node = span("agent.node " + NodeId.VALIDATE_JSON.id);
+        final SpanData call = span("agent.model.call");
+        final List<SpanData> tools = finished.stream()
+                .filter(s -> s.getName().equals("agent.tool.call"))
+                .toList();
+
+        assertEquals(Integer.valueOf(2), Integer.valueOf(tools.size()));
+        for (final SpanData span : tools) {
+            final String origin = span.getAttributes().get(AttributeKey.stringKey("agent.tool.origin"));
+            assertEquals("model".equals(origin) ? call.getSpanId() : node.getSpanId(), span.getParentSpanId());
+            assertEquals(
+                    "validateJsonAgainstJsonSchema",
+                    span.getAttributes().get(AttributeKey.stringKey("agent.tool.name")));
+        }
+        assertEquals(
+                List.of("local", "model"),
+                tools.stream()
+                        .map(s -> s.getAttributes().get(AttributeKey.stringKey("agent.tool.origin")))
+                        .sorted()
+                        .toList());
+    }
+
+    @Test
+    @Story("Tracing")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("A failing node marks its span as error and ends the run span")
+    @Description("Node failure is recorded on the node span; the run span ends with outcome=error")
+    void failingNodeIsRecorded() {
+        final Map<String, Object> state = new HashMap<>();
+
+        assertThrows(IllegalStateException.class, () -> run(NodeId.VALIDATE_SCHEMA, state, s -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        assertEquals(
+                StatusCode.ERROR,
+                span("agent.node " + NodeId.VALIDATE_SCHEMA.id).getStatus().getStatusCode());
+        assertEquals("error", span("agent.run").getAttributes().get(AttributeKey.stringKey("agent.run.outcome")));
+    }
+
+    @Test
+    @Story("Tracing")
+    @Severity(SeverityLevel.MINOR)
+    @DisplayName("Validation error count is derived from the signature")
+    @Description("OK means zero errors; otherwise messages are separated by '|'")
+    void validationErrorsFromSignature() {
+        assertEquals(0, VerifyJsonByJsonSchemaNode.errorCount("OK"));
+        assertEquals(3, VerifyJsonByJsonSchemaNode.errorCount("a|b|c"));
+    }
+
+    private record CollectingExporter(List<SpanData> sink) implements SpanExporter {
+        @Override
+        public CompletableResultCode export(final Collection<SpanData> spans) {
+            sink.addAll(spans);
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode flush() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return CompletableResultCode.ofSuccess();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package github.ai.qa.solutions.observability;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import github.ai.qa.solutions.configuration.AgentApplicationConfiguration.NodeId;
+import github.ai.qa.solutions.state.AgentState;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Owner;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import io.qameta.allure.Story;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Epic("AI Test Data Generation")
+@Feature("Observability")
+@Owner("repo-maintainers")
+@Tag("unit")
+class InstrumentedNodeActionTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AgentMetrics metrics = new AgentMetrics(registry);
+
+    private Map<String, Object> run(final NodeId node, final Map<String, Object> state, final Map<String, Object> out)
+            throws Exception {
+        final Map<String, Object> updates =
+                new InstrumentedNodeAction(node, s -> out, List.of(metrics)).apply(new AgentState(state));
+        state.putAll(updates);
+        return updates;
+    }
+
+    @Test
+    @Story("Run bookkeeping")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("First node stamps run id and start time")
+    @Description("RUN_ID and RUN_STARTED_AT are added once and the run is counted as active")
+    void firstNodeStartsRun() throws Exception {
+        Map<String, Object> state = new HashMap<>();
+
+        Map<String, Object> updates = run(NodeId.VALIDATE_SCHEMA, state, Map.of());
+
+        assertNotNull(updates.get(AgentState.StateKey.RUN_ID.name()));
+        assertNotNull(updates.get(AgentState.StateKey.RUN_STARTED_AT.name()));
+        assertEquals(1.0, registry.get("agent.runs.active").gauge().value());
+        assertEquals(1L, registry.get("agent.node.duration").tag("node", "validate_schema").timer().count());
+    }
+
+    @Test
+    @Story("Decision distribution")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("FIX and REGENERATE are counted per run and recorded when the run ends")
+    @Description("reason_and_route decisions feed counters, per-run histograms and the run timer")
+    void decisionsAreCountedPerRun() throws Exception {
+        Map<String, Object> state = new HashMap<>();
+        run(NodeId.VALIDATE_SCHEMA, state, Map.of());
+        run(NodeId.REASON_AND_ROUTE, state, Map.of("DECISION", "FIX"));
+        run(NodeId.REASON_AND_ROUTE, state, Map.of("DECISION", "FIX"));
+        run(NodeId.REASON_AND_ROUTE, state, Map.of("DECISION", "REGENERATE"));
+        run(NodeId.REASON_AND_ROUTE, state, Map.of("DECISION", "END"));
+
+        assertEquals("2", state.get(AgentState.StateKey.FIX_COUNT.name()));
+        assertEquals("1", state.get(AgentState.StateKey.REGENERATE_COUNT.name()));
+        assertEquals(2.0, registry.get("agent.decisions").tag("decision", "FIX").counter().count());
+        assertEquals(2.0, registry.get("agent.run.fix.iterations").summary().totalAmount());
+        assertEquals(1.0, registry.get("agent.run.regenerate.cycles").summary().totalAmount());
+        assertEquals(1L, registry.get("agent.run.duration").tag("outcome", "end").timer().count());
+        assertEquals(0.0, registry.get("agent.runs.active").gauge().value());
+    }
+
+    @Test
+    @Story("Run bookkeeping")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("Runs abandoned outside the graph runner are ended once as aborted")
+    @Description("An open run idle past the cutoff is ended for all listeners; a late END is not reported again")
+    void idleRunsArePurged() throws Exception {
+        // Open runs are process-wide; drop those left by other tests
+        InstrumentedNodeAction.purgeIdle(Long.MAX_VALUE, List.of());
+        Map<String, Object> state = new HashMap<>();
+        run(NodeId.VALIDATE_SCHEMA, state, Map.of());
+        assertEquals(1.0, registry.get("agent.runs.active").gauge().value());
+
+        assertEquals(
+                Integer.valueOf(1),
+                Integer.valueOf(InstrumentedNodeAction.purgeIdle(System.currentTimeMillis() + 1, List.of(metrics))));
+        run(NodeId.REASON_AND_ROUTE, state, Map.of("DECISION", "END"));
+
+        assertEquals(0.0, registry.get("agent.runs.active").gauge().value());
+        assertEquals(1L, registry.get("agent.run.duration").tag("outcome", "aborted").timer().count());
+        assertEquals(0, registry.find("agent.run.duration").tag("outcome", "end").timers().size());
+    }
+
+    @Test
+    @Story("Failures")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("Node failure is rethrown and ends the run as error")
+    @Description("The original exception propagates; error timer and run outcome=error are recorded")
+    void failureEndsRun() {
+        AgentState state = new AgentState(new HashMap<>());
+        InstrumentedNodeAction failing = new InstrumentedNodeAction(
+                NodeId.GENERATE_INITIAL_JSON,
+                s -> {
+                    throw new IllegalStateException("boom");
+                },
+                List.of(metrics));
+
+        assertThrows(IllegalStateException.class, () -> failing.apply(state));
+        assertEquals(1L, registry.get("agent.node.duration").tag("outcome", "error").timer().count());
+        assertEquals(1L, registry.get("agent.run.duration").tag("outcome", "error").timer().count());
+    }
+
+    @Test
+    @Story("Schema tag")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("Node and run timers are tagged with the short schema fingerprint")
+    @Description("validate_schema publishes SCHEMA_FINGERPRINT; later node timers and the run timer carry its prefix")
+    void timersAreTaggedWithSchemaFingerprint() throws Exception {
+        Map<String, Object> state = new HashMap<>();
+        run(NodeId.VALIDATE_SCHEMA, state, Map.of("SCHEMA_FINGERPRINT", "0123456789abcdef0123456789abcdef"));
+        run(NodeId.REASON_AND_ROUTE, state, Map.of("DECISION", "END"));
+
+        assertEquals(
+                1L,
+                registry.get("agent.node.duration")
+                        .tag("node", "reason_and_route")
+                        .tag("schema", "01234567")
+                        .timer()
+                        .count());
+        assertEquals(1L, registry.get("agent.run.duration").tag("schema", "01234567").timer().count());
+    }
+}
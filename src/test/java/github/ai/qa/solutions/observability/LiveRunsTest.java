@@ -0,0 +1,112 @@
+package github.ai.qa.solutions.observability;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import github.ai.qa.solutions.configuration.AgentApplicationConfiguration.NodeId;
+import github.ai.qa.solutions.state.AgentState;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Owner;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import io.qameta.allure.Story;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.bsc.langgraph4j.action.NodeAction;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Epic("AI Test Data Generation")
+@Feature("Observability")
+@Owner("repo-maintainers")
+@Tag("unit")
+class LiveRunsTest {
+    private final LiveRuns liveRuns = new LiveRuns();
+
+    private InstrumentedNodeAction node(final NodeId id, final NodeAction<AgentState> a) {
+        return new InstrumentedNodeAction(id, a, List.of(liveRuns));
+    }
+
+    @Test
+    @Story("Live runs")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("Runs are listed while in flight and removed at END")
+    @Description("The registry exposes the run between nodes and forgets it once routing decides END")
+    void runsAreTrackedUntilEnd() throws Exception {
+        final Map<String, Object> state = new HashMap<>(Map.of("RUN_ID", "r1"));
+        state.putAll(node(NodeId.VALIDATE_SCHEMA, s -> Map.of()).apply(new AgentState(state)));
+
+        final LiveRuns.RunView view = liveRuns.run("r1").orElseThrow();
+        assertNull(view.currentNode());
+        assertEquals(1, view.nodesExecuted());
+        assertEquals(1L, liveRuns.latencies().get(NodeId.VALIDATE_SCHEMA.id).total());
+
+        node(NodeId.REASON_AND_ROUTE, s -> Map.of("DECISION", "END")).apply(new AgentState(state));
+        assertTrue(liveRuns.runs().isEmpty());
+    }
+
+    @Test
+    @Story("Live runs")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("Cancelling a stuck run interrupts its node and fails the run")
+    @Description("cancel() interrupts the blocked node; the wrapper throws CancellationException and the run ends")
+    void cancelInterruptsStuckNode() throws Exception {
+        final CountDownLatch entered = new CountDownLatch(1);
+        final InstrumentedNodeAction stuck = node(NodeId.GENERATE_INITIAL_JSON, s -> {
+            entered.countDown();
+            try {
+                Thread.sleep(30_000);
+            } catch (InterruptedException e) {
+                // a node that swallows the interrupt and returns normally
+            }
+            return Map.of();
+        });
+        final CompletableFuture<Map<String, Object>> run = CompletableFuture.supplyAsync(() -> {
+            try {
+                return stuck.apply(new AgentState(new HashMap<>(Map.of("RUN_ID", "r2"))));
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        assertEquals(NodeId.GENERATE_INITIAL_JSON.id, liveRuns.run("r2").orElseThrow().currentNode());
+
+        assertTrue(liveRuns.cancel("r2"));
+
+        final ExecutionException failure = assertThrows(ExecutionException.class, () -> run.get(5, TimeUnit.SECONDS));
+        assertTrue(failure.getCause() instanceof CancellationException, String.valueOf(failure.getCause()));
+        assertTrue(liveRuns.run("r2").isEmpty());
+        assertFalse(liveRuns.cancel("r2"));
+    }
+
+    @Test
+    @Story("Live runs")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("Latency percentiles are computed over the rolling window")
+    @Description("Nearest-rank p50/p99 and max over recorded node durations")
+    void latencyPercentiles() {
+        for (int i = 1; i <= 100; i++) {
+            liveRuns.onNodeEnd("x", NodeId.NORMALIZE_JSON, null, Map.of(), i * 1_000_000L);
+        }
+
+        final LiveRuns.LatencyView v = liveRuns.latencies().get(NodeId.NORMALIZE_JSON.id);
+        assertEquals(100, v.samples());
+        assertEquals(50.0, v.p50Ms());
+        assertEquals(99.0, v.p99Ms());
+        assertEquals(100.0, v.maxMs());
+    }
+}
@@ -0,0 +1,216 @@
+package github.ai.qa.solutions.observability;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import github.ai.qa.solutions.configuration.AgentApplicationConfiguration.NodeId;
+import github.ai.qa.solutions.configuration.AiClientsConfiguration;
+import github.ai.qa.solutions.services.NodeModelChatClientRouter;
+import github.ai.qa.solutions.state.AgentState;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Owner;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import io.qameta.allure.Story;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.metadata.DefaultUsage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.beans.factory.ObjectProvider;
+
+@Epic("AI Test Data Generation")
+@Feature("Observability")
+@Owner("repo-maintainers")
+@Tag("unit")
+class TokenAccountingTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final TokenAccounting accounting = new TokenAccounting(registry, mapper);
+
+    private NodeModelChatClientRouter router(final ChatModel model) {
+        final ObjectProvider<ChatClient> client = new ObjectProvider<>() {
+            private final ChatClient c = ChatClient.create(model);
+
+            @Override
+            public ChatClient getObject(final Object... args) {
+                return c;
+            }
+
+            @Override
+            public ChatClient getIfAvailable() {
+                return c;
+            }
+
+            @Override
+            public ChatClient getIfUnique() {
+                return c;
+            }
+
+            @Override
+            public ChatClient getObject() {
+                return c;
+            }
+        };
+        return new NodeModelChatClientRouter(
+                client,
+                client,
+                new AiClientsConfiguration.NodeModelRoutingProperties(new HashMap<>()),
+                List.of(new TokenUsageAdvisor(accounting)),
+                null,
+                null);
+    }
+
+    private static ChatModel model(final String answer, final DefaultUsage usage) {
+        return new ChatModel() {
+            @Override
+            public ChatResponse call(final Prompt prompt) {
+                final ChatResponseMetadata metadata = usage == null
+                        ? ChatResponseMetadata.builder().build()
+                        : ChatResponseMetadata.builder().usage(usage).build();
+                return new ChatResponse(List.of(new Generation(new AssistantMessage(answer))), metadata);
+            }
+        };
+    }
+
+    @Test
+    @Story("Token accounting")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("Provider usage is attributed to the running node and written to the state")
+    @Description("Calls inside an instrumented node are tagged with node, client and family; totals reach state")
+    void providerUsageIsAttributedToNode() throws Exception {
+        final ChatClient client = router(model("{}", new DefaultUsage(120, 30))).forNode("GenerateJsonNode");
+        final InstrumentedNodeAction node = new InstrumentedNodeAction(
+                NodeId.GENERATE_INITIAL_JSON,
+                s -> {
+                    client.prompt("generate").call().content();
+                    client.prompt("again").call().content();
+                    return Map.of();
+                },
+                List.of(accounting));
+
+        final Map<String, Object> updates = node.apply(new AgentState(new HashMap<>()));
+
+        assertEquals(
+                240.0,
+                registry.get("agent.model.tokens")
+                        .tag("node", NodeId.GENERATE_INITIAL_JSON.id)
+                        .tag("client", "GenerateJsonNode")
+                        .tag("family", "GigaChat")
+                        .tag("type", "prompt")
+                        .tag("source", "provider")
+                        .counter()
+                        .count());
+        final JsonNode usage = mapper.readTree((String) updates.get(AgentState.StateKey.TOKEN_USAGE.name()));
+        assertEquals(240, usage.get("promptTokens").asInt());
+        assertEquals(60, usage.get("completionTokens").asInt());
+        assertEquals(2, usage.path("byNode").path(NodeId.GENERATE_INITIAL_JSON.id).path("calls").asInt());
+        assertEquals(2, usage.path("byFamily").path("GigaChat").path("calls").asInt());
+    }
+
+    @Test
+    @Story("Token accounting")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("Missing provider usage falls back to a local estimate")
+    @Description("Calls without usage metadata are estimated from text length and tagged source=estimate")
+    void missingUsageIsEstimated() {
+        final ChatClient client = router(model("abcdefgh", null)).forNode("ThinkHowToGenerateTool");
+
+        client.prompt("a".repeat(400)).call().content();
+
+        final double prompt = registry.get("agent.model.tokens")
+                .tag("node", "none")
+                .tag("source", "estimate")
+                .tag("type", "prompt")
+                .counter()
+                .count();
+        assertTrue(prompt >= 100.0, "prompt estimate should cover the user text");
+        assertEquals(
+                2.0,
+                registry.get("agent.model.tokens")
+                        .tag("source", "estimate")
+                        .tag("type", "completion")
+                        .counter()
+                        .count());
+    }
+
+    @Test
+    @Story("Token accounting")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("Run totals are recorded and released when the run ends")
+    @Description("onRunEnd records agent.run.tokens and forgets the run's running totals")
+    void runTotalsAreReleasedOnEnd() {
+        accounting.record(
+                new TokenUsage("r1", "generate_initial_json", "GenerateJsonNode", "GigaChat", 50, 10, 200, false));
+
+        accounting.onRunEnd(new RunSummary("r1", RunSummary.END, 5, 0, 0));
+
+        assertEquals(50.0, registry.get("agent.run.tokens").tag("type", "prompt").summary().totalAmount());
+        assertTrue(accounting.snapshot("r1").isEmpty());
+    }
+
+    @Test
+    @Story("Token accounting")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("Cached prompt tokens are read from the provider's native usage")
+    @Description("prompt_tokens_details.cached_tokens feeds agent.model.tokens.cached and the cached ratio")
+    void cachedPromptTokensAreReported() {
+        final DefaultUsage usage =
+                new DefaultUsage(200, 20, 220, Map.of("prompt_tokens_details", Map.of("cached_tokens", 150)));
+        final ChatClient client = router(model("{}", usage)).forNode("GenerateJsonNode");
+
+        client.prompt("generate").call().content();
+
+        assertEquals(
+                150.0,
+                registry.get("agent.model.tokens.cached")
+                        .tag("client", "GenerateJsonNode")
+                        .counter()
+                        .count());
+        assertEquals(
+                0.75,
+                registry.get("agent.model.prompt.cached.ratio")
+                        .tag("client", "GenerateJsonNode")
+                        .summary()
+                        .mean(),
+                1e-9);
+    }
+
+    @Test
+    @Story("Output budget accuracy")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("Completion tokens are compared with the per-call output budget")
+    @Description("agent.model.output.budget.usage records the used share; answers hitting the budget are counted")
+    void outputBudgetUsageIsRecorded() {
+        accounting.record(
+                new TokenUsage(null, "none", "ReasonAndRouteNode", "OpenRouter", 900, 32, 3000, false, 0, 128));
+        accounting.record(
+                new TokenUsage(null, "none", "ReasonAndRouteNode", "OpenRouter", 900, 128, 3000, false, 0, 128));
+
+        final var usage = registry.get("agent.model.output.budget.usage")
+                .tag("client", "ReasonAndRouteNode")
+                .summary();
+        assertEquals(2, usage.count());
+        assertEquals(0.625, usage.mean(), 1e-9);
+        assertEquals(
+                1.0,
+                registry.get("agent.model.output.budget.exhausted")
+                        .tag("client", "ReasonAndRouteNode")
+                        .counter()
+                        .count());
+    }
+}
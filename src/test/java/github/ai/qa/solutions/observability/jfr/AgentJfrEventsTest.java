@@ -0,0 +1,130 @@
+package github.ai.qa.solutions.observability.jfr;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import github.ai.qa.solutions.configuration.AgentApplicationConfiguration.NodeId;
+import github.ai.qa.solutions.configuration.ValidationReportProperties;
+import github.ai.qa.solutions.observability.InstrumentedNodeAction;
+import github.ai.qa.solutions.state.AgentState;
+import github.ai.qa.solutions.tools.SchemaValidatorCache;
+import github.ai.qa.solutions.tools.SchemaVersionDetector;
+import github.ai.qa.solutions.tools.ValidateJsonBySchemaTool;
+import github.ai.qa.solutions.tools.ValidationReport;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Owner;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import io.qameta.allure.Story;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Epic("AI Test Data Generation")
+@Feature("Observability")
+@Owner("repo-maintainers")
+@Tag("unit")
+class AgentJfrEventsTest {
+    private static final String SCHEMA =
+            "{\"$schema\":\"https://json-schema.org/draft/2020-12/schema\",\"type\":\"object\","
+                    + "\"required\":[\"a\",\"b\"]}";
+
+    private Configuration agentProfile() throws Exception {
+        try (Reader r = new InputStreamReader(
+                getClass().getResourceAsStream("/jfr/agent.jfc"), StandardCharsets.UTF_8)) {
+            return Configuration.create(r);
+        }
+    }
+
+    private List<RecordedEvent> record(final Runnable work) throws Exception {
+        final Path file = Files.createTempFile("agent-events", ".jfr");
+        try (Recording recording = new Recording(agentProfile())) {
+            recording.start();
+            work.run();
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    @Story("JFR events")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("Shipped settings profile enables every agent event")
+    @Description("jfr/agent.jfc parses and enables the node, model call and schema events")
+    void profileEnablesAgentEvents() throws Exception {
+        final Map<String, String> settings = agentProfile().getSettings();
+
+        for (String event : List.of(
+                "aitdg.NodeExecution", "aitdg.ModelCall", "aitdg.SchemaCompile", "aitdg.SchemaValidation")) {
+            assertEquals("true", settings.get(event + "#enabled"), event);
+        }
+    }
+
+    @Test
+    @Story("JFR events")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("Validation tool emits compile and validation events")
+    @Description("SchemaCompile events carry purpose and version; SchemaValidation carries the error count")
+    void validationEmitsSchemaEvents() throws Exception {
+        final ValidateJsonBySchemaTool tool = new ValidateJsonBySchemaTool(
+                new SchemaValidatorCache(new SchemaVersionDetector(new ObjectMapper())),
+                new ValidationReport(ValidationReportProperties.defaults()));
+
+        final List<RecordedEvent> events = record(() -> tool.validateJsonBySchema("{\"a\":1}", SCHEMA));
+
+        assertTrue(events.stream()
+                .anyMatch(e -> e.getEventType().getName().equals("aitdg.SchemaCompile")
+                        && "validate".equals(e.getString("purpose"))
+                        && "V202012".equals(e.getString("version"))));
+        final RecordedEvent validation = events.stream()
+                .filter(e -> e.getEventType().getName().equals("aitdg.SchemaValidation"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(1, validation.getInt("errorCount"));
+    }
+
+    @Test
+    @Story("JFR events")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("Node wrapper emits a node execution event")
+    @Description("NodeExecution events carry run id, node id, outcome and decision")
+    void nodeWrapperEmitsEvent() throws Exception {
+        final InstrumentedNodeAction action =
+                new InstrumentedNodeAction(NodeId.REASON_AND_ROUTE, s -> Map.of("DECISION", "FIX"), List.of());
+
+        final List<RecordedEvent> events = record(() -> {
+            try {
+                action.apply(new AgentState(new HashMap<>(Map.of("RUN_ID", "run-1"))));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        final RecordedEvent node = events.stream()
+                .filter(e -> e.getEventType().getName().equals("aitdg.NodeExecution"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals("run-1", node.getString("runId"));
+        assertEquals(NodeId.REASON_AND_ROUTE.id, node.getString("node"));
+        assertEquals("ok", node.getString("outcome"));
+        assertEquals("FIX", node.getString("decision"));
+    }
+}
@@ -0,0 +1,199 @@
+package github.ai.qa.solutions.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import github.ai.qa.solutions.components.json.StreamingJsonGuard;
+import github.ai.qa.solutions.configuration.ContinuationProperties;
+import github.ai.qa.solutions.configuration.StreamingProperties;
+import github.ai.qa.solutions.configuration.StreamingProperties.OnViolation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Owner;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import io.qameta.allure.Story;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.ai.chat.metadata.ChatGenerationMetadata;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import reactor.core.publisher.Flux;
+
+@Epic("AI Test Data Generation")
+@Feature("JSON completion")
+@Owner("repo-maintainers")
+@Tag("unit")
+class JsonCompletionTest {
+    private static final String SCHEMA =
+            "{\"type\":\"object\",\"additionalProperties\":false,\"properties\":{\"name\":{\"type\":\"string\"}}}";
+    private static final JsonPrompt PROMPT = new JsonPrompt("Gen", "make a person", "you generate JSON");
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicInteger cancelled = new AtomicInteger();
+    private final List<List<Message>> prompts = new CopyOnWriteArrayList<>();
+
+    /**
+     * Answers calls in order, one answer per call; a streamed answer is sent chunk by chunk. An answer whose last
+     * chunk is {@code "<length>"} reports finish reason LENGTH instead of sending that chunk.
+     */
+    private ChatModel model(final List<List<String>> answers) {
+        return new ChatModel() {
+            @Override
+            public ChatResponse call(final Prompt prompt) {
+                prompts.add(prompt.getInstructions());
+                final List<String> answer = answers.get(calls.getAndIncrement());
+                final boolean length = answer.get(answer.size() - 1).equals("<length>");
+                return response(
+                        String.join("", length ? answer.subList(0, answer.size() - 1) : answer),
+                        length ? "LENGTH" : "STOP");
+            }
+
+            @Override
+            public Flux<ChatResponse> stream(final Prompt prompt) {
+                prompts.add(prompt.getInstructions());
+                return Flux.fromIterable(answers.get(calls.getAndIncrement()))
+                        .map(chunk -> response(chunk, null))
+                        .doOnCancel(cancelled::incrementAndGet);
+            }
+        };
+    }
+
+    private static ChatResponse response(final String text, final String finishReason) {
+        return new ChatResponse(List.of(new Generation(
+                new AssistantMessage(text),
+                ChatGenerationMetadata.builder().finishReason(finishReason).build())));
+    }
+
+    private JsonCompletion completion(
+            final List<List<String>> answers, final StreamingProperties streaming, final int maxContinuations) {
+        final ChatClient client = ChatClient.create(model(answers));
+        return new JsonCompletion(
+                node -> client,
+                streaming,
+                new ContinuationProperties(true, maxContinuations),
+                new StreamingJsonGuard(new ObjectMapper()),
+                registry,
+                null);
+    }
+
+    private static StreamingProperties streaming(final OnViolation policy) {
+        return new StreamingProperties(true, policy, 1);
+    }
+
+    private double counter(final String name, final String tag, final String value) {
+        return registry.get(name).tag(tag, value).counter().count();
+    }
+
+    @Test
+    @Story("Early abort")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("RETRY: a violating stream is cancelled and the prompt asked again")
+    @Description("The provider stream is cancelled on the violation; the retry's answer is returned")
+    void retriesAfterAbort() {
+        final JsonCompletion completion = completion(
+                List.of(
+                        List.of("{\"name\":\"A\",", "\"extra\":", "1,", "\"more\":2}"),
+                        List.of("{\"name\":", "\"B\"}")),
+                streaming(OnViolation.RETRY),
+                2);
+
+        assertEquals("{\"name\":\"B\"}", completion.complete(PROMPT, SCHEMA));
+        assertEquals(2, calls.get());
+        assertEquals(1, cancelled.get());
+        assertEquals(1.0, counter("agent.stream.aborts", "kind", "DISALLOWED_PROPERTY"));
+    }
+
+    @Test
+    @Story("Early abort")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("FIX: the well-formed partial structure is handed on")
+    @Description("Without retries, the completed part of the document is returned for validation and fixing")
+    void handsPartialStructureToFixer() {
+        final JsonCompletion completion = completion(
+                List.of(List.of("{\"name\":\"A\",", "\"extra\":", "1}")), streaming(OnViolation.FIX), 2);
+
+        assertEquals("{\"name\":\"A\"}", completion.complete(PROMPT, SCHEMA));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    @Story("Continuation")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("A cut-off answer is continued from the cut point and stitched")
+    @Description("Finish reason LENGTH triggers a continuation carrying the cut answer as the assistant turn")
+    void continuesTruncatedAnswer() {
+        final JsonCompletion completion = completion(
+                List.of(List.of("{\"name\":\"Ann", "<length>"), List.of("a\",\"age\":", "<length>"), List.of("30}")),
+                StreamingProperties.defaults(),
+                2);
+
+        assertEquals("{\"name\":\"Anna\",\"age\":30}", completion.complete(PROMPT, SCHEMA));
+        assertEquals(3, calls.get());
+        final List<Message> last = prompts.get(2);
+        assertEquals(
+                List.of(MessageType.SYSTEM, MessageType.USER, MessageType.ASSISTANT, MessageType.USER),
+                last.stream().map(Message::getMessageType).toList());
+        assertEquals("make a person", last.get(1).getText());
+        assertEquals("{\"name\":\"Anna\",\"age\":", last.get(2).getText());
+        assertEquals(1.0, counter("agent.continuations", "outcome", "stitched"));
+    }
+
+    @Test
+    @Story("Continuation")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("An unbalanced streamed answer is continued; failed continuations pass the text on")
+    @Description("Open documents count as truncated without a finish reason; after the limit the text is returned")
+    void unbalancedAnswerAndGivingUp() {
+        final JsonCompletion streamed = completion(
+                List.of(List.of("```json\n{\"name\":", "\"Anna\""), List.of("```json\n}\n```")),
+                streaming(OnViolation.RETRY),
+                1);
+        assertEquals("```json\n{\"name\":\"Anna\"}\n```", streamed.complete(PROMPT, SCHEMA));
+
+        calls.set(0);
+        final JsonCompletion limited = completion(
+                List.of(List.of("{\"name\":", "<length>"), List.of("\"An", "<length>")),
+                StreamingProperties.defaults(),
+                1);
+        assertEquals("{\"name\":\"An", limited.complete(PROMPT, SCHEMA));
+        assertEquals(1.0, counter("agent.continuations", "outcome", "failed"));
+    }
+
+    @Test
+    @Story("Continuation")
+    @Severity(SeverityLevel.MINOR)
+    @DisplayName("Stitching drops a leading fence and accepts a restarted document")
+    @Description("Continuations that repeat the whole document replace the cut text instead of being appended")
+    void stitching() {
+        assertEquals("{\"a\":1}", JsonCompletion.stitch("{\"a\":", "```json\n1}"));
+        assertEquals("{\"a\":1}", JsonCompletion.stitch("{\"a\":", "{\"a\":1}"));
+        assertEquals("{\"a\":", JsonCompletion.stitch("{\"a\":", " "));
+    }
+
+    @Test
+    @Story("Early abort")
+    @Severity(SeverityLevel.MINOR)
+    @DisplayName("Disabled streaming uses a blocking call")
+    @Description("The default configuration keeps the blocking call path")
+    void disabledUsesCall() {
+        final JsonCompletion completion =
+                completion(List.of(List.of("{\"name\":", "\"C\"}")), StreamingProperties.defaults(), 2);
+
+        assertEquals("{\"name\":\"C\"}", completion.complete(PROMPT, SCHEMA));
+        assertEquals(0, cancelled.get());
+    }
+}
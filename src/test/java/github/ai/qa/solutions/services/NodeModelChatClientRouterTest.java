@@ -6,6 +6,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import github.ai.qa.solutions.configuration.AiClientsConfiguration;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -82,7 +83,7 @@ class NodeModelChatClientRouterTest {
             }
         };
         var props = new AiClientsConfiguration.NodeModelRoutingProperties(new HashMap<>());
-        var router = new NodeModelChatClientRouter(nullProvider, nullProvider, props);
+        var router = new NodeModelChatClientRouter(nullProvider, nullProvider, props, List.of(), null, null);
         assertThrows(IllegalStateException.class, () -> router.forNode("AnyNode"));
     }
 
@@ -93,7 +94,7 @@ class NodeModelChatClientRouterTest {
         ObjectProvider<ChatClient> gigaProvider = new FixedProvider(giga);
         ObjectProvider<ChatClient> openProvider = new FixedProvider(null);
         var props = new AiClientsConfiguration.NodeModelRoutingProperties(new HashMap<>(Map.of("X", "GigaChat-2-Max")));
-        var router = new NodeModelChatClientRouter(gigaProvider, openProvider, props);
+        var router = new NodeModelChatClientRouter(gigaProvider, openProvider, props, List.of(), null, null);
         ChatClient resolved = router.forNode("X");
         assertEquals(giga, resolved);
     }
@@ -106,11 +107,23 @@ class NodeModelChatClientRouterTest {
         ObjectProvider<ChatClient> openProvider = new FixedProvider(open);
         var props = new AiClientsConfiguration.NodeModelRoutingProperties(
                 new HashMap<>(Map.of("X", "deepseek/deepseek-r1")));
-        var router = new NodeModelChatClientRouter(gigaProvider, openProvider, props);
+        var router = new NodeModelChatClientRouter(gigaProvider, openProvider, props, List.of(), null, null);
         ChatClient resolved = router.forNode("X");
         assertEquals(open, resolved);
     }
 
+    @Test
+    @DisplayName("familyDistribution: counts routing decisions per resolved family")
+    void familyDistributionCountsResolvedFamilies() {
+        ChatClient open = ChatClient.create(dummyModel());
+        var props = new AiClientsConfiguration.NodeModelRoutingProperties(new HashMap<>());
+        var router = new NodeModelChatClientRouter(
+                new FixedProvider(null), new FixedProvider(open), props, List.of(), null, null);
+        router.forNode("GenerateJsonNode");
+        router.forNode("ReasonAndRouteNode");
+        assertEquals(Map.of("OpenRouter", 2L), router.familyDistribution());
+    }
+
     @Test
     @DisplayName("Decision: unknown configured model falls back to heuristic")
     void decideUnknownConfiguredFallsBack() {
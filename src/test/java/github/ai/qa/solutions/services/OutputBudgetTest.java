@@ -0,0 +1,157 @@
+package github.ai.qa.solutions.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import github.ai.qa.solutions.configuration.AiClientsConfiguration;
+import github.ai.qa.solutions.configuration.OutputBudgetProperties;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Owner;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import io.qameta.allure.Story;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.beans.factory.ObjectProvider;
+
+@Epic("AI Test Data Generation")
+@Feature("Output budget")
+@Owner("repo-maintainers")
+@Tag("unit")
+class OutputBudgetTest {
+    private static final String SMALL = """
+            {"type":"object","properties":{"status":{"enum":["NEW","DONE"]},
+             "code":{"type":"string","pattern":"^\\\\d{3}$"}}}
+            """;
+    private static final String LIST = """
+            {"type":"object","properties":{"items":{"type":"array","minItems":20,"items":{"$ref":"#/$defs/item"}}},
+             "$defs":{"item":{"type":"object","properties":{"name":{"type":"string","maxLength":80},
+             "price":{"type":"number"},"tags":{"type":"array","items":{"type":"string"}}}}}}
+            """;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final OutputBudget budget = new OutputBudget(mapper, OutputBudgetProperties.defaults());
+
+    private static String resource(final String name) throws IOException {
+        try (InputStream in = OutputBudgetTest.class.getClassLoader().getResourceAsStream(name)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static int tokens(final OptionalInt budget) {
+        assertTrue(budget.isPresent());
+        return budget.getAsInt();
+    }
+
+    @Test
+    @Story("Budget per node kind")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("Routing decisions get a small budget, documents one that grows with the schema")
+    @Description("ReasonAndRouteNode < plan < large document; unknown callers and missing schemas keep defaults")
+    void budgetFollowsNodeKindAndSchema() throws IOException {
+        final String applicant = resource("ru-credit-applicant.schema.json");
+
+        final int routing = tokens(budget.maxTokens("ReasonAndRouteNode", "GigaChat", applicant));
+        final int small = tokens(budget.maxTokens("GenerateJsonBySchemaTool", "GigaChat", SMALL));
+        final int list = tokens(budget.maxTokens("GenerateJsonBySchemaTool", "GigaChat", LIST));
+        final int document = tokens(budget.maxTokens("FixValidationErrorsInJsonTool", "GigaChat", applicant));
+        final int plan = tokens(budget.maxTokens("ThinkHowToGenerateTool", "GigaChat", applicant));
+
+        assertEquals(128, routing);
+        assertEquals(128, small, "tiny documents are lifted to the lower bound");
+        assertTrue(list > 20 * 30, "twenty array elements with an 80-char name each: " + list);
+        assertTrue(document > routing && plan > routing, document + " / " + plan);
+        assertEquals(0, document % 64);
+        assertTrue(budget.maxTokens("ValidateJsonSchemaNode", "GigaChat", applicant).isEmpty());
+        assertTrue(budget.maxTokens("GenerateJsonBySchemaTool", "GigaChat", null).isEmpty());
+        assertTrue(budget.maxTokens("GenerateJsonBySchemaTool", "GigaChat", "not json").isEmpty());
+    }
+
+    @Test
+    @Story("Budget per node kind")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("Reasoning reserve is added per family and the result is clamped")
+    @Description("A family with a reasoning reserve gets it on top; max-tokens caps the budget")
+    void reasoningReserveAndClamp() {
+        final OutputBudget reserved = new OutputBudget(
+                mapper,
+                new OutputBudgetProperties(null, null, 1000, null, null, null, null, Map.of("OpenRouter", 600)));
+
+        assertEquals(768, tokens(reserved.maxTokens("ReasonAndRouteNode", "OpenRouter", SMALL)));
+        assertEquals(128, tokens(reserved.maxTokens("ReasonAndRouteNode", "GigaChat", SMALL)));
+        assertEquals(1000, tokens(reserved.maxTokens("GenerateJsonBySchemaTool", "OpenRouter", LIST)));
+    }
+
+    @Test
+    @Story("Per-call options")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("The router sends the budget as max tokens of the call")
+    @Description("forNode(name, schema) sets ChatOptions.maxTokens; forNode(name) keeps the provider default")
+    void routerSetsMaxTokensPerCall() {
+        final List<Integer> seen = new CopyOnWriteArrayList<>();
+        final ChatModel model = new ChatModel() {
+            @Override
+            public ChatResponse call(final Prompt prompt) {
+                seen.add(prompt.getOptions() == null ? null : prompt.getOptions().getMaxTokens());
+                return new ChatResponse(List.of(new Generation(new AssistantMessage("{}"))));
+            }
+        };
+        final ObjectProvider<ChatClient> provider = new ObjectProvider<>() {
+            private final ChatClient c = ChatClient.create(model);
+
+            @Override
+            public ChatClient getObject(final Object... args) {
+                return c;
+            }
+
+            @Override
+            public ChatClient getIfAvailable() {
+                return c;
+            }
+
+            @Override
+            public ChatClient getIfUnique() {
+                return c;
+            }
+
+            @Override
+            public ChatClient getObject() {
+                return c;
+            }
+        };
+        final NodeModelChatClientRouter router = new NodeModelChatClientRouter(
+                provider,
+                provider,
+                new AiClientsConfiguration.NodeModelRoutingProperties(new HashMap<>()),
+                List.of(),
+                budget,
+                null);
+
+        router.forNode("ReasonAndRouteNode", SMALL).prompt("route").call().content();
+        router.forNode("GenerateJsonBySchemaTool", LIST).prompt("generate").call().content();
+        router.forNode("GenerateJsonBySchemaTool").prompt("generate").call().content();
+
+        assertEquals(Integer.valueOf(128), seen.get(0));
+        assertEquals(
+                Integer.valueOf(tokens(budget.maxTokens("GenerateJsonBySchemaTool", "GigaChat", LIST))), seen.get(1));
+        assertTrue(seen.get(2) == null);
+    }
+}
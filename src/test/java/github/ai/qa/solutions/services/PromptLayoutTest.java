@@ -0,0 +1,71 @@
+package github.ai.qa.solutions.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Owner;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import io.qameta.allure.Story;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Epic("AI Test Data Generation")
+@Feature("Prompt layout")
+@Owner("repo-maintainers")
+@Tag("unit")
+class PromptLayoutTest {
+    private static PromptLayout layout(final String scenario) {
+        return PromptLayout.create()
+                .context("Test Scenario", scenario)
+                .plan("Generation Plan", "fill every field")
+                .schema("JSON Schema", "{\"type\":\"object\"}")
+                .instructions("""
+                        Produce ONLY JSON.
+                        """);
+    }
+
+    @Test
+    @Story("Stable-first order")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("Sections render from most to least stable whatever the insertion order")
+    @Description("Instructions, schema, plan and per-run context appear in that order")
+    void rendersStableFirst() {
+        final String prompt = layout("passport of a Moscow resident").render();
+
+        assertEquals(
+                """
+                Produce ONLY JSON.
+
+                JSON Schema:
+                {"type":"object"}
+
+                Generation Plan:
+                fill every field
+
+                Test Scenario:
+                passport of a Moscow resident
+                """,
+                prompt);
+    }
+
+    @Test
+    @Story("Stable-first order")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("Runs against one schema share the stable prefix")
+    @Description("Prompts for different scenarios are identical up to stablePrefixChars")
+    void differentScenariosShareThePrefix() {
+        final PromptLayout first = layout("passport of a Moscow resident");
+        final String a = first.render();
+        final String b = layout("passport of a Kazan resident").render();
+
+        final int prefix = first.stablePrefixChars();
+        assertTrue(prefix > 0);
+        assertEquals(a.substring(0, prefix), b.substring(0, prefix));
+        assertTrue(a.substring(prefix).startsWith("Generation Plan:"));
+    }
+}
@@ -0,0 +1,238 @@
+package github.ai.qa.solutions.services;
+
+import static github.ai.qa.solutions.state.AgentState.StateKey.VALIDATION_RESULT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import github.ai.qa.solutions.components.json.StreamingJsonGuard;
+import github.ai.qa.solutions.configuration.AgentApplicationConfiguration.NodeId;
+import github.ai.qa.solutions.configuration.AiClientsConfiguration;
+import github.ai.qa.solutions.configuration.ContinuationProperties;
+import github.ai.qa.solutions.configuration.StreamingProperties;
+import github.ai.qa.solutions.configuration.StructuredOutputProperties;
+import github.ai.qa.solutions.observability.RunContext;
+import github.ai.qa.solutions.observability.RunSummary;
+import github.ai.qa.solutions.state.AgentState;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Owner;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import io.qameta.allure.Story;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.openai.OpenAiChatOptions;
+import org.springframework.ai.openai.api.ResponseFormat;
+import org.springframework.ai.retry.NonTransientAiException;
+import org.springframework.beans.factory.ObjectProvider;
+
+@Epic("AI Test Data Generation")
+@Feature("Structured output")
+@Owner("repo-maintainers")
+@Tag("unit")
+class StructuredOutputTest {
+    private static final String SCHEMA = "{\"$schema\":\"https://json-schema.org/draft/2020-12/schema\","
+            + "\"type\":\"object\",\"properties\":{\"name\":{\"type\":\"string\"}}}";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final StructuredOutput structured =
+            new StructuredOutput(new StructuredOutputProperties(true, null, null, null), mapper, registry);
+
+    private static ObjectProvider<ChatClient> provider(final ChatClient client) {
+        return new ObjectProvider<>() {
+            @Override
+            public ChatClient getObject(final Object... args) {
+                return client;
+            }
+
+            @Override
+            public ChatClient getIfAvailable() {
+                return client;
+            }
+
+            @Override
+            public ChatClient getIfUnique() {
+                return client;
+            }
+
+            @Override
+            public ChatClient getObject() {
+                return client;
+            }
+        };
+    }
+
+    @Test
+    @Story("Response format")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("OpenRouter calls get the schema as a json_schema response format")
+    @Description("Root $schema is dropped; GigaChat, disabled settings and non-document calls get no format")
+    void responseFormatOnlyForOpenRouter() {
+        final ChatOptions options = structured.options("Gen", "OpenRouter", 512, SCHEMA).orElseThrow();
+
+        assertTrue(options instanceof OpenAiChatOptions);
+        final OpenAiChatOptions openAi = (OpenAiChatOptions) options;
+        assertEquals(ResponseFormat.Type.JSON_SCHEMA, openAi.getResponseFormat().getType());
+        assertEquals("test_data", openAi.getResponseFormat().getJsonSchema().getName());
+        assertFalse(openAi.getResponseFormat().getJsonSchema().getSchema().containsKey("$schema"));
+        assertEquals(Integer.valueOf(512), openAi.getMaxTokens());
+        assertTrue(structured.options("Gen", "GigaChat", 512, SCHEMA).isEmpty());
+        assertTrue(structured.options("Gen", "OpenRouter", 512, null).isEmpty());
+        assertTrue(new StructuredOutput(StructuredOutputProperties.defaults(), mapper, registry)
+                .options("Gen", "OpenRouter", 512, SCHEMA)
+                .isEmpty());
+    }
+
+    @Test
+    @Story("Degradation")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("A provider rejecting the response format is asked again without it")
+    @Description("The 4xx structured call is repeated prompt-only; later calls of the caller skip the format")
+    void rejectedFormatFallsBackToPromptOnly() {
+        final List<Boolean> withFormat = new CopyOnWriteArrayList<>();
+        final ChatModel model = new ChatModel() {
+            @Override
+            public ChatResponse call(final Prompt prompt) {
+                final boolean format = prompt.getOptions() instanceof OpenAiChatOptions o
+                        && o.getResponseFormat() != null;
+                withFormat.add(format);
+                if (format) throw new NonTransientAiException("400 - response_format is not supported");
+                return new ChatResponse(List.of(new Generation(new AssistantMessage("{\"name\":\"Анна\"}"))));
+            }
+        };
+        final ObjectProvider<ChatClient> clients = provider(ChatClient.create(model));
+        final NodeModelChatClientRouter router = new NodeModelChatClientRouter(
+                clients,
+                clients,
+                new AiClientsConfiguration.NodeModelRoutingProperties(new HashMap<>(Map.of("Gen", "x/model"))),
+                List.of(),
+                null,
+                structured);
+        final JsonCompletion completion = new JsonCompletion(
+                router,
+                StreamingProperties.defaults(),
+                ContinuationProperties.defaults(),
+                new StreamingJsonGuard(mapper),
+                registry,
+                structured);
+        final JsonPrompt prompt = new JsonPrompt("Gen", "make a person", "you generate JSON");
+
+        assertEquals("{\"name\":\"Анна\"}", completion.complete(prompt, SCHEMA, SCHEMA));
+        assertEquals("{\"name\":\"Анна\"}", completion.complete(prompt, SCHEMA, SCHEMA));
+
+        assertEquals(List.of(true, false, false), withFormat);
+        assertEquals(
+                1.0,
+                registry.get("agent.structured.fallbacks").tag("caller", "Gen").counter().count());
+    }
+
+    @Test
+    @Story("Degradation")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("Only a 400/422 about the response format degrades a caller")
+    @Description("Auth, payment, size and rate-limit errors and unrelated 400s keep the format; a 400 or 422 naming"
+            + " response_format or json_schema degrades")
+    void onlyFormatRejectionsDegrade() {
+        for (final String message : List.of(
+                "401 - {\"error\":{\"message\":\"No auth credentials found\"}}",
+                "402 - {\"error\":{\"message\":\"Insufficient credits for response_format requests\"}}",
+                "413 - {\"error\":{\"message\":\"json_schema payload too large\"}}",
+                "429 - {\"error\":{\"message\":\"Rate limit exceeded\"}}",
+                "400 - {\"error\":{\"message\":\"max_tokens must be positive\"}}",
+                "Invalid API key")) {
+            assertFalse(StructuredOutput.rejected(new NonTransientAiException(message)), message);
+        }
+        assertTrue(StructuredOutput.rejected(
+                new NonTransientAiException("400 - {\"error\":{\"message\":\"response_format is not supported\"}}")));
+        assertTrue(StructuredOutput.rejected(new RuntimeException(
+                new NonTransientAiException("422 UNPROCESSABLE_ENTITY - Invalid json_schema: $ref not allowed"))));
+
+        structured.options("Fix", "OpenRouter", null, SCHEMA);
+        assertFalse(structured.degrade("Fix", true, new NonTransientAiException("429 - Rate limit exceeded")));
+        assertTrue(structured.options("Fix", "OpenRouter", null, SCHEMA).isPresent());
+    }
+
+    @Test
+    @Story("Degradation")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("Every call that carried the format is repeated after a rejection, concurrent ones included")
+    @Description("The decision follows the failed call, not shared state; the switch is counted once")
+    void degradationIsDecidedPerCall() {
+        final NonTransientAiException rejection = new NonTransientAiException("400 - response_format is not supported");
+        structured.options("Gen", "OpenRouter", null, SCHEMA);
+        structured.options("Gen", "OpenRouter", null, SCHEMA);
+
+        assertTrue(structured.degrade("Gen", true, rejection));
+        assertTrue(structured.degrade("Gen", true, rejection));
+        assertFalse(structured.degrade("Gen", false, rejection));
+        assertFalse(new StructuredOutput(StructuredOutputProperties.defaults(), mapper, registry)
+                .degrade("Gen", true, rejection));
+        assertEquals(
+                1.0,
+                registry.get("agent.structured.fallbacks").tag("caller", "Gen").counter().count());
+    }
+
+    @Test
+    @Story("Degradation")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("A degraded caller tries the response format again once degrade-for has passed")
+    @Description("With degrade-for = 0 the caller gets the format back on its next call")
+    void degradationExpires() {
+        final StructuredOutput expiring = new StructuredOutput(
+                new StructuredOutputProperties(true, null, null, Duration.ZERO), mapper, registry);
+        expiring.options("Gen", "OpenRouter", null, SCHEMA);
+
+        assertTrue(expiring.degrade(
+                "Gen", true, new NonTransientAiException("400 - response_format is not supported")));
+        assertTrue(expiring.options("Gen", "OpenRouter", null, SCHEMA).isPresent());
+    }
+
+    @Test
+    @Story("Validity by mode")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("Validations are counted per family and mode until the first valid document")
+    @Description("An invalid then a valid validate_json outcome record validity and iterations-to-valid = 2")
+    void validityAndIterationsArePerMode() {
+        try (RunContext.Scope ignored = new RunContext("r1", NodeId.GENERATE_INITIAL_JSON).open()) {
+            structured.options("Gen", "OpenRouter", null, SCHEMA);
+        }
+        final AgentState state = new AgentState(new HashMap<>());
+        structured.onNodeEnd(
+                "r1", NodeId.VALIDATE_JSON, state, Map.of(VALIDATION_RESULT.name(), "$.name: missing"), 1);
+        structured.onNodeEnd("r1", NodeId.VALIDATE_JSON, state, Map.of(VALIDATION_RESULT.name(), "OK"), 1);
+        structured.onRunEnd(new RunSummary("r1", RunSummary.END, 10, 1, 0));
+
+        assertEquals(
+                1.0,
+                registry.get("agent.structured.validations")
+                        .tag("family", "OpenRouter")
+                        .tag("mode", "structured")
+                        .tag("outcome", "invalid")
+                        .counter()
+                        .count());
+        assertEquals(
+                2.0,
+                registry.get("agent.structured.iterations.to.valid")
+                        .tag("mode", "structured")
+                        .summary()
+                        .mean());
+    }
+}
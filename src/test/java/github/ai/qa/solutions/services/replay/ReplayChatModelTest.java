@@ -0,0 +1,152 @@
+package github.ai.qa.solutions.services.replay;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import github.ai.qa.solutions.configuration.ReplayProperties;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Owner;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import io.qameta.allure.Story;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import reactor.core.publisher.Flux;
+
+@Epic("AI Test Data Generation")
+@Feature("Record & Replay")
+@Owner("repo-maintainers")
+@Tag("unit")
+class ReplayChatModelTest {
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private static ReplayProperties properties(final ReplayProperties.MissPolicy onMiss) {
+        return new ReplayProperties(null, onMiss, null);
+    }
+
+    @Test
+    @Story("Replay recorded answers")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("Recorded exchanges survive a restart and replay in order")
+    @Description("Answers are reloaded from the NDJSON journal and cycle per prompt key")
+    void replaysRecordedAnswersInOrder() throws Exception {
+        Path file = Files.createTempDirectory("replay").resolve("exchanges.ndjson");
+        Prompt prompt = new Prompt("generate");
+        String key = ExchangeJournal.keyOf(prompt);
+        ExchangeJournal recorder = new ExchangeJournal(mapper, file);
+        recorder.append(new RecordedExchange(key, "{\"a\":1}", "STOP", 10, 5, 120L, null));
+        recorder.append(new RecordedExchange(key, "{\"a\":2}", "STOP", 10, 5, 80L, null));
+
+        ReplayChatModel model =
+                new ReplayChatModel(new ExchangeJournal(mapper, file), properties(ReplayProperties.MissPolicy.EMPTY));
+
+        assertEquals("{\"a\":1}", model.call(prompt).getResult().getOutput().getText());
+        ChatResponse second = model.call(prompt);
+        assertEquals("{\"a\":2}", second.getResult().getOutput().getText());
+        assertEquals(Integer.valueOf(5), second.getMetadata().getUsage().getCompletionTokens());
+        assertEquals("{\"a\":1}", model.call(prompt).getResult().getOutput().getText());
+    }
+
+    @Test
+    @Story("Record streamed answers")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("A streamed exchange is journaled once as the whole answer")
+    @Description("RecordingAdvisor concatenates stream chunks and replays them like a call")
+    void recordsStreamedAnswers() throws Exception {
+        Path file = Files.createTempDirectory("replay").resolve("exchanges.ndjson");
+        ChatModel model = new ChatModel() {
+            @Override
+            public ChatResponse call(final Prompt prompt) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public Flux<ChatResponse> stream(final Prompt prompt) {
+                return Flux.just("{\"a\"", ":1}")
+                        .map(chunk -> new ChatResponse(List.of(new Generation(new AssistantMessage(chunk)))));
+            }
+        };
+        ChatClient recording = ChatClient.builder(model)
+                .defaultAdvisors(new RecordingAdvisor(new ExchangeJournal(mapper, file)))
+                .build();
+
+        recording.prompt("generate").stream().content().collectList().block();
+
+        ReplayChatModel replay =
+                new ReplayChatModel(new ExchangeJournal(mapper, file), properties(ReplayProperties.MissPolicy.FAIL));
+        assertEquals("{\"a\":1}", ChatClient.create(replay).prompt("generate").call().content());
+    }
+
+    @Test
+    @Story("Replay misses")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("Unrecorded prompts return empty content or fail per policy")
+    @Description("EMPTY yields an empty answer; FAIL raises IllegalStateException")
+    void missPolicy() throws Exception {
+        Path file = Files.createTempDirectory("replay").resolve("exchanges.ndjson");
+        ExchangeJournal journal = new ExchangeJournal(mapper, file);
+
+        ReplayChatModel lenient = new ReplayChatModel(journal, properties(ReplayProperties.MissPolicy.EMPTY));
+        ReplayChatModel strict = new ReplayChatModel(journal, properties(ReplayProperties.MissPolicy.FAIL));
+
+        assertEquals("", lenient.call(new Prompt("unknown")).getResult().getOutput().getText());
+        assertThrows(IllegalStateException.class, () -> strict.call(new Prompt("unknown")));
+    }
+
+    @Test
+    @Story("Tool call simulation")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("Recorded tool calls are re-executed against offered tools")
+    @Description("Local tools run with the recorded arguments so their cost stays realistic")
+    void reExecutesRecordedToolCalls() throws Exception {
+        List<String> invocations = new ArrayList<>();
+        ToolCallback tool = new ToolCallback() {
+            @Override
+            public ToolDefinition getToolDefinition() {
+                return ToolDefinition.builder()
+                        .name("validate")
+                        .description("d")
+                        .inputSchema("{}")
+                        .build();
+            }
+
+            @Override
+            public String call(final String toolInput) {
+                invocations.add(toolInput);
+                return "{\"ok\":true}";
+            }
+        };
+        Prompt prompt = new Prompt("fix", ToolCallingChatOptions.builder().toolCallbacks(tool).build());
+        Path file = Files.createTempDirectory("replay").resolve("exchanges.ndjson");
+        ExchangeJournal journal = new ExchangeJournal(mapper, file);
+        journal.append(new RecordedExchange(
+                ExchangeJournal.keyOf(prompt),
+                "{}",
+                "STOP",
+                null,
+                null,
+                0L,
+                List.of(new RecordedExchange.ToolCall("validate", "{\"json\":\"{}\"}", "{\"ok\":true}"))));
+
+        new ReplayChatModel(journal, properties(ReplayProperties.MissPolicy.EMPTY)).call(prompt);
+
+        assertEquals(List.of("{\"json\":\"{}\"}"), invocations);
+    }
+}
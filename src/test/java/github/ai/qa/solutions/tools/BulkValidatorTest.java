@@ -0,0 +1,117 @@
+package github.ai.qa.solutions.tools;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import github.ai.qa.solutions.configuration.BulkValidationProperties;
+import github.ai.qa.solutions.configuration.SchemaValidatorProperties;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Owner;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import io.qameta.allure.Story;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Epic("AI Test Data Generation")
+@Feature("Bulk validation")
+@Owner("repo-maintainers")
+@Tag("unit")
+class BulkValidatorTest {
+    private static final String SCHEMA = """
+            {"type":"object","required":["id","name"],
+             "properties":{"id":{"type":"integer"},"name":{"type":"string","minLength":2}}}
+            """;
+    private static final BulkValidationProperties PROPS = new BulkValidationProperties(4, 8, 2, 3);
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private static String dataset(final int lines) {
+        final StringBuilder out = new StringBuilder();
+        for (int i = 1; i <= lines; i++) {
+            if (i % 100 == 0) out.append("{\"id\":");
+            else if (i % 50 == 0) out.append("  ");
+            else if (i % 3 == 0) out.append("{\"id\":").append(i).append('}');
+            else out.append("{\"id\":").append(i).append(",\"name\":\"n").append(i).append("\"}");
+            out.append('\n');
+        }
+        return out.toString();
+    }
+
+    private BulkValidator validator(final boolean compiled) {
+        return new BulkValidator(
+                new SchemaValidatorCache(
+                        new SchemaVersionDetector(mapper), new SchemaValidatorProperties(null, compiled, null)),
+                PROPS);
+    }
+
+    @Test
+    @Story("Streaming results")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("Lines are validated in parallel and reported in line order with a summary")
+    @Description("5000 lines in batches of 8; blank lines skipped, malformed lines are parse errors, "
+            + "compiled and general validators agree")
+    void parallelResultsArriveInLineOrder() throws Exception {
+        final List<BulkValidator.LineResult> general = new ArrayList<>();
+        final List<BulkValidator.LineResult> compiled = new ArrayList<>();
+        final BulkValidator plain = validator(false);
+        final BulkValidator fast = validator(true);
+
+        final BulkValidator.Summary summary =
+                plain.validate(new StringReader(dataset(5000)), plain.prepare(SCHEMA), general::add);
+        fast.validate(new StringReader(dataset(5000)), fast.prepare(SCHEMA), compiled::add);
+
+        assertEquals(4950, general.size());
+        for (int i = 1; i < general.size(); i++) {
+            assertTrue(general.get(i - 1).line() < general.get(i).line());
+        }
+        assertEquals(general, compiled);
+        assertEquals(4950, summary.documents());
+        final long missingName = general.stream()
+                .filter(r -> r.errors().stream().anyMatch(e -> "required".equals(e.keyword())))
+                .count();
+        assertEquals(Long.valueOf(missingName), summary.errorKinds().get("required"));
+        assertEquals(Long.valueOf(50), summary.errorKinds().get(BulkValidator.PARSE));
+        assertEquals(missingName + 50, summary.invalid());
+        assertEquals("required", summary.errorKinds().keySet().iterator().next());
+        plain.destroy();
+        fast.destroy();
+    }
+
+    @Test
+    @Story("Validation tool")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("NDJSON tool answers with counts, violation kinds and a bounded sample")
+    @Description("A file with invalid lines yields ok=false and at most sample-lines quoted lines")
+    void toolSummarizesFile() throws Exception {
+        final Path file = Files.createTempDirectory("bulk").resolve("data.ndjson");
+        Files.writeString(file, dataset(300));
+        final BulkValidator validator = validator(false);
+        final ValidateNdjsonBySchemaTool tool = new ValidateNdjsonBySchemaTool(validator, PROPS, mapper);
+
+        final JsonNode answer = mapper.readTree(tool.validateNdjsonBySchema(file.toString(), SCHEMA));
+
+        assertFalse(answer.get("ok").asBoolean());
+        assertEquals(297, answer.get("documents").asInt());
+        assertEquals(3, answer.get("samples").size());
+        assertEquals(3, answer.get("samples").get(0).get("line").asInt());
+        assertTrue(answer.get("errorKinds").has("required"));
+        assertFalse(mapper.readTree(tool.validateNdjsonBySchema(file.toString(), "{\"type\":"))
+                .get("ok")
+                .asBoolean());
+        assertThrows(IllegalArgumentException.class, () -> validator.prepare(" "));
+        validator.destroy();
+    }
+}
@@ -0,0 +1,150 @@
+package github.ai.qa.solutions.tools;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.networknt.schema.AbsoluteIri;
+import com.networknt.schema.InputFormat;
+import com.networknt.schema.JsonSchema;
+import com.networknt.schema.SpecVersion;
+import github.ai.qa.solutions.configuration.SchemaCatalogProperties;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Owner;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import io.qameta.allure.Story;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Epic("AI Test Data Generation")
+@Feature("Schema catalog")
+@Owner("repo-maintainers")
+@Tag("unit")
+class SchemaCatalogTest {
+    private static final String CUSTOMER = """
+            {"$schema":"http://json-schema.org/draft-07/schema#","type":"object",
+             "properties":{"address":{"$ref":"https://schemas.example.com/common/address.json"}}}
+            """;
+    private static final String ADDRESS = """
+            {"type":"object","required":["city"],"properties":{"city":{"type":"string","minLength":2}}}
+            """;
+
+    @Test
+    @Story("Offline resolution")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("External $ref resolves from a mapped directory and is cached in memory")
+    @Description("A mapped URI prefix serves the referenced file; a second lookup is served from the cache")
+    void mappedReferenceResolvesLocally() throws Exception {
+        final Path dir = Files.createTempDirectory("catalog");
+        Files.createDirectories(dir.resolve("common"));
+        Files.writeString(dir.resolve("common/address.json"), ADDRESS);
+        final SchemaCatalog catalog = new SchemaCatalog(new SchemaCatalogProperties(
+                Map.of("https://schemas.example.com/", dir.toUri().toString()), null, true, null));
+
+        final JsonSchema schema = catalog.factory(SpecVersion.VersionFlag.V7).getSchema(CUSTOMER);
+
+        assertEquals(1, schema.validate("{\"address\":{\"city\":\"M\"}}", InputFormat.JSON).size());
+        assertTrue(schema.validate("{\"address\":{\"city\":\"Москва\"}}", InputFormat.JSON).isEmpty());
+        assertTrue(catalog.getSchema(AbsoluteIri.of("https://schemas.example.com/common/address.json")) != null);
+        assertEquals(1, catalog.size());
+        assertEquals(1L, catalog.misses());
+        assertEquals(1L, catalog.hits());
+    }
+
+    @Test
+    @Story("Offline resolution")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("Offline mode refuses unknown remote URIs but serves bundled meta-schemas and the mirror")
+    @Description("Meta-schema refs and <directory>/<host>/<path> files resolve; other http(s) refs fail to compile")
+    void offlineModeNeverFetches() throws Exception {
+        final Path dir = Files.createTempDirectory("catalog");
+        Files.createDirectories(dir.resolve("schemas.example.com/common"));
+        Files.writeString(dir.resolve("schemas.example.com/common/address.json"), ADDRESS);
+        final SchemaCatalog catalog =
+                new SchemaCatalog(new SchemaCatalogProperties(null, dir.toString(), true, null));
+        final String meta = "{\"$ref\":\"http://json-schema.org/draft-07/schema#\"}";
+
+        assertFalse(catalog.factory(SpecVersion.VersionFlag.V7)
+                .getSchema(meta)
+                .validate("{\"type\":12}", InputFormat.JSON)
+                .isEmpty());
+        assertEquals(
+                1,
+                catalog.factory(SpecVersion.VersionFlag.V7)
+                        .getSchema(CUSTOMER)
+                        .validate("{\"address\":{}}", InputFormat.JSON)
+                        .size());
+        final String unknown = "{\"$ref\":\"https://unreachable.example.org/x.json\"}";
+        final Exception error = assertThrows(Exception.class, () -> catalog.factory(SpecVersion.VersionFlag.V7)
+                .getSchema(unknown)
+                .validate("{}", InputFormat.JSON));
+        assertTrue(String.valueOf(error.getMessage()).contains("unreachable.example.org")
+                || String.valueOf(error.getCause()).contains("unreachable.example.org"));
+    }
+
+    @Test
+    @Story("Offline resolution")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("Offline mode refuses every URI the catalog cannot serve, whatever its scheme")
+    @Description("file: and jar: refs fail to compile instead of being loaded by the validator")
+    void offlineModeRefusesLocalSchemes() throws Exception {
+        final Path outside = Files.createTempFile("outside", ".json");
+        Files.writeString(outside, ADDRESS);
+        final SchemaCatalog catalog = new SchemaCatalog(new SchemaCatalogProperties(null, null, true, null));
+
+        for (final String uri : new String[] {outside.toUri().toString(), "jar:" + outside.toUri() + "!/x.json"}) {
+            assertThrows(
+                    Exception.class,
+                    () -> catalog.factory(SpecVersion.VersionFlag.V7)
+                            .getSchema("{\"$ref\":\"" + uri + "\"}")
+                            .validate("{}", InputFormat.JSON));
+        }
+    }
+
+    @Test
+    @Story("Offline resolution")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("Mapped and mirrored paths cannot climb out of their directory")
+    @Description("A $ref with .. segments escaping the mapped or mirror directory is not served")
+    void pathsStayInsideTheCatalog() throws Exception {
+        final Path base = Files.createTempDirectory("catalog");
+        final Path dir = Files.createDirectories(base.resolve("mapped/schemas.example.com"));
+        Files.writeString(base.resolve("secret.json"), ADDRESS);
+        Files.writeString(dir.resolve("address.json"), ADDRESS);
+        final SchemaCatalog mapped = new SchemaCatalog(new SchemaCatalogProperties(
+                Map.of("https://schemas.example.com/", dir + "/"), null, false, null));
+        final SchemaCatalog mirror = new SchemaCatalog(
+                new SchemaCatalogProperties(null, base.resolve("mapped").toString(), false, null));
+
+        assertTrue(mapped.getSchema(AbsoluteIri.of("https://schemas.example.com/address.json")) != null);
+        assertEquals(null, mapped.getSchema(AbsoluteIri.of("https://schemas.example.com/../../secret.json")));
+        assertEquals(null, mapped.getSchema(AbsoluteIri.of("https://schemas.example.com/%2e%2e/%2e%2e/secret.json")));
+        assertTrue(mirror.getSchema(AbsoluteIri.of("https://schemas.example.com/address.json")) != null);
+        assertEquals(null, mirror.getSchema(AbsoluteIri.of("https://schemas.example.com/../../secret.json")));
+    }
+
+    @Test
+    @Story("Offline resolution")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("Only documents the catalog holds count as served")
+    @Description("Meta-schemas and mapped files are served; local files and internal URLs are not, even online")
+    void servesOnlyCatalogDocuments() throws Exception {
+        final Path dir = Files.createTempDirectory("catalog");
+        Files.writeString(dir.resolve("address.json"), ADDRESS);
+        final SchemaCatalog catalog = new SchemaCatalog(new SchemaCatalogProperties(
+                Map.of("https://schemas.example.com/", dir.toUri().toString()), null, false, null));
+
+        assertTrue(catalog.serves("https://schemas.example.com/address.json"));
+        assertTrue(catalog.serves("http://json-schema.org/draft-07/schema"));
+        assertFalse(catalog.serves("file:///etc/passwd"));
+        assertFalse(catalog.serves("http://169.254.169.254/latest/meta-data/"));
+    }
+}
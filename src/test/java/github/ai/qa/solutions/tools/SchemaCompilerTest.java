@@ -0,0 +1,124 @@
+package github.ai.qa.solutions.tools;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.networknt.schema.InputFormat;
+import com.networknt.schema.JsonSchema;
+import com.networknt.schema.JsonSchemaFactory;
+import com.networknt.schema.SpecVersion;
+import github.ai.qa.solutions.configuration.SchemaValidatorProperties;
+import github.ai.qa.solutions.configuration.ValidationReportProperties;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Owner;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import io.qameta.allure.Story;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Epic("AI Test Data Generation")
+@Feature("Compiled validators")
+@Owner("repo-maintainers")
+@Tag("unit")
+class SchemaCompilerTest {
+    private static final String PERSON = """
+            {"type":"object","required":["name","passport"],"additionalProperties":false,
+             "properties":{"name":{"type":"string","minLength":3,"maxLength":5,"pattern":"^[a-z]+$"},
+             "passport":{"type":["string","null"],"pattern":"^[0-9]{4}$"},
+             "age":{"type":"integer","minimum":18,"maximum":1.50},"a/b~c":{"type":"string"},"a b.c":{"maxLength":1},
+             "tags":{"type":"array","minItems":2,"maxItems":3,"items":{"enum":["a","b",1,null]}},
+             "rows":{"type":"array","items":{"type":["object","null"],"required":["v"],
+              "properties":{"v":{"type":"number","minimum":1e2}},"additionalProperties":{"type":"string"}}}}}
+            """;
+    private static final List<String> DOCUMENTS = List.of(
+            "{\"name\":\"AB\",\"age\":20.0,\"tags\":[\"x\",1.0,null,true],\"q\":1}",
+            "{\"name\":\"abc\\n\",\"age\":17,\"tags\":[],\"rows\":[{\"v\":5,\"x\":1},{\"w\":\"s\"},null,3]}",
+            "{\"name\":5,\"age\":\"x\",\"tags\":{},\"passport\":\"1234\",\"a/b~c\":1,\"a b.c\":\"xy\"}",
+            "{\"name\":\"😀😀😀\",\"age\":1e400,\"passport\":null}",
+            "[1,2]",
+            "{\"name\":\"anna\",\"passport\":\"1234\",\"rows\":[{\"v\":100}]}");
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private static List<SchemaViolation> general(final JsonSchema schema, final String document) {
+        return schema.validate(document, InputFormat.JSON).stream()
+                .map(SchemaViolation::of)
+                .toList();
+    }
+
+    @Test
+    @Story("Same errors")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("Compiled validator reports the general validator's messages in the same order")
+    @Description("Drafts 4, 7 and 2020-12; type, required, properties, enum, pattern, bounds, items, additionals")
+    void compiledMatchesGeneralValidator() throws Exception {
+        for (final SpecVersion.VersionFlag version : List.of(
+                SpecVersion.VersionFlag.V4, SpecVersion.VersionFlag.V7, SpecVersion.VersionFlag.V202012)) {
+            final JsonSchema schema = JsonSchemaFactory.getInstance(version).getSchema(PERSON);
+            final SchemaCompiler.CompiledSchema compiled =
+                    SchemaCompiler.compile(mapper.readTree(PERSON), version).orElseThrow();
+            for (final String document : DOCUMENTS) {
+                assertEquals(
+                        general(schema, document),
+                        compiled.validate(mapper.readTree(document)),
+                        version + " " + document);
+            }
+        }
+    }
+
+    @Test
+    @Story("Fallback")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("Schemas outside the compiled subset are not compiled")
+    @Description("$ref, format, combinators and false subschemas stay with the general validator")
+    void unsupportedKeywordsFallBack() throws Exception {
+        for (final String schema : List.of(
+                "{\"properties\":{\"a\":{\"$ref\":\"#/$defs/a\"}},\"$defs\":{\"a\":{\"type\":\"string\"}}}",
+                "{\"properties\":{\"email\":{\"type\":\"string\",\"format\":\"email\"}}}",
+                "{\"anyOf\":[{\"type\":\"string\"},{\"type\":\"integer\"}]}",
+                "{\"properties\":{\"a\":false}}",
+                "{\"type\":\"object\",\"properties\":{\"a\":{\"const\":1}}}")) {
+            assertTrue(
+                    SchemaCompiler.compile(mapper.readTree(schema), SpecVersion.VersionFlag.V202012)
+                            .isEmpty(),
+                    schema);
+        }
+        assertTrue(SchemaCompiler.compile(
+                        mapper.readTree("{\"$schema\":\"https://json-schema.org/draft/2020-12/schema\","
+                                + "\"title\":\"t\",\"type\":\"object\"}"),
+                        SpecVersion.VersionFlag.V202012)
+                .isPresent());
+    }
+
+    @Test
+    @Story("Hot schemas")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("Validation tool reuses prepared schemas and compiles hot ones")
+    @Description("The schema is prepared once; after hot-after uses it switches to the compiled validator")
+    void toolCompilesHotSchemas() {
+        final SchemaVersionDetector detector = new SchemaVersionDetector(mapper);
+        final SchemaValidatorCache cache =
+                new SchemaValidatorCache(detector, new SchemaValidatorProperties(null, true, 3));
+        final ValidateJsonBySchemaTool tool =
+                new ValidateJsonBySchemaTool(cache, new ValidationReport(ValidationReportProperties.defaults()));
+        final String invalid = DOCUMENTS.get(0);
+
+        final String first = tool.validateJsonBySchema(invalid, PERSON);
+        assertFalse(cache.prepare(PERSON).isCompiled());
+        final String compiled = tool.validateJsonBySchema(invalid, PERSON);
+
+        assertTrue(cache.prepare(PERSON).isCompiled());
+        assertEquals(first, compiled);
+        assertEquals("{\"ok\":true}", tool.validateJsonBySchema(DOCUMENTS.get(5), PERSON));
+        assertTrue(tool.validateJsonBySchema("{\"name\":", PERSON).startsWith("{\"ok\":false"));
+        assertEquals(1, cache.size());
+        assertEquals(1L, cache.misses());
+    }
+}
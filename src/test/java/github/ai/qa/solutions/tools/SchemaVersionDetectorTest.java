@@ -1,9 +1,11 @@
 package github.ai.qa.solutions.tools;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.networknt.schema.SpecVersion;
+import io.qameta.allure.Description;
 import io.qameta.allure.Epic;
 import io.qameta.allure.Feature;
 import io.qameta.allure.Owner;
@@ -50,4 +52,36 @@ class SchemaVersionDetectorTest {
         // step: run detector against minimal schema without hints
         assertEquals(SpecVersion.VersionFlag.V4, detector.detectVersion(schema));
     }
+
+    @Test
+    @Story("Keyword evidence")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("Picks the oldest draft supporting every keyword, ignoring property names and data")
+    @Description("if/then → draft 7; a property named prefixItems and an enum value do not count as evidence")
+    void infersOldestSupportingDraft() {
+        String conditional = "{\"type\":\"object\",\"properties\":{\"prefixItems\":{\"enum\":[\"$defs\"]}},"
+                + "\"if\":{\"required\":[\"a\"]},\"then\":{\"const\":1}}";
+        String declared = "{\"$schema\":\"http://json-schema.org/draft-06/schema#\",\"prefixItems\":[]}";
+
+        assertEquals(
+                new SchemaVersionDetector.Detection(
+                        SpecVersion.VersionFlag.V7, SchemaVersionDetector.Confidence.INFERRED),
+                detector.detect(conditional));
+        assertEquals(SchemaVersionDetector.Confidence.DECLARED, detector.detect(declared).confidence());
+        assertEquals(SpecVersion.VersionFlag.V6, detector.selectedVersion(declared));
+        assertEquals(SchemaVersionDetector.Confidence.DEFAULT, detector.detect("not json").confidence());
+    }
+
+    @Test
+    @Story("Keyword evidence")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("Conflicting keywords are ambiguous and settled by trial compilation")
+    @Description("$defs (2019-09+) next to boolean exclusiveMinimum (draft 4 only) falls back to compiling")
+    void conflictingEvidenceIsAmbiguous() {
+        String schema = "{\"$defs\":{\"n\":{\"type\":\"number\"}},\"minimum\":0,\"exclusiveMinimum\":true}";
+
+        assertEquals(SchemaVersionDetector.Confidence.AMBIGUOUS, detector.detect(schema).confidence());
+        assertEquals(SpecVersion.VersionFlag.V201909, detector.detect(schema).version());
+        assertNotNull(detector.selectedVersion(schema));
+    }
 }
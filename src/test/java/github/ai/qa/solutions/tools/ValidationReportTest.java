@@ -0,0 +1,138 @@
+package github.ai.qa.solutions.tools;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import github.ai.qa.solutions.configuration.SchemaValidatorProperties;
+import github.ai.qa.solutions.configuration.ValidationReportProperties;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Owner;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import io.qameta.allure.Story;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Epic("AI Test Data Generation")
+@Feature("Validation report")
+@Owner("repo-maintainers")
+@Tag("unit")
+class ValidationReportTest {
+    private static final String SCHEMA = """
+            {"type":"object","properties":{"items":{"type":"array","items":{"type":"object",
+             "required":["code","name"],"properties":{"code":{"type":"string","pattern":"^A"}}}}}}
+            """;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private static String document(final int items) {
+        final StringBuilder out = new StringBuilder("{\"items\":[");
+        for (int i = 0; i < items; i++) {
+            if (i > 0) out.append(',');
+            out.append(i == 1 ? "{\"code\":\"A1\"}" : "{\"code\":\"B" + i + "\",\"name\":\"n\"}");
+        }
+        return out.append("]}").toString();
+    }
+
+    private JsonNode report(final ValidateJsonBySchemaTool tool, final String document) throws Exception {
+        return mapper.readTree(tool.validateJsonBySchema(document, SCHEMA));
+    }
+
+    private List<String> errors(final ValidateJsonBySchemaTool tool, final String document) throws Exception {
+        return texts(report(tool, document).path("errors"));
+    }
+
+    private static List<String> texts(final JsonNode array) {
+        final List<String> texts = new ArrayList<>();
+        for (final JsonNode item : array) {
+            texts.add(item.asText());
+        }
+        return texts;
+    }
+
+    private ValidateJsonBySchemaTool tool(final boolean compiled, final ValidationReportProperties props) {
+        final SchemaVersionDetector detector = new SchemaVersionDetector(mapper);
+        return new ValidateJsonBySchemaTool(
+                new SchemaValidatorCache(detector, new SchemaValidatorProperties(null, compiled, 1)),
+                new ValidationReport(props));
+    }
+
+    @Test
+    @Story("Grouping")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("Repeated errors of a large array collapse into one line per schema location")
+    @Description("5000 pattern violations become one line with sample paths and a count; a missing property stays"
+            + " separate and keeps its message; general and compiled validators report the same")
+    void collapsesRepeatedErrors() throws Exception {
+        final String document = document(5000);
+        final List<String> expected = List.of(
+                "$.items[0].code, $.items[2].code, $.items[3].code and 4996 more:"
+                        + " does not match the regex pattern ^A",
+                "$.items[1]: required property 'name' not found");
+        for (final boolean compiled : List.of(false, true)) {
+            final ValidationReportProperties props = new ValidationReportProperties(10_000, null, null, null);
+            assertEquals(expected, errors(tool(compiled, props), document));
+        }
+    }
+
+    @Test
+    @Story("Limits")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("Validation stops at the error cap or at the first error in fail-fast mode")
+    @Description("A note, kept out of the errors, states where validation stopped; the count is the violations found;"
+            + " the compiled validator stops walking at the cap")
+    void capsErrors() throws Exception {
+        final String document = document(5000);
+        for (final boolean compiled : List.of(false, true)) {
+            final JsonNode capped =
+                    report(tool(compiled, new ValidationReportProperties(101, null, null, null)), document);
+            assertEquals(
+                    List.of(
+                            "$.items[0].code, $.items[2].code, $.items[3].code and 97 more:"
+                                    + " does not match the regex pattern ^A",
+                            "$.items[1]: required property 'name' not found"),
+                    texts(capped.path("errors")));
+            assertEquals(List.of("validation stopped after the first 101 errors"), texts(capped.path("notes")));
+            assertEquals(Integer.valueOf(101), Integer.valueOf(capped.path("count").asInt()));
+
+            final JsonNode failFast =
+                    report(tool(compiled, new ValidationReportProperties(null, null, null, true)), document);
+            assertEquals(
+                    List.of("$.items[0].code: does not match the regex pattern ^A"), texts(failFast.path("errors")));
+            assertEquals(List.of("validation stopped at the first error (fail-fast)"), texts(failFast.path("notes")));
+            assertEquals(Integer.valueOf(1), Integer.valueOf(failFast.path("count").asInt()));
+        }
+        final SchemaValidatorCache cache = new SchemaValidatorCache(
+                new SchemaVersionDetector(mapper), new SchemaValidatorProperties(null, true, 1));
+        final SchemaValidatorCache.Prepared prepared = cache.prepare(SCHEMA);
+        assertEquals(Integer.valueOf(10), Integer.valueOf(prepared.validate(document, 10).size()));
+    }
+
+    @Test
+    @Story("Limits")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("Only the first max-groups distinct errors are listed")
+    @Description("Further kinds of errors are summed up in a note with their count; the count covers all groups")
+    void capsGroups() {
+        final List<SchemaViolation> violations = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            violations.add(new SchemaViolation("required", "#/required", "$", "$: required property 'p" + i + "'"));
+            violations.add(new SchemaViolation("required", "#/required", "$", "$: required property 'p" + i + "'"));
+        }
+        final ValidationReport report = new ValidationReport(new ValidationReportProperties(null, 2, 1, null));
+
+        final ValidationReport.Lines lines = report.lines(violations);
+
+        assertEquals(
+                List.of("$ and 1 more: required property 'p0'", "$ and 1 more: required property 'p1'"),
+                lines.errors());
+        assertEquals(List.of("... and 3 more kinds of errors (6 errors)"), lines.notes());
+        assertEquals(Integer.valueOf(10), Integer.valueOf(lines.count()));
+    }
+}